@@ -17,13 +17,17 @@
 package org.apache.logging.log4j.spi;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.time.Duration;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.util.PropertiesUtil;
+import org.apache.logging.log4j.util.VirtualThreadUtil;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -62,6 +66,29 @@ class ThreadContextMapTest {
         verifyThreadContextValueFromANewThread(contextMap, "threadLocalInheritableIfConfigured");
     }
 
+    @Test
+    void garbageFreeMapReleasedOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreadUtil.isSupported());
+        final GarbageFreeSortedArrayThreadContextMap contextMap = new GarbageFreeSortedArrayThreadContextMap();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread thread = (Thread)
+                Thread.class.getMethod("startVirtualThread", Runnable.class).invoke(null, (Runnable) () -> {
+                    try {
+                        assertThat(contextMap.getReadOnlyContextData().isEmpty())
+                                .isTrue();
+                        assertThat(contextMap.localMap.get()).isNull();
+                        contextMap.put(KEY, "garbageFreeMapReleasedOnVirtualThreads");
+                        assertThat(contextMap.localMap.get()).isNotNull();
+                        contextMap.remove(KEY);
+                        assertThat(contextMap.localMap.get()).isNull();
+                    } catch (final Throwable t) {
+                        failure.set(t);
+                    }
+                });
+        thread.join();
+        assertThat(failure.get()).isNull();
+    }
+
     private static void verifyThreadContextValueFromANewThread(
             final ThreadContextMap contextMap, final String expected) {
         final ExecutorService executorService = Executors.newSingleThreadExecutor();
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadUtilTest {
+
+    @Test
+    void platformThreadIsNotVirtual() {
+        assertFalse(VirtualThreadUtil.isCurrentThreadVirtual());
+        assertFalse(VirtualThreadUtil.isVirtual(new Thread()));
+    }
+
+    @Test
+    void supportedSinceJava21() {
+        assertEquals(Constants.JAVA_MAJOR_VERSION >= 21, VirtualThreadUtil.isSupported());
+    }
+
+    @Test
+    void virtualThreadIsVirtual() throws Exception {
+        assumeTrue(VirtualThreadUtil.isSupported());
+        final AtomicBoolean virtual = new AtomicBoolean();
+        final Thread thread = (Thread)
+                Thread.class.getMethod("startVirtualThread", Runnable.class).invoke(null, (Runnable)
+                        () -> virtual.set(VirtualThreadUtil.isCurrentThreadVirtual()));
+        thread.join();
+        assertTrue(virtual.get());
+        assertTrue(VirtualThreadUtil.isVirtual(thread));
+    }
+}
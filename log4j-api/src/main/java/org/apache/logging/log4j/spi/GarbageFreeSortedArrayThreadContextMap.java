@@ -24,6 +24,7 @@ import org.apache.logging.log4j.util.PropertiesUtil;
 import org.apache.logging.log4j.util.ReadOnlyStringMap;
 import org.apache.logging.log4j.util.SortedArrayStringMap;
 import org.apache.logging.log4j.util.StringMap;
+import org.apache.logging.log4j.util.VirtualThreadUtil;
 
 /**
  * {@code SortedArrayStringMap}-based implementation of the {@code ThreadContextMap} interface that attempts not to
@@ -32,6 +33,10 @@ import org.apache.logging.log4j.util.StringMap;
  * This implementation does <em>not</em> make a copy of its contents on every operation, so this data structure cannot
  * be passed to log events. Instead, client code needs to copy the contents when interacting with another thread.
  * </p>
+ * <p>
+ * Virtual threads rarely live long enough to reuse their map, so on virtual threads the map is released as soon as it
+ * becomes empty and reading an empty context does not allocate one.
+ * </p>
  * @since 2.7
  */
 class GarbageFreeSortedArrayThreadContextMap implements ReadOnlyThreadContextMap, ObjectThreadContextMap {
@@ -52,6 +57,12 @@ class GarbageFreeSortedArrayThreadContextMap implements ReadOnlyThreadContextMap
      */
     protected static final String PROPERTY_NAME_INITIAL_CAPACITY = "log4j2.ThreadContext.initial.capacity";
 
+    private static final StringMap EMPTY_CONTEXT_DATA = new SortedArrayStringMap(1);
+
+    static {
+        EMPTY_CONTEXT_DATA.freeze();
+    }
+
     private final int initialCapacity;
     protected final ThreadLocal<StringMap> localMap;
 
@@ -152,6 +163,7 @@ class GarbageFreeSortedArrayThreadContextMap implements ReadOnlyThreadContextMap
         final StringMap map = localMap.get();
         if (map != null) {
             map.remove(key);
+            releaseIfEmptyOnVirtualThread(map);
         }
     }
 
@@ -162,6 +174,7 @@ class GarbageFreeSortedArrayThreadContextMap implements ReadOnlyThreadContextMap
             for (final String key : keys) {
                 map.remove(key);
             }
+            releaseIfEmptyOnVirtualThread(map);
         }
     }
 
@@ -170,6 +183,13 @@ class GarbageFreeSortedArrayThreadContextMap implements ReadOnlyThreadContextMap
         final StringMap map = localMap.get();
         if (map != null) {
             map.clear();
+            releaseIfEmptyOnVirtualThread(map);
+        }
+    }
+
+    private void releaseIfEmptyOnVirtualThread(final StringMap map) {
+        if (map.isEmpty() && VirtualThreadUtil.isCurrentThreadVirtual()) {
+            localMap.remove();
         }
     }
 
@@ -192,6 +212,9 @@ class GarbageFreeSortedArrayThreadContextMap implements ReadOnlyThreadContextMap
     public StringMap getReadOnlyContextData() {
         StringMap map = localMap.get();
         if (map == null) {
+            if (VirtualThreadUtil.isCurrentThreadVirtual()) {
+                return EMPTY_CONTEXT_DATA;
+            }
             map = createStringMap();
             localMap.set(map);
         }
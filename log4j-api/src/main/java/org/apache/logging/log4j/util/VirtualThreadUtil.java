@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Detects <a href="https://openjdk.org/jeps/444">virtual threads</a> on Java 21 and later.
+ * <p>
+ * Virtual threads are cheap to create, short-lived and potentially numerous, so objects cached in {@link ThreadLocal}
+ * variables are rarely reused on them and can use a lot of memory. Components that cache objects per thread can use
+ * this class to skip the cache on virtual threads.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+@InternalApi
+public final class VirtualThreadUtil {
+
+    /**
+     * {@code Thread#isVirtual()} or {@code null} if virtual threads are not supported.
+     */
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    private VirtualThreadUtil() {}
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (final ReflectiveOperationException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the Java runtime supports virtual threads.
+     *
+     * @return {@code true} if the Java runtime supports virtual threads
+     */
+    public static boolean isSupported() {
+        return IS_VIRTUAL != null;
+    }
+
+    /**
+     * Returns {@code true} if the given thread is a virtual thread.
+     *
+     * @param thread a thread
+     * @return {@code true} if the given thread is a virtual thread
+     */
+    public static boolean isVirtual(final Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (final Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the current thread is a virtual thread.
+     *
+     * @return {@code true} if the current thread is a virtual thread
+     */
+    public static boolean isCurrentThreadVirtual() {
+        return isVirtual(Thread.currentThread());
+    }
+}
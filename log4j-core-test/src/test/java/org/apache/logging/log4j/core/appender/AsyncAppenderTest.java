@@ -23,15 +23,24 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LoggingException;
+import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.test.appender.FailOnceAppender;
 import org.apache.logging.log4j.core.test.appender.ListAppender;
 import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
 import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.apache.logging.log4j.spi.ExtendedLogger;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -166,6 +175,109 @@ public class AsyncAppenderTest {
         assertEquals("?  Hello world!", messages.get(1));
     }
 
+    @Test
+    @LoggerContextSource("log4j-asynch-batch.xml")
+    public void testBatchedAsyncAppender(final LoggerContext context, @Named("List") final ListAppender listAppender)
+            throws InterruptedException {
+        final AsyncAppender appender = context.getConfiguration().getAppender("Async");
+        assertEquals(16, appender.getBatchSize());
+        final ExtendedLogger logger = context.getLogger(getClass());
+        final int eventCount = 1000;
+        for (int i = 0; i < eventCount; i++) {
+            logger.info("{}", i);
+        }
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (listAppender.getEvents().size() < eventCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        final List<LogEvent> events = listAppender.getEvents();
+        assertEquals(eventCount, events.size());
+        for (int i = 0; i < eventCount; i++) {
+            assertEquals(Integer.toString(i), events.get(i).getMessage().getFormattedMessage());
+        }
+        assertTrue(events.get(eventCount - 1).isEndOfBatch(), "Last event should end a batch");
+        listAppender.clear();
+    }
+
+    /**
+     * A failing event must not abort its batch, and only that event goes to the error appender.
+     */
+    @Test
+    public void testBatchFailureIsHandledPerEvent() throws InterruptedException {
+        final FailOnceAppender failOnce = FailOnceAppender.createAppender("FailOnce", null);
+        failOnce.start();
+        final ListAppender errors = new ListAppender("Errors");
+        errors.start();
+        final BlockingQueue<LogEvent> queue = new ArrayBlockingQueue<>(16);
+        final int eventCount = 10;
+        for (int i = 0; i < eventCount; i++) {
+            queue.add(Log4jLogEvent.newBuilder()
+                    .setMessage(new SimpleMessage(Integer.toString(i)))
+                    .build());
+        }
+        final AsyncAppenderEventDispatcher dispatcher = new AsyncAppenderEventDispatcher(
+                "Async",
+                new AppenderControl(errors, null, null),
+                Collections.singletonList(new AppenderControl(failOnce, null, null)),
+                queue,
+                16);
+        dispatcher.start();
+        dispatcher.stop(5000);
+
+        final List<LogEvent> appended = failOnce.drainEvents();
+        assertEquals(eventCount - 1, appended.size());
+        for (int i = 1; i < eventCount; i++) {
+            assertEquals(Integer.toString(i), appended.get(i - 1).getMessage().getFormattedMessage());
+        }
+        final List<LogEvent> failed = errors.getEvents();
+        assertEquals(1, failed.size());
+        assertEquals("0", failed.get(0).getMessage().getFormattedMessage());
+    }
+
+    @Test
+    @LoggerContextSource("log4j-asynch-sharded.xml")
+    public void testShardedAsyncAppender(final LoggerContext context, @Named("List") final ListAppender listAppender)
+            throws InterruptedException {
+        final AsyncAppender appender = context.getConfiguration().getAppender("Async");
+        assertEquals(4, appender.getShardCount());
+        assertEquals("key", appender.getShardKey());
+        assertEquals(4, appender.getShardQueueSizes().length);
+        final long dispatcherCount = Thread.getAllStackTraces().keySet().stream()
+                .filter(AsyncAppenderEventDispatcher.class::isInstance)
+                .filter(thread -> thread.getName().endsWith("-Async"))
+                .count();
+        assertTrue(dispatcherCount >= 4, "Expected a background thread per shard");
+
+        final ExtendedLogger logger = context.getLogger(getClass());
+        final int keyCount = 16;
+        final int eventCount = 100;
+        final Thread[] threads = new Thread[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            final String key = Integer.toString(i);
+            threads[i] = new Thread(() -> {
+                ThreadContext.put("key", key);
+                for (int j = 0; j < eventCount; j++) {
+                    logger.info("{} {}", key, j);
+                }
+                ThreadContext.clearMap();
+            });
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        final List<String> messages = listAppender.getMessages(keyCount * eventCount, 5, TimeUnit.SECONDS);
+        assertEquals(keyCount * eventCount, messages.size());
+        // events with the same key are appended in order
+        final int[] next = new int[keyCount];
+        for (final String message : messages) {
+            final String[] parts = message.split(" ");
+            final int key = Integer.parseInt(parts[0]);
+            assertEquals(Integer.toString(next[key]++), parts[1]);
+        }
+        listAppender.clear();
+    }
+
     @Test
     @Timeout(5)
     @LoggerContextSource("log4j-asynch-shutdownTimeout.xml")
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.Strings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests {@link AsyncFileChannelAppender}.
+ */
+class AsyncFileChannelAppenderTest {
+
+    private static final int EVENTS = 10_000;
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void writes_all_events_in_order(final boolean immediateFlush) throws Exception {
+        final Path file = tempDir.resolve("async-channel.log");
+        final AsyncFileChannelAppender appender = AsyncFileChannelAppender.newBuilder()
+                .setName("async-channel")
+                .setFileName(file.toString())
+                .setLayout(PatternLayout.newBuilder()
+                        .withPattern("%m%n")
+                        .withHeader("header%n")
+                        .build())
+                // small buffers so that most events complete while others are still in flight
+                .setBufferSize(1024)
+                .setBufferCount(3)
+                .setImmediateFlush(immediateFlush)
+                .build();
+        assertNotNull(appender);
+        appender.start();
+        try {
+            for (int i = 0; i < EVENTS; i++) {
+                final String message = i % 1_000 == 0 ? i + "-" + Strings.repeat("x", 3_000) : i + "-";
+                appender.append(createEvent(message, i % 7 == 0));
+            }
+        } finally {
+            appender.stop();
+        }
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(EVENTS + 1, lines.size());
+        assertEquals("header", lines.get(0));
+        for (int i = 0; i < EVENTS; i++) {
+            final String line = lines.get(i + 1);
+            assertEquals(i, Integer.parseInt(line.substring(0, line.indexOf('-'))), line);
+        }
+    }
+
+    @Test
+    void end_of_batch_makes_events_visible() throws Exception {
+        final Path file = tempDir.resolve("end-of-batch.log");
+        final AsyncFileChannelAppender appender = AsyncFileChannelAppender.newBuilder()
+                .setName("end-of-batch")
+                .setFileName(file.toString())
+                .setLayout(PatternLayout.newBuilder().withPattern("%m%n").build())
+                .setFlushIntervalMillis(0)
+                .build();
+        assertNotNull(appender);
+        appender.start();
+        try {
+            appender.append(createEvent("first", false));
+            assertEquals(0, Files.size(file));
+            appender.append(createEvent("second", true));
+            // the end of the batch only submits the write, a flush waits for it
+            appender.getManager().flush();
+            final String expected = "first" + System.lineSeparator() + "second" + System.lineSeparator();
+            assertEquals(expected, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        } finally {
+            appender.stop();
+        }
+    }
+
+    @Test
+    void flush_interval_makes_events_visible_without_end_of_batch() throws Exception {
+        final Path file = tempDir.resolve("flush-interval.log");
+        final AsyncFileChannelAppender appender = AsyncFileChannelAppender.newBuilder()
+                .setName("flush-interval")
+                .setFileName(file.toString())
+                .setLayout(PatternLayout.newBuilder().withPattern("%m%n").build())
+                .setFlushIntervalMillis(10)
+                .build();
+        assertNotNull(appender);
+        assertFalse(appender.getImmediateFlush(), "immediateFlush should be off by default");
+        appender.start();
+        try {
+            // as logged by a synchronous logger
+            appender.append(createEvent("first", false));
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (Files.size(file) == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            final String expected = "first" + System.lineSeparator();
+            assertEquals(expected, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        } finally {
+            appender.stop();
+        }
+    }
+
+    @Test
+    void rejects_single_buffer() {
+        assertNull(AsyncFileChannelAppender.newBuilder()
+                .setName("single-buffer")
+                .setFileName(tempDir.resolve("single-buffer.log").toString())
+                .setBufferCount(1)
+                .build());
+    }
+
+    private static LogEvent createEvent(final String message, final boolean endOfBatch) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(AsyncFileChannelAppenderTest.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message))
+                .setEndOfBatch(endOfBatch)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link AsyncFileChannelWriter}.
+ */
+class AsyncFileChannelWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rewrites_buffer_after_failed_write() throws Exception {
+        final Path file = tempDir.resolve("writer.log");
+        final FailingChannel channel = new FailingChannel(
+                AsynchronousFileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+        final AsyncFileChannelWriter writer = new AsyncFileChannelWriter("writer.log", channel, 0, 16, 3);
+        final byte[] expected = new byte[16 * 10];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) ('a' + i % 26);
+        }
+        writer.write(expected, 0, expected.length);
+        writer.close();
+        assertEquals(1, channel.failures.get());
+        assertArrayEquals(expected, Files.readAllBytes(file));
+    }
+
+    /**
+     * A channel whose second asynchronous write fails.
+     */
+    private static final class FailingChannel extends AsynchronousFileChannel {
+
+        private final AsynchronousFileChannel delegate;
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private FailingChannel(final AsynchronousFileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <A> void write(
+                final ByteBuffer src,
+                final long position,
+                final A attachment,
+                final CompletionHandler<Integer, ? super A> handler) {
+            if (writes.incrementAndGet() == 2) {
+                failures.incrementAndGet();
+                handler.failed(new IOException("transient failure"), attachment);
+            } else {
+                delegate.write(src, position, attachment, handler);
+            }
+        }
+
+        @Override
+        public Future<Integer> write(final ByteBuffer src, final long position) {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public AsynchronousFileChannel truncate(final long size) throws IOException {
+            return delegate.truncate(size);
+        }
+
+        @Override
+        public void force(final boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public <A> void lock(
+                final long position,
+                final long size,
+                final boolean shared,
+                final A attachment,
+                final CompletionHandler<FileLock, ? super A> handler) {
+            delegate.lock(position, size, shared, attachment, handler);
+        }
+
+        @Override
+        public Future<FileLock> lock(final long position, final long size, final boolean shared) {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(final long position, final long size, final boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        public <A> void read(
+                final ByteBuffer dst,
+                final long position,
+                final A attachment,
+                final CompletionHandler<Integer, ? super A> handler) {
+            delegate.read(dst, position, attachment, handler);
+        }
+
+        @Override
+        public Future<Integer> read(final ByteBuffer dst, final long position) {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
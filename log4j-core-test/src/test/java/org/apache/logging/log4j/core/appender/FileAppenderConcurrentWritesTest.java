@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.Strings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests {@link FileAppender} with concurrent writes enabled.
+ */
+class FileAppenderConcurrentWritesTest {
+
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 5_000;
+    // larger than the 8 KiB encoder buffers and the 8 KiB region of the default buffer size
+    private static final int LARGE = 20_000;
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void events_are_neither_lost_nor_interleaved(final boolean immediateFlush) throws Exception {
+        final Path file = tempDir.resolve("concurrent.log");
+        final FileAppender appender = FileAppender.newBuilder()
+                .setName("concurrent")
+                .withFileName(file.toString())
+                .setLayout(PatternLayout.newBuilder().withPattern("%t %m%n").build())
+                .setImmediateFlush(immediateFlush)
+                .setConcurrentWrites(true)
+                .build();
+        assertTrue(appender.getManager().isConcurrentWrites());
+        appender.start();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                final String threadName = "T" + t;
+                final Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                        // every 500th event is larger than both the encoder buffers and the shared region
+                        final String message = i % 500 == 0 ? i + "-" + Strings.repeat("x", LARGE) : i + "-";
+                        appender.append(createEvent(threadName, message));
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            start.countDown();
+            for (final Thread thread : threads) {
+                thread.join();
+            }
+        } finally {
+            appender.stop();
+        }
+        final int[] expected = new int[THREADS];
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (final String line : lines) {
+            final int space = line.indexOf(' ');
+            final int thread = Integer.parseInt(line.substring(1, space));
+            final int sequence = Integer.parseInt(line.substring(space + 1, line.indexOf('-')));
+            assertEquals(expected[thread]++, sequence, line);
+        }
+        assertEquals(THREADS * EVENTS_PER_THREAD, lines.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void large_event_is_written_after_staged_events(final boolean immediateFlush) throws Exception {
+        final Path file = tempDir.resolve("order.log");
+        final FileAppender appender = FileAppender.newBuilder()
+                .setName("order")
+                .withFileName(file.toString())
+                .setLayout(PatternLayout.newBuilder().withPattern("%m%n").build())
+                .setImmediateFlush(immediateFlush)
+                .setConcurrentWrites(true)
+                .build();
+        appender.start();
+        try {
+            appender.append(createEvent("main", "A"));
+            appender.append(createEvent("main", "B" + Strings.repeat("x", LARGE)));
+            appender.append(createEvent("main", "C"));
+        } finally {
+            appender.stop();
+        }
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals("A", lines.get(0));
+        assertEquals("B" + Strings.repeat("x", LARGE), lines.get(1));
+        assertEquals("C", lines.get(2));
+    }
+
+    @Test
+    void large_buffer_is_written_after_staged_bytes() throws Exception {
+        final Path file = tempDir.resolve("manager.log");
+        final FileAppender appender = FileAppender.newBuilder()
+                .setName("manager")
+                .withFileName(file.toString())
+                .setImmediateFlush(false)
+                .setConcurrentWrites(true)
+                .build();
+        final FileManager manager = appender.getManager();
+        appender.start();
+        try {
+            manager.writeBytes(encode("A\n"));
+            manager.writeBytes(encode("B" + Strings.repeat("x", LARGE) + "\n"));
+            manager.writeBytes(encode("C\n"));
+        } finally {
+            appender.stop();
+        }
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals("A", lines.get(0));
+        assertEquals("B" + Strings.repeat("x", LARGE), lines.get(1));
+        assertEquals("C", lines.get(2));
+    }
+
+    private static ByteBuffer encode(final String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LogEvent createEvent(final String threadName, final String message) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(FileAppenderConcurrentWritesTest.class.getName())
+                .setLevel(Level.INFO)
+                .setThreadName(threadName)
+                .setMessage(new SimpleMessage(message))
+                .build();
+    }
+}
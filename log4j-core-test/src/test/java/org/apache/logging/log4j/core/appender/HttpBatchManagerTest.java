@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.HttpBatchManager.BatchFormat;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link HttpBatchManager} against an in-process HTTP server.
+ */
+class HttpBatchManagerTest {
+
+    private static final PatternLayout LAYOUT =
+            PatternLayout.newBuilder().withPattern("%m%n").build();
+
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+
+    private final List<String> encodings = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            final byte[] body = readFully(exchange.getRequestBody());
+            final String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            if (failures.getAndDecrement() > 0) {
+                exchange.sendResponseHeaders(503, -1);
+            } else {
+                encodings.add(String.valueOf(encoding));
+                final byte[] decoded =
+                        "gzip".equals(encoding) ? readFully(new GZIPInputStream(new ByteArrayInputStream(body))) : body;
+                bodies.add(new String(decoded, StandardCharsets.UTF_8));
+                exchange.sendResponseHeaders(200, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private HttpBatchManager createManager(
+            final BatchFormat batchFormat, final int batchSize, final long lingerMillis, final boolean compress)
+            throws IOException {
+        final DefaultConfiguration configuration = new DefaultConfiguration();
+        final URL url = new URL("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+                + server.getAddress().getPort() + "/");
+        final HttpURLConnectionManager connectionManager =
+                new HttpURLConnectionManager(configuration, null, "test", url, "POST", 1_000, 1_000, null, null, true);
+        return new HttpBatchManager(
+                configuration,
+                null,
+                "test",
+                connectionManager,
+                LAYOUT.getContentType(),
+                batchFormat,
+                batchSize,
+                1024 * 1024,
+                lingerMillis,
+                compress,
+                2,
+                3,
+                10);
+    }
+
+    private static LogEvent event(final int index) {
+        return Log4jLogEvent.newBuilder()
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("event-" + index))
+                .build();
+    }
+
+    private void awaitBodies(final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (bodies.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, bodies.size());
+    }
+
+    @Test
+    void sendsFullBatchesAndRemainingEventsOnStop() throws Exception {
+        final HttpBatchManager manager = createManager(BatchFormat.NDJSON, 10, 60_000, false);
+        for (int i = 0; i < 25; i++) {
+            manager.send(LAYOUT, event(i));
+        }
+        awaitBodies(2);
+        assertTrue(manager.stop(5, TimeUnit.SECONDS));
+        assertEquals(3, bodies.size());
+        final StringBuilder all = new StringBuilder();
+        int count = 0;
+        for (final String body : bodies) {
+            all.append(body);
+            count += body.split("\n").length;
+        }
+        assertEquals(25, count);
+        for (int i = 0; i < 25; i++) {
+            assertTrue(all.indexOf("event-" + i + "\n") >= 0);
+        }
+    }
+
+    @Test
+    void sendsBatchAfterLinger() throws Exception {
+        final HttpBatchManager manager = createManager(BatchFormat.NDJSON, 1_000, 50, false);
+        try {
+            manager.send(LAYOUT, event(0));
+            manager.send(LAYOUT, event(1));
+            awaitBodies(1);
+            assertEquals("event-0\nevent-1\n", bodies.get(0));
+        } finally {
+            manager.stop(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void sendsCompressedJsonArray() throws Exception {
+        final HttpBatchManager manager = createManager(BatchFormat.JSON_ARRAY, 3, 60_000, true);
+        try {
+            for (int i = 0; i < 3; i++) {
+                manager.send(LAYOUT, event(i));
+            }
+            awaitBodies(1);
+            assertEquals("[event-0\n,event-1\n,event-2\n]", bodies.get(0));
+            assertEquals("gzip", encodings.get(0));
+        } finally {
+            manager.stop(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void retriesFailedBatches() throws Exception {
+        failures.set(2);
+        final HttpBatchManager manager = createManager(BatchFormat.NDJSON, 2, 60_000, false);
+        try {
+            manager.send(LAYOUT, event(0));
+            manager.send(LAYOUT, event(1));
+            awaitBodies(1);
+            assertEquals("event-0\nevent-1\n", bodies.get(0));
+            assertEquals(0, manager.getDroppedEventCount());
+        } finally {
+            manager.stop(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void dropsBatchAfterLastRetry() throws Exception {
+        failures.set(4);
+        final HttpBatchManager manager = createManager(BatchFormat.NDJSON, 2, 60_000, false);
+        manager.send(LAYOUT, event(0));
+        manager.send(LAYOUT, event(1));
+        assertTrue(manager.stop(5, TimeUnit.SECONDS));
+        assertTrue(bodies.isEmpty());
+        assertEquals(2, manager.getDroppedEventCount());
+    }
+}
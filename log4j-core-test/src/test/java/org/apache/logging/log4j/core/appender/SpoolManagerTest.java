@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link SpoolManager}.
+ */
+class SpoolManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicBoolean available = new AtomicBoolean(true);
+
+    private Spool spool(final String maxDiskSize) {
+        return Spool.newBuilder()
+                .setDirectory(tempDir.toString())
+                .setSegmentSize("4096")
+                .setMaxDiskSize(maxDiskSize)
+                .setRetryDelayMillis(10)
+                .build();
+    }
+
+    private void send(final byte[] data, final int offset, final int length, final boolean endOfBatch)
+            throws Exception {
+        if (!available.get()) {
+            throw new Exception("unavailable");
+        }
+        received.add(new String(data, offset, length, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] event(final int index) {
+        return ("event-" + index).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void awaitReceived(final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (received.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, received.size());
+    }
+
+    private void assertReceivedInOrder(final int count) {
+        for (int i = 0; i < count; i++) {
+            assertEquals("event-" + i, received.get(i));
+        }
+    }
+
+    private long segmentFiles() throws Exception {
+        try (final Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    void forwardsEventsInOrderAcrossSegments() throws Exception {
+        final SpoolManager manager = SpoolManager.getSpoolManager(spool("1MB"), this::send);
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                assertTrue(manager.append(event(i)));
+            }
+            awaitReceived(2_000);
+            assertReceivedInOrder(2_000);
+            assertTrue(manager.isEmpty());
+            // Forwarded segments are deleted
+            assertEquals(1, segmentFiles());
+        } finally {
+            manager.stop(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void retriesUntilTheSinkRecovers() throws Exception {
+        available.set(false);
+        final SpoolManager manager = SpoolManager.getSpoolManager(spool("1MB"), this::send);
+        try {
+            for (int i = 0; i < 100; i++) {
+                assertTrue(manager.append(event(i)));
+            }
+            Thread.sleep(50);
+            assertTrue(received.isEmpty());
+            assertFalse(manager.isEmpty());
+            available.set(true);
+            awaitReceived(100);
+            assertReceivedInOrder(100);
+        } finally {
+            manager.stop(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void keepsUndeliveredEventsAcrossRestarts() throws Exception {
+        available.set(false);
+        SpoolManager manager = SpoolManager.getSpoolManager(spool("1MB"), this::send);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(manager.append(event(i)));
+        }
+        manager.stop(0, TimeUnit.MILLISECONDS);
+        assertTrue(segmentFiles() > 1);
+
+        available.set(true);
+        manager = SpoolManager.getSpoolManager(spool("1MB"), this::send);
+        try {
+            assertTrue(manager.append(event(1_000)));
+            awaitReceived(1_001);
+            assertReceivedInOrder(1_001);
+        } finally {
+            manager.stop(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void ignoresIncompleteEventOnRecovery() throws Exception {
+        available.set(false);
+        SpoolManager manager = SpoolManager.getSpoolManager(spool("1MB"), this::send);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(manager.append(event(i)));
+        }
+        manager.stop(0, TimeUnit.MILLISECONDS);
+
+        // Simulates an event whose payload was only partially written
+        final Path segment;
+        try (final Stream<Path> files = Files.list(tempDir)) {
+            segment = files.filter(path -> path.toString().endsWith(".seg"))
+                    .findFirst()
+                    .get();
+        }
+        final byte[] content = Files.readAllBytes(segment);
+        final int end = 10 * (8 + "event-0".length());
+        content[end + 3] = 7;
+        content[end + 8] = 'x';
+        Files.write(segment, content);
+
+        available.set(true);
+        manager = SpoolManager.getSpoolManager(spool("1MB"), this::send);
+        try {
+            assertTrue(manager.append(event(10)));
+            awaitReceived(11);
+            assertReceivedInOrder(11);
+        } finally {
+            manager.stop(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void dropsEventsWhenFull() throws Exception {
+        available.set(false);
+        final SpoolManager manager = SpoolManager.getSpoolManager(spool("8KB"), this::send);
+        try {
+            int accepted = 0;
+            for (int i = 0; i < 2_000; i++) {
+                if (manager.append(event(i))) {
+                    accepted++;
+                }
+            }
+            assertTrue(accepted > 0 && accepted < 2_000);
+            assertEquals(2_000 - accepted, manager.getDroppedEventCount());
+            assertEquals(2, manager.getSegmentCount());
+
+            available.set(true);
+            awaitReceived(accepted);
+            assertReceivedInOrder(accepted);
+            assertTrue(manager.append(event(accepted)));
+        } finally {
+            manager.stop(1, TimeUnit.SECONDS);
+        }
+    }
+}
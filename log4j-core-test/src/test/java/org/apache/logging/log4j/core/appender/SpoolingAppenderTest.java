@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link SocketAppender} and {@link HttpAppender} with a full {@link Spool}.
+ */
+class SpoolingAppenderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Spool spool() {
+        return Spool.newBuilder()
+                .setDirectory(tempDir.toString())
+                .setSegmentSize("4096")
+                .setMaxDiskSize("8KB")
+                .setRetryDelayMillis(10_000)
+                .build();
+    }
+
+    private static int closedPort() throws IOException {
+        try (final ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Appends events to an appender whose destination is down, until its spool is full.
+     */
+    private static void assertThrowsWhenFull(final AbstractAppender appender) {
+        final LogEvent event = Log4jLogEvent.newBuilder()
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("Hello, world!"))
+                .build();
+        appender.start();
+        try {
+            assertThrows(AppenderLoggingException.class, () -> {
+                for (int i = 0; i < 10_000; i++) {
+                    appender.append(event);
+                }
+            });
+        } finally {
+            appender.stop(0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    void socketAppenderThrowsWhenSpoolIsFull() throws Exception {
+        assertThrowsWhenFull(SocketAppender.newBuilder()
+                .setName("socket")
+                .setConfiguration(new DefaultConfiguration())
+                .setLayout(PatternLayout.createDefaultLayout())
+                .setIgnoreExceptions(false)
+                .setHost("localhost")
+                .setPort(closedPort())
+                .setImmediateFail(true)
+                .setReconnectDelayMillis(10_000)
+                .setSpool(spool())
+                .build());
+    }
+
+    @Test
+    void httpAppenderThrowsWhenSpoolIsFull() throws Exception {
+        assertThrowsWhenFull(HttpAppender.newBuilder()
+                .setName("http")
+                .setConfiguration(new DefaultConfiguration())
+                .setLayout(PatternLayout.createDefaultLayout())
+                .setIgnoreExceptions(false)
+                .setUrl(new URL("http://localhost:" + closedPort() + "/test/log4j/"))
+                .setSpool(spool())
+                .build());
+    }
+}
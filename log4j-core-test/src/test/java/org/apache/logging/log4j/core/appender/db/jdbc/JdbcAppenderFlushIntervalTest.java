@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.db.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.appender.db.ColumnMapping;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.MessageLayout;
+import org.apache.logging.log4j.core.test.appender.db.jdbc.JdbcH2TestHelper;
+import org.apache.logging.log4j.message.MapMessage;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the background flush of a buffered {@link JdbcAppender}.
+ */
+class JdbcAppenderFlushIntervalTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // keeps the in-memory database alive between appender connections
+        connection = JdbcH2TestHelper.getConnectionInMemory();
+        try (final Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE flushLogEntry (id INTEGER GENERATED ALWAYS AS IDENTITY, "
+                    + "level VARCHAR(10), message VARCHAR(1024), eventDate TIMESTAMP)");
+            statement.executeUpdate("CREATE TABLE mapLogEntry (Id INTEGER, ColumnA VARCHAR(255))");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE IF EXISTS flushLogEntry");
+            statement.executeUpdate("DROP TABLE IF EXISTS mapLogEntry");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    void writesFullBuffersAndFlushesRemainderAfterInterval() throws Exception {
+        final JdbcAppender appender = createAppender(10, 200);
+        appender.start();
+        try {
+            append(appender, 0, 25);
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (readMessages().size() < 25 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(expectedMessages(0, 25), readMessages());
+        } finally {
+            appender.stop();
+        }
+    }
+
+    @Test
+    void stopFlushesPendingRows() throws Exception {
+        final JdbcAppender appender = createAppender(10, TimeUnit.MINUTES.toMillis(1));
+        appender.start();
+        append(appender, 0, 3);
+        assertEquals(0, readMessages().size());
+        appender.stop();
+        assertEquals(expectedMessages(0, 3), readMessages());
+    }
+
+    @Test
+    void flushesSynchronouslyWithoutInterval() throws Exception {
+        final JdbcAppender appender = createAppender(10, 0);
+        appender.start();
+        try {
+            append(appender, 0, 25);
+            assertEquals(expectedMessages(0, 20), readMessages());
+        } finally {
+            appender.stop();
+        }
+        assertEquals(expectedMessages(0, 25), readMessages());
+    }
+
+    @Test
+    void bindsMapMessageFieldsOfBufferedEvents() throws Exception {
+        final DefaultConfiguration configuration = new DefaultConfiguration();
+        final JdbcAppender appender = JdbcAppender.newBuilder()
+                .setName("bufferedMapMessage")
+                .setConfiguration(configuration)
+                .setIgnoreExceptions(false)
+                .setConnectionSource(JdbcH2TestHelper.TEST_CONFIGURATION_SOURCE_MEM)
+                .setTableName("mapLogEntry")
+                .setBufferSize(10)
+                .setFlushIntervalMillis(0)
+                .setLayout(MessageLayout.createLayout())
+                .setColumnMappings(
+                        ColumnMapping.newBuilder()
+                                .setConfiguration(configuration)
+                                .setName("Id")
+                                .build(),
+                        ColumnMapping.newBuilder()
+                                .setConfiguration(configuration)
+                                .setName("ColumnA")
+                                .build())
+                .build();
+        appender.start();
+        for (int i = 1; i <= 3; i++) {
+            appender.append(Log4jLogEvent.newBuilder()
+                    .setLevel(Level.INFO)
+                    .setMessage(new MapMessage<>().with("Id", i).with("ColumnA", "Value" + i))
+                    .build());
+        }
+        appender.stop();
+        final List<String> rows = new ArrayList<>();
+        try (final Statement statement = connection.createStatement();
+                final ResultSet resultSet = statement.executeQuery("SELECT Id, ColumnA FROM mapLogEntry ORDER BY Id")) {
+            while (resultSet.next()) {
+                rows.add(resultSet.getInt("Id") + "=" + resultSet.getString("ColumnA"));
+            }
+        }
+        assertEquals(Arrays.asList("1=Value1", "2=Value2", "3=Value3"), rows);
+    }
+
+    private static JdbcAppender createAppender(final int bufferSize, final long flushIntervalMillis) {
+        final DefaultConfiguration configuration = new DefaultConfiguration();
+        return JdbcAppender.newBuilder()
+                .setName("flushInterval")
+                .setConfiguration(configuration)
+                .setIgnoreExceptions(false)
+                .setConnectionSource(JdbcH2TestHelper.TEST_CONFIGURATION_SOURCE_MEM)
+                .setTableName("flushLogEntry")
+                .setBufferSize(bufferSize)
+                .setFlushIntervalMillis(flushIntervalMillis)
+                .setColumnConfigs(
+                        ColumnConfig.newBuilder()
+                                .setConfiguration(configuration)
+                                .setName("level")
+                                .setPattern("%level")
+                                .build(),
+                        ColumnConfig.newBuilder()
+                                .setConfiguration(configuration)
+                                .setName("message")
+                                .setPattern("%m")
+                                .build(),
+                        ColumnConfig.newBuilder()
+                                .setConfiguration(configuration)
+                                .setName("eventDate")
+                                .setEventTimestamp(true)
+                                .build())
+                .build();
+    }
+
+    private static void append(final JdbcAppender appender, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            appender.append(Log4jLogEvent.newBuilder()
+                    .setLevel(Level.INFO)
+                    .setMessage(new SimpleMessage("Message " + i))
+                    .build());
+        }
+    }
+
+    private static List<String> expectedMessages(final int from, final int to) {
+        final List<String> messages = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            messages.add("Message " + i);
+        }
+        return messages;
+    }
+
+    private List<String> readMessages() throws SQLException {
+        final List<String> messages = new ArrayList<>();
+        try (final Statement statement = connection.createStatement();
+                final ResultSet resultSet = statement.executeQuery("SELECT message FROM flushLogEntry ORDER BY id")) {
+            while (resultSet.next()) {
+                messages.add(resultSet.getString("message"));
+            }
+        }
+        return messages;
+    }
+}
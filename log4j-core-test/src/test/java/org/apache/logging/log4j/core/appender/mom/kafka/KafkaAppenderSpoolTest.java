@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.mom.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.Spool;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link KafkaAppender} with a full {@link Spool}.
+ */
+class KafkaAppenderSpoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private KafkaProducerFactory producerFactory;
+
+    @BeforeEach
+    void setUp() {
+        producerFactory = KafkaManager.producerFactory;
+        final ByteArraySerializer serializer = new ByteArraySerializer();
+        // The broker is down, so the spool cannot forward any event
+        KafkaManager.producerFactory = config -> new MockProducer<byte[], byte[]>(true, serializer, serializer) {
+
+            @Override
+            public synchronized Future<RecordMetadata> send(final ProducerRecord<byte[], byte[]> record) {
+                throw new KafkaException("unavailable");
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        KafkaManager.producerFactory = producerFactory;
+    }
+
+    @Test
+    void throwsWhenSpoolIsFull() {
+        final KafkaAppender appender = KafkaAppender.newBuilder()
+                .setName("kafka")
+                .setConfiguration(new DefaultConfiguration())
+                .setLayout(PatternLayout.createDefaultLayout())
+                .setIgnoreExceptions(false)
+                .setTopic("kafka-topic")
+                .setSyncSend(false)
+                .setPropertyArray(new Property[] {Property.createProperty("bootstrap.servers", "localhost:9092")})
+                .setSpool(Spool.newBuilder()
+                        .setDirectory(tempDir.toString())
+                        .setSegmentSize("4096")
+                        .setMaxDiskSize("8KB")
+                        .setRetryDelayMillis(10_000)
+                        .build())
+                .build();
+        final LogEvent event = Log4jLogEvent.newBuilder()
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("Hello, world!"))
+                .build();
+        appender.start();
+        try {
+            assertThrows(AppenderLoggingException.class, () -> {
+                for (int i = 0; i < 10_000; i++) {
+                    appender.append(event);
+                }
+            });
+        } finally {
+            appender.stop(0, TimeUnit.MILLISECONDS);
+        }
+    }
+}
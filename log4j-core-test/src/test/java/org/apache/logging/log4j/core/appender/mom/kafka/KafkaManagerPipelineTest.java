@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.mom.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.test.categories.Appenders;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.experimental.categories.Category;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@Category(Appenders.Kafka.class)
+class KafkaManagerPipelineTest {
+
+    private static final Serializer<byte[]> SERIALIZER = new ByteArraySerializer();
+
+    private static final byte[] MESSAGE = "Hello, world!".getBytes(StandardCharsets.UTF_8);
+
+    private final MockProducer<byte[], byte[]> producer = new MockProducer<>(false, SERIALIZER, SERIALIZER);
+
+    private final LoggerContext loggerContext = new LoggerContext("KafkaManagerPipelineTest");
+
+    private KafkaProducerFactory originalFactory;
+
+    private Properties producerConfig;
+
+    private KafkaManager manager;
+
+    @BeforeEach
+    void setUp() {
+        originalFactory = KafkaManager.producerFactory;
+        KafkaManager.producerFactory = config -> {
+            producerConfig = config;
+            return producer;
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.stop(1, TimeUnit.SECONDS);
+        }
+        KafkaManager.producerFactory = originalFactory;
+    }
+
+    private KafkaManager startManager(
+            final String name,
+            final int maxInFlight,
+            final KafkaManager.OverflowPolicy overflowPolicy,
+            final String key,
+            final Property... properties) {
+        manager = KafkaManager.getManager(
+                loggerContext, name, "topic", true, false, maxInFlight, overflowPolicy, properties, key);
+        manager.startup();
+        return manager;
+    }
+
+    private static LogEvent createLogEvent(final StringMap contextData) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(KafkaManagerPipelineTest.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("Hello, world!"))
+                .setContextData(contextData)
+                .build();
+    }
+
+    @Test
+    void testPipelinedSendDoesNotWaitForAcknowledgements() throws Exception {
+        startManager("testPipelinedSend", 2, KafkaManager.OverflowPolicy.BLOCK, null);
+        assertEquals(KafkaManager.DEFAULT_PIPELINE_LINGER_MILLIS, producerConfig.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertNull(producerConfig.get(ProducerConfig.BATCH_SIZE_CONFIG));
+
+        manager.send(MESSAGE, 1L);
+        manager.send(MESSAGE, 2L);
+        assertEquals(2, producer.history().size());
+        assertEquals(2, manager.getInFlightCount());
+
+        assertTrue(producer.completeNext());
+        assertTrue(producer.errorNext(new RuntimeException("Test")));
+        assertEquals(0, manager.getInFlightCount());
+        assertEquals(1, manager.getAcknowledgedCount());
+        assertEquals(1, manager.getFailedCount());
+        assertTrue(manager.awaitAcknowledgements(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testBlockPolicyTimesOutWhenWindowIsFull() throws Exception {
+        startManager(
+                "testBlockPolicy",
+                1,
+                KafkaManager.OverflowPolicy.BLOCK,
+                null,
+                Property.createProperty("timeout.ms", "50"));
+        manager.send(MESSAGE, 1L);
+        assertThrows(TimeoutException.class, () -> manager.send(MESSAGE, 2L));
+        assertFalse(manager.awaitAcknowledgements(50, TimeUnit.MILLISECONDS));
+
+        assertTrue(producer.completeNext());
+        manager.send(MESSAGE, 3L);
+        assertEquals(2, producer.history().size());
+    }
+
+    @Test
+    void testDropNewestPolicyDropsEventsWhenWindowIsFull() throws Exception {
+        startManager("testDropNewestPolicy", 1, KafkaManager.OverflowPolicy.DROP_NEWEST, null);
+        manager.send(MESSAGE, 1L);
+        manager.send(MESSAGE, 2L);
+        assertEquals(1, producer.history().size());
+        assertEquals(1, manager.getDroppedEventCount());
+    }
+
+    @Test
+    void testKeyIsResolvedFromEventContextData() throws Exception {
+        startManager("testKeyFromContextData", 1, KafkaManager.OverflowPolicy.BLOCK, "${ctx:tenant}");
+        final StringMap contextData = ContextDataFactory.createContextData();
+        contextData.putValue("tenant", "acme");
+        // The thread context of the sending thread is empty
+        manager.send(createLogEvent(contextData), MESSAGE);
+        assertArrayEquals(
+                "acme".getBytes(StandardCharsets.UTF_8),
+                producer.history().get(0).key());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.RollingAsyncFileChannelAppender;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.test.junit.TempLoggingDir;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@UsingStatusListener
+class RollingAsyncFileChannelAppenderTest {
+
+    private final Pattern FILE_PATTERN = Pattern.compile("test(-\\d+)?\\.log");
+    private final Pattern LINE_PATTERN = Pattern.compile("message \\d+");
+
+    @TempLoggingDir
+    private Path loggingPath;
+
+    @Test
+    @LoggerContextSource
+    void testAppender(final LoggerContext ctx) throws Exception {
+        final Logger logger = ctx.getLogger(getClass());
+        final int count = 5_000;
+        for (int i = 0; i < count; ++i) {
+            logger.debug("message {}", i);
+        }
+        ctx.stop(500, TimeUnit.MILLISECONDS);
+        final BitSet found = new BitSet(count);
+        int files = 0;
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(loggingPath)) {
+            for (final Path file : stream) {
+                assertThat(file.getFileName().toString()).matches(FILE_PATTERN);
+                final List<String> lines = Files.readAllLines(file, UTF_8);
+                assertThat(lines.get(0)).as("Header of %s", file).isEqualTo("header");
+                for (final String line : lines.subList(1, lines.size())) {
+                    assertThat(line).matches(LINE_PATTERN);
+                    found.set(Integer.parseInt(line.substring(line.indexOf(' ') + 1)));
+                }
+                files++;
+            }
+        }
+        assertThat(files).as("Number of files.").isGreaterThan(1);
+        assertThat(found.cardinality()).as("Number of events.").isEqualTo(count);
+    }
+
+    @Test
+    void writesHeaderOnlyToEmptyFiles(@TempDir final Path tempDir) throws Exception {
+        final Path newFile = tempDir.resolve("new.log");
+        appendMessage(newFile);
+        assertThat(Files.readAllLines(newFile, UTF_8)).containsExactly("header", "message");
+
+        final Path existingFile = tempDir.resolve("existing.log");
+        Files.write(existingFile, "previous\n".getBytes(UTF_8));
+        appendMessage(existingFile);
+        assertThat(Files.readAllLines(existingFile, UTF_8)).containsExactly("previous", "message");
+    }
+
+    private static void appendMessage(final Path file) {
+        final RollingAsyncFileChannelAppender appender = RollingAsyncFileChannelAppender.newBuilder()
+                .setName("header")
+                .setConfiguration(new DefaultConfiguration())
+                .setLayout(PatternLayout.newBuilder()
+                        .withPattern("%m%n")
+                        .withHeader("header%n")
+                        .build())
+                .withFileName(file.toString())
+                .withFilePattern(file + ".%i")
+                .withAppend(true)
+                .withPolicy(SizeBasedTriggeringPolicy.createPolicy("10MB"))
+                .build();
+        appender.start();
+        appender.append(Log4jLogEvent.newBuilder()
+                .setMessage(new SimpleMessage("message"))
+                .build());
+        appender.stop();
+    }
+}
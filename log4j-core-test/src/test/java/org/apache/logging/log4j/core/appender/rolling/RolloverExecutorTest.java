@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
+import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.CompositeAction;
+import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests RolloverExecutor.
+ */
+class RolloverExecutorTest {
+
+    @TempDir
+    File tempDir;
+
+    private final RolloverExecutor executor = new RolloverExecutor(1);
+
+    private static Action action(final Runnable runnable) {
+        return new AbstractAction() {
+            @Override
+            public boolean execute() {
+                runnable.run();
+                return true;
+            }
+        };
+    }
+
+    private Action compressAction(final String name, final int size) throws IOException {
+        final File source = new File(tempDir, name);
+        Files.write(source.toPath(), new byte[size]);
+        return new GzCompressAction(source, new File(tempDir, name + ".gz"), true, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    private CountDownLatch blockExecutor() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.submit(
+                action(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }),
+                () -> {});
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        return release;
+    }
+
+    @Test
+    void testActionsWithoutCompressionRunFirst() throws Exception {
+        final CountDownLatch release = blockExecutor();
+        final List<String> completed = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(4);
+        final Runnable[] completions = new Runnable[4];
+        for (int i = 0; i < completions.length; i++) {
+            final String name = "action" + i;
+            completions[i] = () -> {
+                completed.add(name);
+                done.countDown();
+            };
+        }
+        executor.submit(compressAction("first.log", 10), completions[0]);
+        executor.submit(action(() -> {}), completions[1]);
+        executor.submit(
+                new CompositeAction(Arrays.asList(action(() -> {}), compressAction("second.log", 10)), true),
+                completions[2]);
+        executor.submit(action(() -> {}), completions[3]);
+        assertEquals(4, executor.getQueueDepth());
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("action1", "action3", "action0", "action2"), completed);
+    }
+
+    @Test
+    void testPendingActionRunsOnCallingThread() throws Exception {
+        final CountDownLatch release = blockExecutor();
+        final AtomicInteger runs = new AtomicInteger();
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        final RolloverExecutor.Task task = executor.submit(
+                action(() -> {
+                    runs.incrementAndGet();
+                    thread.set(Thread.currentThread());
+                }),
+                done::countDown);
+
+        assertTrue(task.runIfPending());
+        assertEquals(0, done.getCount());
+        assertSame(Thread.currentThread(), thread.get());
+        assertEquals(0, executor.getQueueDepth());
+        assertFalse(task.runIfPending());
+
+        release.countDown();
+        task.run();
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testMetrics() throws Exception {
+        final CountDownLatch done = new CountDownLatch(2);
+        executor.submit(compressAction("compressed.log", 12345), done::countDown);
+        executor.submit(
+                action(() -> {
+                    throw new IllegalStateException("Test");
+                }),
+                done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        assertEquals(1, executor.getMaxThreads());
+        assertEquals(1, executor.getCompletedActionCount());
+        assertEquals(1, executor.getFailedActionCount());
+        assertEquals(12345, executor.getCompressedBytes());
+        assertTrue(new File(tempDir, "compressed.log.gz").exists());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests ParallelGzCompressAction.
+ */
+class ParallelGzCompressActionTest {
+
+    @TempDir
+    File tempDir;
+
+    private static byte[] createContent(final int size) {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream(size);
+        for (int i = 0; content.size() < size; i++) {
+            final byte[] line = ("Here is line " + i + ". Random text: " + Math.random() + "\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            content.write(line, 0, line.length);
+        }
+        return content.toByteArray();
+    }
+
+    private static byte[] decompress(final File file) throws IOException {
+        try (final InputStream input = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                content.write(buffer, 0, n);
+            }
+            return content.toByteArray();
+        }
+    }
+
+    @Test
+    void testConstructorDisallowsNullSource() {
+        assertThrows(
+                NullPointerException.class,
+                () -> new ParallelGzCompressAction(null, new File("any"), true, Deflater.DEFAULT_COMPRESSION, 2));
+    }
+
+    @Test
+    void testExecuteReturnsFalseIfSourceDoesNotExist() throws IOException {
+        final File source = new File(tempDir, "missing");
+        final File destination = new File(tempDir, "missing.gz");
+        assertFalse(ParallelGzCompressAction.execute(source, destination, true, Deflater.DEFAULT_COMPRESSION, 2));
+        assertFalse(destination.exists());
+    }
+
+    @Test
+    void testExecuteCompressesBlocksInParallel() throws IOException {
+        final byte[] content = createContent(3 * ParallelGzCompressAction.BLOCK_SIZE + 12345);
+        final File source = new File(tempDir, "compressme");
+        Files.write(source.toPath(), content);
+        final File destination = new File(tempDir, "compressme.gz");
+
+        final ParallelGzCompressAction action =
+                new ParallelGzCompressAction(source, destination, true, Deflater.BEST_SPEED, 2);
+        assertTrue(action.execute());
+        assertFalse(source.exists(), "Source should have been deleted");
+        assertArrayEquals(content, decompress(destination));
+    }
+
+    @Test
+    void testExecuteCompressesSmallFileAsSingleMember() throws IOException {
+        final byte[] content = createContent(1000);
+        final File source = new File(tempDir, "compressme");
+        Files.write(source.toPath(), content);
+        final File destination = new File(tempDir, "compressme.gz");
+        final File expected = new File(tempDir, "expected.gz");
+        GzCompressAction.execute(source, expected, false, Deflater.DEFAULT_COMPRESSION);
+
+        assertTrue(ParallelGzCompressAction.execute(source, destination, false, Deflater.DEFAULT_COMPRESSION, 4));
+        assertTrue(source.exists(), "Source should not have been deleted");
+        assertArrayEquals(Files.readAllBytes(expected.toPath()), Files.readAllBytes(destination.toPath()));
+    }
+
+    @Test
+    void testCompressMemberIsCompleteGzFile() throws IOException {
+        final byte[] content = createContent(5000);
+        final File member = new File(tempDir, "member.gz");
+        Files.write(member.toPath(), ParallelGzCompressAction.compressMember(content, Deflater.DEFAULT_COMPRESSION));
+        assertArrayEquals(content, decompress(member));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.test.BasicConfigurationFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the RetentionIndex class.
+ */
+class RetentionIndexTest {
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static final PathSorter SORTER = new PathSortByModificationTime(true);
+
+    @TempDir
+    Path tempDir;
+
+    private Path createFile(final String name, final long lastModifiedMillis) throws IOException {
+        final Path file = tempDir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, name.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModifiedMillis));
+        return file;
+    }
+
+    private static Map<Path, Long> sizes(final List<PathWithAttributes> paths) {
+        final Map<Path, Long> sizes = new HashMap<>();
+        for (final PathWithAttributes path : paths) {
+            sizes.put(path.getPath(), path.getAttributes().size());
+        }
+        return sizes;
+    }
+
+    private static List<Path> paths(final List<PathWithAttributes> paths) {
+        final List<Path> result = new ArrayList<>();
+        for (final PathWithAttributes path : paths) {
+            result.add(path.getPath());
+        }
+        return result;
+    }
+
+    @Test
+    void testNewAndRemovedFilesAreReconciled() throws IOException {
+        final long old = System.currentTimeMillis() - DAY_MILLIS;
+        final Path aaa = createFile("aaa", old);
+        final Path bbb = createFile("bbb", old);
+        final RetentionIndex index = new RetentionIndex(tempDir, Collections.emptySet(), 1, SORTER);
+        assertEquals(
+                new HashSet<>(Arrays.asList(aaa, bbb)), sizes(index.update()).keySet());
+
+        Files.delete(aaa);
+        final Path ccc = createFile("ccc", old);
+        assertEquals(
+                new HashSet<>(Arrays.asList(bbb, ccc)), sizes(index.update()).keySet());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testFilesAreKeptSorted() throws IOException {
+        final long old = System.currentTimeMillis() - DAY_MILLIS;
+        final Path aaa = createFile("aaa", old);
+        final Path ccc = createFile("ccc", old + 2000);
+        final RetentionIndex index = new RetentionIndex(tempDir, Collections.emptySet(), 1, SORTER);
+        assertEquals(Arrays.asList(ccc, aaa), paths(index.update()));
+
+        final Path bbb = createFile("bbb", old + 1000);
+        final Path ddd = createFile("ddd", old + 3000);
+        assertEquals(Arrays.asList(ddd, ccc, bbb, aaa), paths(index.update()));
+
+        Files.delete(ccc);
+        // As deleted by the action
+        Files.delete(aaa);
+        index.remove(aaa);
+        assertEquals(Arrays.asList(ddd, bbb), paths(index.update()));
+    }
+
+    @Test
+    void testRecentlyModifiedFilesAreReadAgain() throws IOException {
+        final long now = System.currentTimeMillis();
+        final Path active = createFile("active", now);
+        final Path archived = createFile("archived", now - DAY_MILLIS);
+        final RetentionIndex index = new RetentionIndex(tempDir, Collections.emptySet(), 1, SORTER);
+        index.update();
+
+        Files.write(active, new byte[100]);
+        Files.write(archived, new byte[100]);
+        Files.setLastModifiedTime(archived, FileTime.fromMillis(now - DAY_MILLIS));
+        final Map<Path, Long> sizes = sizes(index.update());
+        assertEquals(100, sizes.get(active).longValue());
+        // Files modified before the previous update are not read again
+        assertEquals("archived".length(), sizes.get(archived).longValue());
+
+        assertFalse(index.isUnchanged(archived));
+        assertEquals(100, sizes(index.update()).get(archived).longValue());
+        assertTrue(index.isUnchanged(archived));
+    }
+
+    @Test
+    void testSubdirectoriesAreIndexedUpToMaxDepth() throws IOException {
+        final long old = System.currentTimeMillis() - DAY_MILLIS;
+        final Path top = createFile("top", old);
+        final RetentionIndex index = new RetentionIndex(tempDir, Collections.emptySet(), 2, SORTER);
+        index.update();
+
+        final Path nested = createFile("sub/nested", old);
+        createFile("sub/deeper/ignored", old);
+        final Set<Path> expected = new HashSet<>(Arrays.asList(top, nested, tempDir.resolve("sub/deeper")));
+        assertEquals(expected, sizes(index.update()).keySet());
+
+        Files.delete(tempDir.resolve("sub/deeper/ignored"));
+        Files.delete(tempDir.resolve("sub/deeper"));
+        Files.delete(nested);
+        Files.delete(tempDir.resolve("sub"));
+        assertEquals(Collections.singleton(top), sizes(index.update()).keySet());
+    }
+
+    @Test
+    void testIndexedDeleteAction() throws IOException {
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            createFile("app-" + i + ".log.gz", now - (10 - i) * DAY_MILLIS);
+        }
+        final Configuration config = new BasicConfigurationFactory().new BasicConfiguration();
+        final PathCondition[] conditions = {IfAccumulatedFileCount.createFileCountCondition(2)};
+        final DeleteAction delete = DeleteAction.createDeleteAction(
+                tempDir.toString(), false, 1, false, true, null, conditions, null, config);
+        assertTrue(delete.isIndexed());
+
+        assertTrue(delete.execute());
+        assertEquals(
+                new HashSet<>(Arrays.asList(tempDir.resolve("app-3.log.gz"), tempDir.resolve("app-4.log.gz"))),
+                sizes(delete.getSortedPaths()).keySet());
+
+        createFile("app-5.log.gz", now - 5 * DAY_MILLIS);
+        assertTrue(delete.execute());
+        assertEquals(
+                new HashSet<>(Arrays.asList(tempDir.resolve("app-4.log.gz"), tempDir.resolve("app-5.log.gz"))),
+                sizes(delete.getSortedPaths()).keySet());
+        assertFalse(Files.exists(tempDir.resolve("app-3.log.gz")));
+    }
+}
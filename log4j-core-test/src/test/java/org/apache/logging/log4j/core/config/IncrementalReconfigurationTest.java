@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junitpioneer.jupiter.SetSystemProperty;
+
+/**
+ * Tests reconfiguration with the {@value IncrementalReconfiguration#PROPERTY_NAME} property.
+ */
+class IncrementalReconfigurationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path configFile;
+
+    private LoggerContext context;
+
+    @BeforeAll
+    static void loadProperties() {
+        // properties set before PropertiesUtil is created would be cached beyond the test that sets them
+        PropertiesUtil.getProperties();
+    }
+
+    @BeforeEach
+    void setUp() {
+        configFile = tempDir.resolve("log4j2.xml");
+        context = new LoggerContext("IncrementalReconfigurationTest");
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private String config(final String level, final String pattern) {
+        return "<Configuration status='WARN'><Appenders>"
+                + "<File name='Unchanged' fileName='" + tempDir.resolve("unchanged.log") + "'>"
+                + "<PatternLayout pattern='%m%n'/></File>"
+                + "<File name='Changed' fileName='" + tempDir.resolve("changed.log") + "'>"
+                + "<PatternLayout pattern='" + pattern + "'/></File>"
+                + "<Async name='Async'><AppenderRef ref='Unchanged'/></Async>"
+                + "</Appenders><Loggers>"
+                + "<Logger name='changed' level='" + level + "' additivity='false'>"
+                + "<AppenderRef ref='Changed'/></Logger>"
+                + "<Root level='INFO'><AppenderRef ref='Async'/></Root>"
+                + "</Loggers></Configuration>";
+    }
+
+    private Map<String, Appender> configure(final String level, final String pattern) throws IOException {
+        Files.write(configFile, config(level, pattern).getBytes(StandardCharsets.UTF_8));
+        context.setConfigLocation(configFile.toUri());
+        return new HashMap<>(context.getConfiguration().getAppenders());
+    }
+
+    @Test
+    @SetSystemProperty(key = IncrementalReconfiguration.PROPERTY_NAME, value = "true")
+    void takesOverUnchangedAppenders() throws IOException {
+        final Map<String, Appender> before = configure("INFO", "%m%n");
+        final Logger logger = context.getLogger("changed");
+        logger.info("first");
+
+        final Map<String, Appender> after = configure("DEBUG", "[%m]%n");
+        assertEquals(Level.DEBUG, logger.getLevel());
+        assertEquals(1, ((AbstractConfiguration) context.getConfiguration()).getReusedAppenderCount());
+        assertSame(before.get("Unchanged"), after.get("Unchanged"));
+        assertTrue(after.get("Unchanged").isStarted(), "taken over appender was stopped");
+        // the layout changed
+        assertNotSame(before.get("Changed"), after.get("Changed"));
+        assertTrue(before.get("Changed").isStopped());
+        // appenders that refer to other appenders are always recreated
+        assertNotSame(before.get("Async"), after.get("Async"));
+        assertTrue(before.get("Async").isStopped());
+        for (final Appender appender : after.values()) {
+            assertTrue(appender.isStarted(), appender.getName());
+        }
+        logger.debug("second");
+
+        context.stop();
+        final List<String> lines = Files.readAllLines(tempDir.resolve("changed.log"));
+        assertEquals("first", lines.get(0));
+        assertEquals("[second]", lines.get(1));
+    }
+
+    @Test
+    @SetSystemProperty(key = IncrementalReconfiguration.PROPERTY_NAME, value = "true")
+    void resolvesPropertiesOfTakenOverLayoutsWithNewConfiguration() throws IOException {
+        final Path logFile = tempDir.resolve("properties.log");
+        // the layout resolves the property for each event, so the element itself does not change
+        final String appenders = "<Appenders><File name='File' fileName='" + logFile + "'>"
+                + "<PatternLayout pattern='$${prefix} %m%n'/></File></Appenders>"
+                + "<Loggers><Root level='INFO'><AppenderRef ref='File'/></Root></Loggers></Configuration>";
+        Files.write(
+                configFile,
+                ("<Configuration><Properties><Property name='prefix'>first</Property></Properties>" + appenders)
+                        .getBytes(StandardCharsets.UTF_8));
+        context.setConfigLocation(configFile.toUri());
+        final Appender before = context.getConfiguration().getAppender("File");
+        final Logger logger = context.getLogger("properties");
+        logger.info("one");
+
+        Files.write(
+                configFile,
+                ("<Configuration><Properties><Property name='prefix'>second</Property></Properties>" + appenders)
+                        .getBytes(StandardCharsets.UTF_8));
+        context.reconfigure();
+        assertSame(before, context.getConfiguration().getAppender("File"));
+        logger.info("two");
+
+        // and again, with an appender taken over twice
+        Files.write(
+                configFile,
+                ("<Configuration><Properties><Property name='prefix'>third</Property></Properties>" + appenders)
+                        .getBytes(StandardCharsets.UTF_8));
+        context.reconfigure();
+        assertSame(before, context.getConfiguration().getAppender("File"));
+        logger.info("three");
+
+        context.stop();
+        assertEquals(Arrays.asList("first one", "second two", "third three"), Files.readAllLines(logFile));
+    }
+
+    @Test
+    @SetSystemProperty(key = IncrementalReconfiguration.PROPERTY_NAME, value = "true")
+    void recordsReconfigurationMetrics() throws IOException {
+        final long count = context.getReconfigurationCount();
+        configure("INFO", "%m%n");
+        configure("DEBUG", "%m%n");
+        assertEquals(count + 2, context.getReconfigurationCount());
+        assertEquals(2, ((AbstractConfiguration) context.getConfiguration()).getReusedAppenderCount());
+    }
+
+    @Test
+    void recreatesAllAppendersByDefault() throws IOException {
+        final Map<String, Appender> before = configure("INFO", "%m%n");
+        final Map<String, Appender> after = configure("DEBUG", "%m%n");
+        assertEquals(0, ((AbstractConfiguration) context.getConfiguration()).getReusedAppenderCount());
+        for (final Map.Entry<String, Appender> entry : before.entrySet()) {
+            assertNotSame(entry.getValue(), after.get(entry.getKey()));
+            assertTrue(entry.getValue().isStopped(), entry.getKey());
+        }
+    }
+}
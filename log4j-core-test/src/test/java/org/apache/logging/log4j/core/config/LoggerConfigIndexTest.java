@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.util.NameUtil;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the LoggerConfigIndex class.
+ */
+class LoggerConfigIndexTest {
+
+    private static final String[] CONFIGURED = {
+        "", "com", "com.example.app", "com.example.app.Service", "org..double", "org.", ".leading", "a.b.c.d.e.f"
+    };
+
+    private static final String[] LOGGERS = {
+        "",
+        "com",
+        "com.example",
+        "com.example.app",
+        "com.example.app.Service",
+        "com.example.app.Service$Inner",
+        "com.example.app.ServiceImpl",
+        "com.example.application.Main",
+        "com.exampl",
+        "comx",
+        "org",
+        "org.",
+        "org..",
+        "org..double",
+        "org..double.Child",
+        "org.other",
+        ".leading",
+        ".leading.Child",
+        ".",
+        "..",
+        "a.b.c.d.e",
+        "a.b.c.d.e.f.g.h",
+        "net.example.Unknown"
+    };
+
+    @Test
+    void resolves_like_the_substring_walk() {
+        final Map<String, LoggerConfig> configs = createConfigs(CONFIGURED);
+        final LoggerConfigIndex index = LoggerConfigIndex.of(configs);
+        for (final String loggerName : LOGGERS) {
+            assertSame(walk(configs, loggerName), index.find(loggerName), loggerName);
+        }
+    }
+
+    @Test
+    void returns_null_without_empty_name() {
+        final Map<String, LoggerConfig> configs = createConfigs("com.example");
+        final LoggerConfigIndex index = LoggerConfigIndex.of(configs);
+        assertSame(configs.get("com.example"), index.find("com.example.Main"));
+        assertNull(index.find("com.other.Main"));
+        assertNull(index.find(""));
+        assertNull(LoggerConfigIndex.of(new HashMap<>()).find("com.example"));
+    }
+
+    @Test
+    void configuration_uses_index_after_changes() {
+        final DefaultConfiguration configuration = new DefaultConfiguration();
+        final LoggerConfig app = new LoggerConfig("com.example.app", Level.DEBUG, true);
+        configuration.addLogger(app.getName(), app);
+        assertSame(app, configuration.getLoggerConfig("com.example.app.Service"));
+        configuration.removeLogger(app.getName());
+        assertSame(configuration.getRootLogger(), configuration.getLoggerConfig("com.example.app.Service"));
+    }
+
+    private static Map<String, LoggerConfig> createConfigs(final String... names) {
+        final Map<String, LoggerConfig> configs = new HashMap<>();
+        Arrays.stream(names).forEach(name -> configs.put(name, new LoggerConfig(name, Level.INFO, true)));
+        return configs;
+    }
+
+    /**
+     * The lookup performed by {@link AbstractConfiguration#getLoggerConfig} before the index was introduced.
+     */
+    private static LoggerConfig walk(final Map<String, LoggerConfig> configs, final String loggerName) {
+        String name = loggerName;
+        do {
+            final LoggerConfig loggerConfig = configs.get(name);
+            if (loggerConfig != null) {
+                return loggerConfig;
+            }
+        } while ((name = NameUtil.getSubName(name)) != null);
+        return null;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.plugins.processor;
+
+import static org.apache.logging.log4j.util.Strings.toRootLowerCase;
+import static org.apache.logging.log4j.util.Strings.toRootUpperCase;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PluginIndexTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void findsEntriesByCategoryAndKey() throws IOException {
+        final PluginCache cache = new PluginCache();
+        createCategory(cache, "Core", Arrays.asList("file", "console", "rollingfile", "café"));
+        createCategory(cache, "Lookup", Arrays.asList("sys", "env"));
+        final PluginIndex index = PluginIndex.read(indexData(cache));
+
+        final ByteArrayOutputStream cacheFile = new ByteArrayOutputStream();
+        cache.writeCache(cacheFile);
+        assertEquals(cacheFile.size(), index.getCacheFileLength());
+        assertEquals(2, index.getCategoryCount());
+        assertEquals("core", index.getCategoryName(0));
+        assertEquals("lookup", index.getCategoryName(1));
+        for (final String key : Arrays.asList("file", "console", "rollingfile", "café")) {
+            final PluginEntry entry = index.getEntry("core", key);
+            assertNotNull(entry, key);
+            assertEquals(key, entry.getKey());
+            assertEquals("com.example." + key, entry.getClassName());
+            assertEquals(toRootUpperCase(key), entry.getName());
+            assertEquals("core", entry.getCategory());
+            assertEquals(key.startsWith("c"), entry.isPrintable());
+            assertEquals(key.endsWith("e"), entry.isDefer());
+        }
+        assertNotNull(index.getEntry("lookup", "sys"));
+        assertNull(index.getEntry("core", "sys"));
+        assertNull(index.getEntry("core", "fil"));
+        assertNull(index.getEntry("core", "files"));
+        assertNull(index.getEntry("converter", "file"));
+
+        final List<String> keys = new ArrayList<>();
+        for (final PluginEntry entry : index.getEntries(0)) {
+            keys.add(entry.getKey());
+        }
+        assertEquals(Arrays.asList("café", "console", "file", "rollingfile"), keys);
+    }
+
+    @Test
+    void outputIsReproducibleWhenInputOrderingChanges() throws IOException {
+        final PluginCache cacheA = new PluginCache();
+        createCategory(cacheA, "one", Arrays.asList("bravo", "alpha", "charlie"));
+        createCategory(cacheA, "two", Arrays.asList("alpha", "charlie", "bravo"));
+        final PluginCache cacheB = new PluginCache();
+        createCategory(cacheB, "two", Arrays.asList("bravo", "alpha", "charlie"));
+        createCategory(cacheB, "one", Arrays.asList("alpha", "charlie", "bravo"));
+        assertArrayEquals(indexData(cacheA), indexData(cacheB));
+    }
+
+    @Test
+    void readsMappedFiles() throws IOException {
+        final PluginCache cache = new PluginCache();
+        createCategory(cache, "Core", Collections.singletonList("file"));
+        final Path file = tempDir.resolve("Log4j2Plugins.idx");
+        Files.write(file, indexData(cache));
+        final PluginIndex index = PluginIndex.read(file.toUri().toURL());
+        assertEquals("com.example.file", index.getEntry("core", "file").getClassName());
+    }
+
+    @Test
+    void rejectsInvalidData() {
+        assertThrows(IOException.class, () -> PluginIndex.read(new byte[0]));
+        assertThrows(IOException.class, () -> PluginIndex.read(new byte[20]));
+    }
+
+    @Test
+    void processorWritesAnIndex() throws IOException {
+        final Plugin plugin = FakePlugin.class.getAnnotation(Plugin.class);
+        final String category = toRootLowerCase(plugin.category());
+        boolean found = false;
+        for (final URL url :
+                Collections.list(getClass().getClassLoader().getResources(PluginProcessor.PLUGIN_INDEX_FILE))) {
+            final PluginEntry entry = PluginIndex.read(url).getEntry(category, toRootLowerCase(plugin.name()));
+            if (entry != null) {
+                assertEquals(FakePlugin.class.getName(), entry.getClassName());
+                assertEquals(plugin.name(), entry.getName());
+                found = true;
+            }
+        }
+        assertTrue(found, "FakePlugin is not in a plugin index");
+        assertFalse(Collections.list(getClass().getClassLoader().getResources(PluginProcessor.PLUGIN_CACHE_FILE))
+                .isEmpty());
+    }
+
+    private static void createCategory(final PluginCache cache, final String categoryName, final List<String> keys) {
+        final Map<String, PluginEntry> category = cache.getCategory(categoryName);
+        for (final String key : keys) {
+            final PluginEntry entry = new PluginEntry();
+            entry.setKey(key);
+            entry.setClassName("com.example." + key);
+            entry.setName(toRootUpperCase(key));
+            entry.setCategory(categoryName);
+            entry.setPrintable(key.startsWith("c"));
+            entry.setDefer(key.endsWith("e"));
+            category.put(key, entry);
+        }
+    }
+
+    private static byte[] indexData(final PluginCache cache) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PluginIndex.write(cache, output);
+        return output.toByteArray();
+    }
+}
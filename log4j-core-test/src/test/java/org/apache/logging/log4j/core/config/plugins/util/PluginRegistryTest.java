@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.plugins.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.core.appender.ConsoleAppender;
+import org.apache.logging.log4j.core.appender.FileAppender;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginCache;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginIndex;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PluginRegistryTest {
+
+    private static final String CATEGORY = "pluginregistrytest";
+    private static final long BUNDLE_ID = -42;
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void clearBundlePlugins() {
+        PluginRegistry.getInstance().clearBundlePlugins(BUNDLE_ID);
+    }
+
+    @Test
+    void prefersTheIndexToTheCacheFile() throws IOException {
+        // the files only differ by the key, so that they have the same length
+        writeCacheFile(cache("aaaa", FileAppender.class.getName()));
+        writeIndex(cache("bbbb", FileAppender.class.getName()));
+        final Map<String, PluginType<?>> types = load();
+        assertEquals(1, types.size());
+        assertSame(FileAppender.class, types.get("bbbb").getPluginClass());
+    }
+
+    @Test
+    void ignoresAnIndexThatDoesNotMatchTheCacheFile() throws IOException {
+        final PluginCache merged = cache("console", ConsoleAppender.class.getName());
+        merged.getCategory(CATEGORY).put("file", entry("file", FileAppender.class.getName()));
+        writeCacheFile(merged);
+        writeIndex(cache("file", FileAppender.class.getName()));
+        final Map<String, PluginType<?>> types = load();
+        assertEquals(2, types.size());
+        assertSame(ConsoleAppender.class, types.get("console").getPluginClass());
+        assertSame(FileAppender.class, types.get("file").getPluginClass());
+    }
+
+    @Test
+    void readsTheCacheFileIfTheIndexIsInvalid() throws IOException {
+        writeCacheFile(cache("console", ConsoleAppender.class.getName()));
+        Files.write(tempDir.resolve(PluginProcessor.PLUGIN_INDEX_FILE), new byte[] {1, 2, 3});
+        final Map<String, PluginType<?>> types = load();
+        assertEquals(1, types.size());
+        assertSame(ConsoleAppender.class, types.get("console").getPluginClass());
+    }
+
+    @Test
+    void loadsPluginClassesOnFirstUse() throws IOException {
+        final PluginCache cache = cache("console", ConsoleAppender.class.getName());
+        cache.getCategory(CATEGORY).put("missing", entry("missing", "org.example.MissingPlugin"));
+        writeCacheFile(cache);
+        writeIndex(cache);
+        final Map<String, PluginType<?>> types = load();
+        final PluginType<?> missing = types.get("missing");
+        assertNotNull(missing);
+        assertEquals("org.example.MissingPlugin", missing.getPluginClassName());
+        assertFalse(missing.isLoadable());
+        assertNull(missing.getPluginClass());
+        assertTrue(types.get("console").isLoadable());
+    }
+
+    private Map<String, PluginType<?>> load() throws IOException {
+        try (final URLClassLoader loader = new URLClassLoader(
+                new URL[] {tempDir.toUri().toURL()}, getClass().getClassLoader())) {
+            final List<PluginType<?>> types = PluginRegistry.getInstance()
+                    .loadFromBundle(BUNDLE_ID, loader)
+                    .get(CATEGORY);
+            assertNotNull(types);
+            final Map<String, PluginType<?>> typesByKey = new HashMap<>();
+            for (final PluginType<?> type : types) {
+                typesByKey.put(type.getKey(), type);
+            }
+            return typesByKey;
+        }
+    }
+
+    private static PluginCache cache(final String key, final String className) {
+        final PluginCache cache = new PluginCache();
+        cache.getCategory(CATEGORY).put(key, entry(key, className));
+        return cache;
+    }
+
+    private static PluginEntry entry(final String key, final String className) {
+        final PluginEntry entry = new PluginEntry();
+        entry.setKey(key);
+        entry.setClassName(className);
+        entry.setName(key);
+        entry.setCategory(CATEGORY);
+        return entry;
+    }
+
+    private void writeCacheFile(final PluginCache cache) throws IOException {
+        final Path file = tempDir.resolve(PluginProcessor.PLUGIN_CACHE_FILE);
+        Files.createDirectories(file.getParent());
+        try (final OutputStream out = Files.newOutputStream(file)) {
+            cache.writeCache(out);
+        }
+    }
+
+    private void writeIndex(final PluginCache cache) throws IOException {
+        final Path file = tempDir.resolve(PluginProcessor.PLUGIN_INDEX_FILE);
+        Files.createDirectories(file.getParent());
+        try (final OutputStream out = Files.newOutputStream(file)) {
+            PluginIndex.write(cache, out);
+        }
+    }
+}
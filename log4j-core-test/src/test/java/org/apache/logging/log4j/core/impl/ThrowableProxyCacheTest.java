@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.util.HashMap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ThrowableProxyCache}.
+ */
+class ThrowableProxyCacheTest {
+
+    private static Throwable[] newThrowables(final int count) {
+        final Throwable[] throwables = new Throwable[count];
+        for (int i = 0; i < count; i++) {
+            throwables[i] = new IllegalStateException("Message " + i, new IOException("Cause " + i));
+        }
+        return throwables;
+    }
+
+    private static ExtendedStackTraceElement[] resolve(
+            final ThrowableProxyCache cache, final ThrowableProxy proxy, final StackTraceElement[] rootTrace) {
+        return ThrowableProxyHelper.toExtendedStackTrace(
+                proxy,
+                cache,
+                new ThrowableProxyHelper.CallerStack(),
+                new HashMap<>(),
+                rootTrace,
+                proxy.getThrowable().getStackTrace());
+    }
+
+    private static StackTraceElement[] toStackTrace(final ExtendedStackTraceElement[] extendedStackTrace) {
+        final StackTraceElement[] stackTrace = new StackTraceElement[extendedStackTrace.length];
+        for (int i = 0; i < stackTrace.length; i++) {
+            stackTrace[i] = extendedStackTrace[i].getStackTraceElement();
+        }
+        return stackTrace;
+    }
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(1, new ThrowableProxyCache(1).getCapacity());
+        assertEquals(128, new ThrowableProxyCache(100).getCapacity());
+    }
+
+    @Test
+    void sameStackTraceIsResolvedOnce() {
+        final ThrowableProxyCache cache = new ThrowableProxyCache(16);
+        final Throwable[] throwables = newThrowables(2);
+        final ThrowableProxy first = new ThrowableProxy(throwables[0]);
+        final ThrowableProxy second = new ThrowableProxy(throwables[1]);
+
+        final ExtendedStackTraceElement[] firstTrace = resolve(cache, first, null);
+        final ExtendedStackTraceElement[] secondTrace = resolve(cache, second, null);
+
+        assertSame(firstTrace, secondTrace);
+        assertArrayEquals(throwables[1].getStackTrace(), toStackTrace(secondTrace));
+        assertSame(first.getCacheEntry(), second.getCacheEntry());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void causeCommonElementCountIsRestored() {
+        final ThrowableProxyCache cache = new ThrowableProxyCache(16);
+        final Throwable[] throwables = newThrowables(2);
+        final ThrowableProxy first = new ThrowableProxy(throwables[0]).getCauseProxy();
+        final ThrowableProxy second = new ThrowableProxy(throwables[1]).getCauseProxy();
+        final int commonElementCount = first.getCommonElementCount();
+        second.setCommonElementCount(-1);
+
+        resolve(cache, first, throwables[0].getStackTrace());
+        resolve(cache, second, throwables[1].getStackTrace());
+
+        assertEquals(commonElementCount, second.getCommonElementCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void differentStackTraceMisses() {
+        final ThrowableProxyCache cache = new ThrowableProxyCache(16);
+        final ThrowableProxy first = new ThrowableProxy(newThrowables(1)[0]);
+        final ThrowableProxy second = new ThrowableProxy(new IllegalStateException());
+
+        assertNotSame(resolve(cache, first, null), resolve(cache, second, null));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void renderingIsReusedForSamePrefixAndSeparator() {
+        final ThrowableProxyCache cache = new ThrowableProxyCache(16);
+        final ThrowableProxy proxy = new ThrowableProxy(newThrowables(1)[0]);
+        resolve(cache, proxy, null);
+        final ThrowableProxyCache.Entry entry = proxy.getCacheEntry();
+
+        entry.setRendering("\t", "\n", "rendered");
+
+        assertEquals("rendered", entry.getRendering("\t", "\n"));
+        assertNull(entry.getRendering("", "\n"));
+        assertNull(entry.getRendering("\t", "\r\n"));
+    }
+
+    @Test
+    void clearRemovesEntries() {
+        final ThrowableProxyCache cache = new ThrowableProxyCache(16);
+        final Throwable[] throwables = newThrowables(2);
+        resolve(cache, new ThrowableProxy(throwables[0]), null);
+        cache.clear();
+        resolve(cache, new ThrowableProxy(throwables[1]), null);
+
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+}
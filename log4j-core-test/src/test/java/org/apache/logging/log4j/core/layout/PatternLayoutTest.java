@@ -391,6 +391,40 @@ public class PatternLayoutTest {
                 event);
     }
 
+    @Test
+    public void testCompiledMatchesInterpreted() throws Exception {
+        final String[] patterns = {
+            PatternLayout.SIMPLE_CONVERSION_PATTERN,
+            PatternLayout.TTCC_CONVERSION_PATTERN,
+            "%d{ISO8601} %-5level %logger{36} - %msg%n",
+            "\\\\%level\\t%msg\\n\\t%logger\\r\\n\\f",
+            "%-20.-10logger|%10.20msg|%5level|%t",
+            "%highlight{%level}{STYLE=Logback} %c{1.} [%marker] %X{key1} %msg%ex%n",
+            "%equals{[%marker]}{[]}{} %m ${sys:user.name}%n"
+        };
+        final LogEvent event = Log4jLogEvent.newBuilder()
+                .setLoggerName(this.getClass().getName())
+                .setLoggerFqcn("org.apache.logging.log4j.core.Logger")
+                .setMarker(MarkerManager.getMarker("TestMarker"))
+                .setLevel(Level.WARN)
+                .setMessage(new SimpleMessage("Hello, world!"))
+                .setThrown(new IllegalStateException("test"))
+                .build();
+        for (final String pattern : patterns) {
+            final PatternLayout interpreted = PatternLayout.newBuilder()
+                    .withPattern(pattern)
+                    .withConfiguration(ctx.getConfiguration())
+                    .build();
+            final PatternLayout compiled = PatternLayout.newBuilder()
+                    .withPattern(pattern)
+                    .withConfiguration(ctx.getConfiguration())
+                    .withCompiled(true)
+                    .build();
+            assertEquals(interpreted.toSerializable(event), compiled.toSerializable(event), pattern);
+            assertEquals(interpreted.requiresLocation(), compiled.requiresLocation(), pattern);
+        }
+    }
+
     @Test
     public void testUnixTime() throws Exception {
         final PatternLayout layout = PatternLayout.newBuilder()
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link DatagramChannelManager}.
+ */
+class DatagramChannelManagerTest {
+
+    private static final PatternLayout LAYOUT =
+            PatternLayout.newBuilder().withPattern("%m").build();
+
+    private DatagramSocket receiver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        receiver = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        receiver.setSoTimeout(5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        receiver.close();
+    }
+
+    private DatagramChannelManager getManager(
+            final PatternLayout layout, final int bufferSize, final int maxDatagramSize) {
+        return DatagramChannelManager.getManager(
+                InetAddress.getLoopbackAddress().getHostAddress(),
+                receiver.getLocalPort(),
+                layout,
+                bufferSize,
+                maxDatagramSize);
+    }
+
+    private String receive() throws IOException {
+        final byte[] bytes = new byte[1024];
+        final DatagramPacket packet = new DatagramPacket(bytes, bytes.length);
+        receiver.receive(packet);
+        return new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
+    }
+
+    private static void write(final DatagramChannelManager manager, final String text, final boolean flush) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        manager.write(bytes, 0, bytes.length, flush);
+    }
+
+    @Test
+    void sendsOneDatagramPerEvent() throws IOException {
+        try (final DatagramChannelManager manager = getManager(LAYOUT, 1024, 0)) {
+            write(manager, "first", false);
+            write(manager, "second", false);
+            write(manager, "third", true);
+            assertEquals("first", receive());
+            assertEquals("second", receive());
+            assertEquals("third", receive());
+        }
+    }
+
+    @Test
+    void packsEventsUpToMaxDatagramSize() throws IOException {
+        try (final DatagramChannelManager manager = getManager(LAYOUT, 1024, 20)) {
+            for (int i = 0; i < 10; i++) {
+                write(manager, "abcd" + i, false);
+            }
+            manager.flush();
+            assertEquals("abcd0abcd1abcd2abcd3", receive());
+            assertEquals("abcd4abcd5abcd6abcd7", receive());
+            assertEquals("abcd8abcd9", receive());
+        }
+    }
+
+    @Test
+    void framesEveryDatagramWithHeaderAndFooter() throws IOException {
+        final PatternLayout layout = PatternLayout.newBuilder()
+                .withPattern("%m")
+                .withHeader("<")
+                .withFooter(">")
+                .build();
+        try (final DatagramChannelManager manager = getManager(layout, 1024, 12)) {
+            write(manager, "one", false);
+            write(manager, "two", false);
+            write(manager, "three", true);
+            assertEquals("<onetwo>", receive());
+            assertEquals("<three>", receive());
+        }
+    }
+
+    @Test
+    void keepsPartialEventWhenBufferIsFull() throws IOException {
+        try (final DatagramChannelManager manager = getManager(LAYOUT, 16, 0)) {
+            write(manager, "0123456789", false);
+            write(manager, "abcdefghij", true);
+            assertEquals("0123456789", receive());
+            assertEquals("abcdefghij", receive());
+        }
+    }
+
+    @Test
+    void splitsEventLargerThanBuffer() throws IOException {
+        try (final DatagramChannelManager manager = getManager(LAYOUT, 16, 0)) {
+            write(manager, "0123456789abcdefghijklmnopqrstuvwxyz", true);
+            assertEquals("0123456789abcdef", receive());
+            assertEquals("ghijklmnopqrstuv", receive());
+            assertEquals("wxyz", receive());
+        }
+    }
+
+    @Test
+    void encodesEventsInPlace() throws IOException {
+        try (final DatagramChannelManager manager = getManager(LAYOUT, 1024, 0)) {
+            for (int i = 0; i < 3; i++) {
+                final LogEvent event = Log4jLogEvent.newBuilder()
+                        .setMessage(new SimpleMessage("message " + i))
+                        .build();
+                manager.encode(LAYOUT, event, i == 2);
+            }
+            assertEquals("message 0", receive());
+            assertEquals("message 1", receive());
+            assertEquals("message 2", receive());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.net.SocketChannelManager.OverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link SocketChannelManager} against an in-process TCP server.
+ */
+class SocketChannelManagerTest {
+
+    private static final PatternLayout LAYOUT =
+            PatternLayout.newBuilder().withPattern("%m").build();
+
+    /**
+     * Room for five events of the form {@code event-N\n}, preceded by their length.
+     */
+    private static final int CHANNEL_BUFFER_SIZE = 60;
+
+    @TempDir
+    Path tempDir;
+
+    private int port;
+
+    private ServerSocket server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (final ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private void startServer() throws IOException {
+        server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.setSoTimeout(5_000);
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    private SocketChannelManager getManager(
+            final PatternLayout layout, final OverflowPolicy overflowPolicy, final String spillFile) {
+        return SocketChannelManager.getManager(
+                InetAddress.getLoopbackAddress().getHostAddress(),
+                port,
+                1_000,
+                100,
+                layout,
+                16,
+                null,
+                CHANNEL_BUFFER_SIZE,
+                overflowPolicy,
+                spillFile);
+    }
+
+    private static void write(final SocketChannelManager manager, final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        manager.write(bytes, 0, bytes.length, true);
+    }
+
+    private static void writeEvents(final SocketChannelManager manager, final int count) {
+        for (int i = 0; i < count; i++) {
+            write(manager, "event-" + i + "\n");
+        }
+    }
+
+    private BufferedReader accept() throws IOException {
+        final Socket socket = server.accept();
+        socket.setSoTimeout(5_000);
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static void assertEvents(final BufferedReader reader, final int first, final int last) throws IOException {
+        for (int i = first; i <= last; i++) {
+            assertEquals("event-" + i, reader.readLine());
+        }
+    }
+
+    @Test
+    void sendsHeaderAndEvents() throws IOException {
+        startServer();
+        final PatternLayout layout = PatternLayout.newBuilder()
+                .withPattern("%m")
+                .withHeader("header%n")
+                .build();
+        try (final SocketChannelManager manager = getManager(layout, OverflowPolicy.BLOCK, null)) {
+            final BufferedReader reader = accept();
+            write(manager, "a message larger than the encoding buffer\n");
+            writeEvents(manager, 100);
+            assertEquals("header", reader.readLine());
+            assertEquals("a message larger than the encoding buffer", reader.readLine());
+            assertEvents(reader, 0, 99);
+            assertTrue(manager.isConnected());
+        }
+    }
+
+    @Test
+    void buffersEventsUntilConnected() throws Exception {
+        try (final SocketChannelManager manager = getManager(LAYOUT, OverflowPolicy.DROP_NEWEST, null)) {
+            writeEvents(manager, 3);
+            assertFalse(manager.isConnected());
+            assertEquals(3, manager.getBufferedEventCount());
+            startServer();
+            assertEvents(accept(), 0, 2);
+            assertEquals(0, manager.getDroppedEventCount());
+        }
+    }
+
+    @Test
+    void dropsNewestEventsWhenFull() throws IOException {
+        try (final SocketChannelManager manager = getManager(LAYOUT, OverflowPolicy.DROP_NEWEST, null)) {
+            writeEvents(manager, 8);
+            assertEquals(5, manager.getBufferedEventCount());
+            assertEquals(CHANNEL_BUFFER_SIZE, manager.getChannelBufferUsed());
+            assertEquals(3, manager.getDroppedEventCount());
+            startServer();
+            final BufferedReader reader = accept();
+            assertEvents(reader, 0, 4);
+            write(manager, "event-8\n");
+            assertEvents(reader, 8, 8);
+        }
+    }
+
+    @Test
+    void dropsOldestEventsWhenFull() throws IOException {
+        try (final SocketChannelManager manager = getManager(LAYOUT, OverflowPolicy.DROP_OLDEST, null)) {
+            writeEvents(manager, 8);
+            assertEquals(5, manager.getBufferedEventCount());
+            assertEquals(3, manager.getDroppedEventCount());
+            startServer();
+            assertEvents(accept(), 3, 7);
+        }
+    }
+
+    @Test
+    void spillsEventsToDisk() throws IOException {
+        final Path spillFile = tempDir.resolve("events.spill");
+        try (final SocketChannelManager manager = getManager(LAYOUT, OverflowPolicy.SPILL, spillFile.toString())) {
+            writeEvents(manager, 8);
+            assertEquals(5, manager.getBufferedEventCount());
+            assertEquals(3, manager.getSpilledEventCount());
+            assertEquals(24, manager.getSpilledBytes());
+            assertTrue(Files.exists(spillFile));
+            startServer();
+            final BufferedReader reader = accept();
+            assertEvents(reader, 0, 7);
+            write(manager, "event-8\n");
+            assertEvents(reader, 8, 8);
+            assertEquals(0, manager.getDroppedEventCount());
+        }
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    void blocksUntilEventsAreSent() throws Exception {
+        try (final SocketChannelManager manager = getManager(LAYOUT, OverflowPolicy.BLOCK, null)) {
+            final Thread producer = new Thread(() -> writeEvents(manager, 8));
+            producer.start();
+            producer.join(500);
+            assertTrue(producer.isAlive());
+            assertEquals(5, manager.getBufferedEventCount());
+            startServer();
+            assertEvents(accept(), 0, 7);
+            producer.join(5_000);
+            assertFalse(producer.isAlive());
+            assertEquals(0, manager.getDroppedEventCount());
+        }
+    }
+
+    @Test
+    void reconnectsWhenConnectionIsLost() throws IOException {
+        startServer();
+        try (final SocketChannelManager manager = getManager(LAYOUT, OverflowPolicy.BLOCK, null)) {
+            final BufferedReader reader = accept();
+            writeEvents(manager, 2);
+            assertEvents(reader, 0, 1);
+            reader.close();
+            server.close();
+            startServer();
+            final BufferedReader newReader = accept();
+            write(manager, "event-2\n");
+            assertEvents(newReader, 2, 2);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.PrecompiledConfiguration;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("functional")
+class ConfigurationCompilerTest {
+
+    @TempDir
+    private Path outputDir;
+
+    @Test
+    void compilesElementsToBuilderCalls() throws Exception {
+        final ByteArrayOutputStream warnings = new ByteArrayOutputStream();
+        final String source = ConfigurationCompiler.compile(
+                resource("log4j2.xml"), "org.myorg.PrecompiledConfig", new PrintStream(warnings, true, "UTF-8"));
+        assertEquals("", warnings.toString("UTF-8"));
+        assertTrue(source.contains("ListAppender.newBuilder()"), source);
+        assertTrue(source.contains(".setRaw(true)"), source);
+        assertTrue(source.contains("substitute(\"${prefix} %level %m\")"), source);
+        assertTrue(source.contains(".withAdditivity(false)"), source);
+        assertFalse(source.contains("create(node("), source);
+
+        final LoggerContext loggerContext = new LoggerContext("ConfigurationCompilerTest");
+        try {
+            final Configuration configuration = instantiate(source, "org.myorg.PrecompiledConfig", loggerContext);
+            loggerContext.start(configuration);
+            assertEquals("Precompiled", configuration.getName());
+            assertEquals(Level.WARN, configuration.getRootLogger().getLevel());
+
+            final Logger logger = loggerContext.getLogger(ConfigurationCompilerTest.class);
+            logger.debug("debug");
+            logger.info("info");
+            loggerContext.getLogger("other").warn("warn");
+            final ListAppender list = configuration.getAppender("List");
+            assertEquals(Collections.singletonList("precompiled INFO info"), list.getMessages());
+            final ListAppender other = configuration.getAppender("Other");
+            assertEquals(1, other.getEvents().size());
+        } finally {
+            loggerContext.stop();
+        }
+    }
+
+    @Test
+    void createsArbitersWhenTheConfigurationStarts() throws Exception {
+        final ByteArrayOutputStream warnings = new ByteArrayOutputStream();
+        final String source = ConfigurationCompiler.compile(
+                resource("arbiters.xml"), "org.myorg.ArbitersConfig", new PrintStream(warnings, true, "UTF-8"));
+        assertTrue(warnings.toString("UTF-8").contains("Element Appenders contains arbiters"), warnings::toString);
+        assertTrue(source.contains("addElement(node(\"Appenders\""), source);
+
+        final LoggerContext loggerContext = new LoggerContext("ConfigurationCompilerTest");
+        try {
+            final Configuration configuration = instantiate(source, "org.myorg.ArbitersConfig", loggerContext);
+            loggerContext.start(configuration);
+            loggerContext.getLogger(ConfigurationCompilerTest.class).info("info");
+            final ListAppender list = configuration.getAppender("Selected");
+            assertEquals(1, list.getEvents().size());
+        } finally {
+            loggerContext.stop();
+        }
+    }
+
+    private static File resource(final String name) throws URISyntaxException {
+        final URL url = ConfigurationCompilerTest.class.getResource("/ConfigurationCompilerTest/" + name);
+        assertNotNull(url, name);
+        return new File(url.toURI());
+    }
+
+    private Configuration instantiate(final String source, final String className, final LoggerContext loggerContext)
+            throws Exception {
+        final Path file = outputDir.resolve(className.replace('.', File.separatorChar) + ".java");
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            final Iterable<? extends JavaFileObject> compilationUnits =
+                    fileManager.getJavaFileObjectsFromFiles(Collections.singletonList(file.toFile()));
+            final Boolean success = compiler.getTask(
+                            null,
+                            fileManager,
+                            diagnostics,
+                            Arrays.asList(
+                                    "-classpath", System.getProperty("java.class.path"), "-d", outputDir.toString()),
+                            null,
+                            compilationUnits)
+                    .call();
+            assertTrue(success, () -> diagnostics.getDiagnostics().toString());
+        }
+
+        // The class loader must stay open while the configuration is in use
+        @SuppressWarnings("resource")
+        final URLClassLoader classLoader = new URLClassLoader(
+                new URL[] {outputDir.toUri().toURL()}, ConfigurationCompilerTest.class.getClassLoader());
+        final Class<? extends PrecompiledConfiguration> configurationClass =
+                classLoader.loadClass(className).asSubclass(PrecompiledConfiguration.class);
+        return configurationClass.getConstructor(LoggerContext.class).newInstance(loggerContext);
+    }
+}
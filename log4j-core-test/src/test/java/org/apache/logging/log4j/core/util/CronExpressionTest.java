@@ -17,11 +17,15 @@
 package org.apache.logging.log4j.core.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -171,4 +175,99 @@ public class CronExpressionTest {
         final Date expected = new GregorianCalendar(2015, 10, 1, 0, 0, 0).getTime();
         assertEquals(expected, fireDate, "Dates not equal.");
     }
+
+    private static final String[] TIME_ZONES = {
+        "UTC", "Europe/Berlin", "America/New_York", "America/Sao_Paulo", "Australia/Lord_Howe", "Asia/Kolkata"
+    };
+
+    /**
+     * The field based evaluator must agree with the Calendar based computation, including around daylight saving
+     * transitions where it defers to the latter.
+     */
+    @Test
+    public void testNextValidTimeMatchesCalendar() throws Exception {
+        final Random random = new Random(20241017L);
+        for (int i = 0; i < 2000; i++) {
+            final CronExpression parser = new CronExpression(randomExpression(random));
+            parser.setTimeZone(TimeZone.getTimeZone(TIME_ZONES[random.nextInt(TIME_ZONES.length)]));
+            final Date date = randomDate(random);
+            final String message =
+                    parser.getCronExpression() + " in " + parser.getTimeZone().getID() + " after " + date;
+            assertEquals(parser.getTimeAfterWithCalendar(date), parser.getNextValidTimeAfter(date), message);
+        }
+    }
+
+    @Test
+    public void testPrevFireTimeIsLastFireTimeBefore() throws Exception {
+        final Random random = new Random(20241018L);
+        for (int i = 0; i < 2000; i++) {
+            final CronExpression parser = new CronExpression(randomExpression(random));
+            parser.setTimeZone(TimeZone.getTimeZone(TIME_ZONES[random.nextInt(TIME_ZONES.length)]));
+            final Date date = randomDate(random);
+            final Date fireDate = parser.getPrevFireTime(date);
+            final String message =
+                    parser.getCronExpression() + " in " + parser.getTimeZone().getID() + " before " + date;
+            if (fireDate == null) {
+                final Date first = parser.getTimeAfterWithCalendar(CronExpression.MIN_DATE);
+                assertTrue(first == null || first.getTime() >= date.getTime() - date.getTime() % 1000, message);
+                continue;
+            }
+            assertTrue(fireDate.getTime() < date.getTime() - date.getTime() % 1000, message);
+            assertEquals(fireDate, parser.getTimeAfterWithCalendar(new Date(fireDate.getTime() - 1000)), message);
+            final Date next = parser.getTimeAfterWithCalendar(fireDate);
+            assertTrue(next == null || next.getTime() >= date.getTime() - date.getTime() % 1000, message);
+        }
+    }
+
+    @Test
+    public void testNoFireTime() throws Exception {
+        final CronExpression parser = new CronExpression("0 0 0 30 2 ?");
+        assertNull(parser.getNextValidTimeAfter(new GregorianCalendar(2015, 10, 2).getTime()));
+        assertNull(parser.getPrevFireTime(new GregorianCalendar(2015, 10, 2).getTime()));
+    }
+
+    @Test
+    public void testDaylightSavingGap() throws Exception {
+        final CronExpression parser = new CronExpression("0 30 2 * * ?");
+        parser.setTimeZone(TimeZone.getTimeZone("Europe/Berlin"));
+        final GregorianCalendar cal = new GregorianCalendar(parser.getTimeZone());
+        cal.clear();
+        cal.set(2024, Calendar.MARCH, 30, 12, 0, 0);
+        final Date date = cal.getTime();
+        assertEquals(parser.getTimeAfterWithCalendar(date), parser.getNextValidTimeAfter(date));
+    }
+
+    private static String randomExpression(final Random random) {
+        final boolean byDayOfMonth = random.nextBoolean();
+        return randomField(random, 0, 59) + " "
+                + randomField(random, 0, 59) + " "
+                + randomField(random, 0, 23) + " "
+                + (byDayOfMonth ? randomField(random, 1, 31) : "?") + " "
+                + randomField(random, 1, 12) + " "
+                + (byDayOfMonth ? "?" : randomField(random, 1, 7))
+                + (random.nextInt(4) == 0 ? " 2010-2040" : "");
+    }
+
+    private static String randomField(final Random random, final int min, final int max) {
+        final int range = max - min + 1;
+        switch (random.nextInt(6)) {
+            case 0:
+                return "*";
+            case 1:
+                return Integer.toString(min + random.nextInt(range));
+            case 2:
+                return (min + random.nextInt(range)) + "," + (min + random.nextInt(range));
+            case 3:
+                return (min + random.nextInt(range)) + "-" + (min + random.nextInt(range));
+            case 4:
+                return (min + random.nextInt(range)) + "/" + (1 + random.nextInt(range / 2));
+            default:
+                return "*/" + (1 + random.nextInt(range / 2));
+        }
+    }
+
+    private static Date randomDate(final Random random) {
+        // between 2000 and 2030
+        return new Date(946684800000L + (long) (random.nextDouble() * 946684800000L));
+    }
 }
@@ -19,6 +19,11 @@ package org.apache.logging.log4j.core.util;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 public class ThrowablesTest {
@@ -54,6 +59,67 @@ public class ThrowablesTest {
         assertThrows(IllegalArgumentException.class, () -> Throwables.getRootCause(cause3));
     }
 
+    private static String printStackTrace(final Throwable throwable) {
+        final StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static String forEachStackTraceLine(final Throwable throwable) {
+        final StringBuilder builder = new StringBuilder();
+        Throwables.forEachStackTraceLine(throwable, line -> {
+            builder.append(line).append(System.lineSeparator());
+            return true;
+        });
+        return builder.toString();
+    }
+
+    @Test
+    public void testForEachStackTraceLineWithCauseAndSuppressed() {
+        final Throwable cause = new IOException("cause", new UnknownError());
+        cause.addSuppressed(new IllegalStateException("nested suppressed"));
+        final Throwable error = new RuntimeException("message" + System.lineSeparator() + "second line", cause);
+        error.addSuppressed(new IllegalArgumentException("suppressed", new NullPointerException()));
+        assertEquals(printStackTrace(error), forEachStackTraceLine(error));
+    }
+
+    @Test
+    public void testForEachStackTraceLineLoop() {
+        final Throwable cause1 = new RuntimeException();
+        final Throwable cause2 = new RuntimeException(cause1);
+        cause1.initCause(cause2);
+        final Throwable error = new RuntimeException();
+        final Throwable suppressed = new RuntimeException();
+        error.addSuppressed(suppressed);
+        suppressed.addSuppressed(error);
+        assertEquals(printStackTrace(cause2), forEachStackTraceLine(cause2));
+        assertEquals(printStackTrace(error), forEachStackTraceLine(error));
+    }
+
+    @Test
+    public void testForEachStackTraceLineOverriddenPrintStackTrace() {
+        final Throwable error = new RuntimeException() {
+            @Override
+            public void printStackTrace(final PrintWriter writer) {
+                writer.println("custom");
+            }
+        };
+        assertEquals(printStackTrace(error), forEachStackTraceLine(error));
+    }
+
+    @Test
+    public void testForEachStackTraceLineStops() {
+        final Throwable error = new RuntimeException("message", new IOException("cause"));
+        final List<String> lines = new ArrayList<>();
+        Throwables.forEachStackTraceLine(error, line -> {
+            lines.add(line.toString());
+            return lines.size() < 2;
+        });
+        assertEquals(2, lines.size());
+        assertEquals(error.toString(), lines.get(0));
+        assertEquals("\tat " + error.getStackTrace()[0], lines.get(1));
+    }
+
     @Test
     public void testRethrowRuntimeException() {
         assertThrows(NullPointerException.class, () -> Throwables.rethrow(new NullPointerException()));
@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.core;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * Appends {@link LogEvent}s. An Appender can contain a {@link Layout} if applicable as well
@@ -58,6 +59,30 @@ public interface Appender extends LifeCycle {
      */
     void append(LogEvent event);
 
+    /**
+     * Logs a batch of LogEvents. Appenders writing to a destination with a high per-call cost, such as a network
+     * round-trip, may override this method to write all events with a single operation. Only the last event of the
+     * batch may have its {@linkplain LogEvent#isEndOfBatch() end of batch} flag set. The list may be reused by the
+     * caller and must not be retained after this method returns.
+     * <p>
+     * If this method throws an exception, the caller considers that no event of the batch was appended and appends
+     * them one at a time with {@link #append(LogEvent)}. Implementations should therefore fail before writing any
+     * event of the batch.
+     * </p>
+     * <p>
+     * The default implementation calls {@link #append(LogEvent)} for each event.
+     * </p>
+     *
+     * @param events The LogEvents, in the order they were logged.
+     * @since 2.24.0
+     */
+    default void appendBatch(final List<LogEvent> events) {
+        // noinspection ForLoopReplaceableByForEach (avoid iterator instantiation)
+        for (int i = 0; i < events.size(); i++) {
+            append(events.get(i));
+        }
+    }
+
     /**
      * Gets the name of this Appender.
      *
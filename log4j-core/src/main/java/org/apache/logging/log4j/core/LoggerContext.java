@@ -30,9 +30,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.AbstractConfiguration;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.ConfigurationListener;
@@ -93,6 +95,9 @@ public class LoggerContext extends AbstractLifeCycle
 
     private final Lock configLock = new ReentrantLock();
 
+    private final AtomicLong reconfigurationCount = new AtomicLong();
+    private volatile long lastReconfigurationNanos;
+
     /**
      * Constructor taking only a name.
      *
@@ -572,6 +577,28 @@ public class LoggerContext extends AbstractLifeCycle
         return loggerRegistry.hasLogger(name, messageFactoryClass);
     }
 
+    /**
+     * Returns the number of times a Configuration was set on this context, including the first one.
+     *
+     * @return the number of configuration changes.
+     * @since 2.24.0
+     */
+    public long getReconfigurationCount() {
+        return reconfigurationCount.get();
+    }
+
+    /**
+     * Returns how long the last configuration change took: starting the new Configuration, updating the Loggers and
+     * stopping the previous Configuration.
+     *
+     * @param timeUnit the unit of the result.
+     * @return the duration of the last configuration change, or {@code 0} if no Configuration was set yet.
+     * @since 2.24.0
+     */
+    public long getLastReconfigurationDuration(final TimeUnit timeUnit) {
+        return timeUnit.convert(lastReconfigurationNanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Returns the current Configuration. The Configuration will be replaced when a reconfigure occurs.
      *
@@ -628,6 +655,7 @@ public class LoggerContext extends AbstractLifeCycle
                 map.putIfAbsent("hostName", "unknown");
             }
             map.putIfAbsent("contextName", contextName);
+            final long startNanos = System.nanoTime();
             config.start();
             this.configuration = config;
             updateLoggers();
@@ -635,6 +663,16 @@ public class LoggerContext extends AbstractLifeCycle
                 prev.removeListener(this);
                 prev.stop();
             }
+            lastReconfigurationNanos = System.nanoTime() - startNanos;
+            reconfigurationCount.incrementAndGet();
+            if (config instanceof AbstractConfiguration) {
+                LOGGER.debug(
+                        "Configuration {} replaced {} in {} milliseconds, taking over {} Appenders.",
+                        config,
+                        prev,
+                        TimeUnit.NANOSECONDS.toMillis(lastReconfigurationNanos),
+                        ((AbstractConfiguration) config).getReusedAppenderCount());
+            }
 
             firePropertyChangeEvent(new PropertyChangeEvent(this, PROPERTY_CONFIG, prev, config));
 
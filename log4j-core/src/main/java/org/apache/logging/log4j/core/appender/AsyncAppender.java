@@ -54,14 +54,24 @@ import org.apache.logging.log4j.spi.AbstractLogger;
  * Appends to one or more Appenders asynchronously. You can configure an AsyncAppender with one or more Appenders and an
  * Appender to append to if the queue is full. The AsyncAppender does not allow a filter to be specified on the Appender
  * references.
+ * <p>
+ * By default a single queue and a single background thread are used, which preserves the global order of events. When
+ * {@code shards} is greater than one, events are distributed over that many queues, each drained by its own background
+ * thread, so that the referenced appenders are called concurrently. Events are assigned to a shard by the value of the
+ * {@code shardKey} context data entry, which keeps events with the same key in order, or by the logging thread if no
+ * key is configured or the entry is absent, which keeps the events of each thread in order. The referenced appenders
+ * must be thread-safe in sharded mode.
+ * </p>
  */
 @Plugin(name = "Async", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
 public final class AsyncAppender extends AbstractAppender {
 
     private static final int DEFAULT_QUEUE_SIZE = 1024;
 
-    private final BlockingQueue<LogEvent> queue;
+    private final List<BlockingQueue<LogEvent>> queues;
     private final int queueSize;
+    private final String shardKey;
+    private final int batchSize;
     private final boolean blocking;
     private final long shutdownTimeout;
     private final Configuration config;
@@ -69,7 +79,7 @@ public final class AsyncAppender extends AbstractAppender {
     private final String errorRef;
     private final boolean includeLocation;
     private AppenderControl errorAppender;
-    private AsyncAppenderEventDispatcher dispatcher;
+    private AsyncAppenderEventDispatcher[] dispatchers;
     private AsyncQueueFullPolicy asyncQueueFullPolicy;
 
     private AsyncAppender(
@@ -84,10 +94,19 @@ public final class AsyncAppender extends AbstractAppender {
             final Configuration config,
             final boolean includeLocation,
             final BlockingQueueFactory<LogEvent> blockingQueueFactory,
+            final int shards,
+            final String shardKey,
+            final int batchSize,
             final Property[] properties) {
         super(name, filter, null, ignoreExceptions, properties);
-        this.queue = blockingQueueFactory.create(queueSize);
+        final List<BlockingQueue<LogEvent>> queues = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            queues.add(blockingQueueFactory.create(queueSize));
+        }
+        this.queues = queues;
         this.queueSize = queueSize;
+        this.shardKey = shardKey;
+        this.batchSize = batchSize;
         this.blocking = blocking;
         this.shutdownTimeout = shutdownTimeout;
         this.config = config;
@@ -117,13 +136,19 @@ public final class AsyncAppender extends AbstractAppender {
             }
         }
         if (appenders.size() > 0) {
-            dispatcher = new AsyncAppenderEventDispatcher(getName(), errorAppender, appenders, queue);
+            dispatchers = new AsyncAppenderEventDispatcher[queues.size()];
+            for (int i = 0; i < queues.size(); i++) {
+                dispatchers[i] =
+                        new AsyncAppenderEventDispatcher(getName(), errorAppender, appenders, queues.get(i), batchSize);
+            }
         } else if (errorRef == null) {
             throw new ConfigurationException("No appenders are available for AsyncAppender " + getName());
         }
         asyncQueueFullPolicy = AsyncQueueFullPolicyFactory.create();
 
-        dispatcher.start();
+        for (final AsyncAppenderEventDispatcher dispatcher : dispatchers) {
+            dispatcher.start();
+        }
         super.start();
     }
 
@@ -131,15 +156,19 @@ public final class AsyncAppender extends AbstractAppender {
     public boolean stop(final long timeout, final TimeUnit timeUnit) {
         setStopping();
         super.stop(timeout, timeUnit, false);
-        LOGGER.trace("AsyncAppender stopping. Queue still has {} events.", queue.size());
+        LOGGER.trace("AsyncAppender stopping. Queue still has {} events.", getQueueSize());
         try {
-            dispatcher.stop(shutdownTimeout);
+            // the shutdown timeout applies to all shards together
+            final long deadline = System.currentTimeMillis() + shutdownTimeout;
+            for (final AsyncAppenderEventDispatcher dispatcher : dispatchers) {
+                dispatcher.stop(shutdownTimeout > 0 ? Math.max(1L, deadline - System.currentTimeMillis()) : 0L);
+            }
         } catch (final InterruptedException ignored) {
             // Restore the interrupted flag cleared when the exception is caught.
             Thread.currentThread().interrupt();
             LOGGER.warn("Interrupted while stopping AsyncAppender {}", getName());
         }
-        LOGGER.trace("AsyncAppender stopped. Queue has {} events.", queue.size());
+        LOGGER.trace("AsyncAppender stopped. Queue has {} events.", getQueueSize());
 
         if (DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy) > 0) {
             LOGGER.trace(
@@ -163,7 +192,8 @@ public final class AsyncAppender extends AbstractAppender {
         }
         final Log4jLogEvent memento = Log4jLogEvent.createMemento(logEvent, includeLocation);
         InternalAsyncUtil.makeMessageImmutable(logEvent.getMessage());
-        if (!transfer(memento)) {
+        final int shard = shardOf(memento);
+        if (!transfer(queues.get(shard), memento)) {
             if (blocking) {
                 if (AbstractLogger.getRecursionDepth() > 1) { // LOG4J2-1518, LOG4J2-2031
                     // If queue is full AND we are in a recursive call, call appender directly to prevent deadlock
@@ -171,7 +201,8 @@ public final class AsyncAppender extends AbstractAppender {
                     logMessageInCurrentThread(logEvent);
                 } else {
                     // delegate to the event router (which may discard, enqueue and block, or log in current thread)
-                    final EventRoute route = asyncQueueFullPolicy.getRoute(dispatcher.getId(), memento.getLevel());
+                    final EventRoute route =
+                            asyncQueueFullPolicy.getRoute(backgroundThreadId(shard), memento.getLevel());
                     route.logMessage(this, memento);
                 }
             } else {
@@ -181,7 +212,40 @@ public final class AsyncAppender extends AbstractAppender {
         }
     }
 
-    private boolean transfer(final LogEvent memento) {
+    /**
+     * Returns the index of the queue the given event is assigned to.
+     */
+    private int shardOf(final LogEvent event) {
+        if (queues.size() == 1) {
+            return 0;
+        }
+        long hash = event.getThreadId();
+        if (shardKey != null) {
+            final Object value = event.getContextData().getValue(shardKey);
+            if (value != null) {
+                hash = value.hashCode();
+            }
+        }
+        // spread the bits, so that sequential thread ids and poor hash codes use all shards
+        hash *= 0x9E3779B97F4A7C15L;
+        return (int) ((hash >>> 32) * queues.size() >>> 32);
+    }
+
+    /**
+     * Returns the thread id passed to the {@link AsyncQueueFullPolicy}: if the current thread is one of our background
+     * threads, its own id is returned, so that the policy does not let it block on a full queue.
+     */
+    private long backgroundThreadId(final int shard) {
+        final Thread currentThread = Thread.currentThread();
+        for (final AsyncAppenderEventDispatcher dispatcher : dispatchers) {
+            if (dispatcher == currentThread) {
+                return dispatcher.getId();
+            }
+        }
+        return dispatchers[shard].getId();
+    }
+
+    private static boolean transfer(final BlockingQueue<LogEvent> queue, final LogEvent memento) {
         return queue instanceof TransferQueue
                 ? ((TransferQueue<LogEvent>) queue).tryTransfer(memento)
                 : queue.offer(memento);
@@ -193,8 +257,9 @@ public final class AsyncAppender extends AbstractAppender {
      * @param logEvent the event to log
      */
     public void logMessageInCurrentThread(final LogEvent logEvent) {
-        logEvent.setEndOfBatch(queue.isEmpty());
-        dispatcher.dispatch(logEvent);
+        final int shard = shardOf(logEvent);
+        logEvent.setEndOfBatch(queues.get(shard).isEmpty());
+        dispatchers[shard].dispatch(logEvent);
     }
 
     /**
@@ -205,7 +270,7 @@ public final class AsyncAppender extends AbstractAppender {
     public void logMessageInBackgroundThread(final LogEvent logEvent) {
         try {
             // wait for free slots in the queue
-            queue.put(logEvent);
+            queues.get(shardOf(logEvent)).put(logEvent);
         } catch (final InterruptedException ignored) {
             final boolean appendSuccessful = handleInterruptedException(logEvent);
             logToErrorAppenderIfNecessary(appendSuccessful, logEvent);
@@ -224,7 +289,7 @@ public final class AsyncAppender extends AbstractAppender {
     // being interrupted, so when we are done, we set the interrupted
     // flag again.
     private boolean handleInterruptedException(final LogEvent memento) {
-        final boolean appendSuccessful = queue.offer(memento);
+        final boolean appendSuccessful = queues.get(shardOf(memento)).offer(memento);
         if (!appendSuccessful) {
             LOGGER.warn("Interrupted while waiting for a free slot in the AsyncAppender LogEvent-queue {}", getName());
         }
@@ -291,6 +356,9 @@ public final class AsyncAppender extends AbstractAppender {
                 config,
                 includeLocation,
                 new ArrayBlockingQueueFactory<LogEvent>(),
+                1,
+                null,
+                1,
                 null);
     }
 
@@ -335,6 +403,15 @@ public final class AsyncAppender extends AbstractAppender {
         @PluginElement(BlockingQueueFactory.ELEMENT_TYPE)
         private BlockingQueueFactory<LogEvent> blockingQueueFactory = new ArrayBlockingQueueFactory<>();
 
+        @PluginBuilderAttribute
+        private int shards = 1;
+
+        @PluginBuilderAttribute
+        private String shardKey;
+
+        @PluginBuilderAttribute
+        private int batchSize = 1;
+
         public Builder setAppenderRefs(final AppenderRef[] appenderRefs) {
             this.appenderRefs = appenderRefs;
             return this;
@@ -385,8 +462,54 @@ public final class AsyncAppender extends AbstractAppender {
             return this;
         }
 
+        /**
+         * Sets the number of queues, each drained by its own background thread. The default is one.
+         *
+         * @param shards the number of queues
+         * @return this builder
+         * @since 2.24.0
+         */
+        public Builder setShards(final int shards) {
+            this.shards = shards;
+            return this;
+        }
+
+        /**
+         * Sets the key of the context data entry used to assign events to queues. Events with the same value are
+         * processed in order. If unset, events are assigned by logging thread.
+         *
+         * @param shardKey a context data key or {@code null}
+         * @return this builder
+         * @since 2.24.0
+         */
+        public Builder setShardKey(final String shardKey) {
+            this.shardKey = shardKey;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of queued events passed at once to {@link Appender#appendBatch(List)}. The default
+         * is one, which passes each event to {@link Appender#append(LogEvent)}.
+         *
+         * @param batchSize the maximum number of events per batch
+         * @return this builder
+         * @since 2.24.0
+         */
+        public Builder setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
         @Override
         public AsyncAppender build() {
+            if (shards < 1) {
+                LOGGER.error("Invalid number of shards {} for AsyncAppender {}, using 1", shards, name);
+                shards = 1;
+            }
+            if (batchSize < 1) {
+                LOGGER.error("Invalid batch size {} for AsyncAppender {}, using 1", batchSize, name);
+                batchSize = 1;
+            }
             return new AsyncAppender(
                     name,
                     getFilter(),
@@ -399,6 +522,9 @@ public final class AsyncAppender extends AbstractAppender {
                     configuration,
                     includeLocation,
                     blockingQueueFactory,
+                    shards,
+                    shardKey,
+                    batchSize,
                     getPropertyArray());
         }
     }
@@ -442,7 +568,7 @@ public final class AsyncAppender extends AbstractAppender {
      * @return a list of Appenders.
      */
     public List<Appender> getAppenders() {
-        return dispatcher.getAppenders();
+        return dispatchers[0].getAppenders();
     }
 
     /**
@@ -454,12 +580,47 @@ public final class AsyncAppender extends AbstractAppender {
         return errorRef;
     }
 
+    /**
+     * Returns the key of the context data entry used to assign events to queues or {@code null}.
+     *
+     * @return the key of the context data entry used to assign events to queues or {@code null}
+     * @since 2.24.0
+     */
+    public String getShardKey() {
+        return shardKey;
+    }
+
+    /**
+     * Returns the maximum number of events passed at once to the appenders.
+     *
+     * @return the maximum number of events passed at once to the appenders
+     * @since 2.24.0
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the number of queues.
+     *
+     * @return the number of queues.
+     * @since 2.24.0
+     */
+    public int getShardCount() {
+        return queues.size();
+    }
+
     public int getQueueCapacity() {
-        return queueSize;
+        return (int) Math.min((long) queueSize * queues.size(), Integer.MAX_VALUE);
     }
 
     public int getQueueRemainingCapacity() {
-        return queue.remainingCapacity();
+        long remainingCapacity = 0;
+        for (final BlockingQueue<LogEvent> queue : queues) {
+            remainingCapacity += queue.remainingCapacity();
+        }
+        // unbounded queues report Integer.MAX_VALUE
+        return (int) Math.min(remainingCapacity, Integer.MAX_VALUE);
     }
 
     /**
@@ -469,6 +630,24 @@ public final class AsyncAppender extends AbstractAppender {
      * @since 2.11.1
      */
     public int getQueueSize() {
-        return queue.size();
+        int size = 0;
+        for (final BlockingQueue<LogEvent> queue : queues) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of elements in each queue.
+     *
+     * @return the number of elements in each queue.
+     * @since 2.24.0
+     */
+    public int[] getShardQueueSizes() {
+        final int[] sizes = new int[queues.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = queues.get(i).size();
+        }
+        return sizes;
     }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.logging.log4j.core.appender;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -43,6 +45,10 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
 
     private final BlockingQueue<LogEvent> queue;
 
+    private final int batchSize;
+
+    private final List<LogEvent> batch;
+
     private final AtomicBoolean stoppedRef;
 
     AsyncAppenderEventDispatcher(
@@ -50,11 +56,22 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
             final AppenderControl errorAppender,
             final List<AppenderControl> appenders,
             final BlockingQueue<LogEvent> queue) {
+        this(name, errorAppender, appenders, queue, 1);
+    }
+
+    AsyncAppenderEventDispatcher(
+            final String name,
+            final AppenderControl errorAppender,
+            final List<AppenderControl> appenders,
+            final BlockingQueue<LogEvent> queue,
+            final int batchSize) {
         super("AsyncAppenderEventDispatcher-" + THREAD_COUNTER.incrementAndGet() + "-" + name);
         this.setDaemon(true);
         this.errorAppender = errorAppender;
         this.appenders = appenders;
         this.queue = queue;
+        this.batchSize = batchSize;
+        this.batch = batchSize > 1 ? new ArrayList<>(batchSize) : null;
         this.stoppedRef = new AtomicBoolean();
     }
 
@@ -87,31 +104,137 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
             if (event == STOP_EVENT) {
                 break;
             }
-            event.setEndOfBatch(queue.isEmpty());
-            dispatch(event);
+            if (batch != null) {
+                batch.add(event);
+                queue.drainTo(batch, batchSize - 1);
+                final boolean stopEventDrained = removeStopEvents();
+                dispatchBatch();
+                if (stopEventDrained) {
+                    break;
+                }
+            } else {
+                event.setEndOfBatch(queue.isEmpty());
+                dispatch(event);
+            }
         }
         LOGGER.trace("{} has stopped.", getName());
     }
 
     private void dispatchRemaining() {
         int eventCount = 0;
-        while (true) {
-            // Note the non-blocking Queue#poll() method!
-            final LogEvent event = queue.poll();
-            if (event == null) {
-                break;
+        if (batch != null) {
+            // Note the non-blocking BlockingQueue#drainTo() method!
+            while (queue.drainTo(batch, batchSize) > 0) {
+                // Allow events that managed to be submitted after the sentinel.
+                removeStopEvents();
+                eventCount += batch.size();
+                dispatchBatch();
             }
-            // Allow events that managed to be submitted after the sentinel.
-            if (event == STOP_EVENT) {
-                continue;
+        } else {
+            while (true) {
+                // Note the non-blocking Queue#poll() method!
+                final LogEvent event = queue.poll();
+                if (event == null) {
+                    break;
+                }
+                // Allow events that managed to be submitted after the sentinel.
+                if (event == STOP_EVENT) {
+                    continue;
+                }
+                event.setEndOfBatch(queue.isEmpty());
+                dispatch(event);
+                eventCount++;
             }
-            event.setEndOfBatch(queue.isEmpty());
-            dispatch(event);
-            eventCount++;
         }
         LOGGER.trace("{} has processed the last {} remaining event(s).", getName(), eventCount);
     }
 
+    /**
+     * Removes the stop event from {@link #batch}.
+     *
+     * @return {@code true} if the batch contained the stop event
+     */
+    private boolean removeStopEvents() {
+        boolean removed = false;
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            if (batch.get(i) == STOP_EVENT) {
+                batch.remove(i);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Dispatches the events collected in {@link #batch} and clears it.
+     */
+    private void dispatchBatch() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final int last = batch.size() - 1;
+        for (int i = 0; i < last; i++) {
+            batch.get(i).setEndOfBatch(false);
+        }
+        batch.get(last).setEndOfBatch(queue.isEmpty());
+        dispatch(batch);
+        batch.clear();
+    }
+
+    /**
+     * Dispatches the given {@code events} to the registered appenders <b>in the
+     * current thread</b>, using {@link Appender#appendBatch(List)}.
+     */
+    private void dispatch(final List<LogEvent> events) {
+        // The events no appender has appended so far, as the error appender gets them.
+        List<LogEvent> failed = events;
+        // noinspection ForLoopReplaceableByForEach (avoid iterator instantion)
+        for (int appenderIndex = 0; appenderIndex < appenders.size(); appenderIndex++) {
+            final AppenderControl control = appenders.get(appenderIndex);
+            try {
+                final List<LogEvent> failedByAppender = control.callAppender(events);
+                if (!failed.isEmpty()) {
+                    failed = retainFailed(failed, failedByAppender);
+                }
+            } catch (final Throwable error) {
+                LOGGER.trace("{} has failed to call appender {}", getName(), control.getAppenderName(), error);
+            }
+        }
+
+        // Fallback to the error appender for the events no appender has appended.
+        if (!failed.isEmpty() && errorAppender != null) {
+            try {
+                errorAppender.callAppender(failed);
+            } catch (final Throwable error) {
+                LOGGER.trace(
+                        "{} has failed to call the error appender {}",
+                        getName(),
+                        errorAppender.getAppenderName(),
+                        error);
+            }
+        }
+    }
+
+    /**
+     * Returns the events of {@code failed} that are also in {@code failedByAppender}, in order.
+     */
+    private static List<LogEvent> retainFailed(final List<LogEvent> failed, final List<LogEvent> failedByAppender) {
+        if (failedByAppender.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<LogEvent> retained = new ArrayList<>(failedByAppender.size());
+        for (int i = 0; i < failed.size(); i++) {
+            final LogEvent event = failed.get(i);
+            for (int j = 0; j < failedByAppender.size(); j++) {
+                if (failedByAppender.get(j) == event) {
+                    retained.add(event);
+                    break;
+                }
+            }
+        }
+        return retained;
+    }
+
     /**
      * Dispatches the given {@code event} to the registered appenders <b>in the
      * current thread</b>.
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.net.Advertiser;
+
+/**
+ * File Appender that writes through an {@code AsynchronousFileChannel}.
+ * <p>
+ * By default the end of a batch only hands the buffered events to the channel, and the logging thread carries on while
+ * the write is in flight. Since synchronous loggers do not end batches, a background thread also hands the buffered
+ * events to the channel every {@code flushIntervalMillis}. With {@code immediateFlush} the appender instead waits for
+ * each event to reach the file.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+@Plugin(
+        name = "AsyncFileChannel",
+        category = Core.CATEGORY_NAME,
+        elementType = Appender.ELEMENT_TYPE,
+        printObject = true)
+public final class AsyncFileChannelAppender extends AbstractOutputStreamAppender<AsyncFileChannelManager> {
+
+    /**
+     * Builds AsyncFileChannelAppender instances.
+     *
+     * @param <B>
+     *            The type to build
+     */
+    public static class Builder<B extends Builder<B>> extends AbstractOutputStreamAppender.Builder<B>
+            implements org.apache.logging.log4j.core.util.Builder<AsyncFileChannelAppender> {
+
+        @PluginBuilderAttribute("fileName")
+        private String fileName;
+
+        @PluginBuilderAttribute("append")
+        private boolean append = true;
+
+        @PluginBuilderAttribute("bufferCount")
+        private int bufferCount = AsyncFileChannelManager.DEFAULT_BUFFER_COUNT;
+
+        @PluginBuilderAttribute("flushIntervalMillis")
+        private long flushIntervalMillis = AsyncFileChannelManager.DEFAULT_FLUSH_INTERVAL_MILLIS;
+
+        @PluginBuilderAttribute("advertise")
+        private boolean advertise;
+
+        @PluginBuilderAttribute("advertiseURI")
+        private String advertiseURI;
+
+        public Builder() {
+            this.withBufferSize(AsyncFileChannelManager.DEFAULT_BUFFER_SIZE);
+            // waiting for each write would make the appender synchronous
+            this.setImmediateFlush(false);
+        }
+
+        @Override
+        public AsyncFileChannelAppender build() {
+            final String name = getName();
+            if (name == null) {
+                LOGGER.error("No name provided for AsyncFileChannelAppender");
+                return null;
+            }
+
+            if (fileName == null) {
+                LOGGER.error("No filename provided for AsyncFileChannelAppender with name {}", name);
+                return null;
+            }
+            if (bufferCount < 2) {
+                LOGGER.error("AsyncFileChannelAppender {} requires a bufferCount of at least 2", name);
+                return null;
+            }
+            final Layout<? extends Serializable> layout = getOrCreateLayout();
+            final boolean immediateFlush = isImmediateFlush();
+            final AsyncFileChannelManager manager = AsyncFileChannelManager.getFileManager(
+                    fileName,
+                    append,
+                    immediateFlush,
+                    getBufferSize(),
+                    bufferCount,
+                    flushIntervalMillis,
+                    advertiseURI,
+                    layout,
+                    getConfiguration());
+            if (manager == null) {
+                return null;
+            }
+
+            return new AsyncFileChannelAppender(
+                    name,
+                    layout,
+                    getFilter(),
+                    manager,
+                    fileName,
+                    isIgnoreExceptions(),
+                    immediateFlush,
+                    advertise ? getConfiguration().getAdvertiser() : null,
+                    getPropertyArray());
+        }
+
+        public B setFileName(final String fileName) {
+            this.fileName = fileName;
+            return asBuilder();
+        }
+
+        public B setAppend(final boolean append) {
+            this.append = append;
+            return asBuilder();
+        }
+
+        public B setBufferCount(final int bufferCount) {
+            this.bufferCount = bufferCount;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the interval at which a background thread hands the buffered events to the channel, when
+         * {@code immediateFlush} is false.
+         *
+         * @param flushIntervalMillis the maximum time in milliseconds an event stays in the buffer, or 0 to only hand
+         *            the buffer over when it is full or at the end of a batch.
+         * @return this builder.
+         */
+        public B setFlushIntervalMillis(final long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+            return asBuilder();
+        }
+
+        public B setAdvertise(final boolean advertise) {
+            this.advertise = advertise;
+            return asBuilder();
+        }
+
+        public B setAdvertiseURI(final String advertiseURI) {
+            this.advertiseURI = advertiseURI;
+            return asBuilder();
+        }
+    }
+
+    private final String fileName;
+    private Object advertisement;
+    private final Advertiser advertiser;
+
+    private AsyncFileChannelAppender(
+            final String name,
+            final Layout<? extends Serializable> layout,
+            final Filter filter,
+            final AsyncFileChannelManager manager,
+            final String filename,
+            final boolean ignoreExceptions,
+            final boolean immediateFlush,
+            final Advertiser advertiser,
+            final Property[] properties) {
+
+        super(name, layout, filter, ignoreExceptions, immediateFlush, properties, manager);
+        if (advertiser != null) {
+            final Map<String, String> configuration = new HashMap<>(layout.getContentFormat());
+            configuration.putAll(manager.getContentFormat());
+            configuration.put("contentType", layout.getContentType());
+            configuration.put("name", name);
+            advertisement = advertiser.advertise(configuration);
+        }
+        this.fileName = filename;
+        this.advertiser = advertiser;
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        super.stop(timeout, timeUnit, false);
+        if (advertiser != null) {
+            advertiser.unadvertise(advertisement);
+        }
+        setStopped();
+        return true;
+    }
+
+    @Override
+    protected void directEncodeEvent(final LogEvent event) {
+        getLayout().encode(event, getManager());
+        flushOrSubmit(event);
+    }
+
+    @Override
+    protected void writeByteArrayToManager(final LogEvent event) {
+        final byte[] bytes = getLayout().toByteArray(event);
+        if (bytes != null && bytes.length > 0) {
+            getManager().write(bytes, false);
+        }
+        flushOrSubmit(event);
+    }
+
+    private void flushOrSubmit(final LogEvent event) {
+        if (getImmediateFlush()) {
+            getManager().flush();
+        } else if (event.isEndOfBatch()) {
+            getManager().submit();
+        }
+    }
+
+    /**
+     * Returns the file name this appender is associated with.
+     *
+     * @return The File name.
+     */
+    public String getFileName() {
+        return this.fileName;
+    }
+
+    /**
+     * Returns the size of the file manager's buffer.
+     * @return the buffer size
+     */
+    public int getBufferSize() {
+        return getManager().getBufferSize();
+    }
+
+    /**
+     * Creates a builder for an AsyncFileChannelAppender.
+     * @return a builder for an AsyncFileChannelAppender.
+     */
+    @PluginBuilderFactory
+    public static <B extends Builder<B>> B newBuilder() {
+        return new Builder<B>().asBuilder();
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.util.FileUtils;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+
+/**
+ * Extends OutputStreamManager but instead of using a buffered output stream,
+ * this class hands full buffers to an {@code AsynchronousFileChannel} so that the
+ * I/O does not block the logging thread.
+ *
+ * @see AsyncFileChannelWriter
+ * @since 2.24.0
+ */
+public class AsyncFileChannelManager extends OutputStreamManager {
+    static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+    static final int DEFAULT_BUFFER_COUNT = 2;
+    static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+
+    private static final AsyncFileChannelManagerFactory FACTORY = new AsyncFileChannelManagerFactory();
+
+    private final String advertiseURI;
+    private final AsyncFileChannelWriter writer;
+    private ScheduledExecutorService submitter;
+
+    protected AsyncFileChannelManager(
+            final LoggerContext loggerContext,
+            final AsyncFileChannelWriter writer,
+            final String fileName,
+            final OutputStream os,
+            final int bufferSize,
+            final String advertiseURI,
+            final Layout<? extends Serializable> layout,
+            final boolean writeHeader) {
+        super(loggerContext, os, fileName, false, layout, false, ByteBuffer.wrap(new byte[bufferSize]));
+        this.writer = writer;
+        this.advertiseURI = advertiseURI;
+        if (writeHeader && layout != null) {
+            final byte[] header = layout.getHeader();
+            if (header != null) {
+                writer.write(header, 0, header.length);
+            }
+        }
+    }
+
+    /**
+     * Returns the AsyncFileChannelManager.
+     *
+     * @param fileName The name of the file to manage.
+     * @param append true if the file should be appended to, false if it should
+     *            be overwritten.
+     * @param immediateFlush true if the contents should be flushed to disk on every
+     *            write
+     * @param bufferSize The buffer size.
+     * @param bufferCount The number of buffers handed to the channel in turn.
+     * @param flushIntervalMillis If greater than 0, buffered bytes are submitted to the channel by a background thread
+     *            at this interval.
+     * @param advertiseURI the URI to use when advertising the file
+     * @param layout The layout.
+     * @param configuration The configuration.
+     * @return An AsyncFileChannelManager for the File.
+     */
+    public static AsyncFileChannelManager getFileManager(
+            final String fileName,
+            final boolean append,
+            final boolean immediateFlush,
+            final int bufferSize,
+            final int bufferCount,
+            final long flushIntervalMillis,
+            final String advertiseURI,
+            final Layout<? extends Serializable> layout,
+            final Configuration configuration) {
+        return narrow(
+                AsyncFileChannelManager.class,
+                getManager(
+                        fileName,
+                        new FactoryData(
+                                append,
+                                immediateFlush,
+                                bufferSize,
+                                bufferCount,
+                                flushIntervalMillis,
+                                advertiseURI,
+                                layout,
+                                configuration),
+                        FACTORY));
+    }
+
+    private void startSubmitter(final long flushIntervalMillis) {
+        if (flushIntervalMillis > 0) {
+            submitter = Executors.newSingleThreadScheduledExecutor(
+                    Log4jThreadFactory.createDaemonThreadFactory("AsyncFileChannelSubmitter"));
+            submitter.scheduleWithFixedDelay(
+                    this::submitBuffered, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Submits the buffered bytes from the background thread, so that they reach the file even if no batch ends, as
+     * with synchronous loggers.
+     */
+    private void submitBuffered() {
+        try {
+            submit();
+        } catch (final AppenderLoggingException e) {
+            logError("Unable to submit buffered bytes", e);
+        }
+    }
+
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        if (submitter != null) {
+            // periodic tasks that have not started are cancelled, a running one completes before the channel closes
+            submitter.shutdown();
+        }
+        return super.releaseSub(timeout, timeUnit);
+    }
+
+    @Override
+    protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        writer.write(bytes, offset, length);
+    }
+
+    /**
+     * Hands the buffered bytes to the channel without waiting for the write to complete.
+     */
+    public synchronized void submit() {
+        flushBuffer(byteBuffer);
+        writer.submit();
+    }
+
+    /**
+     * Hands the buffered bytes to the channel and waits until all pending writes have completed.
+     */
+    @Override
+    public synchronized void flush() {
+        flushBuffer(byteBuffer);
+        writer.flush();
+    }
+
+    @Override
+    public synchronized boolean closeOutputStream() {
+        flushBuffer(byteBuffer);
+        try {
+            writer.close();
+            return true;
+        } catch (final IOException | AppenderLoggingException ex) {
+            logError("Unable to close AsynchronousFileChannel", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the name of the File being managed.
+     *
+     * @return The name of the File being managed.
+     */
+    public String getFileName() {
+        return getName();
+    }
+
+    /**
+     * Returns the buffer capacity.
+     * @return the buffer size
+     */
+    public int getBufferSize() {
+        return byteBuffer.capacity();
+    }
+
+    /**
+     * Returns the number of buffers handed to the channel in turn.
+     * @return the buffer count
+     */
+    public int getBufferCount() {
+        return writer.getBufferCount();
+    }
+
+    /**
+     * Gets this FileManager's content format specified by:
+     * <p>
+     * Key: "fileURI" Value: provided "advertiseURI" param.
+     * </p>
+     *
+     * @return Map of content format keys supporting FileManager
+     */
+    @Override
+    public Map<String, String> getContentFormat() {
+        final Map<String, String> result = new HashMap<>(super.getContentFormat());
+        result.put("fileURI", advertiseURI);
+        return result;
+    }
+
+    /**
+     * Factory Data.
+     */
+    private static class FactoryData extends ConfigurationFactoryData {
+        private final boolean append;
+        private final boolean immediateFlush;
+        private final int bufferSize;
+        private final int bufferCount;
+        private final long flushIntervalMillis;
+        private final String advertiseURI;
+        private final Layout<? extends Serializable> layout;
+
+        /**
+         * Constructor.
+         *
+         * @param append Append status.
+         * @param bufferSize size of the buffer
+         * @param bufferCount number of buffers
+         * @param flushIntervalMillis interval of the background submits
+         * @param configuration The configuration.
+         */
+        public FactoryData(
+                final boolean append,
+                final boolean immediateFlush,
+                final int bufferSize,
+                final int bufferCount,
+                final long flushIntervalMillis,
+                final String advertiseURI,
+                final Layout<? extends Serializable> layout,
+                final Configuration configuration) {
+            super(configuration);
+            this.append = append;
+            this.immediateFlush = immediateFlush;
+            this.bufferSize = bufferSize;
+            this.bufferCount = bufferCount;
+            this.flushIntervalMillis = flushIntervalMillis;
+            this.advertiseURI = advertiseURI;
+            this.layout = layout;
+        }
+    }
+
+    /**
+     * Factory to create an AsyncFileChannelManager.
+     */
+    private static class AsyncFileChannelManagerFactory
+            implements ManagerFactory<AsyncFileChannelManager, FactoryData> {
+
+        /**
+         * Create an AsyncFileChannelManager.
+         *
+         * @param name The name of the File.
+         * @param data The FactoryData
+         * @return The AsyncFileChannelManager for the File.
+         */
+        @Override
+        @SuppressFBWarnings(
+                value = "PATH_TRAVERSAL_IN",
+                justification = "The destination file should be specified in the configuration file.")
+        public AsyncFileChannelManager createManager(final String name, final FactoryData data) {
+            final File file = new File(name);
+            final boolean writeHeader = !data.append || !file.exists() || file.length() == 0;
+            try {
+                FileUtils.makeParentDirs(file);
+                final AsyncFileChannelWriter writer =
+                        AsyncFileChannelWriter.open(name, data.append, data.bufferSize, data.bufferCount);
+                final AsyncFileChannelManager manager = new AsyncFileChannelManager(
+                        data.getLoggerContext(),
+                        writer,
+                        name,
+                        NullOutputStream.getInstance(),
+                        data.bufferSize,
+                        data.advertiseURI,
+                        data.layout,
+                        writeHeader);
+                if (!data.immediateFlush) {
+                    manager.startSubmitter(data.flushIntervalMillis);
+                }
+                return manager;
+            } catch (final Exception ex) {
+                LOGGER.error("AsyncFileChannelManager (" + name + ") " + ex, ex);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Writes bytes to an {@link AsynchronousFileChannel} through a fixed pool of direct buffers.
+ * <p>
+ * One buffer is filled by the caller while the others are being written by the channel, so encoding the next batch of
+ * events overlaps with the I/O of the previous one. When all buffers are in flight the caller blocks until one of them
+ * completes, which bounds the memory used and applies backpressure on a slow disk.
+ * </p>
+ * <p>
+ * Instances are not thread-safe: {@link #write(byte[], int, int)}, {@link #submit()}, {@link #flush()} and
+ * {@link #close()} must be called while holding the lock of the owning manager. A buffer whose write failed is written
+ * again at the same position before it is reused, so that a transient error does not leave a hole in the file. If that
+ * also fails, its bytes are dropped and the error is rethrown as an {@link AppenderLoggingException} by the next call
+ * to one of these methods.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public final class AsyncFileChannelWriter {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private final String name;
+    private final AsynchronousFileChannel channel;
+    private final BlockingQueue<Slot> freeSlots;
+    private final Slot[] drained;
+    private Slot current;
+    private long position;
+    private volatile Throwable failure;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param name The name used in error messages, usually the file name.
+     * @param channel The channel to write to.
+     * @param position The file position of the first write.
+     * @param bufferSize The size of each buffer.
+     * @param bufferCount The number of buffers, at least two: one being filled and the others in flight.
+     */
+    public AsyncFileChannelWriter(
+            final String name,
+            final AsynchronousFileChannel channel,
+            final long position,
+            final int bufferSize,
+            final int bufferCount) {
+        if (bufferCount < 2) {
+            throw new IllegalArgumentException("bufferCount must be at least 2 but was " + bufferCount);
+        }
+        this.name = name;
+        this.channel = channel;
+        this.position = position;
+        this.freeSlots = new ArrayBlockingQueue<>(bufferCount - 1);
+        this.drained = new Slot[bufferCount - 1];
+        for (int i = 0; i < bufferCount - 1; i++) {
+            freeSlots.add(new Slot(bufferSize));
+        }
+        this.current = new Slot(bufferSize);
+    }
+
+    /**
+     * Opens the specified file for writing and creates a writer for it.
+     *
+     * @param fileName The name of the file.
+     * @param append true to write after the current end of the file, false to truncate it.
+     * @param bufferSize The size of each buffer.
+     * @param bufferCount The number of buffers.
+     * @return a new writer.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static AsyncFileChannelWriter open(
+            final String fileName, final boolean append, final int bufferSize, final int bufferCount)
+            throws IOException {
+        final Path path = Paths.get(fileName);
+        final AsynchronousFileChannel channel = append
+                ? AsynchronousFileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)
+                : AsynchronousFileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new AsyncFileChannelWriter(fileName, channel, append ? channel.size() : 0, bufferSize, bufferCount);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the file position at which the next submitted byte will be written.
+     *
+     * @return the file position, including bytes that are buffered but not yet submitted.
+     */
+    public long getPosition() {
+        return position + current.buffer.position();
+    }
+
+    /**
+     * Returns the size of each buffer.
+     *
+     * @return the buffer size.
+     */
+    public int getBufferSize() {
+        return current.buffer.capacity();
+    }
+
+    /**
+     * Returns the number of buffers.
+     *
+     * @return the number of buffers.
+     */
+    public int getBufferCount() {
+        return drained.length + 1;
+    }
+
+    /**
+     * Copies the specified bytes into the current buffer, submitting it to the channel each time it fills up.
+     *
+     * @param bytes the array containing data
+     * @param offset from where to write
+     * @param length how many bytes to write
+     */
+    public void write(final byte[] bytes, final int offset, final int length) {
+        checkFailure();
+        int off = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            final ByteBuffer buffer = current.buffer;
+            final int chunk = Math.min(remaining, buffer.remaining());
+            buffer.put(bytes, off, chunk);
+            off += chunk;
+            remaining -= chunk;
+            if (!buffer.hasRemaining()) {
+                submitCurrent();
+            }
+        }
+    }
+
+    /**
+     * Submits the current buffer to the channel without waiting for the write to complete.
+     */
+    public void submit() {
+        checkFailure();
+        if (current.buffer.position() > 0) {
+            submitCurrent();
+        }
+    }
+
+    /**
+     * Submits the current buffer and waits until all writes in flight have completed.
+     */
+    public void flush() {
+        submit();
+        awaitInFlight();
+        checkFailure();
+    }
+
+    /**
+     * Flushes and closes the channel.
+     *
+     * @throws IOException if the channel cannot be closed.
+     */
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void submitCurrent() {
+        final Slot slot = current;
+        current = takeFreeSlot();
+        ((Buffer) slot.buffer).flip();
+        final long writePosition = position;
+        position += slot.buffer.remaining();
+        slot.start(writePosition);
+    }
+
+    private Slot takeFreeSlot() {
+        final Slot slot;
+        try {
+            slot = freeSlots.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppenderLoggingException("Interrupted while waiting for a write to " + name + " to complete", e);
+        }
+        if (slot.error != null) {
+            slot.rewrite();
+        }
+        return slot;
+    }
+
+    private void awaitInFlight() {
+        int count = 0;
+        try {
+            while (count < drained.length) {
+                drained[count] = takeFreeSlot();
+                count++;
+            }
+        } finally {
+            for (int i = 0; i < count; i++) {
+                freeSlots.add(drained[i]);
+                drained[i] = null;
+            }
+        }
+    }
+
+    private void checkFailure() {
+        final Throwable t = failure;
+        if (t != null) {
+            failure = null;
+            throw new AppenderLoggingException("Error writing to AsynchronousFileChannel " + name, t);
+        }
+    }
+
+    /**
+     * A buffer together with the completion handler that writes it out, allocated once so that steady-state logging
+     * does not create garbage.
+     */
+    private final class Slot implements CompletionHandler<Integer, Void> {
+
+        private final ByteBuffer buffer;
+        private long writePosition;
+        // published to the caller by freeSlots
+        private Throwable error;
+
+        private Slot(final int bufferSize) {
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        private void start(final long position) {
+            this.writePosition = position;
+            try {
+                channel.write(buffer, writePosition, null, this);
+            } catch (final RuntimeException e) {
+                failed(e, null);
+            }
+        }
+
+        @Override
+        public void completed(final Integer result, final Void attachment) {
+            if (buffer.hasRemaining()) {
+                // partial write: continue with the rest of the buffer
+                start(writePosition + result);
+            } else {
+                release();
+            }
+        }
+
+        @Override
+        public void failed(final Throwable exc, final Void attachment) {
+            LOGGER.error("Error writing to AsynchronousFileChannel {}, retrying", name, exc);
+            // keeps the unwritten bytes: the buffers submitted after this one are already at later positions
+            error = exc;
+            freeSlots.add(this);
+        }
+
+        /**
+         * Writes the rest of the buffer at its original position, on the caller thread.
+         */
+        private void rewrite() {
+            try {
+                while (buffer.hasRemaining()) {
+                    writePosition += channel.write(buffer, writePosition).get();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            } catch (final ExecutionException e) {
+                failure = e.getCause();
+            } catch (final RuntimeException e) {
+                failure = e;
+            } finally {
+                error = null;
+                ((Buffer) buffer).clear();
+            }
+        }
+
+        private void release() {
+            ((Buffer) buffer).clear();
+            freeSlots.add(this);
+        }
+    }
+}
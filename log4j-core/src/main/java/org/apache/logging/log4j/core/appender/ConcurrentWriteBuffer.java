@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared staging area that lets multiple producer threads append bytes to an {@link OutputStreamManager} without
+ * taking the manager's monitor.
+ * <p>
+ * The buffer consists of two equally sized regions, only one of which is active at a time. Producers reserve space in
+ * the active region with a single compare-and-set on a state word that packs the write position, the number of
+ * producers still copying their bytes, and a "sealed" flag. Draining is performed by a single thread holding the
+ * manager's monitor: it seals the active region, swaps in the other one, waits for in-flight copies to complete and
+ * writes the sealed region to the destination. Producers therefore only contend on a CAS, while the actual I/O stays
+ * serialized.
+ * </p><p>
+ * Each write is copied into a region as a whole, so the bytes of a single event are never interleaved with bytes of
+ * another event.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+final class ConcurrentWriteBuffer {
+
+    private static final long SEALED = Long.MIN_VALUE;
+    private static final long WRITER = 1L << 32;
+    private static final long POSITION_MASK = WRITER - 1;
+    private static final long WRITERS_MASK = ~SEALED & ~POSITION_MASK;
+
+    private final Region first;
+    private final Region second;
+    private volatile Region active;
+
+    ConcurrentWriteBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.first = new Region(capacity, 0L);
+        this.second = new Region(capacity, SEALED);
+        this.active = first;
+    }
+
+    /**
+     * Returns the maximum number of bytes a single write can stage.
+     *
+     * @return the capacity of a region
+     */
+    int capacity() {
+        return first.bytes.length;
+    }
+
+    /**
+     * Returns the number of bytes currently staged in the active region.
+     *
+     * @return the number of staged bytes
+     */
+    int size() {
+        return (int) (active.state.get() & POSITION_MASK);
+    }
+
+    /**
+     * Copies the given bytes into the active region.
+     *
+     * @param data the source array
+     * @param offset the offset in the source array
+     * @param length the number of bytes to copy
+     * @return {@code true} if the bytes were staged, {@code false} if the active region does not have enough space
+     * left and needs to be {@linkplain #drain(OutputStreamManager) drained} first
+     */
+    boolean tryWrite(final byte[] data, final int offset, final int length) {
+        return write(data, null, offset, length);
+    }
+
+    /**
+     * Copies the {@linkplain ByteBuffer#remaining() remaining} bytes of the given buffer into the active region.
+     * On success, the position of the buffer is advanced to its limit.
+     *
+     * @param data the source buffer
+     * @return {@code true} if the bytes were staged, {@code false} if the active region does not have enough space
+     * left and needs to be {@linkplain #drain(OutputStreamManager) drained} first
+     */
+    boolean tryWrite(final ByteBuffer data) {
+        return write(null, data, 0, data.remaining());
+    }
+
+    private boolean write(final byte[] array, final ByteBuffer buffer, final int offset, final int length) {
+        while (true) {
+            final Region region = active;
+            final long state = region.state.get();
+            if (state < 0) {
+                // sealed: either a drain is swapping regions or we read a stale reference
+                if (region == active) {
+                    Thread.yield();
+                }
+                continue;
+            }
+            final int position = (int) (state & POSITION_MASK);
+            if (position + length > region.bytes.length) {
+                return false;
+            }
+            // reserve the range and register as a writer in a single step
+            if (region.state.compareAndSet(state, state + WRITER + length)) {
+                try {
+                    if (array != null) {
+                        System.arraycopy(array, offset, region.bytes, position, length);
+                    } else {
+                        buffer.get(region.bytes, position, length);
+                    }
+                } finally {
+                    region.state.addAndGet(-WRITER);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Writes the content staged so far to the given manager's destination.
+     * <p>
+     * Must be called while holding the monitor of {@code manager}, which guarantees that a single drain is in
+     * progress at any time.
+     * </p>
+     *
+     * @param manager the manager whose destination receives the staged bytes
+     */
+    void drain(final OutputStreamManager manager) {
+        final Region current = active;
+        if ((current.state.get() & POSITION_MASK) == 0) {
+            return;
+        }
+        final Region next = current == first ? second : first;
+        long state;
+        do {
+            state = current.state.get();
+        } while (!current.state.compareAndSet(state, state | SEALED));
+        next.state.set(0L);
+        active = next;
+        while (((state = current.state.get()) & WRITERS_MASK) != 0) {
+            Thread.yield();
+        }
+        try {
+            manager.writeToDestination(current.bytes, 0, (int) (state & POSITION_MASK));
+        } finally {
+            current.state.set(SEALED);
+        }
+    }
+
+    private static final class Region {
+
+        private final byte[] bytes;
+
+        private final AtomicLong state;
+
+        private Region(final int capacity, final long initialState) {
+            this.bytes = new byte[capacity];
+            this.state = new AtomicLong(initialState);
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.logging.log4j.core.appender;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.logging.log4j.core.Appender;
@@ -52,6 +53,11 @@ public class CountingNoOpAppender extends AbstractAppender {
         total.incrementAndGet();
     }
 
+    @Override
+    public void appendBatch(final List<LogEvent> events) {
+        total.addAndGet(events.size());
+    }
+
     /**
      * Creates a CountingNoOp Appender.
      */
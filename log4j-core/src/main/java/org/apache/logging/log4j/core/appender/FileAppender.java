@@ -17,6 +17,8 @@
 package org.apache.logging.log4j.core.appender;
 
 import java.io.Serializable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -24,15 +26,20 @@ import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
 import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.ByteBufferDestinationHelper;
 import org.apache.logging.log4j.core.net.Advertiser;
 import org.apache.logging.log4j.core.util.Booleans;
+import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.Integers;
+import org.apache.logging.log4j.util.VirtualThreadUtil;
 
 /**
  * File Appender.
@@ -83,6 +90,9 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
         @PluginBuilderAttribute
         private String fileGroup;
 
+        @PluginBuilderAttribute
+        private boolean concurrentWrites;
+
         @Override
         public FileAppender build() {
             if (!isValid()) {
@@ -97,6 +107,11 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             if (!bufferedIo && bufferSize > 0) {
                 LOGGER.warn("The bufferSize is set to {} but bufferedIo is false: {}", bufferSize, bufferedIo);
             }
+            if (locking && concurrentWrites) {
+                LOGGER.warn(
+                        "Locking and concurrent writes are mutually exclusive. Writes will be serialized for {}",
+                        fileName);
+            }
             final Layout<? extends Serializable> layout = getOrCreateLayout();
 
             final FileManager manager = FileManager.getFileManager(
@@ -111,6 +126,7 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
                     filePermissions,
                     fileOwner,
                     fileGroup,
+                    concurrentWrites,
                     getConfiguration());
             if (manager == null) {
                 return null;
@@ -164,6 +180,13 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             return fileGroup;
         }
 
+        /**
+         * @since 2.24.0
+         */
+        public boolean isConcurrentWrites() {
+            return concurrentWrites;
+        }
+
         public B withAdvertise(final boolean advertise) {
             this.advertise = advertise;
             return asBuilder();
@@ -208,6 +231,18 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             this.fileGroup = fileGroup;
             return asBuilder();
         }
+
+        /**
+         * Enables staging of events from multiple threads without locking the manager.
+         *
+         * @param concurrentWrites whether producers should reserve buffer space with compare-and-set operations
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setConcurrentWrites(final boolean concurrentWrites) {
+            this.concurrentWrites = concurrentWrites;
+            return asBuilder();
+        }
     }
 
     private static final int DEFAULT_BUFFER_SIZE = 8192;
@@ -279,6 +314,8 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
 
     private final Object advertisement;
 
+    private final ThreadLocal<EventBuffer> eventBuffers = new ThreadLocal<>();
+
     private FileAppender(
             final String name,
             final Layout<? extends Serializable> layout,
@@ -304,6 +341,40 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
         this.advertiser = advertiser;
     }
 
+    @Override
+    protected void directEncodeEvent(final LogEvent event) {
+        final FileManager manager = getManager();
+        if (!manager.isConcurrentWrites()) {
+            super.directEncodeEvent(event);
+            return;
+        }
+        // Encoders write large events to the manager in chunks, which would not be ordered with the events staged by
+        // other threads, so the whole event is encoded first and handed over in one piece.
+        final EventBuffer eventBuffer = getEventBuffer();
+        try {
+            getLayout().encode(event, eventBuffer);
+            final ByteBuffer encoded = eventBuffer.buffer;
+            manager.write(encoded.array(), 0, encoded.position(), getImmediateFlush() || event.isEndOfBatch());
+        } finally {
+            eventBuffer.clear();
+        }
+    }
+
+    private EventBuffer getEventBuffer() {
+        if (!Constants.ENABLE_THREADLOCALS) {
+            return new EventBuffer(getManager().getBufferSize());
+        }
+        EventBuffer eventBuffer = eventBuffers.get();
+        if (eventBuffer == null) {
+            eventBuffer = new EventBuffer(getManager().getBufferSize());
+            // see {@link VirtualThreadUtil}
+            if (!VirtualThreadUtil.isCurrentThreadVirtual()) {
+                eventBuffers.set(eventBuffer);
+            }
+        }
+        return eventBuffer;
+    }
+
     /**
      * Returns the file name this appender is associated with.
      * @return The File name.
@@ -322,4 +393,50 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
         setStopped();
         return true;
     }
+
+    /**
+     * Collects the bytes of a single event, growing as needed.
+     */
+    private static final class EventBuffer implements ByteBufferDestination {
+
+        private final int initialCapacity;
+        private ByteBuffer buffer;
+
+        private EventBuffer(final int initialCapacity) {
+            this.initialCapacity = initialCapacity;
+            this.buffer = ByteBuffer.allocate(initialCapacity);
+        }
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return buffer;
+        }
+
+        @Override
+        public ByteBuffer drain(final ByteBuffer buf) {
+            ((Buffer) buf).flip();
+            buffer = ByteBuffer.allocate(Math.max(2 * buf.capacity(), initialCapacity));
+            buffer.put(buf);
+            return buffer;
+        }
+
+        @Override
+        public void writeBytes(final ByteBuffer data) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+        }
+
+        @Override
+        public void writeBytes(final byte[] data, final int offset, final int length) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, offset, length, this);
+        }
+
+        private void clear() {
+            if (buffer.capacity() > initialCapacity) {
+                // do not keep the memory of an unusually large event
+                buffer = ByteBuffer.allocate(initialCapacity);
+            } else {
+                ((Buffer) buffer).clear();
+            }
+        }
+    }
 }
@@ -135,6 +135,40 @@ public class FileManager extends OutputStreamManager {
     /**
      * @since 2.9
      */
+    protected FileManager(
+            final LoggerContext loggerContext,
+            final String fileName,
+            final OutputStream os,
+            final boolean append,
+            final boolean locking,
+            final boolean createOnDemand,
+            final String advertiseURI,
+            final Layout<? extends Serializable> layout,
+            final String filePermissions,
+            final String fileOwner,
+            final String fileGroup,
+            final boolean writeHeader,
+            final ByteBuffer buffer) {
+        this(
+                loggerContext,
+                fileName,
+                os,
+                append,
+                locking,
+                createOnDemand,
+                advertiseURI,
+                layout,
+                filePermissions,
+                fileOwner,
+                fileGroup,
+                writeHeader,
+                buffer,
+                false);
+    }
+
+    /**
+     * @since 2.24.0
+     */
     @SuppressFBWarnings(
             value = "OVERLY_PERMISSIVE_FILE_PERMISSION",
             justification = "File permissions are specified in the configuration file.")
@@ -151,8 +185,9 @@ public class FileManager extends OutputStreamManager {
             final String fileOwner,
             final String fileGroup,
             final boolean writeHeader,
-            final ByteBuffer buffer) {
-        super(loggerContext, os, fileName, createOnDemand, layout, writeHeader, buffer);
+            final ByteBuffer buffer,
+            final boolean concurrentWrites) {
+        super(loggerContext, os, fileName, createOnDemand, layout, writeHeader, buffer, concurrentWrites);
         this.isAppend = append;
         this.createOnDemand = createOnDemand;
         this.isLocking = locking;
@@ -203,6 +238,53 @@ public class FileManager extends OutputStreamManager {
      * @param configuration The configuration.
      * @return A FileManager for the File.
      */
+    public static FileManager getFileManager(
+            final String fileName,
+            final boolean append,
+            final boolean locking,
+            final boolean bufferedIo,
+            final boolean createOnDemand,
+            final String advertiseUri,
+            final Layout<? extends Serializable> layout,
+            final int bufferSize,
+            final String filePermissions,
+            final String fileOwner,
+            final String fileGroup,
+            final Configuration configuration) {
+        return getFileManager(
+                fileName,
+                append,
+                locking,
+                bufferedIo,
+                createOnDemand,
+                advertiseUri,
+                layout,
+                bufferSize,
+                filePermissions,
+                fileOwner,
+                fileGroup,
+                false,
+                configuration);
+    }
+
+    /**
+     * Returns the FileManager.
+     * @param fileName The name of the file to manage.
+     * @param append true if the file should be appended to, false if it should be overwritten.
+     * @param locking true if the file should be locked while writing, false otherwise.
+     * @param bufferedIo true if the contents should be buffered as they are written.
+     * @param createOnDemand true if you want to lazy-create the file (a.k.a. on-demand.)
+     * @param advertiseUri the URI to use when advertising the file
+     * @param layout The layout
+     * @param bufferSize buffer size for buffered IO
+     * @param filePermissions File permissions
+     * @param fileOwner File owner
+     * @param fileGroup File group
+     * @param concurrentWrites true if threads should stage writes without locking; ignored if locking is enabled.
+     * @param configuration The configuration.
+     * @return A FileManager for the File.
+     * @since 2.24.0
+     */
     public static FileManager getFileManager(
             final String fileName,
             final boolean append,
@@ -215,11 +297,15 @@ public class FileManager extends OutputStreamManager {
             final String filePermissions,
             final String fileOwner,
             final String fileGroup,
+            boolean concurrentWrites,
             final Configuration configuration) {
 
         if (locking && bufferedIo) {
             locking = false;
         }
+        if (locking && concurrentWrites) {
+            concurrentWrites = false;
+        }
         return narrow(
                 FileManager.class,
                 getManager(
@@ -235,6 +321,7 @@ public class FileManager extends OutputStreamManager {
                                 filePermissions,
                                 fileOwner,
                                 fileGroup,
+                                concurrentWrites,
                                 configuration),
                         FACTORY));
     }
@@ -278,27 +365,29 @@ public class FileManager extends OutputStreamManager {
     }
 
     @Override
-    protected synchronized void write(
-            final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
         if (isLocking) {
-            try {
-                @SuppressWarnings("resource")
-                final FileChannel channel = ((FileOutputStream) getOutputStream()).getChannel();
-                /*
-                 * Lock the whole file. This could be optimized to only lock from the current file position. Note that
-                 * locking may be advisory on some systems and mandatory on others, so locking just from the current
-                 * position would allow reading on systems where locking is mandatory. Also, Java 6 will throw an
-                 * exception if the region of the file is already locked by another FileChannel in the same JVM.
-                 * Hopefully, that will be avoided since every file should have a single file manager - unless two
-                 * different files strings are configured that somehow map to the same file.
-                 */
-                try (final FileLock lock = channel.lock(0, Long.MAX_VALUE, false)) {
-                    super.write(bytes, offset, length, immediateFlush);
+            synchronized (this) {
+                try {
+                    @SuppressWarnings("resource")
+                    final FileChannel channel = ((FileOutputStream) getOutputStream()).getChannel();
+                    /*
+                     * Lock the whole file. This could be optimized to only lock from the current file position. Note
+                     * that locking may be advisory on some systems and mandatory on others, so locking just from the
+                     * current position would allow reading on systems where locking is mandatory. Also, Java 6 will
+                     * throw an exception if the region of the file is already locked by another FileChannel in the
+                     * same JVM. Hopefully, that will be avoided since every file should have a single file manager -
+                     * unless two different files strings are configured that somehow map to the same file.
+                     */
+                    try (final FileLock lock = channel.lock(0, Long.MAX_VALUE, false)) {
+                        super.write(bytes, offset, length, immediateFlush);
+                    }
+                } catch (final IOException ex) {
+                    throw new AppenderLoggingException("Unable to obtain lock on " + getName(), ex);
                 }
-            } catch (final IOException ex) {
-                throw new AppenderLoggingException("Unable to obtain lock on " + getName(), ex);
             }
         } else {
+            // OutputStreamManager synchronizes, unless concurrent writes are enabled
             super.write(bytes, offset, length, immediateFlush);
         }
     }
@@ -441,6 +530,7 @@ public class FileManager extends OutputStreamManager {
         private final String filePermissions;
         private final String fileOwner;
         private final String fileGroup;
+        private final boolean concurrentWrites;
 
         /**
          * Constructor.
@@ -454,6 +544,7 @@ public class FileManager extends OutputStreamManager {
          * @param filePermissions File permissions
          * @param fileOwner File owner
          * @param fileGroup File group
+         * @param concurrentWrites Whether writes are staged without locking
          * @param configuration the configuration
          */
         public FactoryData(
@@ -467,6 +558,7 @@ public class FileManager extends OutputStreamManager {
                 final String filePermissions,
                 final String fileOwner,
                 final String fileGroup,
+                final boolean concurrentWrites,
                 final Configuration configuration) {
             super(configuration);
             this.append = append;
@@ -479,6 +571,7 @@ public class FileManager extends OutputStreamManager {
             this.filePermissions = filePermissions;
             this.fileOwner = fileOwner;
             this.fileGroup = fileGroup;
+            this.concurrentWrites = concurrentWrites;
         }
     }
 
@@ -519,7 +612,8 @@ public class FileManager extends OutputStreamManager {
                         data.fileOwner,
                         data.fileGroup,
                         writeHeader,
-                        byteBuffer);
+                        byteBuffer,
+                        data.concurrentWrites);
                 if (fos != null && fm.attributeViewEnabled) {
                     fm.defineAttributeView(file.toPath());
                 }
@@ -24,6 +24,7 @@ import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.HttpBatchManager.BatchFormat;
 import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
@@ -39,6 +40,14 @@ import org.apache.logging.log4j.core.net.ssl.SslConfiguration;
 @Plugin(name = "Http", category = Node.CATEGORY, elementType = Appender.ELEMENT_TYPE, printObject = true)
 public final class HttpAppender extends AbstractAppender {
 
+    private static final int DEFAULT_MAX_BATCH_BYTES = 1024 * 1024;
+
+    private static final long DEFAULT_LINGER_MILLIS = 100;
+
+    private static final int DEFAULT_MAX_RETRIES = 3;
+
+    private static final long DEFAULT_RETRY_DELAY_MILLIS = 100;
+
     /**
      * Builds HttpAppender instances.
      * @param <B> The type to build
@@ -68,9 +77,36 @@ public final class HttpAppender extends AbstractAppender {
         @PluginBuilderAttribute
         private boolean verifyHostname = true;
 
+        @PluginElement("Spool")
+        private Spool spool;
+
+        @PluginBuilderAttribute
+        private int batchSize;
+
+        @PluginBuilderAttribute
+        private int maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+
+        @PluginBuilderAttribute
+        private long lingerMillis = DEFAULT_LINGER_MILLIS;
+
+        @PluginBuilderAttribute
+        private BatchFormat batchFormat = BatchFormat.NDJSON;
+
+        @PluginBuilderAttribute
+        private boolean compress;
+
+        @PluginBuilderAttribute
+        private int maxConcurrentRequests = 1;
+
+        @PluginBuilderAttribute
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+
+        @PluginBuilderAttribute
+        private long retryDelayMillis = DEFAULT_RETRY_DELAY_MILLIS;
+
         @Override
         public HttpAppender build() {
-            final HttpManager httpManager = new HttpURLConnectionManager(
+            final HttpURLConnectionManager connectionManager = new HttpURLConnectionManager(
                     getConfiguration(),
                     getConfiguration().getLoggerContext(),
                     getName(),
@@ -81,8 +117,37 @@ public final class HttpAppender extends AbstractAppender {
                     headers,
                     sslConfiguration,
                     verifyHostname);
+            final String contentType = getLayout().getContentType();
+            final SpoolManager spoolManager = spool != null
+                    ? SpoolManager.getSpoolManager(
+                            spool,
+                            (data, offset, length, endOfBatch) ->
+                                    connectionManager.send(contentType, data, offset, length))
+                    : null;
+            final HttpManager httpManager = spoolManager == null && batchSize > 0
+                    ? new HttpBatchManager(
+                            getConfiguration(),
+                            getConfiguration().getLoggerContext(),
+                            getName(),
+                            connectionManager,
+                            contentType,
+                            batchFormat,
+                            batchSize,
+                            maxBatchBytes,
+                            lingerMillis,
+                            compress,
+                            maxConcurrentRequests,
+                            maxRetries,
+                            retryDelayMillis)
+                    : connectionManager;
             return new HttpAppender(
-                    getName(), getLayout(), getFilter(), isIgnoreExceptions(), httpManager, getPropertyArray());
+                    getName(),
+                    getLayout(),
+                    getFilter(),
+                    isIgnoreExceptions(),
+                    httpManager,
+                    getPropertyArray(),
+                    spoolManager);
         }
 
         public URL getUrl() {
@@ -113,6 +178,69 @@ public final class HttpAppender extends AbstractAppender {
             return verifyHostname;
         }
 
+        /**
+         * @since 2.24.0
+         */
+        public Spool getSpool() {
+            return spool;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public int getMaxBatchBytes() {
+            return maxBatchBytes;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public long getLingerMillis() {
+            return lingerMillis;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public BatchFormat getBatchFormat() {
+            return batchFormat;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public boolean isCompress() {
+            return compress;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public long getRetryDelayMillis() {
+            return retryDelayMillis;
+        }
+
         public B setUrl(final URL url) {
             this.url = url;
             return asBuilder();
@@ -147,6 +275,86 @@ public final class HttpAppender extends AbstractAppender {
             this.verifyHostname = verifyHostname;
             return asBuilder();
         }
+
+        /**
+         * Sets the disk spool events are stored in until they are sent.
+         *
+         * @param spool the spool configuration, or {@code null} to send events directly
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setSpool(final Spool spool) {
+            this.spool = spool;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the maximum number of events sent in one request, enabling batching if greater than zero.
+         *
+         * @param batchSize the maximum number of events per request, or zero to send one request per event
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public B setMaxBatchBytes(final int maxBatchBytes) {
+            this.maxBatchBytes = maxBatchBytes;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public B setLingerMillis(final long lingerMillis) {
+            this.lingerMillis = lingerMillis;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public B setBatchFormat(final BatchFormat batchFormat) {
+            this.batchFormat = batchFormat;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public B setCompress(final boolean compress) {
+            this.compress = compress;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public B setMaxConcurrentRequests(final int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public B setMaxRetries(final int maxRetries) {
+            this.maxRetries = maxRetries;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public B setRetryDelayMillis(final long retryDelayMillis) {
+            this.retryDelayMillis = retryDelayMillis;
+            return asBuilder();
+        }
     }
 
     /**
@@ -159,16 +367,20 @@ public final class HttpAppender extends AbstractAppender {
 
     private final HttpManager manager;
 
+    private final SpoolManager spoolManager;
+
     private HttpAppender(
             final String name,
             final Layout<? extends Serializable> layout,
             final Filter filter,
             final boolean ignoreExceptions,
             final HttpManager manager,
-            final Property[] properties) {
+            final Property[] properties,
+            final SpoolManager spoolManager) {
         super(name, filter, layout, ignoreExceptions, properties);
         Objects.requireNonNull(layout, "layout");
         this.manager = Objects.requireNonNull(manager, "manager");
+        this.spoolManager = spoolManager;
     }
 
     @Override
@@ -179,6 +391,15 @@ public final class HttpAppender extends AbstractAppender {
 
     @Override
     public void append(final LogEvent event) {
+        if (spoolManager != null) {
+            if (!spoolManager.append(getLayout().toByteArray(event))) {
+                final AppenderLoggingException ex =
+                        new AppenderLoggingException("Unable to spool event, " + spoolManager.getName() + " is full");
+                error("Unable to write to spool " + spoolManager.getName() + " for appender " + getName(), event, ex);
+                throw ex;
+            }
+            return;
+        }
         try {
             manager.send(getLayout(), event);
         } catch (final Exception e) {
@@ -190,6 +411,10 @@ public final class HttpAppender extends AbstractAppender {
     public boolean stop(final long timeout, final TimeUnit timeUnit) {
         setStopping();
         boolean stopped = super.stop(timeout, timeUnit, false);
+        if (spoolManager != null) {
+            // Stops forwarding before the HTTP manager is released
+            stopped &= spoolManager.stop(timeout, timeUnit);
+        }
         stopped &= manager.stop(timeout, timeUnit);
         setStopped();
         return stopped;
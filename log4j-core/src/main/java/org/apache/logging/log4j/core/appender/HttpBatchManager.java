@@ -0,0 +1,397 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+
+/**
+ * Sends log events over HTTP in batches.
+ * <p>
+ * Events are encoded into a batch, which is sent once it holds {@code batchSize} events or {@code maxBatchBytes}
+ * bytes, or {@code lingerMillis} after its first event. Batches are sent by a pool of {@code maxConcurrentRequests}
+ * threads through an {@link HttpURLConnectionManager}, whose connections are kept alive and reused by the JDK.
+ * Logging threads only wait when all the sending threads are busy. A batch that cannot be sent is retried up to
+ * {@code maxRetries} times, doubling the delay between attempts, and then dropped.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public class HttpBatchManager extends HttpManager {
+
+    /**
+     * How the events of a batch are combined into a request body.
+     */
+    public enum BatchFormat {
+
+        /**
+         * Events separated by line feeds, e.g. newline-delimited JSON.
+         */
+        NDJSON,
+
+        /**
+         * Events separated by commas within a JSON array.
+         */
+        JSON_ARRAY
+    }
+
+    private static final String GZIP = "gzip";
+
+    private final HttpURLConnectionManager connectionManager;
+
+    private final String contentType;
+
+    private final BatchFormat batchFormat;
+
+    private final int batchSize;
+
+    private final int maxBatchBytes;
+
+    private final long lingerNanos;
+
+    private final boolean compress;
+
+    private final int maxRetries;
+
+    private final long retryDelayMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition batchStarted = lock.newCondition();
+
+    private final Batch batch;
+
+    private long batchDeadlineNanos;
+
+    private boolean closed;
+
+    private final ExecutorService senders;
+
+    private final Semaphore permits;
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private final Flusher flusher;
+
+    /**
+     * Creates a batching manager.
+     *
+     * @param configuration the configuration
+     * @param loggerContext the logger context
+     * @param name the name of the manager
+     * @param connectionManager the manager sending the requests
+     * @param contentType the content type of the request bodies, may be {@code null}
+     * @param batchFormat how events are combined into a request body
+     * @param batchSize the maximum number of events per request
+     * @param maxBatchBytes the size in bytes after which a batch is sent
+     * @param lingerMillis the maximum delay in milliseconds before an event is sent
+     * @param compress whether request bodies are compressed with gzip
+     * @param maxConcurrentRequests the maximum number of requests sent concurrently
+     * @param maxRetries the number of times a failed request is retried
+     * @param retryDelayMillis the delay in milliseconds before the first retry
+     */
+    public HttpBatchManager(
+            final Configuration configuration,
+            final LoggerContext loggerContext,
+            final String name,
+            final HttpURLConnectionManager connectionManager,
+            final String contentType,
+            final BatchFormat batchFormat,
+            final int batchSize,
+            final int maxBatchBytes,
+            final long lingerMillis,
+            final boolean compress,
+            final int maxConcurrentRequests,
+            final int maxRetries,
+            final long retryDelayMillis) {
+        super(configuration, loggerContext, name);
+        this.connectionManager = connectionManager;
+        this.contentType = contentType;
+        this.batchFormat = batchFormat;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchBytes = Math.max(1, maxBatchBytes);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+        this.compress = compress;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryDelayMillis = Math.max(0, retryDelayMillis);
+        this.batch = new Batch(Math.min(this.maxBatchBytes, 64 * 1024));
+        final int threads = Math.max(1, maxConcurrentRequests);
+        this.senders = Executors.newFixedThreadPool(
+                threads, Log4jThreadFactory.createDaemonThreadFactory("HttpBatchSender-" + name));
+        this.permits = new Semaphore(threads);
+        this.flusher = new Flusher();
+        this.flusher.start();
+    }
+
+    @Override
+    public void send(final Layout<?> layout, final LogEvent event) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new AppenderLoggingException("HTTP manager " + getName() + " is stopped");
+            }
+            batch.startEvent();
+            layout.encode(event, batch);
+            batch.endEvent();
+            if (batch.events == 1) {
+                batchDeadlineNanos = System.nanoTime() + lingerNanos;
+                batchStarted.signal();
+            }
+            if (batch.events >= batchSize || batch.size() >= maxBatchBytes) {
+                dispatch();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of events dropped because their batch could not be sent.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Hands the current batch over to a sending thread, waiting for one to be available. Called with the lock held,
+     * so that batches are handed over in order.
+     */
+    private void dispatch() {
+        final int events = batch.events;
+        final byte[] body;
+        try {
+            body = batch.toBody();
+        } catch (final IOException ex) {
+            droppedEvents.addAndGet(events);
+            logError("Unable to compress HTTP batch", ex);
+            return;
+        }
+        permits.acquireUninterruptibly();
+        try {
+            senders.execute(() -> {
+                try {
+                    sendWithRetry(body, events);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (final RuntimeException ex) {
+            permits.release();
+            droppedEvents.addAndGet(events);
+            logError("Unable to send HTTP batch", ex);
+        }
+    }
+
+    private void sendWithRetry(final byte[] body, final int events) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                connectionManager.send(contentType, compress ? GZIP : null, body, 0, body.length);
+                return;
+            } catch (final Exception ex) {
+                if (attempt >= maxRetries) {
+                    droppedEvents.addAndGet(events);
+                    logError(
+                            "Unable to send a batch of " + events + " events after " + (attempt + 1) + " attempts", ex);
+                    return;
+                }
+                LOGGER.debug("{} unable to send a batch of {} events, retrying: {}", getName(), events, ex);
+            }
+            try {
+                Thread.sleep(retryDelayMillis << Math.min(attempt, 16));
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                droppedEvents.addAndGet(events);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sends the pending events and waits up to the timeout for the requests in progress.
+     */
+    @Override
+    protected boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        lock.lock();
+        try {
+            closed = true;
+            if (batch.events > 0) {
+                dispatch();
+            }
+            batchStarted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        boolean stopped = true;
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(timeout > 0 ? timeout : Long.MAX_VALUE, timeUnit)) {
+                senders.shutdownNow();
+                stopped = false;
+            }
+            flusher.join();
+        } catch (final InterruptedException ex) {
+            senders.shutdownNow();
+            Thread.currentThread().interrupt();
+            stopped = false;
+        }
+        return connectionManager.stop(timeout, timeUnit) && stopped;
+    }
+
+    /**
+     * Sends the batches that are not full once their linger time has elapsed.
+     */
+    private final class Flusher extends Log4jThread {
+
+        Flusher() {
+            super("HttpBatchFlusher-" + HttpBatchManager.this.getName());
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            lock.lock();
+            try {
+                while (!closed) {
+                    if (batch.events == 0) {
+                        batchStarted.await();
+                        continue;
+                    }
+                    final long remainingNanos = batchDeadlineNanos - System.nanoTime();
+                    if (remainingNanos > 0) {
+                        batchStarted.awaitNanos(remainingNanos);
+                    } else {
+                        dispatch();
+                    }
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Accumulates the encoded events of a batch in a heap buffer that grows as needed.
+     */
+    private final class Batch implements ByteBufferDestination {
+
+        private ByteBuffer buffer;
+
+        private int events;
+
+        Batch(final int initialCapacity) {
+            this.buffer = ByteBuffer.allocate(initialCapacity);
+        }
+
+        int size() {
+            return buffer.position();
+        }
+
+        void startEvent() {
+            if (batchFormat == BatchFormat.JSON_ARRAY) {
+                ensureRemaining(1);
+                buffer.put(events == 0 ? (byte) '[' : (byte) ',');
+            }
+        }
+
+        void endEvent() {
+            final int position = buffer.position();
+            if (batchFormat == BatchFormat.NDJSON && position > 0 && buffer.get(position - 1) != '\n') {
+                ensureRemaining(1);
+                buffer.put((byte) '\n');
+            }
+            events++;
+        }
+
+        /**
+         * Copies the batch into a request body and empties it.
+         */
+        byte[] toBody() throws IOException {
+            if (batchFormat == BatchFormat.JSON_ARRAY) {
+                ensureRemaining(1);
+                buffer.put((byte) ']');
+            }
+            try {
+                if (!compress) {
+                    return Arrays.copyOf(buffer.array(), buffer.position());
+                }
+                final ByteArrayOutputStream out = new ByteArrayOutputStream(buffer.position() / 4 + 64);
+                try (final GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(buffer.array(), 0, buffer.position());
+                }
+                return out.toByteArray();
+            } finally {
+                ((Buffer) buffer).clear();
+                events = 0;
+            }
+        }
+
+        private void ensureRemaining(final int length) {
+            if (buffer.remaining() < length) {
+                final int capacity = Math.max(buffer.capacity() << 1, buffer.position() + length);
+                final ByteBuffer grown = ByteBuffer.allocate(capacity);
+                ((Buffer) buffer).flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return buffer;
+        }
+
+        @Override
+        public ByteBuffer drain(final ByteBuffer buf) {
+            ensureRemaining(buffer.capacity());
+            return buffer;
+        }
+
+        @Override
+        public void writeBytes(final ByteBuffer data) {
+            ensureRemaining(data.remaining());
+            buffer.put(data);
+        }
+
+        @Override
+        public void writeBytes(final byte[] data, final int offset, final int length) {
+            ensureRemaining(length);
+            buffer.put(data, offset, length);
+        }
+    }
+}
@@ -81,6 +81,49 @@ public class HttpURLConnectionManager extends HttpManager {
             value = "URLCONNECTION_SSRF_FD",
             justification = "This connection URL is specified in a configuration file.")
     public void send(final Layout<?> layout, final LogEvent event) throws IOException {
+        final byte[] msg = layout.toByteArray(event);
+        send(layout.getContentType(), msg, 0, msg.length);
+    }
+
+    /**
+     * Sends an already encoded body.
+     *
+     * @param contentType the content type of the body, may be {@code null}
+     * @param data the buffer holding the body
+     * @param offset the offset of the body in the buffer
+     * @param length the length of the body
+     * @throws IOException if the body could not be sent or the server did not accept it
+     * @since 2.24.0
+     */
+    @SuppressFBWarnings(
+            value = "URLCONNECTION_SSRF_FD",
+            justification = "This connection URL is specified in a configuration file.")
+    public void send(final String contentType, final byte[] data, final int offset, final int length)
+            throws IOException {
+        send(contentType, null, data, offset, length);
+    }
+
+    /**
+     * Sends an already encoded body.
+     *
+     * @param contentType the content type of the body, may be {@code null}
+     * @param contentEncoding the content encoding of the body, e.g. {@code gzip}, may be {@code null}
+     * @param data the buffer holding the body
+     * @param offset the offset of the body in the buffer
+     * @param length the length of the body
+     * @throws IOException if the body could not be sent or the server did not accept it
+     * @since 2.24.0
+     */
+    @SuppressFBWarnings(
+            value = "URLCONNECTION_SSRF_FD",
+            justification = "This connection URL is specified in a configuration file.")
+    public void send(
+            final String contentType,
+            final String contentEncoding,
+            final byte[] data,
+            final int offset,
+            final int length)
+            throws IOException {
         final HttpURLConnection urlConnection = (HttpURLConnection) url.openConnection();
         urlConnection.setAllowUserInteraction(false);
         urlConnection.setDoOutput(true);
@@ -92,8 +135,11 @@ public class HttpURLConnectionManager extends HttpManager {
         if (readTimeoutMillis > 0) {
             urlConnection.setReadTimeout(readTimeoutMillis);
         }
-        if (layout.getContentType() != null) {
-            urlConnection.setRequestProperty("Content-Type", layout.getContentType());
+        if (contentType != null) {
+            urlConnection.setRequestProperty("Content-Type", contentType);
+        }
+        if (contentEncoding != null) {
+            urlConnection.setRequestProperty("Content-Encoding", contentEncoding);
         }
         for (final Property header : headers) {
             urlConnection.setRequestProperty(
@@ -106,11 +152,10 @@ public class HttpURLConnectionManager extends HttpManager {
             ((HttpsURLConnection) urlConnection).setHostnameVerifier(LaxHostnameVerifier.INSTANCE);
         }
 
-        final byte[] msg = layout.toByteArray(event);
-        urlConnection.setFixedLengthStreamingMode(msg.length);
+        urlConnection.setFixedLengthStreamingMode(length);
         urlConnection.connect();
         try (final OutputStream os = urlConnection.getOutputStream()) {
-            os.write(msg);
+            os.write(data, offset, length);
         }
 
         final byte[] buffer = new byte[1024];
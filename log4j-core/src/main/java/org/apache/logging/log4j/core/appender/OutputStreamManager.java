@@ -38,6 +38,7 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
     protected ByteBuffer byteBuffer;
     private volatile OutputStream outputStream;
     private boolean skipFooter;
+    private final ConcurrentWriteBuffer concurrentWriteBuffer;
 
     protected OutputStreamManager(
             final OutputStream os, final String streamName, final Layout<?> layout, final boolean writeHeader) {
@@ -71,6 +72,7 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
             writeHeader(os);
         }
         this.byteBuffer = Objects.requireNonNull(byteBuffer, "byteBuffer");
+        this.concurrentWriteBuffer = null;
     }
 
     /**
@@ -84,6 +86,32 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
             final Layout<? extends Serializable> layout,
             final boolean writeHeader,
             final ByteBuffer byteBuffer) {
+        this(loggerContext, os, streamName, createOnDemand, layout, writeHeader, byteBuffer, false);
+    }
+
+    /**
+     * Creates a manager that optionally accepts writes from multiple threads without serializing them on its monitor.
+     * <p>
+     * If {@code concurrentWrites} is {@code true}, events that fit into the buffer are staged in a shared region by
+     * reserving space with a compare-and-set operation; only the transfer of the staged bytes to the
+     * {@link OutputStream} is serialized. Larger events are written while holding the monitor, after the staged bytes.
+     * Each event must then be handed over with a single call to {@link #writeBytes(ByteBuffer)} or
+     * {@link #writeBytes(byte[], int, int)}: an event written in chunks through {@link #getByteBuffer()} and
+     * {@link #drain(ByteBuffer)} is not ordered with the staged events.
+     * </p>
+     *
+     * @param concurrentWrites whether producers should stage their writes without locking
+     * @since 2.24.0
+     */
+    protected OutputStreamManager(
+            final LoggerContext loggerContext,
+            final OutputStream os,
+            final String streamName,
+            final boolean createOnDemand,
+            final Layout<? extends Serializable> layout,
+            final boolean writeHeader,
+            final ByteBuffer byteBuffer,
+            final boolean concurrentWrites) {
         super(loggerContext, streamName);
         if (createOnDemand && os != null) {
             LOGGER.error(
@@ -92,6 +120,7 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
         }
         this.layout = layout;
         this.byteBuffer = Objects.requireNonNull(byteBuffer, "byteBuffer");
+        this.concurrentWriteBuffer = concurrentWrites ? new ConcurrentWriteBuffer(byteBuffer.capacity()) : null;
         this.outputStream = os;
         if (writeHeader) {
             writeHeader(os);
@@ -172,6 +201,16 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
         return outputStream != null;
     }
 
+    /**
+     * Returns whether this manager stages writes from multiple threads without locking.
+     *
+     * @return {@code true} if concurrent writes are enabled
+     * @since 2.24.0
+     */
+    public boolean isConcurrentWrites() {
+        return concurrentWriteBuffer != null;
+    }
+
     protected OutputStream getOutputStream() throws IOException {
         if (outputStream == null) {
             outputStream = createOutputStream();
@@ -228,8 +267,22 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
      * @param immediateFlush flushes immediately after writing.
      * @throws AppenderLoggingException if an error occurs.
      */
-    protected synchronized void write(
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        if (concurrentWriteBuffer != null && writeConcurrently(bytes, null, offset, length)) {
+            if (immediateFlush) {
+                flush();
+            }
+            return;
+        }
+        writeSynchronized(bytes, offset, length, immediateFlush);
+    }
+
+    private synchronized void writeSynchronized(
             final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        if (concurrentWriteBuffer != null) {
+            // the events staged so far precede this one
+            concurrentWriteBuffer.drain(this);
+        }
         if (immediateFlush && byteBuffer.position() == 0) {
             writeToDestination(bytes, offset, length);
             flushDestination();
@@ -250,6 +303,27 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
         }
     }
 
+    /**
+     * Stages the given bytes in the concurrent write buffer, draining it when it runs out of space.
+     *
+     * @return {@code false} if the data is too large to be staged and must be written under the monitor
+     */
+    private boolean writeConcurrently(final byte[] array, final ByteBuffer buffer, final int offset, final int length) {
+        final ConcurrentWriteBuffer writeBuffer = concurrentWriteBuffer;
+        if (length > writeBuffer.capacity()) {
+            return false;
+        }
+        while (array != null ? !writeBuffer.tryWrite(array, offset, length) : !writeBuffer.tryWrite(buffer)) {
+            synchronized (this) {
+                // another thread may have drained the buffer while we were waiting for the monitor
+                if (writeBuffer.size() + length > writeBuffer.capacity()) {
+                    drainConcurrentWriteBuffer();
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Writes the specified section of the specified byte array to the stream.
      *
@@ -304,10 +378,22 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
      * Flushes any buffers.
      */
     public synchronized void flush() {
-        flushBuffer(byteBuffer);
+        if (concurrentWriteBuffer != null) {
+            drainConcurrentWriteBuffer();
+        } else {
+            flushBuffer(byteBuffer);
+        }
         flushDestination();
     }
 
+    /**
+     * Writes the bytes staged by concurrent producers to the destination. Must be called while holding the monitor.
+     */
+    private void drainConcurrentWriteBuffer() {
+        concurrentWriteBuffer.drain(this);
+        flushBuffer(byteBuffer);
+    }
+
     protected synchronized boolean closeOutputStream() {
         flush();
         final OutputStream stream = outputStream; // access volatile field only once per method
@@ -362,8 +448,18 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
         if (data.remaining() == 0) {
             return;
         }
+        if (concurrentWriteBuffer != null && writeConcurrently(null, data, 0, data.remaining())) {
+            return;
+        }
         synchronized (this) {
-            ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+            if (concurrentWriteBuffer != null) {
+                // the events staged so far precede this one, which must not be split by the next drain
+                drainConcurrentWriteBuffer();
+                ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+                flushBuffer(byteBuffer);
+            } else {
+                ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+            }
         }
     }
 }
@@ -0,0 +1,366 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.rolling.DefaultRolloverStrategy;
+import org.apache.logging.log4j.core.appender.rolling.DirectFileRolloverStrategy;
+import org.apache.logging.log4j.core.appender.rolling.DirectWriteRolloverStrategy;
+import org.apache.logging.log4j.core.appender.rolling.RollingAsyncFileChannelManager;
+import org.apache.logging.log4j.core.appender.rolling.RolloverStrategy;
+import org.apache.logging.log4j.core.appender.rolling.TriggeringPolicy;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.net.Advertiser;
+
+/**
+ * An appender that writes through an {@code AsynchronousFileChannel} and can roll over at
+ * intervals.
+ *
+ * @see AsyncFileChannelAppender
+ * @since 2.24.0
+ */
+@Plugin(
+        name = "RollingAsyncFileChannel",
+        category = Core.CATEGORY_NAME,
+        elementType = Appender.ELEMENT_TYPE,
+        printObject = true)
+public final class RollingAsyncFileChannelAppender
+        extends AbstractOutputStreamAppender<RollingAsyncFileChannelManager> {
+
+    public static class Builder<B extends Builder<B>> extends AbstractOutputStreamAppender.Builder<B>
+            implements org.apache.logging.log4j.core.util.Builder<RollingAsyncFileChannelAppender> {
+
+        public Builder() {
+            withBufferSize(RollingAsyncFileChannelManager.DEFAULT_BUFFER_SIZE);
+            setIgnoreExceptions(true);
+            // waiting for each write would make the appender synchronous
+            withImmediateFlush(false);
+        }
+
+        @PluginBuilderAttribute("fileName")
+        private String fileName;
+
+        @PluginBuilderAttribute("filePattern")
+        private String filePattern;
+
+        @PluginBuilderAttribute("append")
+        private boolean append = true;
+
+        @PluginBuilderAttribute("bufferCount")
+        private int bufferCount = RollingAsyncFileChannelManager.DEFAULT_BUFFER_COUNT;
+
+        @PluginBuilderAttribute("flushIntervalMillis")
+        private long flushIntervalMillis = RollingAsyncFileChannelManager.DEFAULT_FLUSH_INTERVAL_MILLIS;
+
+        @PluginElement("Policy")
+        private TriggeringPolicy policy;
+
+        @PluginElement("Strategy")
+        private RolloverStrategy strategy;
+
+        @PluginBuilderAttribute("advertise")
+        private boolean advertise;
+
+        @PluginBuilderAttribute("advertiseURI")
+        private String advertiseURI;
+
+        @PluginBuilderAttribute
+        private String filePermissions;
+
+        @PluginBuilderAttribute
+        private String fileOwner;
+
+        @PluginBuilderAttribute
+        private String fileGroup;
+
+        @Override
+        public RollingAsyncFileChannelAppender build() {
+            final String name = getName();
+            if (name == null) {
+                LOGGER.error("No name provided for FileAppender");
+                return null;
+            }
+
+            if (strategy == null) {
+                if (fileName != null) {
+                    strategy = DefaultRolloverStrategy.newBuilder()
+                            .withCompressionLevelStr(String.valueOf(Deflater.DEFAULT_COMPRESSION))
+                            .withConfig(getConfiguration())
+                            .build();
+                } else {
+                    strategy = DirectWriteRolloverStrategy.newBuilder()
+                            .withCompressionLevelStr(String.valueOf(Deflater.DEFAULT_COMPRESSION))
+                            .withConfig(getConfiguration())
+                            .build();
+                }
+            } else if (fileName == null && !(strategy instanceof DirectFileRolloverStrategy)) {
+                LOGGER.error(
+                        "RollingFileAppender '{}': When no file name is provided a DirectFileRolloverStrategy must be configured");
+                return null;
+            }
+
+            if (filePattern == null) {
+                LOGGER.error("No filename pattern provided for FileAppender with name " + name);
+                return null;
+            }
+
+            if (policy == null) {
+                LOGGER.error("A TriggeringPolicy must be provided");
+                return null;
+            }
+
+            if (bufferCount < 2) {
+                LOGGER.error("RollingAsyncFileChannelAppender {} requires a bufferCount of at least 2", name);
+                return null;
+            }
+
+            final Layout<? extends Serializable> layout = getOrCreateLayout();
+
+            final boolean immediateFlush = isImmediateFlush();
+            final int bufferSize = getBufferSize();
+            final RollingAsyncFileChannelManager manager =
+                    RollingAsyncFileChannelManager.getRollingAsyncFileChannelManager(
+                            fileName,
+                            filePattern,
+                            append,
+                            bufferSize,
+                            bufferCount,
+                            immediateFlush ? 0 : flushIntervalMillis,
+                            policy,
+                            strategy,
+                            advertiseURI,
+                            layout,
+                            filePermissions,
+                            fileOwner,
+                            fileGroup,
+                            getConfiguration());
+            if (manager == null) {
+                return null;
+            }
+
+            manager.initialize();
+
+            return new RollingAsyncFileChannelAppender(
+                    name,
+                    layout,
+                    getFilter(),
+                    manager,
+                    fileName,
+                    filePattern,
+                    isIgnoreExceptions(),
+                    immediateFlush,
+                    bufferSize,
+                    advertise ? getConfiguration().getAdvertiser() : null,
+                    getPropertyArray());
+        }
+
+        public B withFileName(final String fileName) {
+            this.fileName = fileName;
+            return asBuilder();
+        }
+
+        public B withFilePattern(final String filePattern) {
+            this.filePattern = filePattern;
+            return asBuilder();
+        }
+
+        public B withAppend(final boolean append) {
+            this.append = append;
+            return asBuilder();
+        }
+
+        public B withBufferCount(final int bufferCount) {
+            this.bufferCount = bufferCount;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the interval at which a background thread hands the buffered events to the channel, when
+         * {@code immediateFlush} is false.
+         *
+         * @param flushIntervalMillis the maximum time in milliseconds an event stays in the buffer, or 0 to only hand
+         *            the buffer over when it is full or at the end of a batch.
+         * @return this builder.
+         */
+        public B setFlushIntervalMillis(final long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+            return asBuilder();
+        }
+
+        public B withPolicy(final TriggeringPolicy policy) {
+            this.policy = policy;
+            return asBuilder();
+        }
+
+        public B withStrategy(final RolloverStrategy strategy) {
+            this.strategy = strategy;
+            return asBuilder();
+        }
+
+        public B withAdvertise(final boolean advertise) {
+            this.advertise = advertise;
+            return asBuilder();
+        }
+
+        public B withAdvertiseURI(final String advertiseURI) {
+            this.advertiseURI = advertiseURI;
+            return asBuilder();
+        }
+
+        public B withFilePermissions(final String filePermissions) {
+            this.filePermissions = filePermissions;
+            return asBuilder();
+        }
+
+        public B withFileOwner(final String fileOwner) {
+            this.fileOwner = fileOwner;
+            return asBuilder();
+        }
+
+        public B withFileGroup(final String fileGroup) {
+            this.fileGroup = fileGroup;
+            return asBuilder();
+        }
+    }
+
+    private final String fileName;
+    private final String filePattern;
+    private final Object advertisement;
+    private final Advertiser advertiser;
+
+    private RollingAsyncFileChannelAppender(
+            final String name,
+            final Layout<? extends Serializable> layout,
+            final Filter filter,
+            final RollingAsyncFileChannelManager manager,
+            final String fileName,
+            final String filePattern,
+            final boolean ignoreExceptions,
+            final boolean immediateFlush,
+            final int bufferSize,
+            final Advertiser advertiser,
+            final Property[] properties) {
+        super(name, layout, filter, ignoreExceptions, immediateFlush, properties, manager);
+        if (advertiser != null) {
+            final Map<String, String> configuration = new HashMap<>(layout.getContentFormat());
+            configuration.put("contentType", layout.getContentType());
+            configuration.put("name", name);
+            advertisement = advertiser.advertise(configuration);
+        } else {
+            advertisement = null;
+        }
+        this.fileName = fileName;
+        this.filePattern = filePattern;
+        this.advertiser = advertiser;
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        super.stop(timeout, timeUnit, false);
+        if (advertiser != null) {
+            advertiser.unadvertise(advertisement);
+        }
+        setStopped();
+        return true;
+    }
+
+    /**
+     * Write the log entry rolling over the file when required.
+     *
+     * @param event The LogEvent.
+     */
+    @Override
+    public void append(final LogEvent event) {
+        final RollingAsyncFileChannelManager manager = getManager();
+        manager.checkRollover(event);
+
+        // LOG4J2-1292 utilize gc-free Layout.encode() method: taken care of in superclass
+        super.append(event);
+    }
+
+    @Override
+    protected void directEncodeEvent(final LogEvent event) {
+        getLayout().encode(event, getManager());
+        flushOrSubmit(event);
+    }
+
+    @Override
+    protected void writeByteArrayToManager(final LogEvent event) {
+        final byte[] bytes = getLayout().toByteArray(event);
+        if (bytes != null && bytes.length > 0) {
+            getManager().write(bytes, false);
+        }
+        flushOrSubmit(event);
+    }
+
+    private void flushOrSubmit(final LogEvent event) {
+        if (getImmediateFlush()) {
+            getManager().flush();
+        } else if (event.isEndOfBatch()) {
+            getManager().submit();
+        }
+    }
+
+    /**
+     * Returns the File name for the Appender.
+     *
+     * @return The file name.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Returns the file pattern used when rolling over.
+     *
+     * @return The file pattern.
+     */
+    public String getFilePattern() {
+        return filePattern;
+    }
+
+    /**
+     * Returns the size of the file manager's buffer.
+     * @return the buffer size
+     */
+    public int getBufferSize() {
+        return getManager().getBufferSize();
+    }
+
+    /**
+     * Creates a builder for a RollingAsyncFileChannelAppender.
+     * @return a builder for a RollingAsyncFileChannelAppender.
+     */
+    @PluginBuilderFactory
+    public static <B extends Builder<B>> B newBuilder() {
+        return new Builder<B>().asBuilder();
+    }
+}
@@ -38,8 +38,11 @@ import org.apache.logging.log4j.core.config.plugins.validation.constraints.Valid
 import org.apache.logging.log4j.core.config.plugins.validation.constraints.ValidPort;
 import org.apache.logging.log4j.core.net.AbstractSocketManager;
 import org.apache.logging.log4j.core.net.Advertiser;
+import org.apache.logging.log4j.core.net.DatagramChannelManager;
 import org.apache.logging.log4j.core.net.DatagramSocketManager;
 import org.apache.logging.log4j.core.net.Protocol;
+import org.apache.logging.log4j.core.net.SocketChannelManager;
+import org.apache.logging.log4j.core.net.SocketChannelManager.OverflowPolicy;
 import org.apache.logging.log4j.core.net.SocketOptions;
 import org.apache.logging.log4j.core.net.SslSocketManager;
 import org.apache.logging.log4j.core.net.TcpSocketManager;
@@ -84,6 +87,24 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         @PluginBuilderAttribute
         private boolean immediateFail = true;
 
+        @PluginBuilderAttribute
+        private boolean datagramChannel;
+
+        @PluginBuilderAttribute
+        private int maxDatagramSize;
+
+        @PluginBuilderAttribute
+        private boolean socketChannel;
+
+        @PluginBuilderAttribute
+        private int channelBufferSize;
+
+        @PluginBuilderAttribute
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        @PluginBuilderAttribute
+        private String spillFile;
+
         @PluginBuilderAttribute
         @ValidPort
         private int port;
@@ -102,6 +123,9 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         @PluginAliases({"SslConfig"})
         private SslConfiguration sslConfiguration;
 
+        @PluginElement("Spool")
+        private Spool spool;
+
         public boolean getAdvertise() {
             return advertise;
         }
@@ -126,10 +150,59 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return sslConfiguration;
         }
 
+        /**
+         * @since 2.24.0
+         */
+        public Spool getSpool() {
+            return spool;
+        }
+
         public boolean getImmediateFail() {
             return immediateFail;
         }
 
+        /**
+         * @since 2.24.0
+         */
+        public boolean isDatagramChannel() {
+            return datagramChannel;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public int getMaxDatagramSize() {
+            return maxDatagramSize;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public boolean isSocketChannel() {
+            return socketChannel;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public int getChannelBufferSize() {
+            return channelBufferSize;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public String getSpillFile() {
+            return spillFile;
+        }
+
         public B setAdvertise(final boolean advertise) {
             this.advertise = advertise;
             return asBuilder();
@@ -150,6 +223,80 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return asBuilder();
         }
 
+        /**
+         * Sets whether UDP events are sent through a {@link DatagramChannelManager} rather than a
+         * {@link DatagramSocketManager}.
+         *
+         * @param datagramChannel {@code true} to send UDP events from a reusable direct buffer
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setDatagramChannel(final boolean datagramChannel) {
+            this.datagramChannel = datagramChannel;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the maximum size of UDP datagrams packing several events, only used with a datagram channel.
+         *
+         * @param maxDatagramSize the maximum datagram size in bytes, or zero to send one event per datagram
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setMaxDatagramSize(final int maxDatagramSize) {
+            this.maxDatagramSize = maxDatagramSize;
+            return asBuilder();
+        }
+
+        /**
+         * Sets whether TCP events are sent through a {@link SocketChannelManager} rather than a
+         * {@link TcpSocketManager}.
+         *
+         * @param socketChannel {@code true} to send TCP events from a dedicated I/O thread
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setSocketChannel(final boolean socketChannel) {
+            this.socketChannel = socketChannel;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the size of the off-heap buffer holding the events waiting to be sent, only used with a socket channel.
+         *
+         * @param channelBufferSize the channel buffer size in bytes, or zero for the default
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setChannelBufferSize(final int channelBufferSize) {
+            this.channelBufferSize = channelBufferSize;
+            return asBuilder();
+        }
+
+        /**
+         * Sets what to do with events that do not fit into the channel buffer, only used with a socket channel.
+         *
+         * @param overflowPolicy the overflow policy
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the file events are spilled to with the {@link OverflowPolicy#SPILL} policy.
+         *
+         * @param spillFile the spill file, or {@code null} to use a temporary file
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setSpillFile(final String spillFile) {
+            this.spillFile = spillFile;
+            return asBuilder();
+        }
+
         public B setPort(final int port) {
             this.port = port;
             return asBuilder();
@@ -175,6 +322,18 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return asBuilder();
         }
 
+        /**
+         * Sets the disk spool events are stored in until they are sent.
+         *
+         * @param spool the spool configuration, or {@code null} to send events directly
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setSpool(final Spool spool) {
+            this.spool = spool;
+            return asBuilder();
+        }
+
         @Deprecated
         public B withAdvertise(final boolean advertise) {
             this.advertise = advertise;
@@ -267,22 +426,13 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
 
             final Protocol protocol = getProtocol();
             final Protocol actualProtocol = protocol != null ? protocol : Protocol.TCP;
-            if (actualProtocol == Protocol.UDP) {
+            // A datagram channel only sends the buffered events when flushed
+            if (actualProtocol == Protocol.UDP && !isDatagramChannel()) {
                 immediateFlush = true;
             }
 
-            final AbstractSocketManager manager = SocketAppender.createSocketManager(
-                    name,
-                    actualProtocol,
-                    getHost(),
-                    getPort(),
-                    getConnectTimeoutMillis(),
-                    getSslConfiguration(),
-                    getReconnectDelayMillis(),
-                    getImmediateFail(),
-                    layout,
-                    getBufferSize(),
-                    getSocketOptions());
+            final AbstractSocketManager manager =
+                    SocketAppender.createSocketManager(this, actualProtocol, layout, getBufferSize());
 
             return new SocketAppender(
                     name,
@@ -292,7 +442,8 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
                     isIgnoreExceptions(),
                     !bufferedIo || immediateFlush,
                     getAdvertise() ? getConfiguration().getAdvertiser() : null,
-                    getPropertyArray());
+                    getPropertyArray(),
+                    createSpoolManager(getSpool(), manager));
         }
     }
 
@@ -303,6 +454,7 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
 
     private final Object advertisement;
     private final Advertiser advertiser;
+    private final SpoolManager spoolManager;
 
     protected SocketAppender(
             final String name,
@@ -313,7 +465,26 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             final boolean immediateFlush,
             final Advertiser advertiser,
             final Property[] properties) {
+        this(name, layout, filter, manager, ignoreExceptions, immediateFlush, advertiser, properties, null);
+    }
+
+    /**
+     * @param spoolManager the spool events are stored in until they are sent, or {@code null} to send events
+     *                     directly
+     * @since 2.24.0
+     */
+    protected SocketAppender(
+            final String name,
+            final Layout<? extends Serializable> layout,
+            final Filter filter,
+            final AbstractSocketManager manager,
+            final boolean ignoreExceptions,
+            final boolean immediateFlush,
+            final Advertiser advertiser,
+            final Property[] properties,
+            final SpoolManager spoolManager) {
         super(name, layout, filter, ignoreExceptions, immediateFlush, properties, manager);
+        this.spoolManager = spoolManager;
         if (advertiser != null) {
             final Map<String, String> configuration = new HashMap<>(layout.getContentFormat());
             configuration.putAll(manager.getContentFormat());
@@ -344,12 +515,17 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
     @Override
     public boolean stop(final long timeout, final TimeUnit timeUnit) {
         setStopping();
-        super.stop(timeout, timeUnit, false);
+        boolean stopped = true;
+        if (spoolManager != null) {
+            // Stops forwarding before the socket manager is released
+            stopped &= spoolManager.stop(timeout, timeUnit);
+        }
+        stopped &= super.stop(timeout, timeUnit, false);
         if (this.advertiser != null) {
             this.advertiser.unadvertise(this.advertisement);
         }
         setStopped();
-        return true;
+        return stopped;
     }
 
     /**
@@ -555,6 +731,46 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             final Layout<? extends Serializable> layout,
             final int bufferSize,
             final SocketOptions socketOptions) {
+        return createSocketManager(
+                newBuilder()
+                        .setName(name)
+                        .setHost(host)
+                        .setPort(port)
+                        .setConnectTimeoutMillis(connectTimeoutMillis)
+                        .setSslConfiguration(sslConfig)
+                        .setReconnectDelayMillis(reconnectDelayMillis)
+                        .setImmediateFail(immediateFail)
+                        .setSocketOptions(socketOptions),
+                protocol,
+                layout,
+                bufferSize);
+    }
+
+    /**
+     * Creates an AbstractSocketManager for TCP, UDP, and SSL.
+     * <p>
+     * The name, the destination, the connection settings and the choice of a {@link DatagramChannelManager} or a
+     * {@link SocketChannelManager} are taken from the builder.
+     * </p>
+     *
+     * @param builder the builder of the appender
+     * @param protocol the protocol, upgraded to SSL if the builder has an SSL configuration
+     * @param layout the layout
+     * @param bufferSize the size of the buffer events are encoded into
+     * @throws IllegalArgumentException
+     *             if the protocol cannot be handled.
+     * @since 2.24.0
+     */
+    protected static AbstractSocketManager createSocketManager(
+            final AbstractBuilder<?> builder,
+            Protocol protocol,
+            final Layout<? extends Serializable> layout,
+            final int bufferSize) {
+        final String name = builder.getName();
+        final String host = builder.getHost();
+        final int port = builder.getPort();
+        final SslConfiguration sslConfig = builder.getSslConfiguration();
+        final boolean socketChannel = builder.isSocketChannel();
         if (protocol == Protocol.TCP && sslConfig != null) {
             // Upgrade TCP to SSL if an SSL config is specified.
             protocol = Protocol.SSL;
@@ -562,37 +778,104 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         if (protocol != Protocol.SSL && sslConfig != null) {
             LOGGER.info("Appender {} ignoring SSL configuration for {} protocol", name, protocol);
         }
+        if (protocol == Protocol.SSL && socketChannel) {
+            LOGGER.info("Appender {} ignoring socket channel for {} protocol", name, protocol);
+        }
         switch (protocol) {
             case TCP:
+                if (socketChannel) {
+                    return SocketChannelManager.getManager(
+                            host,
+                            port,
+                            builder.getConnectTimeoutMillis(),
+                            builder.getReconnectDelayMillis(),
+                            layout,
+                            bufferSize,
+                            builder.getSocketOptions(),
+                            builder.getChannelBufferSize(),
+                            builder.getOverflowPolicy(),
+                            builder.getSpillFile());
+                }
                 return TcpSocketManager.getSocketManager(
                         host,
                         port,
-                        connectTimeoutMillis,
-                        reconnectDelayMillis,
-                        immediateFail,
+                        builder.getConnectTimeoutMillis(),
+                        builder.getReconnectDelayMillis(),
+                        builder.getImmediateFail(),
                         layout,
                         bufferSize,
-                        socketOptions);
+                        builder.getSocketOptions());
             case UDP:
-                return DatagramSocketManager.getSocketManager(host, port, layout, bufferSize);
+                return builder.isDatagramChannel()
+                        ? DatagramChannelManager.getManager(
+                                host, port, layout, bufferSize, builder.getMaxDatagramSize())
+                        : DatagramSocketManager.getSocketManager(host, port, layout, bufferSize);
             case SSL:
                 return SslSocketManager.getSocketManager(
                         sslConfig,
                         host,
                         port,
-                        connectTimeoutMillis,
-                        reconnectDelayMillis,
-                        immediateFail,
+                        builder.getConnectTimeoutMillis(),
+                        builder.getReconnectDelayMillis(),
+                        builder.getImmediateFail(),
                         layout,
                         bufferSize,
-                        socketOptions);
+                        builder.getSocketOptions());
             default:
                 throw new IllegalArgumentException(protocol.toString());
         }
     }
 
+    /**
+     * Creates the spool forwarding events to a socket manager.
+     *
+     * @param spool the spool configuration, may be {@code null}
+     * @param manager the socket manager
+     * @return the spool manager, or {@code null} if no spool is configured
+     * @since 2.24.0
+     */
+    protected static SpoolManager createSpoolManager(final Spool spool, final AbstractSocketManager manager) {
+        return spool != null && manager != null
+                ? SpoolManager.getSpoolManager(
+                        spool, (data, offset, length, endOfBatch) -> manager.write(data, offset, length, endOfBatch))
+                : null;
+    }
+
+    /**
+     * Gets the spool events are stored in until they are sent.
+     *
+     * @return the spool manager, or {@code null} if events are sent directly
+     * @since 2.24.0
+     */
+    public SpoolManager getSpoolManager() {
+        return spoolManager;
+    }
+
+    @Override
+    public void append(final LogEvent event) {
+        if (spoolManager == null) {
+            super.append(event);
+        } else if (!spoolManager.append(getLayout().toByteArray(event))) {
+            final AppenderLoggingException ex =
+                    new AppenderLoggingException("Unable to spool event, " + spoolManager.getName() + " is full");
+            error("Unable to write to spool " + spoolManager.getName() + " for appender " + getName(), event, ex);
+            throw ex;
+        }
+    }
+
     @Override
     protected void directEncodeEvent(final LogEvent event) {
+        final AbstractSocketManager manager = getManager();
+        if (manager instanceof DatagramChannelManager) {
+            // Datagram boundaries are tracked by the manager, so events can be encoded in place
+            ((DatagramChannelManager) manager).encode(getLayout(), event, getImmediateFlush() || event.isEndOfBatch());
+            return;
+        }
+        if (manager instanceof SocketChannelManager) {
+            // Event boundaries are tracked by the manager, so events can be encoded in place
+            ((SocketChannelManager) manager).encode(getLayout(), event, getImmediateFlush() || event.isEndOfBatch());
+            return;
+        }
         // Disable garbage-free logging for now:
         // problem with UDP: 8K buffer size means that largish messages get broken up into chunks
         writeByteArrayToManager(event); // revert to classic (non-garbage free) logging
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.appender.rolling.FileSize;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Configures the disk spool of a network appender.
+ * <p>
+ * When a network appender has a spool, its events are stored in the segment files of the spool directory and
+ * forwarded in order by a background thread, which retries until the destination accepts them. Events therefore
+ * survive both an unavailable destination and a restart of the application.
+ * </p>
+ *
+ * @see SpoolManager
+ * @since 2.24.0
+ */
+@Plugin(name = "Spool", category = Core.CATEGORY_NAME, printObject = true)
+public final class Spool {
+
+    /**
+     * The default maximum disk usage (256 MiB).
+     */
+    public static final long DEFAULT_MAX_DISK_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * The default segment size (16 MiB).
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * The default delay between two attempts to forward an event (1 second).
+     */
+    public static final int DEFAULT_RETRY_DELAY_MILLIS = 1000;
+
+    private static final int MIN_SEGMENT_SIZE = 4096;
+
+    private final Path directory;
+
+    private final long maxDiskSize;
+
+    private final int segmentSize;
+
+    private final int retryDelayMillis;
+
+    private Spool(final Path directory, final long maxDiskSize, final int segmentSize, final int retryDelayMillis) {
+        this.directory = directory;
+        this.maxDiskSize = maxDiskSize;
+        this.segmentSize = segmentSize;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    /**
+     * Gets the directory holding the segment files.
+     *
+     * @return the spool directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the maximum size of the segment files.
+     *
+     * @return the maximum disk usage in bytes
+     */
+    public long getMaxDiskSize() {
+        return maxDiskSize;
+    }
+
+    /**
+     * Gets the size of each segment file.
+     *
+     * @return the segment size in bytes
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Gets the delay between two attempts to forward an event.
+     *
+     * @return the retry delay in milliseconds
+     */
+    public int getRetryDelayMillis() {
+        return retryDelayMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Spool [directory=" + directory + ", maxDiskSize=" + maxDiskSize + ", segmentSize=" + segmentSize
+                + ", retryDelayMillis=" + retryDelayMillis + "]";
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new builder
+     */
+    @PluginBuilderFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Builds Spool instances.
+     */
+    public static class Builder implements org.apache.logging.log4j.core.util.Builder<Spool> {
+
+        @PluginBuilderAttribute
+        @Required(message = "No directory provided for Spool")
+        private String directory;
+
+        @PluginBuilderAttribute
+        private String maxDiskSize;
+
+        @PluginBuilderAttribute
+        private String segmentSize;
+
+        @PluginBuilderAttribute
+        private int retryDelayMillis = DEFAULT_RETRY_DELAY_MILLIS;
+
+        @Override
+        public Spool build() {
+            final long maxDiskSizeBytes = maxDiskSize != null ? FileSize.parse(maxDiskSize, -1) : DEFAULT_MAX_DISK_SIZE;
+            final long segmentSizeBytes = segmentSize != null ? FileSize.parse(segmentSize, -1) : DEFAULT_SEGMENT_SIZE;
+            if (maxDiskSizeBytes <= 0 || segmentSizeBytes < MIN_SEGMENT_SIZE || segmentSizeBytes > Integer.MAX_VALUE) {
+                StatusLogger.getLogger()
+                        .error(
+                                "Invalid Spool sizes: maxDiskSize={}, segmentSize={}, the segment size must be"
+                                        + " between {} bytes and 2 GiB",
+                                maxDiskSize,
+                                segmentSize,
+                                MIN_SEGMENT_SIZE);
+                return null;
+            }
+            return new Spool(
+                    Paths.get(directory).toAbsolutePath().normalize(),
+                    Math.max(maxDiskSizeBytes, 2 * segmentSizeBytes),
+                    (int) segmentSizeBytes,
+                    Math.max(1, retryDelayMillis));
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public String getMaxDiskSize() {
+            return maxDiskSize;
+        }
+
+        public String getSegmentSize() {
+            return segmentSize;
+        }
+
+        public int getRetryDelayMillis() {
+            return retryDelayMillis;
+        }
+
+        public Builder setDirectory(final String directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder setMaxDiskSize(final String maxDiskSize) {
+            this.maxDiskSize = maxDiskSize;
+            return this;
+        }
+
+        public Builder setSegmentSize(final String segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        public Builder setRetryDelayMillis(final int retryDelayMillis) {
+            this.retryDelayMillis = retryDelayMillis;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,648 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.core.util.internal.UnsafeUtil;
+
+/**
+ * Stores encoded events in memory-mapped segment files and forwards them in order to a {@link Sink}.
+ * <p>
+ * Appending an event only copies it into the current segment, so logging threads are not affected by the state of
+ * the destination. A forwarder thread sends the events one by one, retrying each of them until the sink accepts it,
+ * and deletes each segment once all its events are forwarded. The position of the next event to forward is kept in
+ * an index file, so events appended before a crash or a restart are forwarded when the spool is opened again. Every
+ * event is stored after its length and checksum, which are used on recovery to find the end of the last segment.
+ * </p>
+ * <p>
+ * The number of segments is bounded by the maximum disk size: events that do not fit are dropped until the forwarder
+ * catches up.
+ * </p>
+ *
+ * @see Spool
+ * @since 2.24.0
+ */
+public class SpoolManager extends AbstractManager {
+
+    /**
+     * Receives the events forwarded by a spool.
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        /**
+         * Sends an event to its destination.
+         *
+         * @param data the buffer holding the event, which is only valid during this call
+         * @param offset the offset of the event in the buffer
+         * @param length the length of the event
+         * @param endOfBatch {@code true} if no other event is waiting to be sent, so buffered data should be flushed
+         * @throws Exception if the event could not be sent, in which case it is sent again later
+         */
+        void send(byte[] data, int offset, int length, boolean endOfBatch) throws Exception;
+    }
+
+    private static final SpoolManagerFactory FACTORY = new SpoolManagerFactory();
+
+    private static final String INDEX_FILE_NAME = "spool.idx";
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    /**
+     * Each event is stored after its length and its CRC-32 checksum.
+     */
+    private static final int HEADER_SIZE = 8;
+
+    private static final int END_OF_SEGMENT = -1;
+
+    private final Spool spool;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final long maxSegments;
+
+    private volatile Sink sink;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition aborting = lock.newCondition();
+
+    private final CRC32 writeChecksum = new CRC32();
+
+    private final CRC32 readChecksum = new CRC32();
+
+    private final MappedByteBuffer index;
+
+    private long readSegment;
+
+    private int readOffset;
+
+    private MappedByteBuffer readBuffer;
+
+    private long writeSegment;
+
+    private int writeOffset;
+
+    private MappedByteBuffer writeBuffer;
+
+    private long droppedEvents;
+
+    private boolean full;
+
+    private boolean stopping;
+
+    private boolean aborted;
+
+    private boolean closed;
+
+    private final Forwarder forwarder;
+
+    /**
+     * Opens the spool, recovers the events left by a previous run and starts forwarding them.
+     *
+     * @param name the unique name of this manager
+     * @param spool the spool configuration
+     * @param sink the destination of the events
+     * @throws IOException if the segment files cannot be opened
+     */
+    protected SpoolManager(final String name, final Spool spool, final Sink sink) throws IOException {
+        super(null, name);
+        this.spool = spool;
+        this.directory = spool.getDirectory();
+        this.segmentSize = spool.getSegmentSize();
+        this.maxSegments = Math.max(2, spool.getMaxDiskSize() / segmentSize);
+        this.sink = sink;
+        Files.createDirectories(directory);
+        try (final FileChannel channel = FileChannel.open(
+                directory.resolve(INDEX_FILE_NAME),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            index = channel.map(MapMode.READ_WRITE, 0, 12);
+        }
+        recover();
+        this.forwarder = new Forwarder();
+        this.forwarder.start();
+    }
+
+    /**
+     * Obtains the SpoolManager of a spool directory.
+     *
+     * @param spool the spool configuration
+     * @param sink the destination of the events, which replaces the sink of an existing manager
+     * @return a SpoolManager
+     */
+    public static SpoolManager getSpoolManager(final Spool spool, final Sink sink) {
+        return getManager("Spool:" + spool.getDirectory(), FACTORY, new FactoryData(spool, sink));
+    }
+
+    /**
+     * Gets the spool configuration.
+     *
+     * @return the spool configuration
+     */
+    public Spool getSpool() {
+        return spool;
+    }
+
+    @Override
+    public void updateData(final Object data) {
+        // The sink of the previous configuration is about to be stopped
+        this.sink = ((FactoryData) data).sink;
+    }
+
+    /**
+     * Appends an event to the spool.
+     *
+     * @param data the encoded event
+     * @return {@code false} if the event was dropped because the spool is full or closed
+     */
+    public boolean append(final byte[] data) {
+        return append(data, 0, data.length);
+    }
+
+    /**
+     * Appends an event to the spool.
+     *
+     * @param data the buffer holding the encoded event
+     * @param offset the offset of the event in the buffer
+     * @param length the length of the event
+     * @return {@code false} if the event was dropped because the spool is full or closed
+     */
+    public boolean append(final byte[] data, final int offset, final int length) {
+        if (length <= 0) {
+            return true;
+        }
+        lock.lock();
+        try {
+            if (closed || length > segmentSize - HEADER_SIZE) {
+                droppedEvents++;
+                return false;
+            }
+            if (writeOffset + HEADER_SIZE + length > segmentSize && !roll()) {
+                if (!full) {
+                    full = true;
+                    LOGGER.warn("Spool {} is full, dropping events until they are forwarded", getName());
+                }
+                droppedEvents++;
+                return false;
+            }
+            ((Buffer) writeBuffer).position(writeOffset + HEADER_SIZE);
+            writeBuffer.put(data, offset, length);
+            writeChecksum.reset();
+            writeChecksum.update(data, offset, length);
+            writeBuffer.putInt(writeOffset + 4, (int) writeChecksum.getValue());
+            // The length is written last, so that the event is complete once it is visible
+            writeBuffer.putInt(writeOffset, length);
+            writeOffset += HEADER_SIZE + length;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of events dropped since this manager was created.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEventCount() {
+        lock.lock();
+        try {
+            return droppedEvents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of segment files holding events waiting to be forwarded.
+     *
+     * @return the number of segments
+     */
+    public long getSegmentCount() {
+        lock.lock();
+        try {
+            return writeSegment - readSegment + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tells whether all the appended events have been forwarded.
+     *
+     * @return {@code true} if no event is waiting to be forwarded
+     */
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return readSegment == writeSegment && readOffset >= writeOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops forwarding, waiting up to the timeout for the waiting events to be forwarded. The remaining events are
+     * forwarded when the spool is opened again.
+     */
+    @Override
+    protected boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        lock.lock();
+        try {
+            stopping = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (timeout > 0) {
+                forwarder.join(timeUnit.toMillis(timeout));
+            }
+            lock.lock();
+            try {
+                aborted = true;
+                notEmpty.signalAll();
+                aborting.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            forwarder.join(spool.getRetryDelayMillis());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            closed = true;
+            if (!isEmpty()) {
+                LOGGER.debug(
+                        "Spool {} stopped with events waiting in {} segments",
+                        getName(),
+                        writeSegment - readSegment + 1);
+            }
+            writeBuffer.force();
+            index.force();
+            unmap(readBuffer);
+            unmap(writeBuffer);
+            unmap(index);
+            readBuffer = null;
+            writeBuffer = null;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        final List<Long> segments = listSegments();
+        final long indexSegment = index.getLong(0);
+        final int indexOffset = index.getInt(8);
+        if (segments.isEmpty()) {
+            readSegment = writeSegment = Math.max(0, indexSegment);
+            writeBuffer = mapSegment(writeSegment, MapMode.READ_WRITE);
+        } else {
+            final long firstSegment = segments.get(0);
+            writeSegment = segments.get(segments.size() - 1);
+            if (indexSegment >= firstSegment && indexSegment <= writeSegment) {
+                readSegment = indexSegment;
+                readOffset = Math.max(0, indexOffset);
+            } else {
+                readSegment = firstSegment;
+            }
+            for (final Long segment : segments) {
+                if (segment < readSegment) {
+                    Files.deleteIfExists(segmentPath(segment));
+                }
+            }
+            writeBuffer = mapSegment(writeSegment, MapMode.READ_WRITE);
+            writeOffset = findEnd(writeBuffer, readSegment == writeSegment ? readOffset : 0);
+            for (int i = writeOffset; i < segmentSize; i++) {
+                if (writeBuffer.get(i) != 0) {
+                    // Clears what is left of an event that was being written during a crash
+                    writeBuffer.put(i, (byte) 0);
+                }
+            }
+            LOGGER.debug(
+                    "Spool {} recovered, forwarding from segment {} at offset {} up to segment {} at offset {}",
+                    getName(),
+                    readSegment,
+                    readOffset,
+                    writeSegment,
+                    writeOffset);
+        }
+        saveIndex();
+    }
+
+    private List<Long> listSegments() throws IOException {
+        final List<Long> segments = new ArrayList<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (final Path path : stream) {
+                final String fileName = path.getFileName().toString();
+                try {
+                    segments.add(Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length())));
+                } catch (final NumberFormatException ex) {
+                    LOGGER.warn("Spool {} ignoring unexpected file {}", getName(), path);
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * Finds the offset following the last valid event of a segment.
+     */
+    private int findEnd(final MappedByteBuffer buffer, final int start) {
+        int offset = start;
+        while (offset + HEADER_SIZE <= segmentSize) {
+            final int length = buffer.getInt(offset);
+            if (length <= 0 || length > segmentSize - offset - HEADER_SIZE) {
+                break;
+            }
+            readChecksum.reset();
+            for (int i = offset + HEADER_SIZE; i < offset + HEADER_SIZE + length; i++) {
+                readChecksum.update(buffer.get(i));
+            }
+            if ((int) readChecksum.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+            offset += HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    private Path segmentPath(final long segment) {
+        return directory.resolve(String.format("%019d", segment) + SEGMENT_SUFFIX);
+    }
+
+    private MappedByteBuffer mapSegment(final long segment, final MapMode mode) throws IOException {
+        try (final FileChannel channel = FileChannel.open(
+                segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(mode, 0, segmentSize);
+        }
+    }
+
+    private static void unmap(final MappedByteBuffer buffer) {
+        if (buffer != null) {
+            try {
+                UnsafeUtil.clean(buffer);
+            } catch (final Exception | LinkageError ex) {
+                // The buffer is unmapped once it is garbage collected
+                LOGGER.debug("Unable to unmap spool segment", ex);
+            }
+        }
+    }
+
+    private void saveIndex() {
+        index.putLong(0, readSegment);
+        index.putInt(8, readOffset);
+    }
+
+    /**
+     * Starts a new segment, if the maximum disk size allows it.
+     */
+    private boolean roll() {
+        if (writeSegment - readSegment + 1 >= maxSegments) {
+            return false;
+        }
+        try {
+            final MappedByteBuffer nextBuffer = mapSegment(writeSegment + 1, MapMode.READ_WRITE);
+            if (writeOffset + 4 <= segmentSize) {
+                writeBuffer.putInt(writeOffset, END_OF_SEGMENT);
+            }
+            writeBuffer.force();
+            unmap(writeBuffer);
+            writeBuffer = nextBuffer;
+            writeSegment++;
+            writeOffset = 0;
+            full = false;
+            return true;
+        } catch (final IOException ex) {
+            logError("Unable to create spool segment", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Positions the reader on the next event to forward.
+     *
+     * @return the length of the event, or zero if there is none
+     */
+    private int nextEvent() throws IOException {
+        while (readSegment != writeSegment || readOffset < writeOffset) {
+            if (readBuffer == null) {
+                readBuffer = mapSegment(readSegment, MapMode.READ_ONLY);
+            }
+            final int length = readOffset + HEADER_SIZE <= segmentSize ? readBuffer.getInt(readOffset) : 0;
+            if (length > 0 && length <= segmentSize - readOffset - HEADER_SIZE) {
+                return length;
+            }
+            if (readSegment == writeSegment) {
+                LOGGER.error("Spool {} skipping invalid event at offset {}", getName(), readOffset);
+                readOffset = writeOffset;
+            } else {
+                nextSegment();
+            }
+        }
+        return 0;
+    }
+
+    private void nextSegment() throws IOException {
+        unmap(readBuffer);
+        readBuffer = null;
+        Files.deleteIfExists(segmentPath(readSegment));
+        readSegment++;
+        readOffset = 0;
+        saveIndex();
+    }
+
+    /**
+     * Forwards the spooled events to the sink.
+     */
+    private final class Forwarder extends Log4jThread {
+
+        private byte[] event = new byte[1024];
+
+        private boolean endOfBatch;
+
+        Forwarder() {
+            super("SpoolManager-" + SpoolManager.this.getName());
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int length;
+            while ((length = take()) > 0) {
+                if (!forward(length)) {
+                    return;
+                }
+                lock.lock();
+                try {
+                    if (closed) {
+                        return;
+                    }
+                    readOffset += HEADER_SIZE + length;
+                    saveIndex();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Copies the next valid event.
+         *
+         * @return the length of the event, or zero if the forwarder must stop
+         */
+        private int take() {
+            lock.lock();
+            try {
+                while (!aborted) {
+                    final int length = nextEvent();
+                    if (length > 0) {
+                        if (event.length < length) {
+                            event = new byte[Math.max(length, event.length << 1)];
+                        }
+                        ((Buffer) readBuffer).position(readOffset + HEADER_SIZE);
+                        readBuffer.get(event, 0, length);
+                        readChecksum.reset();
+                        readChecksum.update(event, 0, length);
+                        if ((int) readChecksum.getValue() == readBuffer.getInt(readOffset + 4)) {
+                            endOfBatch =
+                                    readSegment == writeSegment && readOffset + HEADER_SIZE + length >= writeOffset;
+                            return length;
+                        }
+                        LOGGER.error("Spool {} skipping corrupted event at offset {}", getName(), readOffset);
+                        readOffset += HEADER_SIZE + length;
+                    } else if (stopping) {
+                        return 0;
+                    } else {
+                        notEmpty.await();
+                    }
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (final IOException ex) {
+                logError("Unable to read spool segment", ex);
+            } finally {
+                lock.unlock();
+            }
+            return 0;
+        }
+
+        /**
+         * Sends an event until the sink accepts it.
+         *
+         * @return {@code false} if the spool was closed before the event could be sent
+         */
+        private boolean forward(final int length) {
+            boolean failed = false;
+            while (true) {
+                try {
+                    sink.send(event, 0, length, endOfBatch || failed);
+                    if (failed) {
+                        LOGGER.info("Spool {} resumed forwarding events", SpoolManager.this.getName());
+                    }
+                    return true;
+                } catch (final Exception ex) {
+                    if (!failed) {
+                        failed = true;
+                        LOGGER.warn(
+                                "Spool {} unable to forward events, retrying every {} ms",
+                                SpoolManager.this.getName(),
+                                spool.getRetryDelayMillis(),
+                                ex);
+                    } else {
+                        LOGGER.debug("Spool {} unable to forward events: {}", SpoolManager.this.getName(), ex);
+                    }
+                }
+                lock.lock();
+                try {
+                    if (aborted) {
+                        return false;
+                    }
+                    aborting.await(spool.getRetryDelayMillis(), TimeUnit.MILLISECONDS);
+                    if (aborted) {
+                        return false;
+                    }
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Data for the factory.
+     */
+    private static class FactoryData {
+        private final Spool spool;
+        private final Sink sink;
+
+        FactoryData(final Spool spool, final Sink sink) {
+            this.spool = spool;
+            this.sink = sink;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(spool);
+        }
+    }
+
+    /**
+     * Factory to create the SpoolManager.
+     */
+    private static class SpoolManagerFactory implements ManagerFactory<SpoolManager, FactoryData> {
+
+        @Override
+        public SpoolManager createManager(final String name, final FactoryData data) {
+            try {
+                return new SpoolManager(name, data.spool, data.sink);
+            } catch (final IOException ex) {
+                LOGGER.error("Could not open spool {}", data.spool.getDirectory(), ex);
+                return null;
+            }
+        }
+    }
+}
@@ -148,18 +148,8 @@ public class SyslogAppender extends SocketAppender {
                 LOGGER.error("No name provided for SyslogAppender");
                 return null;
             }
-            final AbstractSocketManager manager = createSocketManager(
-                    name,
-                    protocol,
-                    getHost(),
-                    getPort(),
-                    getConnectTimeoutMillis(),
-                    sslConfiguration,
-                    getReconnectDelayMillis(),
-                    getImmediateFail(),
-                    layout,
-                    Constants.ENCODER_BYTE_BUFFER_SIZE,
-                    getSocketOptions());
+            final AbstractSocketManager manager =
+                    createSocketManager(this, protocol, layout, Constants.ENCODER_BYTE_BUFFER_SIZE);
 
             return new SyslogAppender(
                     name,
@@ -169,7 +159,8 @@ public class SyslogAppender extends SocketAppender {
                     isImmediateFlush(),
                     manager,
                     getAdvertise() ? configuration.getAdvertiser() : null,
-                    null);
+                    null,
+                    createSpoolManager(getSpool(), manager));
         }
 
         public Facility getFacility() {
@@ -357,6 +348,24 @@ public class SyslogAppender extends SocketAppender {
         super(name, layout, filter, manager, ignoreExceptions, immediateFlush, advertiser, properties);
     }
 
+    /**
+     * @param spoolManager the spool events are stored in until they are sent, or {@code null} to send events
+     *                     directly
+     * @since 2.24.0
+     */
+    protected SyslogAppender(
+            final String name,
+            final Layout<? extends Serializable> layout,
+            final Filter filter,
+            final boolean ignoreExceptions,
+            final boolean immediateFlush,
+            final AbstractSocketManager manager,
+            final Advertiser advertiser,
+            final Property[] properties,
+            final SpoolManager spoolManager) {
+        super(name, layout, filter, manager, ignoreExceptions, immediateFlush, advertiser, properties, spoolManager);
+    }
+
     /**
      * @deprecated Use
      * {@link #SyslogAppender(String, Layout, Filter, boolean, boolean, AbstractSocketManager, Advertiser, Property[])}.
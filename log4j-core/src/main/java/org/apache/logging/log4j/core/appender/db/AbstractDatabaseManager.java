@@ -186,16 +186,26 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
     @Override
     public final synchronized void flush() {
         if (this.isRunning() && isBuffered()) {
-            this.connectAndStart();
-            try {
-                for (final LogEvent event : this.buffer) {
-                    this.writeInternal(event, layout != null ? layout.toSerializable(event) : null);
-                }
-            } finally {
-                this.commitAndClose();
-                // not sure if this should be done when writing the events failed
-                this.buffer.clear();
+            this.flushBuffer();
+        }
+    }
+
+    /**
+     * Writes the buffered events to the database. This method is called by {@link #flush()} with this manager
+     * locked. Implementations overriding {@link #buffer(LogEvent)} to store events differently must override it too.
+     *
+     * @since 2.24.0
+     */
+    protected void flushBuffer() {
+        this.connectAndStart();
+        try {
+            for (final LogEvent event : this.buffer) {
+                this.writeInternal(event, layout != null ? layout.toSerializable(event) : null);
             }
+        } finally {
+            this.commitAndClose();
+            // not sure if this should be done when writing the events failed
+            this.buffer.clear();
         }
     }
 
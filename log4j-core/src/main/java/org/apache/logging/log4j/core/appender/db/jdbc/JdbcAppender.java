@@ -65,6 +65,9 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
         @PluginBuilderAttribute
         private int bufferSize;
 
+        @PluginBuilderAttribute
+        private long flushIntervalMillis;
+
         @PluginBuilderAttribute
         @Required(message = "No table name provided")
         private String tableName;
@@ -88,9 +91,9 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
                 LOGGER.error("Cannot create JdbcAppender without any columns.");
                 return null;
             }
-            final String managerName = "JdbcManager{name=" + getName() + ", bufferSize=" + bufferSize + ", tableName="
-                    + tableName + ", columnConfigs=" + Arrays.toString(columnConfigs) + ", columnMappings="
-                    + Arrays.toString(columnMappings) + '}';
+            final String managerName = "JdbcManager{name=" + getName() + ", bufferSize=" + bufferSize
+                    + ", flushIntervalMillis=" + flushIntervalMillis + ", tableName=" + tableName + ", columnConfigs="
+                    + Arrays.toString(columnConfigs) + ", columnMappings=" + Arrays.toString(columnMappings) + '}';
             final JdbcDatabaseManager manager = JdbcDatabaseManager.getManager(
                     managerName,
                     bufferSize,
@@ -101,7 +104,8 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
                     columnMappings,
                     immediateFail,
                     reconnectIntervalMillis,
-                    truncateStrings);
+                    truncateStrings,
+                    flushIntervalMillis);
             if (manager == null) {
                 return null;
             }
@@ -117,6 +121,13 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
             return immediateFail;
         }
 
+        /**
+         * @since 2.24.0
+         */
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
         /**
          * If an integer greater than 0, this causes the appender to buffer log events and flush whenever the buffer
          * reaches this size.
@@ -130,6 +141,21 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
             return asBuilder();
         }
 
+        /**
+         * If greater than 0 and events are buffered, buffered events are written by a background thread when the buffer
+         * is full, at the end of a batch, and at the latest after this many milliseconds. Logging threads then only
+         * wait for the database if the previous buffer is still being written when the next one is full.
+         *
+         * @param flushIntervalMillis the maximum time in milliseconds an event stays in the buffer.
+         *
+         * @return this
+         * @since 2.24.0
+         */
+        public B setFlushIntervalMillis(final long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+            return asBuilder();
+        }
+
         /**
          * Information about the columns that log event data should be inserted into and how to insert that data.
          *
@@ -38,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.StringLayout;
@@ -75,6 +76,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         private final boolean retry;
         private final long reconnectIntervalMillis;
         private final boolean truncateStrings;
+        private final long flushIntervalMillis;
 
         protected FactoryData(
                 final int bufferSize,
@@ -86,6 +88,30 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
                 final boolean immediateFail,
                 final long reconnectIntervalMillis,
                 final boolean truncateStrings) {
+            this(
+                    bufferSize,
+                    layout,
+                    connectionSource,
+                    tableName,
+                    columnConfigs,
+                    columnMappings,
+                    immediateFail,
+                    reconnectIntervalMillis,
+                    truncateStrings,
+                    0);
+        }
+
+        protected FactoryData(
+                final int bufferSize,
+                final Layout<? extends Serializable> layout,
+                final ConnectionSource connectionSource,
+                final String tableName,
+                final ColumnConfig[] columnConfigs,
+                final ColumnMapping[] columnMappings,
+                final boolean immediateFail,
+                final long reconnectIntervalMillis,
+                final boolean truncateStrings,
+                final long flushIntervalMillis) {
             super(bufferSize, layout);
             this.connectionSource = connectionSource;
             this.tableName = tableName;
@@ -95,12 +121,13 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             this.retry = reconnectIntervalMillis > 0;
             this.reconnectIntervalMillis = reconnectIntervalMillis;
             this.truncateStrings = truncateStrings;
+            this.flushIntervalMillis = flushIntervalMillis;
         }
 
         @Override
         public String toString() {
             return String.format(
-                    "FactoryData [connectionSource=%s, tableName=%s, columnConfigs=%s, columnMappings=%s, immediateFail=%s, retry=%s, reconnectIntervalMillis=%s, truncateStrings=%s]",
+                    "FactoryData [connectionSource=%s, tableName=%s, columnConfigs=%s, columnMappings=%s, immediateFail=%s, retry=%s, reconnectIntervalMillis=%s, truncateStrings=%s, flushIntervalMillis=%s]",
                     connectionSource,
                     tableName,
                     Arrays.toString(columnConfigs),
@@ -108,7 +135,8 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
                     immediateFail,
                     retry,
                     reconnectIntervalMillis,
-                    truncateStrings);
+                    truncateStrings,
+                    flushIntervalMillis);
         }
     }
 
@@ -187,7 +215,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         private volatile boolean shutdown;
 
         private Reconnector() {
-            super("JdbcDatabaseManager-Reconnector");
+            super("JdbcDatabaseManager-Reconnector-" + JdbcDatabaseManager.this.getName());
         }
 
         public void latch() {
@@ -234,6 +262,165 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         }
     }
 
+    /**
+     * Writes the buffered rows in the background, when the buffer is full, at the end of a batch, or at the latest
+     * after the flush interval.
+     */
+    private final class Flusher extends Log4jThread {
+
+        private boolean shutdown;
+
+        private Flusher() {
+            super("JdbcDatabaseManager-Flusher-" + JdbcDatabaseManager.this.getName());
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            final long intervalNanos = TimeUnit.MILLISECONDS.toNanos(factoryData.flushIntervalMillis);
+            while (true) {
+                final RowBuffer pending;
+                synchronized (JdbcDatabaseManager.this) {
+                    long deadline = System.nanoTime() + intervalNanos;
+                    while (pendingRows == null && !shutdown) {
+                        final long remaining = deadline - System.nanoTime();
+                        if (remaining > 0) {
+                            try {
+                                TimeUnit.NANOSECONDS.timedWait(JdbcDatabaseManager.this, remaining);
+                            } catch (final InterruptedException e) {
+                                return;
+                            }
+                        } else if (rows.isEmpty()) {
+                            deadline = System.nanoTime() + intervalNanos;
+                        } else {
+                            pendingRows = rows;
+                            rows = spareRows;
+                            spareRows = null;
+                        }
+                    }
+                    if (pendingRows == null) {
+                        return;
+                    }
+                    pending = pendingRows;
+                }
+                try {
+                    writeRows(pending);
+                } catch (final RuntimeException e) {
+                    logError("Failed to write buffered log events", e);
+                } finally {
+                    synchronized (JdbcDatabaseManager.this) {
+                        spareRows = pending;
+                        pendingRows = null;
+                        JdbcDatabaseManager.this.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores the parameter values of rows column by column, together with the setter to use for each of them, so that
+     * buffered events are not retained and the values are computed when the event is logged.
+     */
+    private static final class RowBuffer {
+
+        static final byte UNSET = 0;
+        static final byte RAW_OBJECT = 1;
+        static final byte OBJECT = 2;
+        static final byte CLOB = 3;
+        static final byte NCLOB = 4;
+        static final byte TIMESTAMP = 5;
+        static final byte STRING = 6;
+        static final byte NSTRING = 7;
+
+        private final int columnCount;
+        private final int bufferSize;
+        private int capacity;
+        private byte[] kinds;
+        private Object[] values;
+        // Keys of the column metadata used to truncate values
+        private String[] nameKeys;
+        private int size;
+
+        RowBuffer(final int columnCount, final int bufferSize) {
+            this.columnCount = columnCount;
+            this.bufferSize = bufferSize;
+            this.capacity = bufferSize;
+            this.kinds = new byte[columnCount * capacity];
+            this.values = new Object[columnCount * capacity];
+            this.nameKeys = new String[columnCount * capacity];
+        }
+
+        int getColumnCount() {
+            return columnCount;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        boolean isFull() {
+            return size >= bufferSize;
+        }
+
+        int nextRow() {
+            if (size == capacity) {
+                // Only happens if the rows could not be flushed, e.g. before the manager is started
+                grow(Math.max(1, capacity << 1));
+            }
+            return size++;
+        }
+
+        private void grow(final int newCapacity) {
+            final byte[] newKinds = new byte[columnCount * newCapacity];
+            final Object[] newValues = new Object[columnCount * newCapacity];
+            final String[] newNameKeys = new String[columnCount * newCapacity];
+            for (int column = 0; column < columnCount; column++) {
+                System.arraycopy(kinds, column * capacity, newKinds, column * newCapacity, size);
+                System.arraycopy(values, column * capacity, newValues, column * newCapacity, size);
+                System.arraycopy(nameKeys, column * capacity, newNameKeys, column * newCapacity, size);
+            }
+            kinds = newKinds;
+            values = newValues;
+            nameKeys = newNameKeys;
+            capacity = newCapacity;
+        }
+
+        private int index(final int row, final int parameterIndex) {
+            return (parameterIndex - 1) * capacity + row;
+        }
+
+        void set(final int row, final int parameterIndex, final byte kind, final Object value, final String nameKey) {
+            final int i = index(row, parameterIndex);
+            kinds[i] = kind;
+            values[i] = value;
+            nameKeys[i] = nameKey;
+        }
+
+        byte getKind(final int row, final int parameterIndex) {
+            return kinds[index(row, parameterIndex)];
+        }
+
+        Object getValue(final int row, final int parameterIndex) {
+            return values[index(row, parameterIndex)];
+        }
+
+        String getNameKey(final int row, final int parameterIndex) {
+            return nameKeys[index(row, parameterIndex)];
+        }
+
+        void clear() {
+            Arrays.fill(kinds, UNSET);
+            Arrays.fill(values, null);
+            Arrays.fill(nameKeys, null);
+            size = 0;
+        }
+    }
+
     private static final class ResultSetColumnMetaData {
 
         private final String schemaName;
@@ -563,6 +750,51 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             final boolean immediateFail,
             final long reconnectIntervalMillis,
             final boolean truncateStrings) {
+        return getManager(
+                name,
+                bufferSize,
+                layout,
+                connectionSource,
+                tableName,
+                columnConfigs,
+                columnMappings,
+                immediateFail,
+                reconnectIntervalMillis,
+                truncateStrings,
+                0);
+    }
+
+    /**
+     * Creates a JDBC manager for use within the {@link JdbcAppender}, or returns a suitable one if it already exists.
+     *
+     * @param name The name of the manager, which should include connection details and hashed passwords where possible.
+     * @param bufferSize The size of the log event buffer.
+     * @param layout The Appender-level layout
+     * @param connectionSource The source for connections to the database.
+     * @param tableName The name of the database table to insert log events into.
+     * @param columnConfigs Configuration information about the log table columns.
+     * @param columnMappings column mapping configuration (including type conversion).
+     * @param immediateFail Whether or not to fail immediately with a {@link AppenderLoggingException} when connecting
+     * to JDBC fails.
+     * @param reconnectIntervalMillis How often to reconnect to the database when a SQL exception is detected.
+     * @param truncateStrings Whether or not to truncate strings to match column metadata.
+     * @param flushIntervalMillis If greater than 0 and events are buffered, buffered events are written by a
+     * background thread, at the latest after this many milliseconds.
+     * @return a new or existing JDBC manager as applicable.
+     * @since 2.24.0
+     */
+    public static JdbcDatabaseManager getManager(
+            final String name,
+            final int bufferSize,
+            final Layout<? extends Serializable> layout,
+            final ConnectionSource connectionSource,
+            final String tableName,
+            final ColumnConfig[] columnConfigs,
+            final ColumnMapping[] columnMappings,
+            final boolean immediateFail,
+            final long reconnectIntervalMillis,
+            final boolean truncateStrings,
+            final long flushIntervalMillis) {
         return getManager(
                 name,
                 new FactoryData(
@@ -574,7 +806,8 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
                         columnMappings,
                         immediateFail,
                         reconnectIntervalMillis,
-                        truncateStrings),
+                        truncateStrings,
+                        flushIntervalMillis),
                 getFactory());
     }
 
@@ -588,6 +821,15 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
     private volatile Reconnector reconnector;
     private volatile boolean isBatchSupported;
     private volatile Map<String, ResultSetColumnMetaData> columnMetaData;
+    // Row of an event written without buffering
+    private final RowBuffer directRow;
+    // Rows of the buffered events
+    private RowBuffer rows;
+    // Rows handed over to the flusher thread, if any
+    private RowBuffer pendingRows;
+    // Rows available once the flusher thread has written the pending rows
+    private RowBuffer spareRows;
+    private Flusher flusher;
 
     private JdbcDatabaseManager(
             final String name,
@@ -598,6 +840,15 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         this.sqlStatement = sqlStatement;
         this.columnConfigs = columnConfigs;
         this.factoryData = factoryData;
+        final int columnCount =
+                (factoryData.columnMappings == null ? 0 : factoryData.columnMappings.length) + columnConfigs.size();
+        this.directRow = new RowBuffer(columnCount, 1);
+        if (isBuffered()) {
+            this.rows = new RowBuffer(columnCount, factoryData.getBufferSize());
+            if (factoryData.flushIntervalMillis > 0) {
+                this.spareRows = new RowBuffer(columnCount, factoryData.getBufferSize());
+            }
+        }
     }
 
     private void checkConnection() {
@@ -859,34 +1110,6 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         }
     }
 
-    private void setFields(final MapMessage<?, ?> mapMessage) throws SQLException {
-        final IndexedReadOnlyStringMap map = mapMessage.getIndexedReadOnlyStringMap();
-        final String simpleName = statement.getClass().getName();
-        int j = 1; // JDBC indices start at 1
-        if (this.factoryData.columnMappings != null) {
-            for (final ColumnMapping mapping : this.factoryData.columnMappings) {
-                if (mapping.getLiteralValue() == null) {
-                    final String source = mapping.getSource();
-                    final String key = Strings.isEmpty(source) ? mapping.getName() : source;
-                    final Object value = map.getValue(key);
-                    if (logger().isTraceEnabled()) {
-                        final String valueStr =
-                                value instanceof String ? "\"" + value + "\"" : Objects.toString(value, null);
-                        logger().trace(
-                                        "{} setObject({}, {}) for key '{}' and mapping '{}'",
-                                        simpleName,
-                                        j,
-                                        valueStr,
-                                        key,
-                                        mapping.getName());
-                    }
-                    setStatementObject(j, mapping.getNameKey(), value);
-                    j++;
-                }
-            }
-        }
-    }
-
     /**
      * Sets the given Object in the prepared statement. The value is truncated if needed.
      */
@@ -909,6 +1132,12 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
     @Override
     protected boolean shutdownInternal() {
+        if (flusher != null) {
+            // The buffered rows were written by flush(); the flusher exits once this manager is unlocked
+            flusher.shutdown = true;
+            flusher = null;
+            notifyAll();
+        }
         if (reconnector != null) {
             reconnector.shutdown();
             reconnector.interrupt();
@@ -919,7 +1148,10 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
     @Override
     protected void startupInternal() throws Exception {
-        // empty
+        if (isBuffered() && factoryData.flushIntervalMillis > 0) {
+            flusher = new Flusher();
+            flusher.start();
+        }
     }
 
     /**
@@ -945,76 +1177,156 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
     @Override
     protected void writeInternal(final LogEvent event, final Serializable serializable) {
-        StringReader reader = null;
+        directRow.clear();
+        capture(event, serializable, directRow);
         try {
-            if (!this.isRunning() || isClosed(this.connection) || isClosed(this.statement)) {
-                throw new AppenderLoggingException(
-                        "Cannot write logging event; JDBC manager not connected to the database, running=%s, [%s]).",
-                        isRunning(), fieldsToString());
-            }
-            // Clear in case there are leftovers.
-            statement.clearParameters();
-            if (serializable instanceof MapMessage) {
-                setFields((MapMessage<?, ?>) serializable);
-            }
-            int j = 1; // JDBC indices start at 1
-            if (this.factoryData.columnMappings != null) {
-                for (final ColumnMapping mapping : this.factoryData.columnMappings) {
-                    if (ThreadContextMap.class.isAssignableFrom(mapping.getType())
-                            || ReadOnlyStringMap.class.isAssignableFrom(mapping.getType())) {
-                        this.statement.setObject(j++, event.getContextData().toMap());
-                    } else if (ThreadContextStack.class.isAssignableFrom(mapping.getType())) {
-                        this.statement.setObject(j++, event.getContextStack().asList());
-                    } else if (Date.class.isAssignableFrom(mapping.getType())) {
-                        this.statement.setObject(
-                                j++,
-                                DateTypeConverter.fromMillis(
-                                        event.getTimeMillis(), mapping.getType().asSubclass(Date.class)));
-                    } else {
-                        final StringLayout layout = mapping.getLayout();
-                        if (layout != null) {
-                            if (Clob.class.isAssignableFrom(mapping.getType())) {
-                                this.statement.setClob(j++, new StringReader(layout.toSerializable(event)));
-                            } else if (NClob.class.isAssignableFrom(mapping.getType())) {
-                                this.statement.setNClob(j++, new StringReader(layout.toSerializable(event)));
-                            } else {
-                                final Object value =
-                                        TypeConverters.convert(layout.toSerializable(event), mapping.getType(), null);
-                                setStatementObject(j++, mapping.getNameKey(), value);
-                            }
+            writeRow(directRow, 0);
+        } finally {
+            directRow.clear();
+        }
+    }
+
+    /**
+     * Converts the column values of an event and stores them in a new row, so that the event itself is not retained.
+     */
+    private void capture(final LogEvent event, final Serializable serializable, final RowBuffer rows) {
+        final int row = rows.nextRow();
+        if (serializable instanceof MapMessage) {
+            captureFields((MapMessage<?, ?>) serializable, rows, row);
+        }
+        int j = 1; // JDBC indices start at 1
+        if (this.factoryData.columnMappings != null) {
+            for (final ColumnMapping mapping : this.factoryData.columnMappings) {
+                if (ThreadContextMap.class.isAssignableFrom(mapping.getType())
+                        || ReadOnlyStringMap.class.isAssignableFrom(mapping.getType())) {
+                    rows.set(
+                            row,
+                            j++,
+                            RowBuffer.RAW_OBJECT,
+                            event.getContextData().toMap(),
+                            null);
+                } else if (ThreadContextStack.class.isAssignableFrom(mapping.getType())) {
+                    rows.set(
+                            row,
+                            j++,
+                            RowBuffer.RAW_OBJECT,
+                            event.getContextStack().asList(),
+                            null);
+                } else if (Date.class.isAssignableFrom(mapping.getType())) {
+                    rows.set(
+                            row,
+                            j++,
+                            RowBuffer.RAW_OBJECT,
+                            DateTypeConverter.fromMillis(
+                                    event.getTimeMillis(), mapping.getType().asSubclass(Date.class)),
+                            null);
+                } else {
+                    final StringLayout layout = mapping.getLayout();
+                    if (layout != null) {
+                        if (Clob.class.isAssignableFrom(mapping.getType())) {
+                            rows.set(row, j++, RowBuffer.CLOB, layout.toSerializable(event), null);
+                        } else if (NClob.class.isAssignableFrom(mapping.getType())) {
+                            rows.set(row, j++, RowBuffer.NCLOB, layout.toSerializable(event), null);
+                        } else {
+                            final Object value =
+                                    TypeConverters.convert(layout.toSerializable(event), mapping.getType(), null);
+                            rows.set(row, j++, RowBuffer.OBJECT, value, mapping.getNameKey());
                         }
                     }
                 }
             }
-            for (final ColumnConfig column : this.columnConfigs) {
-                if (column.isEventTimestamp()) {
-                    this.statement.setTimestamp(j++, new Timestamp(event.getTimeMillis()));
-                } else if (column.isClob()) {
-                    reader = new StringReader(column.getLayout().toSerializable(event));
-                    if (column.isUnicode()) {
-                        this.statement.setNClob(j++, reader);
-                    } else {
-                        this.statement.setClob(j++, reader);
+        }
+        for (final ColumnConfig column : this.columnConfigs) {
+            if (column.isEventTimestamp()) {
+                rows.set(row, j++, RowBuffer.TIMESTAMP, new Timestamp(event.getTimeMillis()), null);
+            } else if (column.isClob()) {
+                rows.set(
+                        row,
+                        j++,
+                        column.isUnicode() ? RowBuffer.NCLOB : RowBuffer.CLOB,
+                        column.getLayout().toSerializable(event),
+                        null);
+            } else {
+                rows.set(
+                        row,
+                        j++,
+                        column.isUnicode() ? RowBuffer.NSTRING : RowBuffer.STRING,
+                        column.getLayout().toSerializable(event),
+                        column.getColumnNameKey());
+            }
+        }
+    }
+
+    private void captureFields(final MapMessage<?, ?> mapMessage, final RowBuffer rows, final int row) {
+        final IndexedReadOnlyStringMap map = mapMessage.getIndexedReadOnlyStringMap();
+        int j = 1; // JDBC indices start at 1
+        if (this.factoryData.columnMappings != null) {
+            for (final ColumnMapping mapping : this.factoryData.columnMappings) {
+                if (mapping.getLiteralValue() == null) {
+                    final String source = mapping.getSource();
+                    final String key = Strings.isEmpty(source) ? mapping.getName() : source;
+                    final Object value = map.getValue(key);
+                    if (logger().isTraceEnabled()) {
+                        final String valueStr =
+                                value instanceof String ? "\"" + value + "\"" : Objects.toString(value, null);
+                        logger().trace(
+                                        "setObject({}, {}) for key '{}' and mapping '{}'",
+                                        j,
+                                        valueStr,
+                                        key,
+                                        mapping.getName());
                     }
-                } else if (column.isUnicode()) {
-                    this.statement.setNString(
-                            j++,
-                            Objects.toString(
-                                    truncate(
-                                            column.getColumnNameKey(),
-                                            column.getLayout().toSerializable(event)),
-                                    null));
-                } else {
-                    this.statement.setString(
-                            j++,
-                            Objects.toString(
-                                    truncate(
-                                            column.getColumnNameKey(),
-                                            column.getLayout().toSerializable(event)),
-                                    null));
+                    rows.set(row, j, RowBuffer.OBJECT, value, mapping.getNameKey());
+                    j++;
                 }
             }
+        }
+    }
+
+    /**
+     * Sets the parameters of the prepared statement from a row.
+     */
+    private void bind(final RowBuffer rows, final int row) throws SQLException {
+        for (int j = 1; j <= rows.getColumnCount(); j++) {
+            final Object value = rows.getValue(row, j);
+            switch (rows.getKind(row, j)) {
+                case RowBuffer.RAW_OBJECT:
+                    this.statement.setObject(j, value);
+                    break;
+                case RowBuffer.OBJECT:
+                    setStatementObject(j, rows.getNameKey(row, j), value);
+                    break;
+                case RowBuffer.CLOB:
+                    this.statement.setClob(j, new StringReader((String) value));
+                    break;
+                case RowBuffer.NCLOB:
+                    this.statement.setNClob(j, new StringReader((String) value));
+                    break;
+                case RowBuffer.TIMESTAMP:
+                    this.statement.setTimestamp(j, (Timestamp) value);
+                    break;
+                case RowBuffer.NSTRING:
+                    this.statement.setNString(j, Objects.toString(truncate(rows.getNameKey(row, j), value), null));
+                    break;
+                case RowBuffer.STRING:
+                    this.statement.setString(j, Objects.toString(truncate(rows.getNameKey(row, j), value), null));
+                    break;
+                default:
+                    // Parameter not set by this row
+            }
+        }
+    }
 
+    private void writeRow(final RowBuffer rows, final int row) {
+        try {
+            if (!this.isRunning() || isClosed(this.connection) || isClosed(this.statement)) {
+                throw new AppenderLoggingException(
+                        "Cannot write logging event; JDBC manager not connected to the database, running=%s, [%s]).",
+                        isRunning(), fieldsToString());
+            }
+            // Clear in case there are leftovers.
+            statement.clearParameters();
+            bind(rows, row);
             if (isBuffered() && this.isBatchSupported) {
                 logger().debug("addBatch for {}", this.statement);
                 this.statement.addBatch();
@@ -1040,7 +1352,80 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             } catch (final SQLException e) {
                 // Ignore
             }
-            Closer.closeSilently(reader);
+        }
+    }
+
+    /**
+     * Writes buffered rows in a single transaction, as a JDBC batch if the driver supports it, and empties the buffer.
+     */
+    private void writeRows(final RowBuffer rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        this.connectAndStart();
+        try {
+            for (int row = 0; row < rows.size(); row++) {
+                writeRow(rows, row);
+            }
+        } finally {
+            this.commitAndClose();
+            // Like AbstractDatabaseManager, drops the rows if writing them failed
+            rows.clear();
+        }
+    }
+
+    @Override
+    protected void buffer(final LogEvent event) {
+        final Layout<? extends Serializable> layout = factoryData.getLayout();
+        capture(event, layout != null ? layout.toSerializable(event) : null, this.rows);
+        if (this.rows.isFull() || event.isEndOfBatch()) {
+            if (flusher != null) {
+                handOff();
+            } else {
+                flush();
+            }
+        }
+    }
+
+    @Override
+    protected void flushBuffer() {
+        if (flusher != null) {
+            handOff();
+            awaitPending();
+        } else {
+            writeRows(this.rows);
+        }
+    }
+
+    /**
+     * Hands the buffered rows over to the flusher thread, waiting for it to finish writing the previous ones. Must be
+     * called with this manager locked.
+     */
+    private void handOff() {
+        if (this.rows.isEmpty()) {
+            return;
+        }
+        awaitPending();
+        this.pendingRows = this.rows;
+        this.rows = this.spareRows;
+        this.spareRows = null;
+        notifyAll();
+    }
+
+    /**
+     * Waits for the flusher thread to write the rows handed over to it. Must be called with this manager locked.
+     */
+    private void awaitPending() {
+        boolean interrupted = false;
+        while (this.pendingRows != null) {
+            try {
+                wait();
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -19,7 +19,7 @@
  * accessing databases.
  */
 @Export
-@Version("2.21.0")
+@Version("2.24.0")
 package org.apache.logging.log4j.core.appender.db;
 
 import org.osgi.annotation.bundle.Export;
@@ -17,6 +17,8 @@
 package org.apache.logging.log4j.core.appender.mom.kafka;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -28,12 +30,16 @@ import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.Spool;
+import org.apache.logging.log4j.core.appender.SpoolManager;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
 import org.apache.logging.log4j.core.layout.SerializedLayout;
 import org.apache.logging.log4j.core.util.Integers;
 
@@ -67,6 +73,15 @@ public final class KafkaAppender extends AbstractAppender {
         @PluginAttribute(value = "sendEventTimestamp", defaultBoolean = false)
         private boolean sendEventTimestamp;
 
+        @PluginAttribute(value = "maxInFlight", defaultInt = 0)
+        private int maxInFlight;
+
+        @PluginAttribute("overflowPolicy")
+        private KafkaManager.OverflowPolicy overflowPolicy = KafkaManager.OverflowPolicy.BLOCK;
+
+        @PluginElement("Spool")
+        private Spool spool;
+
         @SuppressWarnings("resource")
         @Override
         public KafkaAppender build() {
@@ -81,6 +96,8 @@ public final class KafkaAppender extends AbstractAppender {
                     topic,
                     syncSend,
                     sendEventTimestamp,
+                    maxInFlight,
+                    overflowPolicy,
                     getPropertyArray(),
                     key);
             return new KafkaAppender(
@@ -90,7 +107,8 @@ public final class KafkaAppender extends AbstractAppender {
                     isIgnoreExceptions(),
                     kafkaManager,
                     getPropertyArray(),
-                    getRetryCount());
+                    getRetryCount(),
+                    spool);
         }
 
         public Integer getRetryCount() {
@@ -115,6 +133,27 @@ public final class KafkaAppender extends AbstractAppender {
             return syncSend;
         }
 
+        /**
+         * @since 2.24.0
+         */
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public KafkaManager.OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        /**
+         * @since 2.24.0
+         */
+        public Spool getSpool() {
+            return spool;
+        }
+
         public B setKey(final String key) {
             this.key = key;
             return asBuilder();
@@ -145,6 +184,46 @@ public final class KafkaAppender extends AbstractAppender {
             this.topic = topic;
             return asBuilder();
         }
+
+        /**
+         * Sets the maximum number of records sent but not yet acknowledged.
+         * <p>
+         * A positive value enables the pipelined mode: records are batched by the producer and logging threads do
+         * not wait for acknowledgements, regardless of {@code syncSend}, until the window is full.
+         * </p>
+         *
+         * @param maxInFlight the size of the in-flight window, or {@code 0} to send each record on its own
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setMaxInFlight(final int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return asBuilder();
+        }
+
+        /**
+         * Sets what to do with events sent while the in-flight window is full, only used in pipelined mode.
+         *
+         * @param overflowPolicy the overflow policy
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setOverflowPolicy(final KafkaManager.OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the disk spool events are stored in until they are sent.
+         *
+         * @param spool the spool configuration, or {@code null} to send events directly
+         * @return this builder
+         * @since 2.24.0
+         */
+        public B setSpool(final Spool spool) {
+            this.spool = spool;
+            return asBuilder();
+        }
     }
 
     private static final String[] KAFKA_CLIENT_PACKAGES =
@@ -167,7 +246,7 @@ public final class KafkaAppender extends AbstractAppender {
         }
         final KafkaManager kafkaManager =
                 KafkaManager.getManager(configuration.getLoggerContext(), name, topic, true, properties, key);
-        return new KafkaAppender(name, layout, filter, ignoreExceptions, kafkaManager, null, 0);
+        return new KafkaAppender(name, layout, filter, ignoreExceptions, kafkaManager, null, 0, null);
     }
 
     /**
@@ -195,6 +274,10 @@ public final class KafkaAppender extends AbstractAppender {
 
     private final KafkaManager manager;
 
+    private final Spool spool;
+
+    private volatile SpoolManager spoolManager;
+
     private KafkaAppender(
             final String name,
             final Layout<? extends Serializable> layout,
@@ -202,16 +285,25 @@ public final class KafkaAppender extends AbstractAppender {
             final boolean ignoreExceptions,
             final KafkaManager manager,
             final Property[] properties,
-            final int retryCount) {
+            final int retryCount,
+            final Spool spool) {
         super(name, filter, layout, ignoreExceptions, properties);
         this.manager = Objects.requireNonNull(manager, "manager");
         this.retryCount = retryCount;
+        this.spool = spool;
     }
 
     @Override
     public void append(final LogEvent event) {
         if (event.getLoggerName() != null && isRecursive(event)) {
             LOGGER.warn("Recursive logging from [{}] for appender [{}].", event.getLoggerName(), getName());
+        } else if (spoolManager != null) {
+            if (!spoolManager.append(spoolRecord(event))) {
+                final AppenderLoggingException ex =
+                        new AppenderLoggingException("Unable to spool event, " + spoolManager.getName() + " is full");
+                error("Unable to write to spool " + spoolManager.getName() + " for appender " + getName(), event, ex);
+                throw ex;
+            }
         } else {
             try {
                 tryAppend(event);
@@ -238,12 +330,23 @@ public final class KafkaAppender extends AbstractAppender {
     public void start() {
         super.start();
         manager.startup();
+        if (spool != null) {
+            // The producer must exist before spooled events are forwarded
+            spoolManager = SpoolManager.getSpoolManager(spool, (data, offset, length, endOfBatch) -> {
+                final long timestamp = ByteBuffer.wrap(data, offset, Long.BYTES).getLong();
+                manager.send(Arrays.copyOfRange(data, offset + Long.BYTES, offset + length), timestamp);
+            });
+        }
     }
 
     @Override
     public boolean stop(final long timeout, final TimeUnit timeUnit) {
         setStopping();
         boolean stopped = super.stop(timeout, timeUnit, false);
+        if (spoolManager != null) {
+            // Stops forwarding before the producer is closed
+            stopped &= spoolManager.stop(timeout, timeUnit);
+        }
         stopped &= manager.stop(timeout, timeUnit);
         setStopped();
         return stopped;
@@ -255,6 +358,21 @@ public final class KafkaAppender extends AbstractAppender {
     }
 
     private void tryAppend(final LogEvent event) throws ExecutionException, InterruptedException, TimeoutException {
+        manager.send(event, encode(event));
+    }
+
+    /**
+     * Stores the event timestamp before the encoded event.
+     */
+    private byte[] spoolRecord(final LogEvent event) {
+        final byte[] data = encode(event);
+        return ByteBuffer.allocate(Long.BYTES + data.length)
+                .putLong(event.getTimeMillis())
+                .put(data)
+                .array();
+    }
+
+    private byte[] encode(final LogEvent event) {
         final Layout<? extends Serializable> layout = getLayout();
         byte[] data;
         if (layout instanceof SerializedLayout) {
@@ -266,6 +384,6 @@ public final class KafkaAppender extends AbstractAppender {
         } else {
             data = layout.toByteArray(event);
         }
-        manager.send(data, event.getTimeMillis());
+        return data;
     }
 }
@@ -21,13 +21,16 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.AbstractManager;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
@@ -37,8 +40,31 @@ import org.apache.logging.log4j.core.util.Log4jThread;
 
 public class KafkaManager extends AbstractManager {
 
+    /**
+     * Decides what happens to events sent while the in-flight window of a pipelined manager is full.
+     *
+     * @since 2.24.0
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * The logging thread waits until a record is acknowledged, at most for the request timeout.
+         */
+        BLOCK,
+
+        /**
+         * The event is dropped.
+         */
+        DROP_NEWEST
+    }
+
     public static final String DEFAULT_TIMEOUT_MILLIS = "30000";
 
+    /**
+     * The {@code linger.ms} producer property used in pipelined mode unless configured otherwise.
+     */
+    static final String DEFAULT_PIPELINE_LINGER_MILLIS = "5";
+
     /**
      * package-private access for testing.
      */
@@ -52,6 +78,17 @@ public class KafkaManager extends AbstractManager {
     private final String key;
     private final boolean syncSend;
     private final boolean sendTimestamp;
+    private final int maxInFlight;
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Permits for records sent but not yet acknowledged, or {@code null} if the manager is not pipelined.
+     */
+    private final Semaphore inFlight;
+
+    private final LongAdder acknowledgedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
 
     private static final KafkaManagerFactory factory = new KafkaManagerFactory();
 
@@ -66,7 +103,7 @@ public class KafkaManager extends AbstractManager {
             final boolean syncSend,
             final Property[] properties,
             final String key) {
-        this(loggerContext, name, topic, syncSend, false, properties, key);
+        this(loggerContext, name, topic, syncSend, false, 0, OverflowPolicy.BLOCK, properties, key);
     }
 
     private KafkaManager(
@@ -75,16 +112,26 @@ public class KafkaManager extends AbstractManager {
             final String topic,
             final boolean syncSend,
             final boolean sendTimestamp,
+            final int maxInFlight,
+            final OverflowPolicy overflowPolicy,
             final Property[] properties,
             final String key) {
         super(loggerContext, name);
         this.topic = Objects.requireNonNull(topic, "topic");
         this.syncSend = syncSend;
         this.sendTimestamp = sendTimestamp;
+        this.maxInFlight = Math.max(maxInFlight, 0);
+        this.overflowPolicy = overflowPolicy != null ? overflowPolicy : OverflowPolicy.BLOCK;
+        this.inFlight = this.maxInFlight > 0 ? new Semaphore(this.maxInFlight) : null;
 
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
-        config.put(ProducerConfig.BATCH_SIZE_CONFIG, 0);
+        if (inFlight != null) {
+            // Records sent in a short time window share a produce request
+            config.put(ProducerConfig.LINGER_MS_CONFIG, DEFAULT_PIPELINE_LINGER_MILLIS);
+        } else {
+            config.put(ProducerConfig.BATCH_SIZE_CONFIG, 0);
+        }
 
         for (final Property property : properties) {
             config.setProperty(property.getName(), property.getValue());
@@ -138,6 +185,27 @@ public class KafkaManager extends AbstractManager {
 
     public void send(final byte[] msg, final Long eventTimestamp)
             throws ExecutionException, InterruptedException, TimeoutException {
+        send(msg, eventTimestamp, null);
+    }
+
+    /**
+     * Sends an encoded event.
+     * <p>
+     * Lookups in the key are resolved against the event, so that {@code ${ctx:name}} uses its context data, even if
+     * the event is sent by another thread than the one that logged it.
+     * </p>
+     *
+     * @param event the event
+     * @param msg the encoded event
+     * @since 2.24.0
+     */
+    public void send(final LogEvent event, final byte[] msg)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        send(msg, event.getTimeMillis(), event);
+    }
+
+    private void send(final byte[] msg, final Long eventTimestamp, final LogEvent event)
+            throws ExecutionException, InterruptedException, TimeoutException {
         if (producer != null) {
             byte[] newKey = null;
 
@@ -145,7 +213,7 @@ public class KafkaManager extends AbstractManager {
                 newKey = getLoggerContext()
                         .getConfiguration()
                         .getStrSubstitutor()
-                        .replace(key)
+                        .replace(event, key)
                         .getBytes(StandardCharsets.UTF_8);
             } else if (key != null) {
                 newKey = key.getBytes(StandardCharsets.UTF_8);
@@ -154,7 +222,9 @@ public class KafkaManager extends AbstractManager {
             final Long timestamp = sendTimestamp ? eventTimestamp : null;
 
             final ProducerRecord<byte[], byte[]> newRecord = new ProducerRecord<>(topic, null, timestamp, newKey, msg);
-            if (syncSend) {
+            if (inFlight != null) {
+                sendPipelined(newRecord);
+            } else if (syncSend) {
                 final Future<RecordMetadata> response = producer.send(newRecord);
                 response.get(timeoutMillis, TimeUnit.MILLISECONDS);
             } else {
@@ -167,6 +237,118 @@ public class KafkaManager extends AbstractManager {
         }
     }
 
+    /**
+     * Sends a record without waiting for its acknowledgement, unless the in-flight window is full.
+     */
+    private void sendPipelined(final ProducerRecord<byte[], byte[]> record)
+            throws InterruptedException, TimeoutException {
+        if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+            if (!inFlight.tryAcquire()) {
+                droppedCount.increment();
+                return;
+            }
+        } else if (!inFlight.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("No acknowledgement from Kafka within " + timeoutMillis + " ms, " + maxInFlight
+                    + " records are in flight");
+        }
+        try {
+            producer.send(record, (metadata, e) -> {
+                inFlight.release();
+                if (e != null) {
+                    failedCount.increment();
+                    LOGGER.error("Unable to write to Kafka in appender [" + getName() + "]", e);
+                } else {
+                    acknowledgedCount.increment();
+                }
+            });
+        } catch (final RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until all records sent in pipelined mode are acknowledged or have failed. Records are sent by the
+     * producer once its {@code linger.ms} elapses.
+     *
+     * @param timeout the maximum time to wait
+     * @param timeUnit the unit of {@code timeout}
+     * @return {@code true} if no record is in flight anymore
+     * @throws InterruptedException if interrupted while waiting
+     * @since 2.24.0
+     */
+    public boolean awaitAcknowledgements(final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+        if (inFlight == null) {
+            return true;
+        }
+        // Producer.flush() is not used: it waits for all records regardless of the timeout.
+        if (inFlight.tryAcquire(maxInFlight, timeout, timeUnit)) {
+            inFlight.release(maxInFlight);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the maximum number of records sent but not yet acknowledged; {@code 0} if the manager is not pipelined.
+     *
+     * @return the size of the in-flight window
+     * @since 2.24.0
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Gets the policy applied to events sent while the in-flight window is full.
+     *
+     * @return the overflow policy
+     * @since 2.24.0
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Gets the number of records sent in pipelined mode and not yet acknowledged.
+     *
+     * @return the number of records in flight
+     * @since 2.24.0
+     */
+    public int getInFlightCount() {
+        return inFlight != null ? maxInFlight - inFlight.availablePermits() : 0;
+    }
+
+    /**
+     * Gets the number of records acknowledged by Kafka in pipelined mode.
+     *
+     * @return the number of acknowledged records
+     * @since 2.24.0
+     */
+    public long getAcknowledgedCount() {
+        return acknowledgedCount.sum();
+    }
+
+    /**
+     * Gets the number of records Kafka failed to acknowledge in pipelined mode.
+     *
+     * @return the number of failed records
+     * @since 2.24.0
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Gets the number of events dropped by the {@link OverflowPolicy#DROP_NEWEST} policy.
+     *
+     * @return the number of dropped events
+     * @since 2.24.0
+     */
+    public long getDroppedEventCount() {
+        return droppedCount.sum();
+    }
+
     public void startup() {
         if (producer == null) {
             producer = producerFactory.newKafkaProducer(config);
@@ -185,7 +367,7 @@ public class KafkaManager extends AbstractManager {
             final boolean syncSend,
             final Property[] properties,
             final String key) {
-        return getManager(loggerContext, name, topic, syncSend, false, properties, key);
+        return getManager(loggerContext, name, topic, syncSend, false, 0, OverflowPolicy.BLOCK, properties, key);
     }
 
     static KafkaManager getManager(
@@ -194,17 +376,21 @@ public class KafkaManager extends AbstractManager {
             final String topic,
             final boolean syncSend,
             final boolean sendTimestamp,
+            final int maxInFlight,
+            final OverflowPolicy overflowPolicy,
             final Property[] properties,
             final String key) {
         final StringBuilder sb = new StringBuilder(name);
         sb.append(" ").append(topic).append(" ").append(syncSend).append(" ").append(sendTimestamp);
+        sb.append(" ").append(maxInFlight).append(" ").append(overflowPolicy);
         for (Property prop : properties) {
             sb.append(" ").append(prop.getName()).append("=").append(prop.getValue());
         }
         return getManager(
                 sb.toString(),
                 factory,
-                new FactoryData(loggerContext, topic, syncSend, sendTimestamp, properties, key));
+                new FactoryData(
+                        loggerContext, topic, syncSend, sendTimestamp, maxInFlight, overflowPolicy, properties, key));
     }
 
     private static class FactoryData {
@@ -212,6 +398,8 @@ public class KafkaManager extends AbstractManager {
         private final String topic;
         private final boolean syncSend;
         private final boolean sendTimestamp;
+        private final int maxInFlight;
+        private final OverflowPolicy overflowPolicy;
         private final Property[] properties;
         private final String key;
 
@@ -220,12 +408,16 @@ public class KafkaManager extends AbstractManager {
                 final String topic,
                 final boolean syncSend,
                 final boolean sendTimestamp,
+                final int maxInFlight,
+                final OverflowPolicy overflowPolicy,
                 final Property[] properties,
                 final String key) {
             this.loggerContext = loggerContext;
             this.topic = topic;
             this.syncSend = syncSend;
             this.sendTimestamp = sendTimestamp;
+            this.maxInFlight = maxInFlight;
+            this.overflowPolicy = overflowPolicy;
             this.properties = properties;
             this.key = key;
         }
@@ -235,7 +427,15 @@ public class KafkaManager extends AbstractManager {
         @Override
         public KafkaManager createManager(final String name, final FactoryData data) {
             return new KafkaManager(
-                    data.loggerContext, name, data.topic, data.syncSend, data.sendTimestamp, data.properties, data.key);
+                    data.loggerContext,
+                    name,
+                    data.topic,
+                    data.syncSend,
+                    data.sendTimestamp,
+                    data.maxInFlight,
+                    data.overflowPolicy,
+                    data.properties,
+                    data.key);
         }
     }
 }
@@ -21,7 +21,7 @@
  * @since 2.4
  */
 @Export
-@Version("2.20.1")
+@Version("2.24.0")
 package org.apache.logging.log4j.core.appender.mom.kafka;
 
 import org.osgi.annotation.bundle.Export;
@@ -22,6 +22,7 @@ import java.util.Objects;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
 import org.apache.logging.log4j.core.appender.rolling.action.CommonsCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ParallelGzCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.ZipCompressAction;
 
 /**
@@ -45,6 +46,11 @@ public enum FileExtension {
                 final String compressedName,
                 final boolean deleteSource,
                 final int compressionLevel) {
+            final int threads = ParallelGzCompressAction.getConfiguredThreads();
+            if (threads > 1) {
+                return new ParallelGzCompressAction(
+                        source(renameTo), target(compressedName), deleteSource, compressionLevel, threads);
+            }
             return new GzCompressAction(source(renameTo), target(compressedName), deleteSource, compressionLevel);
         }
     },
@@ -102,6 +108,20 @@ public enum FileExtension {
             // One of "gz", "bzip2", "xz", "zstd", "pack200", or "deflate".
             return new CommonsCompressAction("zstd", source(renameTo), target(compressedName), deleteSource);
         }
+    },
+    /**
+     * @since 2.24.0
+     */
+    LZ4(".lz4") {
+        @Override
+        public Action createCompressAction(
+                final String renameTo,
+                final String compressedName,
+                final boolean deleteSource,
+                final int compressionLevel) {
+            // The LZ4 frame format, as written by the lz4 command line tool
+            return new CommonsCompressAction("lz4-framed", source(renameTo), target(compressedName), deleteSource);
+        }
     };
 
     public static FileExtension lookup(final String fileExtension) {
@@ -0,0 +1,443 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.AsyncFileChannelWriter;
+import org.apache.logging.log4j.core.appender.ConfigurationFactoryData;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.util.FileUtils;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+
+/**
+ * Extends RollingFileManager but instead of using a buffered output stream, this class hands full buffers to an
+ * {@code AsynchronousFileChannel} so that the I/O does not block the logging thread.
+ *
+ * @see AsyncFileChannelWriter
+ * @since 2.24.0
+ */
+public class RollingAsyncFileChannelManager extends RollingFileManager {
+    /**
+     * The default buffer size.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * The default number of buffers handed to the channel in turn.
+     */
+    public static final int DEFAULT_BUFFER_COUNT = 2;
+
+    /**
+     * The default interval of the background submits, in milliseconds.
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+
+    private static final RollingAsyncFileChannelManagerFactory FACTORY = new RollingAsyncFileChannelManagerFactory();
+
+    private final int bufferCount;
+    private AsyncFileChannelWriter writer;
+    private ScheduledExecutorService submitter;
+
+    public RollingAsyncFileChannelManager(
+            final LoggerContext loggerContext,
+            final AsyncFileChannelWriter writer,
+            final String fileName,
+            final String pattern,
+            final OutputStream os,
+            final boolean append,
+            final int bufferSize,
+            final int bufferCount,
+            final long size,
+            final long initialTime,
+            final TriggeringPolicy policy,
+            final RolloverStrategy strategy,
+            final String advertiseURI,
+            final Layout<? extends Serializable> layout,
+            final String filePermissions,
+            final String fileOwner,
+            final String fileGroup,
+            final boolean writeHeader) {
+        super(
+                loggerContext,
+                fileName,
+                pattern,
+                os,
+                append,
+                false,
+                size,
+                initialTime,
+                policy,
+                strategy,
+                advertiseURI,
+                layout,
+                filePermissions,
+                fileOwner,
+                fileGroup,
+                writeHeader,
+                ByteBuffer.wrap(new byte[bufferSize]));
+        this.writer = writer;
+        this.bufferCount = bufferCount;
+        if (writeHeader) {
+            writeHeader();
+        }
+    }
+
+    /**
+     * Writes the layout's header to the file if it is empty.
+     */
+    private void writeHeader() {
+        if (layout == null || writer == null) {
+            return;
+        }
+        final byte[] header = layout.getHeader();
+        if (header != null && writer.getPosition() == 0) {
+            // write to the channel, not to the buffer: the buffer may not be empty
+            writer.write(header, 0, header.length);
+        }
+    }
+
+    public static RollingAsyncFileChannelManager getRollingAsyncFileChannelManager(
+            final String fileName,
+            final String filePattern,
+            final boolean isAppend,
+            final int bufferSize,
+            final int bufferCount,
+            final long flushIntervalMillis,
+            final TriggeringPolicy policy,
+            final RolloverStrategy strategy,
+            final String advertiseURI,
+            final Layout<? extends Serializable> layout,
+            final String filePermissions,
+            final String fileOwner,
+            final String fileGroup,
+            final Configuration configuration) {
+        if (strategy instanceof DirectWriteRolloverStrategy && fileName != null) {
+            LOGGER.error("The fileName attribute must not be specified with the DirectWriteRolloverStrategy");
+            return null;
+        }
+        final String name = fileName == null ? filePattern : fileName;
+        return narrow(
+                RollingAsyncFileChannelManager.class,
+                getManager(
+                        name,
+                        new FactoryData(
+                                fileName,
+                                filePattern,
+                                isAppend,
+                                bufferSize,
+                                bufferCount,
+                                flushIntervalMillis,
+                                policy,
+                                strategy,
+                                advertiseURI,
+                                layout,
+                                filePermissions,
+                                fileOwner,
+                                fileGroup,
+                                configuration),
+                        FACTORY));
+    }
+
+    private void startSubmitter(final long flushIntervalMillis) {
+        if (flushIntervalMillis > 0) {
+            submitter = Executors.newSingleThreadScheduledExecutor(
+                    Log4jThreadFactory.createDaemonThreadFactory("RollingAsyncFileChannelSubmitter"));
+            submitter.scheduleWithFixedDelay(
+                    this::submitBuffered, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Submits the buffered bytes from the background thread, so that they reach the file even if no batch ends, as
+     * with synchronous loggers.
+     */
+    private void submitBuffered() {
+        try {
+            submit();
+        } catch (final AppenderLoggingException e) {
+            logError("Unable to submit buffered bytes", e);
+        }
+    }
+
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        if (submitter != null) {
+            // periodic tasks that have not started are cancelled, a running one completes before the channel closes
+            submitter.shutdown();
+        }
+        return super.releaseSub(timeout, timeUnit);
+    }
+
+    @Override
+    protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        try {
+            if (writer == null) {
+                createFileAfterRollover();
+            }
+        } catch (final IOException ex) {
+            final String msg = "Error opening AsynchronousFileChannel " + getName();
+            throw new AppenderLoggingException(msg, ex);
+        }
+        writer.write(bytes, offset, length);
+        size += length;
+    }
+
+    @Override
+    @SuppressFBWarnings(
+            value = "PATH_TRAVERSAL_IN",
+            justification = "The name of the accessed files is based on a configuration value.")
+    protected void createFileAfterRollover() throws IOException {
+        final String fileName = getFileName();
+        final File file = new File(fileName);
+        FileUtils.makeParentDirs(file);
+        this.writer = AsyncFileChannelWriter.open(fileName, isAppend(), getBufferSize(), bufferCount);
+        if (isAttributeViewEnabled()) {
+            defineAttributeView(Paths.get(fileName));
+        }
+        writeHeader();
+    }
+
+    /**
+     * Hands the buffered bytes to the channel without waiting for the write to complete.
+     */
+    public synchronized void submit() {
+        flushBuffer(byteBuffer);
+        if (writer != null) {
+            writer.submit();
+        }
+    }
+
+    /**
+     * Hands the buffered bytes to the channel and waits until all pending writes have completed.
+     */
+    @Override
+    public synchronized void flush() {
+        flushBuffer(byteBuffer);
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public synchronized boolean closeOutputStream() {
+        flushBuffer(byteBuffer);
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (final IOException | AppenderLoggingException e) {
+                logError("Unable to close AsynchronousFileChannel", e);
+                return false;
+            } finally {
+                writer = null;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the buffer capacity.
+     *
+     * @return the buffer size
+     */
+    @Override
+    public int getBufferSize() {
+        return byteBuffer.capacity();
+    }
+
+    /**
+     * Returns the number of buffers handed to the channel in turn.
+     *
+     * @return the buffer count
+     */
+    public int getBufferCount() {
+        return bufferCount;
+    }
+
+    /**
+     * Factory to create a RollingAsyncFileChannelManager.
+     */
+    private static class RollingAsyncFileChannelManagerFactory
+            implements ManagerFactory<RollingAsyncFileChannelManager, FactoryData> {
+
+        /**
+         * Create the RollingAsyncFileChannelManager.
+         *
+         * @param name The name of the entity to manage.
+         * @param data The data required to create the entity.
+         * @return a RollingFileManager.
+         */
+        @Override
+        @SuppressFBWarnings(
+                value = "PATH_TRAVERSAL_IN",
+                justification = "The name of the accessed files is based on a configuration value.")
+        public RollingAsyncFileChannelManager createManager(final String name, final FactoryData data) {
+            File file = null;
+            long size = 0;
+            long time = System.currentTimeMillis();
+            AsyncFileChannelWriter writer = null;
+            boolean writeHeader = true;
+            if (data.fileName != null) {
+                file = new File(name);
+                size = data.append ? file.length() : 0;
+                if (file.exists()) {
+                    time = file.lastModified();
+                }
+                // decided before opening the channel, which creates the file
+                writeHeader = !data.append || file.length() == 0;
+                try {
+                    FileUtils.makeParentDirs(file);
+                    writer = AsyncFileChannelWriter.open(name, data.append, data.bufferSize, data.bufferCount);
+                } catch (final IOException ex) {
+                    LOGGER.error("Cannot access AsynchronousFileChannel " + ex, ex);
+                    return null;
+                }
+            }
+
+            final RollingAsyncFileChannelManager manager = new RollingAsyncFileChannelManager(
+                    data.getLoggerContext(),
+                    writer,
+                    name,
+                    data.pattern,
+                    NullOutputStream.getInstance(),
+                    data.append,
+                    data.bufferSize,
+                    data.bufferCount,
+                    size,
+                    time,
+                    data.policy,
+                    data.strategy,
+                    data.advertiseURI,
+                    data.layout,
+                    data.filePermissions,
+                    data.fileOwner,
+                    data.fileGroup,
+                    writeHeader);
+            if (manager.isAttributeViewEnabled()) {
+                manager.defineAttributeView(file.toPath());
+            }
+            manager.startSubmitter(data.flushIntervalMillis);
+            return manager;
+        }
+    }
+
+    /**
+     * Factory data.
+     */
+    private static class FactoryData extends ConfigurationFactoryData {
+        private final String fileName;
+        private final String pattern;
+        private final boolean append;
+        private final int bufferSize;
+        private final int bufferCount;
+        private final long flushIntervalMillis;
+        private final TriggeringPolicy policy;
+        private final RolloverStrategy strategy;
+        private final String advertiseURI;
+        private final Layout<? extends Serializable> layout;
+        private final String filePermissions;
+        private final String fileOwner;
+        private final String fileGroup;
+
+        /**
+         * Create the data for the factory.
+         *
+         * @param fileName The file name.
+         * @param pattern The pattern.
+         * @param append The append flag.
+         * @param bufferSize The size of each buffer.
+         * @param bufferCount The number of buffers.
+         * @param flushIntervalMillis The interval of the background submits, 0 for none.
+         * @param policy The triggering policy.
+         * @param strategy The rollover strategy.
+         * @param advertiseURI The advertised URI.
+         * @param layout The layout.
+         * @param filePermissions File permissions
+         * @param fileOwner File owner
+         * @param fileGroup File group
+         * @param configuration The configuration.
+         */
+        public FactoryData(
+                final String fileName,
+                final String pattern,
+                final boolean append,
+                final int bufferSize,
+                final int bufferCount,
+                final long flushIntervalMillis,
+                final TriggeringPolicy policy,
+                final RolloverStrategy strategy,
+                final String advertiseURI,
+                final Layout<? extends Serializable> layout,
+                final String filePermissions,
+                final String fileOwner,
+                final String fileGroup,
+                final Configuration configuration) {
+            super(configuration);
+            this.fileName = fileName;
+            this.pattern = pattern;
+            this.append = append;
+            this.bufferSize = bufferSize;
+            this.bufferCount = bufferCount;
+            this.flushIntervalMillis = flushIntervalMillis;
+            this.policy = policy;
+            this.strategy = strategy;
+            this.advertiseURI = advertiseURI;
+            this.layout = layout;
+            this.filePermissions = filePermissions;
+            this.fileOwner = fileOwner;
+            this.fileGroup = fileGroup;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public TriggeringPolicy getTriggeringPolicy() {
+            return this.policy;
+        }
+
+        public RolloverStrategy getRolloverStrategy() {
+            return this.strategy;
+        }
+    }
+
+    /**
+     * Updates the RollingFileManager's data during a reconfiguration. This method should be considered private.
+     * It is not thread safe and calling it outside of a reconfiguration may lead to errors.
+     * @param data The data to update.
+     */
+    @Override
+    public void updateData(final Object data) {
+        final FactoryData factoryData = (FactoryData) data;
+        setRolloverStrategy(factoryData.getRolloverStrategy());
+        setPatternProcessor(new PatternProcessor(factoryData.getPattern(), getPatternProcessor()));
+        setTriggeringPolicy(factoryData.getTriggeringPolicy());
+    }
+}
@@ -27,13 +27,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
-import java.util.Collection;
 import java.util.Date;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.apache.logging.log4j.core.Layout;
@@ -44,12 +40,9 @@ import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.ConfigurationFactoryData;
 import org.apache.logging.log4j.core.appender.FileManager;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
-import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
-import org.apache.logging.log4j.core.appender.rolling.action.Action;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.FileUtils;
-import org.apache.logging.log4j.core.util.Log4jThreadFactory;
 
 /**
  * The Rolling File Manager.
@@ -65,7 +58,6 @@ public class RollingFileManager extends FileManager {
     private long initialTime;
     private volatile PatternProcessor patternProcessor;
     private final Semaphore semaphore = new Semaphore(1);
-    private final Log4jThreadFactory threadFactory = Log4jThreadFactory.createThreadFactory("RollingFileManager");
     private volatile TriggeringPolicy triggeringPolicy;
     private volatile RolloverStrategy rolloverStrategy;
     private volatile boolean renameEmptyFiles;
@@ -74,10 +66,9 @@ public class RollingFileManager extends FileManager {
     private final boolean directWrite;
     private final CopyOnWriteArrayList<RolloverListener> rolloverListeners = new CopyOnWriteArrayList<>();
 
-    /* This executor pool will create a new Thread for every work async action to be performed. Using it allows
-    us to make sure all the Threads are completed when the Manager is stopped. */
-    private final ExecutorService asyncExecutor =
-            new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.MILLISECONDS, new EmptyQueue(), threadFactory);
+    /* The last asynchronous action, run by the executor shared by all managers. The semaphore is held until it
+    completes, which allows us to make sure it is completed when the Manager is stopped. */
+    private volatile RolloverExecutor.Task asyncTask;
 
     private static final AtomicReferenceFieldUpdater<RollingFileManager, TriggeringPolicy> triggeringPolicyUpdater =
             AtomicReferenceFieldUpdater.newUpdater(
@@ -430,41 +421,28 @@ public class RollingFileManager extends FileManager {
             stopped &= true;
         }
         final boolean status = super.releaseSub(timeout, timeUnit) && stopped;
-        asyncExecutor.shutdown();
+        final RolloverExecutor.Task task = asyncTask;
+        if (task != null) {
+            // Do not leave an action waiting behind those of other managers.
+            task.runIfPending();
+        }
         try {
             // Allow at least the minimum interval to pass so async actions can complete.
             final long millis = timeUnit.toMillis(timeout);
             final long waitInterval = MIN_DURATION < millis ? millis : MIN_DURATION;
 
-            for (int count = 1; count <= MAX_TRIES && !asyncExecutor.isTerminated(); ++count) {
-                asyncExecutor.awaitTermination(waitInterval * count, TimeUnit.MILLISECONDS);
+            boolean completed = false;
+            for (int count = 1; count <= MAX_TRIES && !completed; ++count) {
+                completed = semaphore.tryAcquire(waitInterval * count, TimeUnit.MILLISECONDS);
             }
-            if (asyncExecutor.isTerminated()) {
-                LOGGER.debug("All asynchronous threads have terminated");
+            if (completed) {
+                semaphore.release();
+                LOGGER.debug("All asynchronous actions have completed");
             } else {
-                asyncExecutor.shutdownNow();
-                try {
-                    asyncExecutor.awaitTermination(timeout, timeUnit);
-                    if (asyncExecutor.isTerminated()) {
-                        LOGGER.debug("All asynchronous threads have terminated");
-                    } else {
-                        LOGGER.debug(
-                                "RollingFileManager shutting down but some asynchronous services may not have completed");
-                    }
-                } catch (final InterruptedException inner) {
-                    LOGGER.warn("RollingFileManager stopped but some asynchronous services may not have completed.");
-                }
+                LOGGER.debug("RollingFileManager shutting down but some asynchronous services may not have completed");
             }
         } catch (final InterruptedException ie) {
-            asyncExecutor.shutdownNow();
-            try {
-                asyncExecutor.awaitTermination(timeout, timeUnit);
-                if (asyncExecutor.isTerminated()) {
-                    LOGGER.debug("All asynchronous threads have terminated");
-                }
-            } catch (final InterruptedException inner) {
-                LOGGER.warn("RollingFileManager stopped but some asynchronous services may not have completed.");
-            }
+            LOGGER.warn("RollingFileManager stopped but some asynchronous services may not have completed.");
             // Preserve interrupt status
             Thread.currentThread().interrupt();
         }
@@ -607,7 +585,7 @@ public class RollingFileManager extends FileManager {
         boolean releaseRequired = false;
         try {
             // Block until the asynchronous operation is completed.
-            semaphore.acquire();
+            awaitAsyncAction();
             releaseRequired = true;
         } catch (final InterruptedException e) {
             logError("Thread interrupted while attempting to check rollover", e);
@@ -633,7 +611,7 @@ public class RollingFileManager extends FileManager {
 
                 if (success && descriptor.getAsynchronous() != null) {
                     LOGGER.debug("RollingFileManager executing async {}", descriptor.getAsynchronous());
-                    asyncExecutor.execute(new AsyncAction(descriptor.getAsynchronous(), this));
+                    asyncTask = RolloverExecutor.getInstance().submit(descriptor.getAsynchronous(), semaphore::release);
                     releaseRequired = false;
                 }
                 return success;
@@ -646,73 +624,14 @@ public class RollingFileManager extends FileManager {
         }
     }
 
-    /**
-     * Performs actions asynchronously.
-     */
-    private static class AsyncAction extends AbstractAction {
-
-        private final Action action;
-        private final RollingFileManager manager;
-
-        /**
-         * Constructor.
-         * @param act The action to perform.
-         * @param manager The manager.
-         */
-        public AsyncAction(final Action act, final RollingFileManager manager) {
-            this.action = act;
-            this.manager = manager;
-        }
-
-        /**
-         * Executes an action.
-         *
-         * @return true if action was successful.  A return value of false will cause
-         *         the rollover to be aborted if possible.
-         * @throws java.io.IOException if IO error, a thrown exception will cause the rollover
-         *                             to be aborted if possible.
-         */
-        @Override
-        public boolean execute() throws IOException {
-            try {
-                return action.execute();
-            } finally {
-                manager.semaphore.release();
+    private void awaitAsyncAction() throws InterruptedException {
+        if (!semaphore.tryAcquire()) {
+            // Run the previous action here if it is still waiting for a thread, since we have to wait for it anyway.
+            final RolloverExecutor.Task task = asyncTask;
+            if (task != null) {
+                task.runIfPending();
             }
-        }
-
-        /**
-         * Cancels the action if not already initialized or waits till completion.
-         */
-        @Override
-        public void close() {
-            action.close();
-        }
-
-        /**
-         * Determines if action has been completed.
-         *
-         * @return true if action is complete.
-         */
-        @Override
-        public boolean isComplete() {
-            return action.isComplete();
-        }
-
-        @Override
-        public String toString() {
-            final StringBuilder builder = new StringBuilder();
-            builder.append(super.toString());
-            builder.append("[action=");
-            builder.append(action);
-            builder.append(", manager=");
-            builder.append(manager);
-            builder.append(", isComplete()=");
-            builder.append(isComplete());
-            builder.append(", isInterrupted()=");
-            builder.append(isInterrupted());
-            builder.append("]");
-            return builder.toString();
+            semaphore.acquire();
         }
     }
 
@@ -928,47 +847,4 @@ public class RollingFileManager extends FileManager {
         }
         return file.lastModified();
     }
-
-    private static class EmptyQueue extends ArrayBlockingQueue<Runnable> {
-
-        /**
-         *
-         */
-        private static final long serialVersionUID = 1L;
-
-        EmptyQueue() {
-            super(1);
-        }
-
-        @Override
-        public int remainingCapacity() {
-            return 0;
-        }
-
-        @Override
-        public boolean add(final Runnable runnable) {
-            throw new IllegalStateException("Queue is full");
-        }
-
-        @Override
-        public void put(final Runnable runnable) throws InterruptedException {
-            /* No point in going into a permanent wait */
-            throw new InterruptedException("Unable to insert into queue");
-        }
-
-        @Override
-        public boolean offer(final Runnable runnable, final long timeout, final TimeUnit timeUnit)
-                throws InterruptedException {
-            Thread.sleep(timeUnit.toMillis(timeout));
-            return false;
-        }
-
-        @Override
-        public boolean addAll(final Collection<? extends Runnable> collection) {
-            if (collection.size() > 0) {
-                throw new IllegalArgumentException("Too many items in collection");
-            }
-            return false;
-        }
-    }
 }
@@ -0,0 +1,539 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ConfigurationFactoryData;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.appender.MemoryMappedFileManager;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.FileUtils;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+import org.apache.logging.log4j.core.util.internal.UnsafeUtil;
+import org.apache.logging.log4j.util.Constants;
+
+/**
+ * Extends RollingFileManager but instead of using a buffered output stream, this class maps consecutive regions of the
+ * file into memory and writes to them.
+ * <p>
+ * While the writer fills the current region, a background thread extends the file and maps the following region, and
+ * unmaps the regions that have been filled. Moving to the next region is therefore a reference swap on the logging
+ * thread. On rollover and on close the file is truncated to the length actually written.
+ * </p>
+ *
+ * @see MemoryMappedFileManager
+ * @since 2.24.0
+ */
+public class RollingMemoryMappedFileManager extends RollingFileManager {
+    /**
+     * Default length of region to map.
+     */
+    public static final int DEFAULT_REGION_LENGTH = 32 * 1024 * 1024;
+
+    private static final RollingMemoryMappedFileManagerFactory FACTORY = new RollingMemoryMappedFileManagerFactory();
+    private static final ByteBuffer CLOSED = ByteBuffer.wrap(Constants.EMPTY_BYTE_ARRAY);
+    private static final long KEEP_ALIVE_MILLIS = 60_000;
+
+    private final boolean immediateFlush;
+    private final int regionLength;
+    private final ExecutorService mapper;
+    private RandomAccessFile randomAccessFile;
+    private String mappedFileName;
+    private MappedByteBuffer mappedBuffer;
+    private Future<MappedByteBuffer> nextRegion;
+    private long mappingOffset;
+
+    public RollingMemoryMappedFileManager(
+            final LoggerContext loggerContext,
+            final RandomAccessFile raf,
+            final String fileName,
+            final String pattern,
+            final OutputStream os,
+            final boolean append,
+            final boolean immediateFlush,
+            final int regionLength,
+            final long size,
+            final long initialTime,
+            final TriggeringPolicy policy,
+            final RolloverStrategy strategy,
+            final String advertiseURI,
+            final Layout<? extends Serializable> layout,
+            final String filePermissions,
+            final String fileOwner,
+            final String fileGroup,
+            final boolean writeHeader)
+            throws IOException {
+        super(
+                loggerContext,
+                fileName,
+                pattern,
+                os,
+                append,
+                false,
+                size,
+                initialTime,
+                policy,
+                strategy,
+                advertiseURI,
+                layout,
+                filePermissions,
+                fileOwner,
+                fileGroup,
+                writeHeader,
+                CLOSED);
+        this.immediateFlush = immediateFlush;
+        this.regionLength = regionLength;
+        this.mapper = new ThreadPoolExecutor(
+                0,
+                1,
+                KEEP_ALIVE_MILLIS,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                Log4jThreadFactory.createDaemonThreadFactory("RollingMemoryMappedFileManager"));
+        if (raf != null) {
+            open(raf, fileName);
+        }
+    }
+
+    public static RollingMemoryMappedFileManager getRollingMemoryMappedFileManager(
+            final String fileName,
+            final String filePattern,
+            final boolean isAppend,
+            final boolean immediateFlush,
+            final int regionLength,
+            final TriggeringPolicy policy,
+            final RolloverStrategy strategy,
+            final String advertiseURI,
+            final Layout<? extends Serializable> layout,
+            final String filePermissions,
+            final String fileOwner,
+            final String fileGroup,
+            final Configuration configuration) {
+        if (strategy instanceof DirectWriteRolloverStrategy && fileName != null) {
+            LOGGER.error("The fileName attribute must not be specified with the DirectWriteRolloverStrategy");
+            return null;
+        }
+        final String name = fileName == null ? filePattern : fileName;
+        return narrow(
+                RollingMemoryMappedFileManager.class,
+                getManager(
+                        name,
+                        new FactoryData(
+                                fileName,
+                                filePattern,
+                                isAppend,
+                                immediateFlush,
+                                regionLength,
+                                policy,
+                                strategy,
+                                advertiseURI,
+                                layout,
+                                filePermissions,
+                                fileOwner,
+                                fileGroup,
+                                configuration),
+                        FACTORY));
+    }
+
+    /**
+     * Maps the first region after the current end of the file and schedules the mapping of the next one.
+     */
+    private void open(final RandomAccessFile raf, final String fileName) throws IOException {
+        final long position = isAppend() ? raf.length() : 0;
+        this.mappedBuffer = mapRegion(raf, fileName, position);
+        this.randomAccessFile = raf;
+        this.mappedFileName = fileName;
+        this.byteBuffer = mappedBuffer;
+        this.mappingOffset = position;
+        this.size = position;
+        this.nextRegion = mapper.submit(() -> mapRegion(raf, fileName, position + regionLength));
+        writeHeader();
+    }
+
+    /**
+     * Writes the layout's header if the file is empty.
+     */
+    private void writeHeader() {
+        if (layout == null || mappingOffset != 0 || mappedBuffer.position() != 0) {
+            return;
+        }
+        final byte[] header = layout.getHeader();
+        if (header != null) {
+            write(header, 0, header.length, false);
+        }
+    }
+
+    /**
+     * Runs on the background thread: extends the file and maps the region starting at the given offset.
+     */
+    private MappedByteBuffer mapRegion(final RandomAccessFile raf, final String fileName, final long offset)
+            throws IOException {
+        final long fileLength = offset + regionLength;
+        if (raf.length() < fileLength) {
+            raf.setLength(fileLength);
+        }
+        return MemoryMappedFileManager.mmap(raf.getChannel(), fileName, offset, regionLength);
+    }
+
+    /**
+     * Replaces the full region with the one mapped in the background, and hands the full region to the background
+     * thread to be unmapped.
+     */
+    private void nextRegion() {
+        final MappedByteBuffer filled = mappedBuffer;
+        final long offset = mappingOffset + regionLength;
+        MappedByteBuffer next = awaitNextRegion();
+        if (next == null) {
+            LOGGER.warn(
+                    "{} {} mapping the next region of {} on the logging thread",
+                    getClass().getSimpleName(),
+                    getName(),
+                    mappedFileName);
+            try {
+                next = mapRegion(randomAccessFile, mappedFileName, offset);
+            } catch (final IOException ex) {
+                throw new AppenderLoggingException("Unable to map the next region of " + getFileName(), ex);
+            }
+        }
+        mappedBuffer = next;
+        byteBuffer = next;
+        mappingOffset = offset;
+        size = offset;
+        mapper.execute(() -> unmap(filled));
+        final RandomAccessFile raf = randomAccessFile;
+        final String fileName = mappedFileName;
+        nextRegion = mapper.submit(() -> mapRegion(raf, fileName, offset + regionLength));
+    }
+
+    private MappedByteBuffer awaitNextRegion() {
+        final Future<MappedByteBuffer> future = nextRegion;
+        nextRegion = null;
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logError("Interrupted while waiting for the next region", ex);
+        } catch (final ExecutionException ex) {
+            logError("Unable to map the next region", ex.getCause());
+        }
+        return null;
+    }
+
+    private void unmap(final MappedByteBuffer buffer) {
+        try {
+            UnsafeUtil.clean(buffer);
+        } catch (final Exception ex) {
+            logError("Unable to unmap MappedBuffer", ex);
+        }
+    }
+
+    @Override
+    public synchronized ByteBuffer drain(final ByteBuffer buf) {
+        if (mappedBuffer == null) {
+            try {
+                createFileAfterRollover();
+            } catch (final IOException ex) {
+                throw new AppenderLoggingException("Unable to open " + getFileName(), ex);
+            }
+        } else {
+            nextRegion();
+        }
+        return byteBuffer;
+    }
+
+    @Override
+    protected synchronized void write(
+            final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        int currentOffset = offset;
+        int currentLength = length;
+        while (currentLength > byteBuffer.remaining()) {
+            final int chunk = byteBuffer.remaining();
+            byteBuffer.put(bytes, currentOffset, chunk);
+            currentOffset += chunk;
+            currentLength -= chunk;
+            drain(byteBuffer);
+        }
+        byteBuffer.put(bytes, currentOffset, currentLength);
+    }
+
+    @Override
+    protected void flushBuffer(final ByteBuffer buffer) {
+        // do nothing: the mapped region is the destination
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (mappedBuffer != null) {
+            mappedBuffer.force();
+        }
+    }
+
+    @Override
+    @SuppressFBWarnings(
+            value = "PATH_TRAVERSAL_IN",
+            justification = "The name of the accessed files is based on a configuration value.")
+    protected void createFileAfterRollover() throws IOException {
+        final String fileName = getFileName();
+        final File file = new File(fileName);
+        FileUtils.makeParentDirs(file);
+        final RandomAccessFile raf = new RandomAccessFile(fileName, "rw");
+        try {
+            if (!isAppend()) {
+                raf.setLength(0);
+            }
+            open(raf, fileName);
+        } catch (final IOException | RuntimeException ex) {
+            Closer.closeSilently(raf);
+            throw ex;
+        }
+        if (isAttributeViewEnabled()) {
+            defineAttributeView(Paths.get(fileName));
+        }
+    }
+
+    @Override
+    public synchronized boolean closeOutputStream() {
+        if (mappedBuffer == null) {
+            return true;
+        }
+        final long length = mappingOffset + mappedBuffer.position();
+        // also waits for pending unmaps, which were queued before
+        final MappedByteBuffer next = awaitNextRegion();
+        unmap(mappedBuffer);
+        if (next != null) {
+            unmap(next);
+        }
+        mappedBuffer = null;
+        byteBuffer = CLOSED;
+        final RandomAccessFile raf = randomAccessFile;
+        randomAccessFile = null;
+        try {
+            LOGGER.debug("{} closing. Setting {} length to {}", getClass().getSimpleName(), getFileName(), length);
+            raf.setLength(length);
+            raf.close();
+            return true;
+        } catch (final IOException ex) {
+            logError("Unable to close MemoryMappedFile", ex);
+            Closer.closeSilently(raf);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        final boolean status = super.releaseSub(timeout, timeUnit);
+        mapper.shutdown();
+        return status;
+    }
+
+    /**
+     * Returns the length of the memory mapped regions.
+     *
+     * @return the length of a mapped region
+     */
+    public int getRegionLength() {
+        return regionLength;
+    }
+
+    /**
+     * Returns {@code true} if the content of the buffer should be forced to the storage device on every write,
+     * {@code false} otherwise.
+     *
+     * @return whether each write should be force-sync'ed
+     */
+    public boolean isImmediateFlush() {
+        return immediateFlush;
+    }
+
+    /**
+     * Factory to create a RollingMemoryMappedFileManager.
+     */
+    private static class RollingMemoryMappedFileManagerFactory
+            implements ManagerFactory<RollingMemoryMappedFileManager, FactoryData> {
+
+        /**
+         * Create the RollingMemoryMappedFileManager.
+         *
+         * @param name The name of the entity to manage.
+         * @param data The data required to create the entity.
+         * @return a RollingFileManager.
+         */
+        @Override
+        @SuppressFBWarnings(
+                value = "PATH_TRAVERSAL_IN",
+                justification = "The name of the accessed files is based on a configuration value.")
+        public RollingMemoryMappedFileManager createManager(final String name, final FactoryData data) {
+            File file = null;
+            long size = 0;
+            long time = System.currentTimeMillis();
+            RandomAccessFile raf = null;
+            try {
+                if (data.fileName != null) {
+                    file = new File(name);
+                    if (!data.append) {
+                        file.delete();
+                    }
+                    size = data.append ? file.length() : 0;
+                    if (file.exists()) {
+                        time = file.lastModified();
+                    }
+                    FileUtils.makeParentDirs(file);
+                    raf = new RandomAccessFile(name, "rw");
+                }
+                final boolean writeHeader = !data.append || file == null || !file.exists();
+                final RollingMemoryMappedFileManager manager = new RollingMemoryMappedFileManager(
+                        data.getLoggerContext(),
+                        raf,
+                        name,
+                        data.pattern,
+                        NullOutputStream.getInstance(),
+                        data.append,
+                        data.immediateFlush,
+                        data.regionLength,
+                        size,
+                        time,
+                        data.policy,
+                        data.strategy,
+                        data.advertiseURI,
+                        data.layout,
+                        data.filePermissions,
+                        data.fileOwner,
+                        data.fileGroup,
+                        writeHeader);
+                if (file != null && manager.isAttributeViewEnabled()) {
+                    manager.defineAttributeView(file.toPath());
+                }
+                return manager;
+            } catch (final Exception ex) {
+                LOGGER.error("RollingMemoryMappedFileManager (" + name + ") " + ex, ex);
+                Closer.closeSilently(raf);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Factory data.
+     */
+    private static class FactoryData extends ConfigurationFactoryData {
+        private final String fileName;
+        private final String pattern;
+        private final boolean append;
+        private final boolean immediateFlush;
+        private final int regionLength;
+        private final TriggeringPolicy policy;
+        private final RolloverStrategy strategy;
+        private final String advertiseURI;
+        private final Layout<? extends Serializable> layout;
+        private final String filePermissions;
+        private final String fileOwner;
+        private final String fileGroup;
+
+        /**
+         * Create the data for the factory.
+         *
+         * @param fileName The file name.
+         * @param pattern The pattern.
+         * @param append The append flag.
+         * @param immediateFlush Whether each write is forced to the storage device.
+         * @param regionLength The length of a mapped region.
+         * @param policy The triggering policy.
+         * @param strategy The rollover strategy.
+         * @param advertiseURI The advertised URI.
+         * @param layout The layout.
+         * @param filePermissions File permissions
+         * @param fileOwner File owner
+         * @param fileGroup File group
+         * @param configuration The configuration.
+         */
+        public FactoryData(
+                final String fileName,
+                final String pattern,
+                final boolean append,
+                final boolean immediateFlush,
+                final int regionLength,
+                final TriggeringPolicy policy,
+                final RolloverStrategy strategy,
+                final String advertiseURI,
+                final Layout<? extends Serializable> layout,
+                final String filePermissions,
+                final String fileOwner,
+                final String fileGroup,
+                final Configuration configuration) {
+            super(configuration);
+            this.fileName = fileName;
+            this.pattern = pattern;
+            this.append = append;
+            this.immediateFlush = immediateFlush;
+            this.regionLength = regionLength;
+            this.policy = policy;
+            this.strategy = strategy;
+            this.advertiseURI = advertiseURI;
+            this.layout = layout;
+            this.filePermissions = filePermissions;
+            this.fileOwner = fileOwner;
+            this.fileGroup = fileGroup;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public TriggeringPolicy getTriggeringPolicy() {
+            return this.policy;
+        }
+
+        public RolloverStrategy getRolloverStrategy() {
+            return this.strategy;
+        }
+    }
+
+    /**
+     * Updates the RollingFileManager's data during a reconfiguration. This method should be considered private.
+     * It is not thread safe and calling it outside of a reconfiguration may lead to errors.
+     * @param data The data to update.
+     */
+    @Override
+    public void updateData(final Object data) {
+        final FactoryData factoryData = (FactoryData) data;
+        setRolloverStrategy(factoryData.getRolloverStrategy());
+        setPatternProcessor(new PatternProcessor(factoryData.getPattern(), getPatternProcessor()));
+        setTriggeringPolicy(factoryData.getTriggeringPolicy());
+    }
+}
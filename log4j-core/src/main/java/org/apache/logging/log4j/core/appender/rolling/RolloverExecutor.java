@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.CommonsCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.CompositeAction;
+import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ParallelGzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ZipCompressAction;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Runs the asynchronous actions of rollovers, like compressing and deleting files, on a bounded number of threads
+ * shared by all rolling file managers.
+ * <p>
+ * Actions waiting for a thread are run in order of submission, except that actions not compressing any file, like
+ * deleting old archives, are run before compressions. A manager only has one asynchronous action at a time: when it
+ * rolls over again while its previous action is still waiting for a thread, that action is run on the rolling thread.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public final class RolloverExecutor {
+
+    /**
+     * The property holding the maximum number of threads running rollover actions, half the number of processors by
+     * default.
+     */
+    public static final String THREADS_PROPERTY = "log4j2.rolloverThreads";
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final long KEEP_ALIVE_MILLIS = 1000;
+
+    private static final class Holder {
+        private static final RolloverExecutor INSTANCE = new RolloverExecutor(getConfiguredThreads());
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder completedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder totalDurationNanos = new LongAdder();
+
+    private final AtomicLong maxDurationNanos = new AtomicLong();
+
+    private final LongAdder compressedBytes = new LongAdder();
+
+    RolloverExecutor(final int threads) {
+        executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                KEEP_ALIVE_MILLIS,
+                TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<Runnable>(),
+                Log4jThreadFactory.createThreadFactory("RollingFileManager"));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the executor shared by all rolling file managers.
+     *
+     * @return the shared executor
+     */
+    public static RolloverExecutor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets the number of threads configured with the {@value #THREADS_PROPERTY} property.
+     *
+     * @return the maximum number of threads
+     */
+    public static int getConfiguredThreads() {
+        final int threads = PropertiesUtil.getProperties()
+                .getIntegerProperty(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors() / 2);
+        return Math.max(1, threads);
+    }
+
+    /**
+     * Schedules an action.
+     *
+     * @param action the action to run
+     * @param completion run once the action has been run, whether successfully or not
+     * @return the task running the action
+     */
+    Task submit(final Action action, final Runnable completion) {
+        final Task task = new Task(action, completion, sequence.getAndIncrement());
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Returns the maximum number of threads running actions.
+     *
+     * @return the maximum number of threads
+     */
+    public int getMaxThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Returns the number of threads currently running actions.
+     *
+     * @return the number of active threads
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Returns the number of actions waiting for a thread.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of actions that have completed successfully.
+     *
+     * @return the number of completed actions
+     */
+    public long getCompletedActionCount() {
+        return completedCount.sum();
+    }
+
+    /**
+     * Returns the number of actions that have failed or thrown an exception.
+     *
+     * @return the number of failed actions
+     */
+    public long getFailedActionCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Returns the total time spent running actions.
+     *
+     * @return the sum of action durations in milliseconds
+     */
+    public long getTotalActionDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalDurationNanos.sum());
+    }
+
+    /**
+     * Returns the duration of the longest action.
+     *
+     * @return the maximum action duration in milliseconds
+     */
+    public long getMaxActionDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxDurationNanos.get());
+    }
+
+    /**
+     * Returns the number of bytes read by successful compressions.
+     *
+     * @return the number of uncompressed bytes
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    private void record(final long durationNanos, final boolean success, final long bytes) {
+        totalDurationNanos.add(durationNanos);
+        maxDurationNanos.accumulateAndGet(durationNanos, Math::max);
+        if (success) {
+            completedCount.increment();
+            compressedBytes.add(bytes);
+        } else {
+            failedCount.increment();
+        }
+    }
+
+    /**
+     * Returns the size of the files compressed by an action.
+     */
+    private static long compressedSize(final Action action) {
+        if (action instanceof CompositeAction) {
+            long size = 0;
+            for (final Action child : ((CompositeAction) action).getActions()) {
+                size += compressedSize(child);
+            }
+            return size;
+        }
+        final File source = compressedSource(action);
+        return source != null ? source.length() : 0;
+    }
+
+    private static boolean isCompressing(final Action action) {
+        if (action instanceof CompositeAction) {
+            for (final Action child : ((CompositeAction) action).getActions()) {
+                if (isCompressing(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return compressedSource(action) != null;
+    }
+
+    private static File compressedSource(final Action action) {
+        if (action instanceof GzCompressAction) {
+            return ((GzCompressAction) action).getSource();
+        } else if (action instanceof ParallelGzCompressAction) {
+            return ((ParallelGzCompressAction) action).getSource();
+        } else if (action instanceof ZipCompressAction) {
+            return ((ZipCompressAction) action).getSource();
+        } else if (action instanceof CommonsCompressAction) {
+            return ((CommonsCompressAction) action).getSource();
+        }
+        return null;
+    }
+
+    /**
+     * An action waiting for or run by the executor.
+     */
+    final class Task implements Runnable, Comparable<Task> {
+
+        private final Action action;
+        private final Runnable completion;
+        private final long sequence;
+        private final boolean compressing;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Task(final Action action, final Runnable completion, final long sequence) {
+            this.action = action;
+            this.completion = completion;
+            this.sequence = sequence;
+            this.compressing = isCompressing(action);
+        }
+
+        @Override
+        public void run() {
+            runIfPending();
+        }
+
+        /**
+         * Runs the action on the calling thread unless it has already been started.
+         *
+         * @return {@code true} if the action was run by this call
+         */
+        boolean runIfPending() {
+            if (!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+            executor.remove(this);
+            final long bytes = compressedSize(action);
+            final long start = System.nanoTime();
+            boolean success = false;
+            try {
+                success = action.execute();
+            } catch (final RuntimeException | IOException ex) {
+                LOGGER.warn("Exception reported by action '{}'", action.getClass(), ex);
+            } catch (final Error e) {
+                LOGGER.warn("Exception reported by action '{}'", action.getClass(), new RuntimeException(e));
+            } finally {
+                record(System.nanoTime() - start, success, bytes);
+                completion.run();
+            }
+            return true;
+        }
+
+        @Override
+        public int compareTo(final Task other) {
+            if (compressing != other.compressing) {
+                return compressing ? 1 : -1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public String toString() {
+            return "RolloverExecutor.Task[action=" + action + ", compressing=" + compressing + "]";
+        }
+    }
+}
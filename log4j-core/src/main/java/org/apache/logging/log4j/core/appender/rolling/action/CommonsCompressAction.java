@@ -35,7 +35,7 @@ public final class CommonsCompressAction extends AbstractAction {
     private static final int BUF_SIZE = 8192;
 
     /**
-     * Compressor name. One of "gz", "bzip2", "xz", "zst", "pack200" or "deflate".
+     * Compressor name. One of "gz", "bzip2", "xz", "zst", "pack200", "deflate" or "lz4-framed".
      */
     private final String name;
 
@@ -57,7 +57,7 @@ public final class CommonsCompressAction extends AbstractAction {
     /**
      * Creates new instance of Bzip2CompressAction.
      *
-     * @param name the compressor name. One of "gz", "bzip2", "xz", "zst", "pack200", or "deflate".
+     * @param name the compressor name. One of "gz", "bzip2", "xz", "zst", "pack200", "deflate", or "lz4-framed".
      * @param source file to compress, may not be null.
      * @param destination compressed file, may not be null.
      * @param deleteSource if true, attempt to delete file on completion. Failure to delete does not cause an exception
@@ -87,7 +87,7 @@ public final class CommonsCompressAction extends AbstractAction {
     /**
      * Compresses a file.
      *
-     * @param name the compressor name, i.e. "gz", "bzip2", "xz", "zstd", "pack200", or "deflate".
+     * @param name the compressor name, i.e. "gz", "bzip2", "xz", "zstd", "pack200", "deflate", or "lz4-framed".
      * @param source file to compress, may not be null.
      * @param destination compressed file, may not be null.
      * @param deleteSource if true, attempt to delete file on completion. Failure to delete does not cause an exception
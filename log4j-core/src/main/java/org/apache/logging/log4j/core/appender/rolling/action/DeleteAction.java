@@ -40,6 +40,8 @@ public class DeleteAction extends AbstractPathAction {
     private final PathSorter pathSorter;
     private final boolean testMode;
     private final ScriptCondition scriptCondition;
+    private final boolean indexed;
+    private RetentionIndex index;
 
     /**
      * Creates a new DeleteAction that starts scanning for files to delete from the specified base path.
@@ -56,6 +58,7 @@ public class DeleteAction extends AbstractPathAction {
      * @param pathConditions an array of path filters (if more than one, they all need to accept a path before it is
      *            deleted).
      * @param scriptCondition
+     * @param indexed if true, the files are only walked once and kept in a {@link RetentionIndex}.
      */
     DeleteAction(
             final String basePath,
@@ -65,11 +68,13 @@ public class DeleteAction extends AbstractPathAction {
             final PathSorter sorter,
             final PathCondition[] pathConditions,
             final ScriptCondition scriptCondition,
-            final StrSubstitutor subst) {
+            final StrSubstitutor subst,
+            final boolean indexed) {
         super(basePath, followSymbolicLinks, maxDepth, pathConditions, subst);
         this.testMode = testMode;
         this.pathSorter = Objects.requireNonNull(sorter, "sorter");
         this.scriptCondition = scriptCondition;
+        this.indexed = indexed && maxDepth > 0;
         if (scriptCondition == null && (pathConditions == null || pathConditions.length == 0)) {
             LOGGER.error("Missing Delete conditions: unconditional Delete not supported");
             throw new IllegalArgumentException("Unconditional Delete not supported");
@@ -122,8 +127,31 @@ public class DeleteAction extends AbstractPathAction {
      * @throws IOException if a problem occurred deleting the file
      */
     protected void delete(final Path path) throws IOException {
+        if (isChangedSinceIndexed(path)) {
+            return;
+        }
         LOGGER.trace("Deleting {}", path);
         Files.deleteIfExists(path);
+        deleted(path);
+    }
+
+    /**
+     * Checks the attributes of an indexed file before it is deleted, since they were not read again by the walk.
+     */
+    private boolean isChangedSinceIndexed(final Path path) {
+        final RetentionIndex current = index;
+        if (current != null && path != null && !current.isUnchanged(path)) {
+            LOGGER.debug("Not deleting {}, which has changed since it was indexed", path);
+            return true;
+        }
+        return false;
+    }
+
+    private void deleted(final Path path) {
+        final RetentionIndex current = index;
+        if (current != null && path != null) {
+            current.remove(path);
+        }
     }
 
     /*
@@ -162,6 +190,9 @@ public class DeleteAction extends AbstractPathAction {
      * @throws IOException
      */
     List<PathWithAttributes> getSortedPaths() throws IOException {
+        if (indexed) {
+            return getIndex().update();
+        }
         final SortingVisitor sort = new SortingVisitor(pathSorter);
         super.execute(sort);
         final List<PathWithAttributes> sortedPaths = sort.getSortedPaths();
@@ -177,9 +208,39 @@ public class DeleteAction extends AbstractPathAction {
         return testMode;
     }
 
+    /**
+     * Returns {@code true} if the files are walked once and then kept in an index, {@code false} otherwise.
+     *
+     * @return {@code true} if the files are indexed
+     * @since 2.24.0
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    private synchronized RetentionIndex getIndex() {
+        final Path basePath = getBasePath();
+        // The base path changes if it contains date lookups
+        if (index == null || !index.getBasePath().equals(basePath)) {
+            index = new RetentionIndex(basePath, getOptions(), getMaxDepth(), pathSorter);
+        }
+        return index;
+    }
+
     @Override
     protected FileVisitor<Path> createFileVisitor(final Path visitorBaseDir, final List<PathCondition> conditions) {
-        return new DeletingVisitor(visitorBaseDir, conditions, testMode);
+        if (!indexed) {
+            return new DeletingVisitor(visitorBaseDir, conditions, testMode);
+        }
+        return new DeletingVisitor(visitorBaseDir, conditions, testMode) {
+            @Override
+            protected void delete(final Path file) throws IOException {
+                if (!isChangedSinceIndexed(file)) {
+                    super.delete(file);
+                    deleted(file);
+                }
+            }
+        };
     }
 
     /**
@@ -194,11 +255,16 @@ public class DeleteAction extends AbstractPathAction {
      *            href="http://logging.apache.org/log4j/2.x/manual/configuration.html#StatusMessages">status logger</a>
      *            at INFO level. Users can use this to do a dry run to test if their configuration works as expected.
      *            Default is false.
+     * @param indexed if true, the file tree is walked once and the files are then kept in memory: later executions
+     *            only list the directories and read the attributes of new and recently modified files.
+     *            Default is false.
      * @param sorterParameter a plugin implementing the {@link PathSorter} interface
      * @param pathConditions an array of path conditions (if more than one, they all need to accept a path before it is
      *            deleted).
+     * @param scriptCondition a script selecting the files to delete.
      * @param config The Configuration.
      * @return A DeleteAction.
+     * @since 2.24.0
      */
     @PluginFactory
     public static DeleteAction createDeleteAction(
@@ -207,6 +273,7 @@ public class DeleteAction extends AbstractPathAction {
             @PluginAttribute(value = "followLinks") final boolean followLinks,
             @PluginAttribute(value = "maxDepth", defaultInt = 1) final int maxDepth,
             @PluginAttribute(value = "testMode") final boolean testMode,
+            @PluginAttribute(value = "indexed") final boolean indexed,
             @PluginElement("PathSorter") final PathSorter sorterParameter,
             @PluginElement("PathConditions") final PathCondition[] pathConditions,
             @PluginElement("ScriptCondition") final ScriptCondition scriptCondition,
@@ -221,6 +288,49 @@ public class DeleteAction extends AbstractPathAction {
                 sorter,
                 pathConditions,
                 scriptCondition,
-                config.getStrSubstitutor());
+                config.getStrSubstitutor(),
+                indexed);
+    }
+
+    /**
+     * Create a DeleteAction.
+     *
+     * @param basePath base path from where to start scanning for files to delete.
+     * @param followLinks whether to follow symbolic links. Default is false.
+     * @param maxDepth The maxDepth parameter is the maximum number of levels of directories to visit. A value of 0
+     *            means that only the starting file is visited, unless denied by the security manager. A value of
+     *            MAX_VALUE may be used to indicate that all levels should be visited.
+     * @param testMode if true, files are not deleted but instead a message is printed to the <a
+     *            href="http://logging.apache.org/log4j/2.x/manual/configuration.html#StatusMessages">status logger</a>
+     *            at INFO level. Users can use this to do a dry run to test if their configuration works as expected.
+     *            Default is false.
+     * @param sorterParameter a plugin implementing the {@link PathSorter} interface
+     * @param pathConditions an array of path conditions (if more than one, they all need to accept a path before it is
+     *            deleted).
+     * @param config The Configuration.
+     * @return A DeleteAction.
+     * @deprecated Use {@link #createDeleteAction(String, boolean, int, boolean, boolean, PathSorter, PathCondition[],
+     *             ScriptCondition, Configuration)}.
+     */
+    @Deprecated
+    public static DeleteAction createDeleteAction(
+            final String basePath,
+            final boolean followLinks,
+            final int maxDepth,
+            final boolean testMode,
+            final PathSorter sorterParameter,
+            final PathCondition[] pathConditions,
+            final ScriptCondition scriptCondition,
+            final Configuration config) {
+        return createDeleteAction(
+                basePath,
+                followLinks,
+                maxDepth,
+                testMode,
+                false,
+                sorterParameter,
+                pathConditions,
+                scriptCondition,
+                config);
     }
 }
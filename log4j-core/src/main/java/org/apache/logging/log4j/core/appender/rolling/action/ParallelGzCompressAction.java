@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Compresses a file using GZ compression on several threads.
+ * <p>
+ * The file is split into blocks of {@value #BLOCK_SIZE} bytes, which are compressed in parallel into independent
+ * members of a multi-member GZ file, as done by {@code pigz}. Such files are read by {@code gunzip} and
+ * {@link java.util.zip.GZIPInputStream} like single-member files. At most two blocks per thread are held in memory.
+ * </p>
+ * <p>
+ * Files not larger than one block are compressed on the calling thread, as {@link GzCompressAction} does.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public final class ParallelGzCompressAction extends AbstractAction {
+
+    /**
+     * The property holding the number of threads used to compress a GZ file; GZ files are compressed by
+     * {@link GzCompressAction} on the rollover thread if it is not greater than 1.
+     */
+    public static final String THREADS_PROPERTY = "log4j2.gzCompressionThreads";
+
+    /**
+     * The size of the blocks compressed independently.
+     */
+    static final int BLOCK_SIZE = 1024 * 1024;
+
+    private static final int BUF_SIZE = 64 * 1024;
+
+    /**
+     * The fixed header of a GZ member: magic number, deflate method, no flags, no modification time.
+     */
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private static final int TRAILER_SIZE = 8;
+
+    private final File source;
+
+    private final File destination;
+
+    private final boolean deleteSource;
+
+    private final int compressionLevel;
+
+    private final int threads;
+
+    /**
+     * Creates new instance of ParallelGzCompressAction.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param compressionLevel
+     *                     Gzip deflater compression level.
+     * @param threads      the number of threads compressing blocks.
+     */
+    public ParallelGzCompressAction(
+            final File source,
+            final File destination,
+            final boolean deleteSource,
+            final int compressionLevel,
+            final int threads) {
+        this.source = Objects.requireNonNull(source, "source");
+        this.destination = Objects.requireNonNull(destination, "destination");
+        this.deleteSource = deleteSource;
+        this.compressionLevel = compressionLevel;
+        this.threads = threads;
+    }
+
+    /**
+     * Gets the number of threads configured with the {@value #THREADS_PROPERTY} property.
+     *
+     * @return the number of threads, 1 by default
+     */
+    public static int getConfiguredThreads() {
+        return PropertiesUtil.getProperties().getIntegerProperty(THREADS_PROPERTY, 1);
+    }
+
+    /**
+     * Compress.
+     *
+     * @return true if successfully compressed.
+     * @throws IOException on IO exception.
+     */
+    @Override
+    public boolean execute() throws IOException {
+        return execute(source, destination, deleteSource, compressionLevel, threads);
+    }
+
+    /**
+     * Compress a file.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param compressionLevel
+     *                     Gzip deflater compression level.
+     * @param threads      the number of threads compressing blocks.
+     * @return true if source file compressed.
+     * @throws IOException on IO exception.
+     */
+    public static boolean execute(
+            final File source,
+            final File destination,
+            final boolean deleteSource,
+            final int compressionLevel,
+            final int threads)
+            throws IOException {
+        if (threads <= 1 || source.length() <= BLOCK_SIZE) {
+            return GzCompressAction.execute(source, destination, deleteSource, compressionLevel);
+        }
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(threads, Log4jThreadFactory.createDaemonThreadFactory("GzCompress"));
+        try (final InputStream input = new FileInputStream(source);
+                final OutputStream output = new FileOutputStream(destination)) {
+            final Deque<Future<byte[]>> members = new ArrayDeque<>();
+            byte[] block;
+            while ((block = readBlock(input)) != null) {
+                final byte[] data = block;
+                members.add(executor.submit(() -> compressMember(data, compressionLevel)));
+                if (members.size() >= 2 * threads) {
+                    output.write(await(members.remove()));
+                }
+            }
+            while (!members.isEmpty()) {
+                output.write(await(members.remove()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (deleteSource && !source.delete()) {
+            LOGGER.warn("Unable to delete {}.", source);
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads the next block of the file.
+     *
+     * @return the block, shorter than {@link #BLOCK_SIZE} only at the end of the file, or {@code null} at the end
+     */
+    private static byte[] readBlock(final InputStream input) throws IOException {
+        final byte[] block = new byte[BLOCK_SIZE];
+        int length = 0;
+        int n;
+        while (length < BLOCK_SIZE && (n = input.read(block, length, BLOCK_SIZE - length)) != -1) {
+            length += n;
+        }
+        if (length == 0) {
+            return null;
+        }
+        return length < BLOCK_SIZE ? Arrays.copyOf(block, length) : block;
+    }
+
+    /**
+     * Compresses a block into a complete GZ member.
+     */
+    static byte[] compressMember(final byte[] data, final int compressionLevel) {
+        final Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            final ByteArrayOutputStream member = new ByteArrayOutputStream(data.length / 4 + HEADER.length);
+            member.write(HEADER, 0, HEADER.length);
+            deflater.setInput(data);
+            deflater.finish();
+            final byte[] buffer = new byte[BUF_SIZE];
+            while (!deflater.finished()) {
+                member.write(buffer, 0, deflater.deflate(buffer));
+            }
+            final CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length);
+            final byte[] trailer = new byte[TRAILER_SIZE];
+            writeIntLE(trailer, 0, (int) crc.getValue());
+            writeIntLE(trailer, 4, data.length);
+            member.write(trailer, 0, TRAILER_SIZE);
+            return member.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeIntLE(final byte[] buffer, final int offset, final int value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >>> 8);
+        buffer[offset + 2] = (byte) (value >>> 16);
+        buffer[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private static byte[] await(final Future<byte[]> member) throws IOException {
+        try {
+            return member.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing");
+        } catch (final ExecutionException e) {
+            throw new IOException("Unable to compress block", e.getCause());
+        }
+    }
+
+    /**
+     * Capture exception.
+     *
+     * @param ex exception.
+     */
+    @Override
+    protected void reportException(final Exception ex) {
+        LOGGER.warn("Exception during compression of '" + source.toString() + "'.", ex);
+    }
+
+    @Override
+    public String toString() {
+        return ParallelGzCompressAction.class.getSimpleName() + '[' + source + " to " + destination + ", deleteSource="
+                + deleteSource + ", threads=" + threads + ']';
+    }
+
+    public File getSource() {
+        return source;
+    }
+
+    public File getDestination() {
+        return destination;
+    }
+
+    public boolean isDeleteSource() {
+        return deleteSource;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Index of the files visited by a {@link DeleteAction}, which spares reading the attributes of every file at each
+ * rollover.
+ * <p>
+ * The index is seeded by walking the file tree once. Afterwards, directories are only listed: the attributes of new
+ * files are read, removed files are dropped, and the attributes of files modified since the previous update are read
+ * again. Files are considered modified if their last modification time is not older than the previous update.
+ * </p>
+ * <p>
+ * The files are kept sorted, so that only the changed files are sorted on update.
+ * </p>
+ */
+final class RetentionIndex {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    /**
+     * The tolerance applied to modification times, which some file systems only store with a precision of 2 seconds.
+     */
+    private static final long MODIFICATION_TOLERANCE_MILLIS = 2000;
+
+    private final Path basePath;
+    private final Set<FileVisitOption> options;
+    private final LinkOption[] linkOptions;
+    private final int maxDepth;
+    private final PathSorter sorter;
+
+    /**
+     * The directories listed on update, each with the files it contains.
+     */
+    private final Map<Path, Directory> directories = new HashMap<>();
+
+    /**
+     * The indexed files, sorted. Entries that have been replaced or removed since the last update are dropped on
+     * update.
+     */
+    private List<PathWithAttributes> sorted = new ArrayList<>();
+
+    /**
+     * The files added or read again since the last update.
+     */
+    private final List<PathWithAttributes> changed = new ArrayList<>();
+
+    private boolean removed;
+
+    private boolean seeded;
+    private long updateMillis;
+
+    RetentionIndex(
+            final Path basePath, final Set<FileVisitOption> options, final int maxDepth, final PathSorter sorter) {
+        this.basePath = Objects.requireNonNull(basePath, "basePath");
+        this.sorter = Objects.requireNonNull(sorter, "sorter");
+        this.options = options;
+        this.linkOptions = options.contains(FileVisitOption.FOLLOW_LINKS)
+                ? new LinkOption[0]
+                : new LinkOption[] {LinkOption.NOFOLLOW_LINKS};
+        this.maxDepth = maxDepth;
+    }
+
+    Path getBasePath() {
+        return basePath;
+    }
+
+    /**
+     * Brings the index up to date.
+     *
+     * @return the indexed files, sorted
+     * @throws IOException if a directory cannot be read
+     */
+    synchronized List<PathWithAttributes> update() throws IOException {
+        final long start = System.currentTimeMillis();
+        if (seeded) {
+            reconcile(updateMillis - MODIFICATION_TOLERANCE_MILLIS);
+        } else {
+            directories.clear();
+            sorted.clear();
+            changed.clear();
+            walk(basePath, maxDepth);
+            // Try again next time if the base path does not exist yet
+            seeded = !directories.isEmpty();
+        }
+        updateMillis = start;
+        if (removed || !changed.isEmpty()) {
+            sorted = merge();
+        }
+        return new ArrayList<>(sorted);
+    }
+
+    private List<PathWithAttributes> merge() {
+        final List<PathWithAttributes> result = new ArrayList<>(sorted.size() + changed.size());
+        Collections.sort(changed, sorter);
+        int i = 0;
+        for (final PathWithAttributes path : sorted) {
+            if (isCurrent(path)) {
+                while (i < changed.size() && sorter.compare(changed.get(i), path) < 0) {
+                    addIfCurrent(result, changed.get(i++));
+                }
+                result.add(path);
+            }
+        }
+        while (i < changed.size()) {
+            addIfCurrent(result, changed.get(i++));
+        }
+        changed.clear();
+        removed = false;
+        return result;
+    }
+
+    private void addIfCurrent(final List<PathWithAttributes> result, final PathWithAttributes path) {
+        // A file may have been read again or removed after it was added
+        if (isCurrent(path)) {
+            result.add(path);
+        }
+    }
+
+    private boolean isCurrent(final PathWithAttributes path) {
+        final Directory directory = directories.get(path.getPath().getParent());
+        return directory != null && directory.files.get(path.getPath()) == path;
+    }
+
+    /**
+     * Checks whether an indexed file is unchanged before it is deleted, updating its attributes otherwise.
+     *
+     * @param path an indexed file
+     * @return {@code true} if the file still has the indexed attributes
+     */
+    synchronized boolean isUnchanged(final Path path) {
+        final Directory directory = directories.get(path.getParent());
+        final PathWithAttributes entry = directory != null ? directory.files.get(path) : null;
+        if (entry == null) {
+            return false;
+        }
+        final BasicFileAttributes indexed = entry.getAttributes();
+        try {
+            final BasicFileAttributes current = Files.readAttributes(path, BasicFileAttributes.class, linkOptions);
+            if (current.size() == indexed.size()
+                    && current.lastModifiedTime().equals(indexed.lastModifiedTime())
+                    && Objects.equals(current.fileKey(), indexed.fileKey())) {
+                return true;
+            }
+            put(directory, path, current);
+        } catch (final IOException e) {
+            remove(directory, path);
+        }
+        return false;
+    }
+
+    /**
+     * Removes a deleted file.
+     *
+     * @param path a deleted file
+     */
+    synchronized void remove(final Path path) {
+        final Directory directory = directories.get(path.getParent());
+        if (directory != null) {
+            remove(directory, path);
+        }
+    }
+
+    /**
+     * Returns the number of indexed files.
+     *
+     * @return the number of files
+     */
+    synchronized int size() {
+        int size = 0;
+        for (final Directory directory : directories.values()) {
+            size += directory.files.size();
+        }
+        return size;
+    }
+
+    private void walk(final Path start, final int depth) throws IOException {
+        Files.walkFileTree(start, options, depth, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                directories.put(dir, new Directory(depth(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                final Directory directory = directories.get(file.getParent());
+                if (directory != null) {
+                    put(directory, file, attrs);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException ioException) throws IOException {
+                // Appenders may rollover and purge in parallel.
+                if (ioException instanceof NoSuchFileException) {
+                    return FileVisitResult.CONTINUE;
+                }
+                return super.visitFileFailed(file, ioException);
+            }
+        });
+    }
+
+    private int depth(final Path dir) {
+        return dir.equals(basePath) ? 0 : basePath.relativize(dir).getNameCount();
+    }
+
+    private void reconcile(final long modifiedSinceMillis) throws IOException {
+        final List<Path> listed = new ArrayList<>(directories.keySet());
+        for (final Path dir : listed) {
+            final Directory directory = directories.get(dir);
+            if (directory != null) {
+                reconcile(dir, directory, modifiedSinceMillis);
+            }
+        }
+    }
+
+    private void reconcile(final Path dir, final Directory directory, final long modifiedSinceMillis)
+            throws IOException {
+        final Set<Path> present = new HashSet<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (final Path entry : stream) {
+                present.add(entry);
+                final PathWithAttributes indexed = directory.files.get(entry);
+                if (indexed == null) {
+                    if (!directories.containsKey(entry)) {
+                        add(directory, entry);
+                    }
+                } else if (indexed.getAttributes().lastModifiedTime().toMillis() >= modifiedSinceMillis) {
+                    refresh(directory, entry);
+                }
+            }
+        } catch (final NoSuchFileException e) {
+            LOGGER.debug("Directory {} has been removed", dir);
+            removeDirectory(dir);
+            return;
+        }
+        removed |= directory.files.keySet().retainAll(present);
+        final Iterator<Path> it = directories.keySet().iterator();
+        final List<Path> removed = new ArrayList<>();
+        while (it.hasNext()) {
+            final Path child = it.next();
+            if (dir.equals(child.getParent()) && !present.contains(child)) {
+                removed.add(child);
+            }
+        }
+        for (final Path child : removed) {
+            removeDirectory(child);
+        }
+    }
+
+    private void add(final Directory directory, final Path entry) throws IOException {
+        final BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(entry, BasicFileAttributes.class, linkOptions);
+        } catch (final NoSuchFileException e) {
+            return;
+        }
+        final int depth = directory.depth + 1;
+        if (attrs.isDirectory() && depth < maxDepth) {
+            walk(entry, maxDepth - depth);
+        } else {
+            put(directory, entry, attrs);
+        }
+    }
+
+    private void refresh(final Directory directory, final Path entry) {
+        try {
+            put(directory, entry, Files.readAttributes(entry, BasicFileAttributes.class, linkOptions));
+        } catch (final IOException e) {
+            remove(directory, entry);
+        }
+    }
+
+    private void put(final Directory directory, final Path file, final BasicFileAttributes attrs) {
+        final PathWithAttributes entry = new PathWithAttributes(file, attrs);
+        directory.files.put(file, entry);
+        changed.add(entry);
+    }
+
+    private void remove(final Directory directory, final Path file) {
+        removed |= directory.files.remove(file) != null;
+    }
+
+    private void removeDirectory(final Path dir) {
+        final Iterator<Path> it = directories.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().startsWith(dir)) {
+                it.remove();
+                removed = true;
+            }
+        }
+        if (directories.isEmpty()) {
+            seeded = false;
+        }
+    }
+
+    private static final class Directory {
+
+        private final int depth;
+        private final Map<Path, PathWithAttributes> files = new HashMap<>();
+
+        private Directory(final int depth) {
+            this.depth = depth;
+        }
+    }
+}
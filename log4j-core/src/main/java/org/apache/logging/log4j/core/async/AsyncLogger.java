@@ -43,6 +43,7 @@ import org.apache.logging.log4j.spi.AbstractLogger;
 import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.StackLocatorUtil;
 import org.apache.logging.log4j.util.StringMap;
+import org.apache.logging.log4j.util.VirtualThreadUtil;
 
 /**
  * AsyncLogger is a logger designed for high throughput and low latency logging. It does not perform any I/O in the
@@ -124,7 +125,10 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         RingBufferLogEventTranslator result = threadLocalTranslator.get();
         if (result == null) {
             result = new RingBufferLogEventTranslator();
-            threadLocalTranslator.set(result);
+            // see {@link VirtualThreadUtil}
+            if (!VirtualThreadUtil.isCurrentThreadVirtual()) {
+                threadLocalTranslator.set(result);
+            }
         }
         return result;
     }
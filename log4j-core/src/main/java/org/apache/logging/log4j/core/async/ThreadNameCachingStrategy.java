@@ -22,9 +22,13 @@ import org.apache.logging.log4j.core.util.Integers;
 import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.Constants;
 import org.apache.logging.log4j.util.PropertiesUtil;
+import org.apache.logging.log4j.util.VirtualThreadUtil;
 
 /**
  * Strategy for deciding whether thread name should be cached or not.
+ * <p>
+ * Thread names of virtual threads are never cached, since the cache would hold an entry for each virtual thread.
+ * </p>
  */
 public enum ThreadNameCachingStrategy { // LOG4J2-467
     CACHED {
@@ -32,8 +36,11 @@ public enum ThreadNameCachingStrategy { // LOG4J2-467
         public String getThreadName() {
             String result = THREADLOCAL_NAME.get();
             if (result == null) {
-                result = Thread.currentThread().getName();
-                THREADLOCAL_NAME.set(result);
+                final Thread currentThread = Thread.currentThread();
+                result = currentThread.getName();
+                if (!VirtualThreadUtil.isVirtual(currentThread)) {
+                    THREADLOCAL_NAME.set(result);
+                }
             }
             return result;
         }
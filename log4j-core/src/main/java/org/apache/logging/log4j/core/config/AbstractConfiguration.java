@@ -25,7 +25,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -132,6 +134,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     private String name;
     private ConcurrentMap<String, Appender> appenders = new ConcurrentHashMap<>();
     private ConcurrentMap<String, LoggerConfig> loggerConfigs = new ConcurrentHashMap<>();
+    private volatile LoggerConfigIndex loggerConfigIndex;
     private List<CustomLevelConfig> customLevels = Collections.emptyList();
     private final ConcurrentMap<String, String> propertyMap = new ConcurrentHashMap<>();
     private final Interpolator tempLookup = new Interpolator(propertyMap);
@@ -146,6 +149,11 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     private AsyncWaitStrategyFactory asyncWaitStrategyFactory;
     private NanoClock nanoClock = new DummyNanoClock();
     private final WeakReference<LoggerContext> loggerContext;
+    private final boolean incrementalReconfiguration = IncrementalReconfiguration.isEnabled();
+    private final Map<String, String> appenderFingerprints = new HashMap<>();
+    private final Set<String> dependentAppenders = new HashSet<>();
+    private final Set<Appender> reusedAppenders = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<String, AbstractConfiguration> reusedAppenderOrigins = new HashMap<>();
 
     /**
      * Constructor.
@@ -326,8 +334,13 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             logger.start();
             alreadyStarted.add(logger);
         }
-        for (final Appender appender : appenders.values()) {
-            appender.start();
+        if (incrementalReconfiguration) {
+            rebindReusedAppenders();
+            startAppenders();
+        } else {
+            for (final Appender appender : appenders.values()) {
+                appender.start();
+            }
         }
         if (!alreadyStarted.contains(root)) { // LOG4J2-392
             root.start(); // LOG4J2-336
@@ -336,6 +349,38 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         LOGGER.debug("Started configuration {} OK.", this);
     }
 
+    /**
+     * Resolves the variables of the configurations that created the appenders taken over by this one with the
+     * properties of this configuration, since their layouts and other components keep using the substitutors of the
+     * configuration they were created with.
+     */
+    private void rebindReusedAppenders() {
+        for (final AbstractConfiguration origin : new HashSet<>(reusedAppenderOrigins.values())) {
+            LOGGER.debug("Resolving the variables of {} with the properties of {}.", origin, this);
+            origin.runtimeStrSubstitutor.setVariableResolver(runtimeStrSubstitutor.getVariableResolver());
+            origin.configurationStrSubstitutor.setVariableResolver(configurationStrSubstitutor.getVariableResolver());
+        }
+    }
+
+    private void startAppenders() {
+        final List<Appender> independent = new ArrayList<>();
+        final List<Appender> dependent = new ArrayList<>();
+        for (final Map.Entry<String, Appender> entry : appenders.entrySet()) {
+            final Appender appender = entry.getValue();
+            if (!reusedAppenders.contains(appender)) {
+                (dependentAppenders.contains(entry.getKey()) ? dependent : independent).add(appender);
+            }
+        }
+        LOGGER.debug(
+                "Starting {} Appenders, {} Appenders were taken over from the previous configuration.",
+                independent.size() + dependent.size(),
+                reusedAppenders.size());
+        IncrementalReconfiguration.start(independent);
+        for (final Appender appender : dependent) {
+            appender.start();
+        }
+    }
+
     private boolean hasAsyncLoggers() {
         if (root instanceof AsyncLoggerConfig) {
             return true;
@@ -402,7 +447,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         root.getReliabilityStrategy().beforeStopAppenders();
 
         // Stop the appenders in reverse order in case they still have activity.
-        final Appender[] array = appenders.values().toArray(Appender.EMPTY_ARRAY);
+        final Appender[] array = getAppendersToStop();
         final List<Appender> async = getAsyncAppenders(array);
         if (!async.isEmpty()) {
             // LOG4J2-511, LOG4J2-392 stop AsyncAppenders first
@@ -455,6 +500,35 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         return true;
     }
 
+    private Appender[] getAppendersToStop() {
+        final Appender[] all = appenders.values().toArray(Appender.EMPTY_ARRAY);
+        final AbstractConfiguration successor = getRunningConfiguration();
+        if (successor == null || successor.reusedAppenders.isEmpty()) {
+            return all;
+        }
+        // appenders taken over by the configuration that replaced this one keep running
+        final List<Appender> owned = new ArrayList<>(all.length);
+        for (final Appender appender : all) {
+            if (!successor.reusedAppenders.contains(appender)) {
+                owned.add(appender);
+            }
+        }
+        LOGGER.trace("{} leaves {} Appenders running for {}.", this, all.length - owned.size(), successor);
+        return owned.toArray(Appender.EMPTY_ARRAY);
+    }
+
+    /**
+     * Returns the started configuration of the logger context if it is not this one: while this configuration is
+     * being initialized, the one it will replace, and while this configuration is being stopped, its replacement.
+     */
+    private AbstractConfiguration getRunningConfiguration() {
+        final LoggerContext context = loggerContext.get();
+        final Configuration running = context != null ? context.getConfiguration() : null;
+        return running != this && running instanceof AbstractConfiguration && running.isStarted()
+                ? (AbstractConfiguration) running
+                : null;
+    }
+
     private List<Appender> getAsyncAppenders(final Appender[] all) {
         final List<Appender> result = new ArrayList<>();
         for (int i = all.length - 1; i >= 0; --i) {
@@ -682,7 +756,11 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
                 // We already used this node
                 continue;
             }
-            createConfiguration(child, null);
+            if (incrementalReconfiguration && "Appenders".equalsIgnoreCase(child.getName())) {
+                createAppenders(child);
+            } else {
+                createConfiguration(child, null);
+            }
             if (child.getObject() == null) {
                 continue;
             }
@@ -755,6 +833,76 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         setParents();
     }
 
+    /**
+     * Creates the appenders of an {@code Appenders} element, taking over the running appenders whose elements did not
+     * change.
+     */
+    private void createAppenders(final Node node) {
+        if (node.getType() == null) {
+            // the element creates its appenders itself, as in a PrecompiledConfiguration
+            createConfiguration(node, null);
+            return;
+        }
+        final AbstractConfiguration previous = getRunningConfiguration();
+        for (final Node child : node.getChildren()) {
+            final String appenderName =
+                    IncrementalReconfiguration.getAttribute(child, "name", configurationStrSubstitutor);
+            final boolean selfContained = IncrementalReconfiguration.isSelfContained(child);
+            final String fingerprint =
+                    selfContained ? IncrementalReconfiguration.fingerprint(child, configurationStrSubstitutor) : null;
+            if (appenderName != null) {
+                if (fingerprint != null) {
+                    appenderFingerprints.put(appenderName, fingerprint);
+                }
+                if (IncrementalReconfiguration.referencesAppenders(child)) {
+                    dependentAppenders.add(appenderName);
+                }
+            }
+            final Appender running = previous != null && fingerprint != null
+                    ? previous.getReusableAppender(appenderName, fingerprint)
+                    : null;
+            if (running != null) {
+                LOGGER.debug("Taking over unchanged Appender {} from {}.", appenderName, previous);
+                child.setObject(running);
+                reusedAppenders.add(running);
+                reusedAppenderOrigins.put(appenderName, previous.getAppenderOrigin(appenderName));
+            } else {
+                createConfiguration(child, null);
+            }
+        }
+        final PluginType<?> type = node.getType();
+        if (type != null) {
+            node.setObject(createPluginObject(type, node, null));
+        }
+    }
+
+    private Appender getReusableAppender(final String appenderName, final String fingerprint) {
+        final Appender appender = appenderName != null ? appenders.get(appenderName) : null;
+        return appender != null && appender.isStarted() && fingerprint.equals(appenderFingerprints.get(appenderName))
+                ? appender
+                : null;
+    }
+
+    /**
+     * Returns the configuration that created an appender of this configuration.
+     */
+    private AbstractConfiguration getAppenderOrigin(final String appenderName) {
+        final AbstractConfiguration origin = reusedAppenderOrigins.get(appenderName);
+        return origin != null ? origin : this;
+    }
+
+    /**
+     * Returns the number of appenders that this configuration took over from the configuration it replaced, instead
+     * of creating them, because their configuration did not change. This is only done if incremental
+     * reconfiguration is enabled.
+     *
+     * @return the number of appenders taken over from the previous configuration.
+     * @since 2.24.0
+     */
+    public int getReusedAppenderCount() {
+        return reusedAppenders.size();
+    }
+
     public static Level getDefaultLevel() {
         final String levelName = PropertiesUtil.getProperties()
                 .getStringProperty(DefaultConfiguration.DEFAULT_LEVEL, Level.ERROR.name());
@@ -998,6 +1146,11 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
      */
     @Override
     public LoggerConfig getLoggerConfig(final String loggerName) {
+        final LoggerConfigIndex index = loggerConfigIndex;
+        if (index != null) {
+            final LoggerConfig loggerConfig = index.find(loggerName);
+            return loggerConfig != null ? loggerConfig : root;
+        }
         LoggerConfig loggerConfig = loggerConfigs.get(loggerName);
         if (loggerConfig != null) {
             return loggerConfig;
@@ -1188,6 +1341,8 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     }
 
     private void setParents() {
+        // every change to the LoggerConfigs ends here, so this is where the index is rebuilt
+        loggerConfigIndex = LoggerConfigIndex.of(loggerConfigs);
         for (final Map.Entry<String, LoggerConfig> entry : loggerConfigs.entrySet()) {
             final LoggerConfig logger = entry.getValue();
             String key = entry.getKey();
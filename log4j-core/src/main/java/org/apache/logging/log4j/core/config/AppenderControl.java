@@ -16,6 +16,9 @@
  */
 package org.apache.logging.log4j.core.config;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.Appender;
@@ -41,6 +44,7 @@ public class AppenderControl extends AbstractFilterable {
     private final Level level;
     private final int intLevel;
     private final String appenderName;
+    private final boolean batchAppender;
 
     /**
      * Constructor.
@@ -53,6 +57,7 @@ public class AppenderControl extends AbstractFilterable {
         super(filter);
         this.appender = Objects.requireNonNull(appender, "appender");
         this.appenderName = appender.getName();
+        this.batchAppender = overridesAppendBatch(appender);
         this.level = level;
         this.intLevel = level == null ? Level.ALL.intLevel() : level.intLevel();
         start();
@@ -88,6 +93,86 @@ public class AppenderControl extends AbstractFilterable {
         callAppenderPreventRecursion(event);
     }
 
+    /**
+     * Calls the appender with a batch of events, skipping the events rejected by the level or the filters.
+     * <p>
+     * Failures are handled for each event, as {@link #callAppender(LogEvent)} does: an event the appender fails to
+     * append is reported to the appender's error handler and, unless the appender ignores exceptions, returned to the
+     * caller. The remaining events of the batch are still appended.
+     * </p>
+     *
+     * @param events The events to process, in the order they were logged.
+     * @return the events that could not be appended, in order; empty if all events were appended or skipped
+     * @see Appender#appendBatch(List)
+     * @since 2.24.0
+     */
+    public List<LogEvent> callAppender(final List<LogEvent> events) {
+        if (isRecursiveCall()) {
+            return Collections.emptyList();
+        }
+        try {
+            recursive.set(this);
+            final List<LogEvent> accepted = filterBatch(events);
+            if (accepted.isEmpty()) {
+                return Collections.emptyList();
+            }
+            try {
+                ensureAppenderStarted();
+            } catch (final AppenderLoggingException e) {
+                return accepted;
+            }
+            if (batchAppender && tryCallAppender(accepted)) {
+                return Collections.emptyList();
+            }
+            List<LogEvent> failed = null;
+            for (int i = 0; i < accepted.size(); i++) {
+                final LogEvent event = accepted.get(i);
+                try {
+                    tryCallAppender(event);
+                } catch (final RuntimeException e) {
+                    if (failed == null) {
+                        failed = new ArrayList<>();
+                    }
+                    failed.add(event);
+                }
+            }
+            return failed != null ? failed : Collections.emptyList();
+        } finally {
+            recursive.set(null);
+        }
+    }
+
+    /**
+     * Checks whether the appender provides its own {@link Appender#appendBatch(List)}. The default implementation is
+     * not called, so that a failing event does not abort the rest of the batch.
+     */
+    private static boolean overridesAppendBatch(final Appender appender) {
+        try {
+            return appender.getClass().getMethod("appendBatch", List.class).getDeclaringClass() != Appender.class;
+        } catch (final NoSuchMethodException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the given events without those rejected by the level or the filters. The list is only copied if some
+     * event is rejected.
+     */
+    private List<LogEvent> filterBatch(final List<LogEvent> events) {
+        List<LogEvent> accepted = null;
+        for (int i = 0; i < events.size(); i++) {
+            final LogEvent event = events.get(i);
+            final boolean rejected =
+                    isFilteredByAppenderControl(event) || isFilteredByLevel(event) || isFilteredByAppender(event);
+            if (rejected && accepted == null) {
+                accepted = new ArrayList<>(events.subList(0, i));
+            } else if (!rejected && accepted != null) {
+                accepted.add(event);
+            }
+        }
+        return accepted != null ? accepted : events;
+    }
+
     private boolean shouldSkip(final LogEvent event) {
         return isFilteredByAppenderControl(event) || isFilteredByLevel(event) || isRecursiveCall();
     }
@@ -165,6 +250,22 @@ public class AppenderControl extends AbstractFilterable {
         }
     }
 
+    /**
+     * Appends the events with {@link Appender#appendBatch(List)}.
+     *
+     * @return {@code false} if the batch failed and its events must be appended one at a time
+     */
+    private boolean tryCallAppender(final List<LogEvent> events) {
+        try {
+            appender.appendBatch(events);
+            return true;
+        } catch (final Throwable throwable) {
+            final String msg = createErrorMsg("An exception occurred processing a batch in Appender ");
+            appender.getHandler().error(msg, throwable);
+            return false;
+        }
+    }
+
     private void handleAppenderError(final LogEvent event, final RuntimeException ex) {
         appender.getHandler().error(createErrorMsg("An exception occurred processing Appender "), event, ex);
         if (!appender.ignoreExceptions()) {
@@ -230,16 +230,16 @@ public class ConfigurationScheduler extends AbstractLifeCycle {
 
         @Override
         public void run() {
+            final Date scheduledFireDate = scheduledFuture.getFireTime();
+            final long millis = scheduledFireDate.getTime() - System.currentTimeMillis();
+            if (millis > 0) {
+                // The executor uses the monotonic clock, the fire date the wall clock: wait for the difference
+                // without blocking a scheduler thread.
+                LOGGER.debug("{} Cron thread woke up {} millis early. Rescheduling", name, millis);
+                scheduledFuture.reset(schedule(this, millis, TimeUnit.MILLISECONDS), scheduledFireDate);
+                return;
+            }
             try {
-                final long millis = scheduledFuture.getFireTime().getTime() - System.currentTimeMillis();
-                if (millis > 0) {
-                    LOGGER.debug("{} Cron thread woke up {} millis early. Sleeping", name, millis);
-                    try {
-                        Thread.sleep(millis);
-                    } catch (final InterruptedException ie) {
-                        // Ignore the interruption.
-                    }
-                }
                 runnable.run();
             } catch (final Throwable ex) {
                 LOGGER.error("{} caught error running command", name, ex);
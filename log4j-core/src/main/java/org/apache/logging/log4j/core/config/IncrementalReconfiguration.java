@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.appender.rolling.CronTriggeringPolicy;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.core.script.AbstractScript;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Support for incremental reconfiguration, enabled with the {@value #PROPERTY_NAME} property.
+ * <p>
+ * Each {@link Appender} element of a configuration is reduced to a fingerprint: its element name, plugin class,
+ * attributes after property substitution, text and nested elements. When the fingerprint of an appender is unchanged
+ * from the running configuration, the running {@code Appender}, together with its managers, is handed over to the new
+ * configuration instead of being recreated. Appenders that depend on other parts of the configuration that created
+ * them (other appenders, scripts, the configuration scheduler or watchers) are always recreated. Layouts and other
+ * components of a taken over appender keep the configuration they were created with, whose variables are then
+ * resolved with the properties of the new configuration.
+ * </p>
+ * <p>
+ * The appenders that do need to be started are started in parallel, except those that refer to other appenders,
+ * which are started once the others are running.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+final class IncrementalReconfiguration {
+
+    /**
+     * The property that enables incremental reconfiguration.
+     */
+    static final String PROPERTY_NAME = "log4j2.incrementalReconfiguration";
+
+    /**
+     * Plugins that tie the appender that contains them to the configuration that created it.
+     */
+    private static final Class<?>[] CONFIGURATION_BOUND_PLUGINS = {
+        AppenderRef.class, AbstractScript.class, CronTriggeringPolicy.class
+    };
+
+    /**
+     * Referenced by name, since loading the class requires Jackson.
+     */
+    private static final String MUTABLE_THREAD_CONTEXT_MAP_FILTER =
+            "org.apache.logging.log4j.core.filter.MutableThreadContextMapFilter";
+
+    private IncrementalReconfiguration() {}
+
+    static boolean isEnabled() {
+        return PropertiesUtil.getProperties().getBooleanProperty(PROPERTY_NAME, false);
+    }
+
+    /**
+     * Returns the value of an attribute, matched without regard to case like the plugin builder does, after property
+     * substitution.
+     *
+     * @param node the element.
+     * @param name the attribute name.
+     * @param substitutor resolves properties in the value.
+     * @return the value of the attribute or {@code null} if the element has no such attribute.
+     */
+    static String getAttribute(final Node node, final String name, final StrSubstitutor substitutor) {
+        for (final Map.Entry<String, String> entry : node.getAttributes().entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name)) {
+                return substitutor.replace(entry.getValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Computes the fingerprint of an element and everything nested in it. This must be done before the plugin is
+     * created, since the plugin builder consumes attributes and nested elements.
+     *
+     * @param node the element.
+     * @param substitutor resolves properties in attribute values and text.
+     * @return a string that is equal for elements that create equal plugins.
+     */
+    static String fingerprint(final Node node, final StrSubstitutor substitutor) {
+        final StringBuilder sb = new StringBuilder(256);
+        appendFingerprint(sb, node, substitutor);
+        return sb.toString();
+    }
+
+    private static void appendFingerprint(final StringBuilder sb, final Node node, final StrSubstitutor substitutor) {
+        appendToken(sb, node.getName());
+        final PluginType<?> type = node.getType();
+        appendToken(sb, type != null ? type.getPluginClass().getName() : null);
+        for (final Map.Entry<String, String> entry : new TreeMap<>(node.getAttributes()).entrySet()) {
+            appendToken(sb, entry.getKey());
+            appendToken(sb, substitutor.replace(entry.getValue()));
+        }
+        appendToken(sb, node.getValue() != null ? substitutor.replace(node.getValue()) : null);
+        sb.append('{');
+        for (final Node child : node.getChildren()) {
+            appendFingerprint(sb, child, substitutor);
+        }
+        sb.append('}');
+    }
+
+    private static void appendToken(final StringBuilder sb, final String token) {
+        if (token == null) {
+            sb.append('-');
+        } else {
+            // the length prefix keeps tokens that contain separators from running into each other
+            sb.append(token.length()).append(':').append(token);
+        }
+    }
+
+    /**
+     * Tells whether the appender created from an element can be handed over to another configuration.
+     *
+     * @param node the element.
+     * @return {@code true} if neither the element nor any nested element depends on the configuration.
+     */
+    static boolean isSelfContained(final Node node) {
+        final PluginType<?> type = node.getType();
+        if (type != null) {
+            if (type.isDeferChildren()
+                    || MUTABLE_THREAD_CONTEXT_MAP_FILTER.equals(
+                            type.getPluginClass().getName())) {
+                return false;
+            }
+            for (final Class<?> bound : CONFIGURATION_BOUND_PLUGINS) {
+                if (bound.isAssignableFrom(type.getPluginClass())) {
+                    return false;
+                }
+            }
+        }
+        for (final Node child : node.getChildren()) {
+            if (!isSelfContained(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether the appender created from an element refers to other appenders.
+     *
+     * @param node the element.
+     * @return {@code true} if the element contains an {@code AppenderRef}.
+     */
+    static boolean referencesAppenders(final Node node) {
+        final PluginType<?> type = node.getType();
+        if (type != null && (type.isDeferChildren() || AppenderRef.class.isAssignableFrom(type.getPluginClass()))) {
+            return true;
+        }
+        for (final Node child : node.getChildren()) {
+            if (referencesAppenders(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts appenders in parallel and waits until all of them are started.
+     *
+     * @param appenders the appenders to start.
+     * @throws RuntimeException the first exception thrown while starting an appender, after all appenders are started.
+     */
+    static void start(final List<Appender> appenders) {
+        final int threads = Math.min(appenders.size(), Runtime.getRuntime().availableProcessors());
+        if (threads < 2) {
+            for (final Appender appender : appenders) {
+                appender.start();
+            }
+            return;
+        }
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(threads, Log4jThreadFactory.createDaemonThreadFactory("AppenderStarter"));
+        try {
+            final List<Future<?>> futures = new ArrayList<>(appenders.size());
+            for (final Appender appender : appenders) {
+                futures.add(executor.submit(appender::start));
+            }
+            awaitAll(futures);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void awaitAll(final List<Future<?>> futures) {
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (final Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.logging.log4j.util.PerformanceSensitive;
+
+/**
+ * Immutable index that resolves a logger name to the {@link LoggerConfig} with the longest matching name, without
+ * creating substrings.
+ * <p>
+ * The index is an open-addressing hash table of every configured name and of every dotted prefix of a configured
+ * name. A lookup scans the logger name once, computing the {@link String#hashCode()} of each prefix incrementally, and
+ * stops at the first prefix that is not in the table, since no configured name can extend it. Prefixes that are not
+ * configured names themselves are stored without a {@code LoggerConfig}, like the inner nodes of a trie.
+ * </p>
+ * <p>
+ * The candidate names are the same as those visited by {@link org.apache.logging.log4j.core.util.NameUtil#getSubName}:
+ * the logger name itself, each prefix ending before a dot that is not the first character, and the empty name.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+@PerformanceSensitive
+final class LoggerConfigIndex {
+
+    private final String[] names;
+    private final int[] hashes;
+    private final LoggerConfig[] configs;
+    private final int mask;
+
+    private LoggerConfigIndex(final Map<String, LoggerConfig> entries) {
+        int capacity = 2;
+        while (capacity < entries.size() * 2) {
+            capacity <<= 1;
+        }
+        names = new String[capacity];
+        hashes = new int[capacity];
+        configs = new LoggerConfig[capacity];
+        mask = capacity - 1;
+        for (final Map.Entry<String, LoggerConfig> entry : entries.entrySet()) {
+            final String name = entry.getKey();
+            final int hash = name.hashCode();
+            int slot = spread(hash) & mask;
+            while (names[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            names[slot] = name;
+            hashes[slot] = hash;
+            configs[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * Creates an index of the given LoggerConfigs.
+     *
+     * @param loggerConfigs the LoggerConfigs by name.
+     * @return a new index.
+     */
+    static LoggerConfigIndex of(final Map<String, LoggerConfig> loggerConfigs) {
+        final Map<String, LoggerConfig> entries = new HashMap<>(loggerConfigs.size() * 4);
+        for (final String name : loggerConfigs.keySet()) {
+            for (int i = 1; i < name.length(); i++) {
+                if (name.charAt(i) == '.') {
+                    entries.put(name.substring(0, i), null);
+                }
+            }
+        }
+        entries.putAll(loggerConfigs);
+        return new LoggerConfigIndex(entries);
+    }
+
+    /**
+     * Returns the LoggerConfig with the longest name that is the given logger name or one of its parents.
+     *
+     * @param loggerName the name of a Logger.
+     * @return the matching LoggerConfig or {@code null} if none matches, not even one with the empty name.
+     */
+    LoggerConfig find(final String loggerName) {
+        final int length = loggerName.length();
+        LoggerConfig found = null;
+        int hash = 0;
+        int i = 0;
+        for (; i < length; i++) {
+            final char c = loggerName.charAt(i);
+            if (c == '.' && i > 0) {
+                final int slot = slot(loggerName, i, hash);
+                if (slot < 0) {
+                    break;
+                }
+                if (configs[slot] != null) {
+                    found = configs[slot];
+                }
+            }
+            hash = 31 * hash + c;
+        }
+        if (i == length) {
+            final int slot = slot(loggerName, length, hash);
+            if (slot >= 0 && configs[slot] != null) {
+                return configs[slot];
+            }
+        }
+        if (found != null) {
+            return found;
+        }
+        final int slot = slot(loggerName, 0, 0);
+        return slot >= 0 ? configs[slot] : null;
+    }
+
+    /**
+     * Returns the slot holding the first {@code length} characters of {@code loggerName} or {@code -1}.
+     */
+    private int slot(final String loggerName, final int length, final int hash) {
+        int slot = spread(hash) & mask;
+        String name;
+        while ((name = names[slot]) != null) {
+            if (hashes[slot] == hash && name.length() == length && loggerName.startsWith(name)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
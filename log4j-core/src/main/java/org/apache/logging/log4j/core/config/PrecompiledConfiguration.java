@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.plugins.convert.TypeConverters;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
+
+/**
+ * Base class of the configurations generated by {@link org.apache.logging.log4j.core.tools.ConfigurationCompiler}.
+ * <p>
+ * A precompiled configuration does not parse a configuration file. Each top level element of the original file is
+ * either a precompiled element, whose object is created by generated code that calls the plugin builders and factory
+ * methods directly, or a {@link Node} tree built by generated code, whose object is created by reflection as usual.
+ * The latter is used for the elements the compiler cannot translate, for example those containing arbiters.
+ * </p>
+ * <p>
+ * Property substitution still happens when the configuration is started, for the attribute values that contain
+ * variables.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public abstract class PrecompiledConfiguration extends AbstractConfiguration {
+
+    /**
+     * Constructor.
+     *
+     * @param loggerContext the logger context that uses this configuration.
+     * @param name the name of the configuration.
+     */
+    protected PrecompiledConfiguration(final LoggerContext loggerContext, final String name) {
+        super(loggerContext, ConfigurationSource.NULL_SOURCE);
+        setName(name);
+    }
+
+    @Override
+    public void setup() {
+        createElements();
+    }
+
+    /**
+     * Adds the top level elements of the configuration, in the order of the original file, using
+     * {@link #addElement(String, int, Supplier)} and {@link #addElement(Node)}.
+     */
+    protected abstract void createElements();
+
+    /**
+     * Adds a precompiled top level element.
+     *
+     * @param name the name of the element, such as {@code Appenders} or {@code Loggers}.
+     * @param scheduledItems the number of {@link Scheduled} plugins in the element.
+     * @param factory creates the object of the element when the configuration is started.
+     */
+    protected final void addElement(final String name, final int scheduledItems, final Supplier<?> factory) {
+        rootNode.getChildren().add(new PrecompiledNode(rootNode, name, scheduledItems, factory));
+    }
+
+    /**
+     * Adds a top level element whose object is created by reflection.
+     *
+     * @param node the element, usually created with {@link #node(String, String, String[], Node...)}.
+     */
+    protected final void addElement(final Node node) {
+        node.setParent(rootNode);
+        rootNode.getChildren().add(node);
+    }
+
+    /**
+     * Creates a configuration node, for the elements that are created by reflection.
+     *
+     * @param name the name of the element, which is also the name of its plugin.
+     * @param value the text of the element or {@code null}.
+     * @param attributes the attributes of the element, as alternating names and values.
+     * @param children the nested elements.
+     * @return a new node.
+     */
+    protected final Node node(
+            final String name, final String value, final String[] attributes, final Node... children) {
+        final PluginType<?> type = getPluginManager().getPluginType(name);
+        final Node node = new Node(null, name, type);
+        for (int i = 0; i < attributes.length; i += 2) {
+            node.getAttributes().put(attributes[i], attributes[i + 1]);
+        }
+        node.setValue(value);
+        for (final Node child : children) {
+            child.setParent(node);
+            node.getChildren().add(child);
+        }
+        return node;
+    }
+
+    /**
+     * Creates the object of a node by reflection, for nested elements the compiler could not translate.
+     *
+     * @param node the element.
+     * @param <T> the type of the object.
+     * @return the object or {@code null} if the plugin could not be created.
+     */
+    protected final <T> T create(final Node node) {
+        createConfiguration(node, null);
+        return node.getObject();
+    }
+
+    /**
+     * Replaces the variables in an attribute value, like the plugin builder does.
+     *
+     * @param value the value as it appears in the original file.
+     * @return the value with the variables replaced.
+     */
+    protected final String substitute(final String value) {
+        return getConfigurationStrSubstitutor().replace(value);
+    }
+
+    /**
+     * Converts an attribute value to the type of the builder field or factory method parameter it is injected into.
+     *
+     * @param value the value after property substitution.
+     * @param type the type of the field or parameter.
+     * @param defaultValue the value returned if the conversion fails.
+     * @param <T> the type of the field or parameter.
+     * @return the converted value or {@code defaultValue}.
+     */
+    protected final <T> T convert(final String value, final Class<T> type, final T defaultValue) {
+        return TypeConverters.convert(value, type, defaultValue);
+    }
+
+    @Override
+    public void createConfiguration(final Node node, final LogEvent event) {
+        if (node instanceof PrecompiledNode) {
+            node.setObject(((PrecompiledNode) node).factory.get());
+        } else {
+            super.createConfiguration(node, event);
+        }
+    }
+
+    @Override
+    protected void preConfigure(final Node node) {
+        if (node != rootNode) {
+            super.preConfigure(node);
+            return;
+        }
+        for (final Node child : node.getChildren()) {
+            if (child instanceof PrecompiledNode) {
+                for (int i = 0; i < ((PrecompiledNode) child).scheduledItems; i++) {
+                    getScheduler().incrementScheduledItems();
+                }
+            } else if (child.getType() != null) {
+                if (child.getType().getPluginClass().isAnnotationPresent(Scheduled.class)) {
+                    getScheduler().incrementScheduledItems();
+                }
+                super.preConfigure(child);
+            } else {
+                LOGGER.error("Unable to locate plugin type for {}", child.getName());
+            }
+        }
+    }
+
+    /**
+     * A top level element whose object is created by generated code.
+     */
+    private static final class PrecompiledNode extends Node {
+
+        private final int scheduledItems;
+        private final Supplier<?> factory;
+
+        private PrecompiledNode(
+                final Node parent, final String name, final int scheduledItems, final Supplier<?> factory) {
+            super(parent, name, null);
+            this.scheduledItems = scheduledItems;
+            this.factory = Objects.requireNonNull(factory, "factory");
+        }
+    }
+}
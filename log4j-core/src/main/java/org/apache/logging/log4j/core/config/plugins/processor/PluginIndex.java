@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.plugins.processor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only, indexed plugin descriptor, the successor of the {@code Log4j2Plugins.dat} format of
+ * {@link PluginCache}.
+ * <p>
+ * The file is made of fixed size records, so that it can be searched in place, without deserializing it:
+ * </p>
+ * <ol>
+ * <li>A header: the magic number {@code 0x4C34504C}, the format version, the length of the {@code Log4j2Plugins.dat}
+ * file written with the index, the number of categories and the number of entries, as five {@code int}s.</li>
+ * <li>The categories, sorted by their UTF-8 bytes: the offset of the category name, the index of its first entry and
+ * its number of entries, as three {@code int}s.</li>
+ * <li>The entries, grouped by category and sorted by key: the offsets of the key, class name and name, and the flags,
+ * as four {@code int}s.</li>
+ * <li>The strings referenced by offset from the start of the file, each an unsigned {@code short} byte count followed
+ * by its UTF-8 bytes. Duplicates are stored once.</li>
+ * </ol>
+ * <p>
+ * Large files on the file system are memory mapped, others are read into a heap buffer. Lookups by key only allocate
+ * the returned entry.
+ * </p>
+ * <p>
+ * Tools that merge the {@code Log4j2Plugins.dat} files of several jars, like the shading transformers, do not know
+ * about indexes. The length of the cache file detects an index that does not describe the cache file next to it.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public final class PluginIndex {
+
+    private static final int MAGIC = 0x4C34504C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int CATEGORY_SIZE = 12;
+    private static final int ENTRY_SIZE = 16;
+    private static final int PRINTABLE = 1;
+    private static final int DEFER = 2;
+    private static final int MAX_STRING_LENGTH = 0xFFFF;
+    /**
+     * Smaller files are faster to read than to map, especially while the JVM starts.
+     */
+    private static final int MAPPING_THRESHOLD = 1024 * 1024;
+
+    private final ByteBuffer buffer;
+    private final int cacheFileLength;
+    private final int categoryCount;
+    private final int entryCount;
+
+    private PluginIndex(final ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a plugin index");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported plugin index version " + buffer.getInt(4));
+        }
+        this.cacheFileLength = buffer.getInt(8);
+        this.categoryCount = buffer.getInt(12);
+        this.entryCount = buffer.getInt(16);
+        if (categoryCount < 0
+                || entryCount < 0
+                || (long) categoryCount * CATEGORY_SIZE + (long) entryCount * ENTRY_SIZE
+                        > buffer.capacity() - HEADER_SIZE) {
+            throw new IOException("Corrupted plugin index");
+        }
+    }
+
+    /**
+     * Reads a plugin index.
+     *
+     * @param url the location of the index.
+     * @return the index.
+     * @throws IOException if the index cannot be read or is not valid.
+     */
+    public static PluginIndex read(final URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                final File file = new File(url.toURI());
+                if (file.length() >= MAPPING_THRESHOLD) {
+                    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                        // the mapping stays valid after the channel is closed
+                        return new PluginIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                    }
+                }
+            } catch (final URISyntaxException | IllegalArgumentException e) {
+                // not a plain file path, read it as a stream
+            }
+        }
+        try (final InputStream in = url.openStream()) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] bytes = new byte[8192];
+            int count;
+            while ((count = in.read(bytes)) >= 0) {
+                out.write(bytes, 0, count);
+            }
+            return new PluginIndex(ByteBuffer.wrap(out.toByteArray()));
+        }
+    }
+
+    /**
+     * Reads a plugin index from memory.
+     *
+     * @param bytes the content of the index.
+     * @return the index.
+     * @throws IOException if the index is not valid.
+     */
+    public static PluginIndex read(final byte[] bytes) throws IOException {
+        return new PluginIndex(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Writes the plugins of a cache as an index.
+     *
+     * @param cache the plugins.
+     * @param os the destination, which is not closed.
+     * @throws IOException if an I/O exception occurs.
+     */
+    public static void write(final PluginCache cache, final OutputStream os) throws IOException {
+        final List<String> categories = new ArrayList<>(cache.getAllCategories().keySet());
+        categories.sort((a, b) -> compare(encode(a), encode(b)));
+        final List<List<PluginEntry>> entriesByCategory = new ArrayList<>(categories.size());
+        int entryCount = 0;
+        for (final String category : categories) {
+            final List<PluginEntry> entries =
+                    new ArrayList<>(cache.getAllCategories().get(category).values());
+            entries.sort((a, b) -> compare(encode(a.getKey()), encode(b.getKey())));
+            entriesByCategory.add(entries);
+            entryCount += entries.size();
+        }
+        final ByteArrayOutputStream cacheFile = new ByteArrayOutputStream();
+        cache.writeCache(cacheFile);
+        final StringPool strings =
+                new StringPool(HEADER_SIZE + categories.size() * CATEGORY_SIZE + entryCount * ENTRY_SIZE);
+        final DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(cacheFile.size());
+        out.writeInt(categories.size());
+        out.writeInt(entryCount);
+        int firstEntry = 0;
+        for (int i = 0; i < categories.size(); i++) {
+            final int size = entriesByCategory.get(i).size();
+            out.writeInt(strings.offset(encode(categories.get(i))));
+            out.writeInt(firstEntry);
+            out.writeInt(size);
+            firstEntry += size;
+        }
+        for (final List<PluginEntry> entries : entriesByCategory) {
+            for (final PluginEntry entry : entries) {
+                out.writeInt(strings.offset(encode(entry.getKey())));
+                out.writeInt(strings.offset(encode(entry.getClassName())));
+                out.writeInt(strings.offset(encode(entry.getName())));
+                out.writeInt((entry.isPrintable() ? PRINTABLE : 0) | (entry.isDefer() ? DEFER : 0));
+            }
+        }
+        strings.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Returns the length of the {@code Log4j2Plugins.dat} file that was written with this index.
+     *
+     * @return the length in bytes.
+     */
+    public int getCacheFileLength() {
+        return cacheFileLength;
+    }
+
+    /**
+     * Returns the number of categories.
+     *
+     * @return the number of categories.
+     */
+    public int getCategoryCount() {
+        return categoryCount;
+    }
+
+    /**
+     * Returns the lower case name of a category.
+     *
+     * @param index the index of the category, between {@code 0} and {@link #getCategoryCount()}.
+     * @return the name of the category.
+     */
+    public String getCategoryName(final int index) {
+        return readString(buffer.getInt(categoryPosition(index)));
+    }
+
+    /**
+     * Returns all the entries of a category, sorted by key.
+     *
+     * @param index the index of the category, between {@code 0} and {@link #getCategoryCount()}.
+     * @return the entries.
+     */
+    public List<PluginEntry> getEntries(final int index) {
+        final int position = categoryPosition(index);
+        final String category = readString(buffer.getInt(position));
+        final int first = buffer.getInt(position + 4);
+        final int count = buffer.getInt(position + 8);
+        final List<PluginEntry> entries = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            entries.add(readEntry(category, i));
+        }
+        return entries;
+    }
+
+    /**
+     * Looks up a plugin by key.
+     *
+     * @param category the lower case name of the category.
+     * @param key the lower case key of the plugin.
+     * @return the entry of the plugin or {@code null} if the index does not contain it.
+     */
+    public PluginEntry getEntry(final String category, final String key) {
+        int low = 0;
+        int high = categoryCount - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int position = categoryPosition(middle);
+            final int comparison = compare(buffer.getInt(position), category);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return getEntry(category, key, buffer.getInt(position + 4), buffer.getInt(position + 8));
+            }
+        }
+        return null;
+    }
+
+    private PluginEntry getEntry(final String category, final String key, final int first, final int count) {
+        int low = first;
+        int high = first + count - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int comparison = compare(buffer.getInt(entryPosition(middle)), key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return readEntry(category, middle);
+            }
+        }
+        return null;
+    }
+
+    private PluginEntry readEntry(final String category, final int index) {
+        final int position = entryPosition(index);
+        final int flags = buffer.getInt(position + 12);
+        final PluginEntry entry = new PluginEntry();
+        entry.setKey(readString(buffer.getInt(position)));
+        entry.setClassName(readString(buffer.getInt(position + 4)));
+        entry.setName(readString(buffer.getInt(position + 8)));
+        entry.setPrintable((flags & PRINTABLE) != 0);
+        entry.setDefer((flags & DEFER) != 0);
+        entry.setCategory(category);
+        return entry;
+    }
+
+    private int categoryPosition(final int index) {
+        if (index < 0 || index >= categoryCount) {
+            throw new IndexOutOfBoundsException("Category " + index);
+        }
+        return HEADER_SIZE + index * CATEGORY_SIZE;
+    }
+
+    private int entryPosition(final int index) {
+        if (index < 0 || index >= entryCount) {
+            throw new IndexOutOfBoundsException("Entry " + index);
+        }
+        return HEADER_SIZE + categoryCount * CATEGORY_SIZE + index * ENTRY_SIZE;
+    }
+
+    private String readString(final int offset) {
+        final int length = buffer.getShort(offset) & MAX_STRING_LENGTH;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset + 2, length, StandardCharsets.UTF_8);
+        }
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares a string of the index with a string, in the order of their UTF-8 bytes, without decoding the former.
+     */
+    private int compare(final int offset, final String value) {
+        final int length = buffer.getShort(offset) & MAX_STRING_LENGTH;
+        final int valueLength = value.length();
+        for (int i = 0; i < valueLength; i++) {
+            final char c = value.charAt(i);
+            if (c >= 0x80) {
+                // rare: compare the encoded strings
+                return compare(encode(readString(offset)), encode(value));
+            }
+            if (i == length) {
+                return -1;
+            }
+            final int b = buffer.get(offset + 2 + i) & 0xFF;
+            if (b != c) {
+                return b - c;
+            }
+        }
+        return length - valueLength;
+    }
+
+    private static int compare(final byte[] a, final byte[] b) {
+        final int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            final int difference = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    private static byte[] encode(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "PluginIndex[categories=" + categoryCount + ", entries=" + entryCount + "]";
+    }
+
+    /**
+     * The strings of an index being written, stored once each after the fixed size records.
+     */
+    private static final class StringPool {
+
+        private final Map<String, Integer> offsets = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final int start;
+
+        private StringPool(final int start) {
+            this.start = start;
+        }
+
+        private int offset(final byte[] value) throws IOException {
+            if (value.length > MAX_STRING_LENGTH) {
+                throw new IOException("String too long for a plugin index: " + value.length + " bytes");
+            }
+            final String key = new String(value, StandardCharsets.UTF_8);
+            final Integer existing = offsets.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            final int offset = start + bytes.size();
+            bytes.write(value.length >>> 8);
+            bytes.write(value.length);
+            bytes.write(value, 0, value.length);
+            offsets.put(key, offset);
+            return offset;
+        }
+
+        private void writeTo(final OutputStream out) throws IOException {
+            bytes.writeTo(out);
+        }
+    }
+}
@@ -64,6 +64,16 @@ public class PluginProcessor extends AbstractProcessor {
     public static final String PLUGIN_CACHE_FILE =
             "META-INF/org/apache/logging/log4j/core/config/plugins/Log4j2Plugins.dat";
 
+    /**
+     * The location of the plugin index file, which is written next to the plugin cache data file and read in its
+     * place by {@link org.apache.logging.log4j.core.config.plugins.util.PluginRegistry}.
+     *
+     * @see PluginIndex
+     * @since 2.24.0
+     */
+    public static final String PLUGIN_INDEX_FILE =
+            "META-INF/org/apache/logging/log4j/core/config/plugins/Log4j2Plugins.idx";
+
     private final PluginCache pluginCache = new PluginCache();
 
     @Override
@@ -123,6 +133,13 @@ public class PluginProcessor extends AbstractProcessor {
         try (final OutputStream out = fileObject.openOutputStream()) {
             pluginCache.writeCache(out);
         }
+        // Log4j 2.24.0 and later read the index in place of the cache file, which is kept for older versions
+        final FileObject indexObject = processingEnv
+                .getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, Strings.EMPTY, PLUGIN_INDEX_FILE, elements);
+        try (final OutputStream out = indexObject.openOutputStream()) {
+            PluginIndex.write(pluginCache, out);
+        }
     }
 
     /**
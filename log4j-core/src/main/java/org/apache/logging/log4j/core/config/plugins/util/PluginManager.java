@@ -39,6 +39,7 @@ public class PluginManager {
     private static final Logger LOGGER = StatusLogger.getLogger();
 
     private Map<String, PluginType<?>> plugins = new HashMap<>();
+    private boolean loaded = true;
     private final String category;
 
     /**
@@ -99,7 +100,8 @@ public class PluginManager {
      * @return The plugin's type.
      */
     public PluginType<?> getPluginType(final String name) {
-        return plugins.get(toRootLowerCase(name));
+        final PluginType<?> type = plugins.get(toRootLowerCase(name));
+        return type != null && type.isLoadable() ? type : null;
     }
 
     /**
@@ -108,7 +110,19 @@ public class PluginManager {
      * @return A Map containing the name of the plugin and its type.
      */
     public Map<String, PluginType<?>> getPlugins() {
-        return plugins;
+        Map<String, PluginType<?>> result = plugins;
+        if (!loaded) {
+            // plugin classes are loaded on first use, drop those that cannot be loaded
+            final Map<String, PluginType<?>> loadable = new LinkedHashMap<>(result.size());
+            for (final Map.Entry<String, PluginType<?>> entry : result.entrySet()) {
+                if (entry.getValue().isLoadable()) {
+                    loadable.put(entry.getKey(), entry.getValue());
+                }
+            }
+            plugins = result = loadable;
+            loaded = true;
+        }
+        return result;
     }
 
     /**
@@ -166,6 +180,7 @@ public class PluginManager {
         LOGGER.debug("PluginManager '{}' found {} plugins", category, newPlugins.size());
 
         plugins = newPlugins;
+        loaded = false;
     }
 
     private static void mergeByName(final Map<String, PluginType<?>> newPlugins, final List<PluginType<?>> plugins) {
@@ -175,14 +190,14 @@ public class PluginManager {
         for (final PluginType<?> pluginType : plugins) {
             final String key = pluginType.getKey();
             final PluginType<?> existing = newPlugins.get(key);
-            if (existing == null) {
+            if (existing == null || !existing.isLoadable()) {
                 newPlugins.put(key, pluginType);
-            } else if (!existing.getPluginClass().equals(pluginType.getPluginClass())) {
+            } else if (!existing.getPluginClassName().equals(pluginType.getPluginClassName())) {
                 LOGGER.warn(
                         "Plugin [{}] is already mapped to {}, ignoring {}",
                         key,
-                        existing.getPluginClass(),
-                        pluginType.getPluginClass());
+                        existing.getPluginClassName(),
+                        pluginType.getPluginClassName());
             }
         }
     }
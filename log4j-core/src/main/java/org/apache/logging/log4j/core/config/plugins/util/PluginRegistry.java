@@ -18,16 +18,23 @@ package org.apache.logging.log4j.core.config.plugins.util;
 
 import static org.apache.logging.log4j.util.Strings.toRootLowerCase;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.JarURLConnection;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
@@ -36,6 +43,7 @@ import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginAliases;
 import org.apache.logging.log4j.core.config.plugins.processor.PluginCache;
 import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginIndex;
 import org.apache.logging.log4j.core.config.plugins.processor.PluginProcessor;
 import org.apache.logging.log4j.core.util.Loader;
 import org.apache.logging.log4j.status.StatusLogger;
@@ -52,7 +60,7 @@ public class PluginRegistry {
     private static final Object INSTANCE_LOCK = new Object();
 
     /**
-     * Contains plugins found in Log4j2Plugins.dat cache files in the main CLASSPATH.
+     * Contains plugins found in Log4j2Plugins.idx index files or Log4j2Plugins.dat cache files in the main CLASSPATH.
      */
     private final AtomicReference<Map<String, List<PluginType<?>>>> pluginsByCategoryRef = new AtomicReference<>();
 
@@ -155,40 +163,51 @@ public class PluginRegistry {
 
     private Map<String, List<PluginType<?>>> decodeCacheFiles(final ClassLoader loader) {
         final long startTime = System.nanoTime();
-        final PluginCache cache = new PluginCache();
+        // The first file of the class path that declares a key wins
+        final Map<String, Map<String, PluginEntry>> entriesByCategory = new HashMap<>();
+        int indexCount = 0;
         try {
             final Enumeration<URL> resources = loader.getResources(PluginProcessor.PLUGIN_CACHE_FILE);
             if (resources == null) {
                 LOGGER.info("Plugin preloads not available from class loader {}", loader);
             } else {
-                cache.loadCacheFiles(resources);
+                final Set<String> indexes = new LinkedHashSet<>();
+                final Enumeration<URL> indexResources = loader.getResources(PluginProcessor.PLUGIN_INDEX_FILE);
+                while (indexResources != null && indexResources.hasMoreElements()) {
+                    indexes.add(indexResources.nextElement().toString());
+                }
+                while (resources.hasMoreElements()) {
+                    final URL url = resources.nextElement();
+                    final String index = getIndexLocation(url);
+                    if (indexes.remove(index) && decodeIndex(new URL(index), url, entriesByCategory)) {
+                        indexCount++;
+                    } else {
+                        decodeCacheFile(url, entriesByCategory);
+                    }
+                }
+                // indexes without a cache file
+                for (final String index : indexes) {
+                    if (decodeIndex(new URL(index), null, entriesByCategory)) {
+                        indexCount++;
+                    }
+                }
             }
         } catch (final IOException ioe) {
             LOGGER.warn("Unable to preload plugins", ioe);
         }
         final Map<String, List<PluginType<?>>> newPluginsByCategory = new HashMap<>();
         int pluginCount = 0;
-        for (final Map.Entry<String, Map<String, PluginEntry>> outer :
-                cache.getAllCategories().entrySet()) {
-            final String categoryLowerCase = outer.getKey();
+        for (final Map.Entry<String, Map<String, PluginEntry>> outer : entriesByCategory.entrySet()) {
             final List<PluginType<?>> types = new ArrayList<>(outer.getValue().size());
-            newPluginsByCategory.put(categoryLowerCase, types);
-            for (final Map.Entry<String, PluginEntry> inner : outer.getValue().entrySet()) {
-                final PluginEntry entry = inner.getValue();
-                final String className = entry.getClassName();
-                try {
-                    final Class<?> clazz = loader.loadClass(className);
-                    final PluginType<?> type = new PluginType<>(entry, clazz, entry.getName());
-                    types.add(type);
-                    ++pluginCount;
-                } catch (final ClassNotFoundException e) {
-                    LOGGER.info("Plugin [{}] could not be loaded due to missing classes.", className, e);
-                } catch (final LinkageError e) {
-                    LOGGER.info("Plugin [{}] could not be loaded due to linkage error.", className, e);
-                }
+            newPluginsByCategory.put(outer.getKey(), types);
+            for (final PluginEntry entry : outer.getValue().values()) {
+                // the plugin class is loaded when the plugin is first used
+                types.add(new PluginType<>(entry, loader, entry.getName()));
+                ++pluginCount;
             }
         }
         final int numPlugins = pluginCount;
+        final int numIndexes = indexCount;
         LOGGER.debug(() -> {
             final long endTime = System.nanoTime();
             final StringBuilder sb = new StringBuilder("Took ");
@@ -196,11 +215,77 @@ public class PluginRegistry {
             sb.append(numFormat.format((endTime - startTime) * 1e-9));
             sb.append(" seconds to load ").append(numPlugins);
             sb.append(" plugins from ").append(loader);
+            sb.append(" using ").append(numIndexes).append(" plugin indexes");
             return sb.toString();
         });
         return newPluginsByCategory;
     }
 
+    private static String getIndexLocation(final URL cacheFile) {
+        final String location = cacheFile.toString();
+        return location.substring(0, location.length() - PluginProcessor.PLUGIN_CACHE_FILE.length())
+                + PluginProcessor.PLUGIN_INDEX_FILE;
+    }
+
+    private static boolean decodeIndex(
+            final URL url, final URL cacheFile, final Map<String, Map<String, PluginEntry>> entriesByCategory) {
+        try {
+            final PluginIndex index = PluginIndex.read(url);
+            if (cacheFile != null) {
+                final long length = getLength(cacheFile);
+                if (length >= 0 && length != index.getCacheFileLength()) {
+                    // e.g. the cache files of several jars were merged into a fat jar
+                    LOGGER.debug("Plugin index {} does not match {}, ignoring it", url, cacheFile);
+                    return false;
+                }
+            }
+            for (int i = 0; i < index.getCategoryCount(); i++) {
+                final Map<String, PluginEntry> entries =
+                        entriesByCategory.computeIfAbsent(index.getCategoryName(i), ignored -> new LinkedHashMap<>());
+                for (final PluginEntry entry : index.getEntries(i)) {
+                    entries.putIfAbsent(entry.getKey(), entry);
+                }
+            }
+            return true;
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warn("Unable to read plugin index {}, reading the plugin cache file instead", url, e);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the length of a resource, without the cost of {@link java.net.URLConnection#getContentLengthLong()} for
+     * files, which initializes the MIME type table.
+     */
+    private static long getLength(final URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return new File(url.toURI()).length();
+            } catch (final URISyntaxException | IllegalArgumentException e) {
+                return -1;
+            }
+        }
+        final URLConnection connection = url.openConnection();
+        if (connection instanceof JarURLConnection) {
+            return ((JarURLConnection) connection).getJarEntry().getSize();
+        }
+        return connection.getContentLengthLong();
+    }
+
+    private static void decodeCacheFile(final URL url, final Map<String, Map<String, PluginEntry>> entriesByCategory)
+            throws IOException {
+        final PluginCache cache = new PluginCache();
+        cache.loadCacheFiles(Collections.enumeration(Collections.singletonList(url)));
+        for (final Map.Entry<String, Map<String, PluginEntry>> category :
+                cache.getAllCategories().entrySet()) {
+            final Map<String, PluginEntry> entries =
+                    entriesByCategory.computeIfAbsent(category.getKey(), ignored -> new LinkedHashMap<>());
+            for (final PluginEntry entry : category.getValue().values()) {
+                entries.putIfAbsent(entry.getKey(), entry);
+            }
+        }
+    }
+
     /**
      * @since 2.1
      */
@@ -16,7 +16,9 @@
  */
 package org.apache.logging.log4j.core.config.plugins.util;
 
+import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.status.StatusLogger;
 
 /**
  * Plugin Descriptor. This is a memento object for Plugin annotations paired to their annotated classes.
@@ -26,21 +28,68 @@ import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
  */
 public class PluginType<T> {
 
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
     private final PluginEntry pluginEntry;
-    private final Class<T> pluginClass;
+    private final ClassLoader classLoader;
     private final String elementName;
+    private volatile Class<T> pluginClass;
+    private boolean loadFailed;
 
     /**
      * @since 2.1
      */
     public PluginType(final PluginEntry pluginEntry, final Class<T> pluginClass, final String elementName) {
         this.pluginEntry = pluginEntry;
+        this.classLoader = null;
         this.pluginClass = pluginClass;
         this.elementName = elementName;
     }
 
+    /**
+     * Creates a plugin type whose class is loaded on first use.
+     */
+    PluginType(final PluginEntry pluginEntry, final ClassLoader classLoader, final String elementName) {
+        this.pluginEntry = pluginEntry;
+        this.classLoader = classLoader;
+        this.elementName = elementName;
+    }
+
     public Class<T> getPluginClass() {
-        return this.pluginClass;
+        final Class<T> result = pluginClass;
+        return result != null ? result : loadPluginClass();
+    }
+
+    /**
+     * Tells whether the class of the plugin can be loaded, loading it if needed.
+     */
+    boolean isLoadable() {
+        return getPluginClass() != null;
+    }
+
+    /**
+     * Returns the name of the plugin class without loading it.
+     */
+    String getPluginClassName() {
+        final Class<T> result = pluginClass;
+        return result != null ? result.getName() : pluginEntry.getClassName();
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized Class<T> loadPluginClass() {
+        if (pluginClass == null && classLoader != null && !loadFailed) {
+            final String className = pluginEntry.getClassName();
+            try {
+                pluginClass = (Class<T>) classLoader.loadClass(className);
+            } catch (final ClassNotFoundException e) {
+                loadFailed = true;
+                LOGGER.info("Plugin [{}] could not be loaded due to missing classes.", className, e);
+            } catch (final LinkageError e) {
+                loadFailed = true;
+                LOGGER.info("Plugin [{}] could not be loaded due to linkage error.", className, e);
+            }
+        }
+        return pluginClass;
     }
 
     public String getElementName() {
@@ -71,7 +120,7 @@ public class PluginType<T> {
 
     @Override
     public String toString() {
-        return "PluginType [pluginClass=" + pluginClass + ", key="
+        return "PluginType [pluginClass=" + getPluginClassName() + ", key="
                 + pluginEntry.getKey() + ", elementName="
                 + pluginEntry.getName() + ", isObjectPrintable="
                 + pluginEntry.isPrintable() + ", isDeferChildren=="
@@ -28,6 +28,7 @@ import org.apache.logging.log4j.core.util.Clock;
 import org.apache.logging.log4j.core.util.ClockFactory;
 import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.util.StringMap;
+import org.apache.logging.log4j.util.VirtualThreadUtil;
 
 /**
  * Garbage-free LogEventFactory that reuses a single mutable log event.
@@ -144,7 +145,8 @@ public class ReusableLogEventFactory implements LogEventFactory, LocationAwareLo
         result.setThreadId(Thread.currentThread().getId());
         result.setThreadName(Thread.currentThread().getName()); // Thread.getName() allocates Objects on each call
         result.setThreadPriority(Thread.currentThread().getPriority());
-        if (existing == null) {
+        // see {@link VirtualThreadUtil}
+        if (existing == null && !VirtualThreadUtil.isCurrentThreadVirtual()) {
             mutableLogEventThreadLocal.set(result);
         }
         return result;
@@ -18,7 +18,6 @@ package org.apache.logging.log4j.core.impl;
 
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -28,7 +27,6 @@ import java.util.Set;
 import org.apache.logging.log4j.core.pattern.PlainTextRenderer;
 import org.apache.logging.log4j.core.pattern.TextRenderer;
 import org.apache.logging.log4j.util.Chars;
-import org.apache.logging.log4j.util.StackLocatorUtil;
 import org.apache.logging.log4j.util.Strings;
 
 /**
@@ -71,6 +69,8 @@ public class ThrowableProxy implements Serializable {
 
     private final transient Throwable throwable;
 
+    private transient ThrowableProxyCache.Entry cacheEntry;
+
     static final ThrowableProxy[] EMPTY_ARRAY = {};
 
     /**
@@ -108,7 +108,7 @@ public class ThrowableProxy implements Serializable {
         this.message = throwable.getMessage();
         this.localizedMessage = throwable.getLocalizedMessage();
         final Map<String, ThrowableProxyHelper.CacheEntry> map = new HashMap<>();
-        final Deque<Class<?>> stack = StackLocatorUtil.getCurrentStackTrace();
+        final ThrowableProxyHelper.CallerStack stack = new ThrowableProxyHelper.CallerStack();
         this.extendedStackTrace =
                 ThrowableProxyHelper.toExtendedStackTrace(this, stack, map, null, throwable.getStackTrace());
         final Throwable throwableCause = throwable.getCause();
@@ -131,7 +131,7 @@ public class ThrowableProxy implements Serializable {
      */
     private ThrowableProxy(
             final Throwable parent,
-            final Deque<Class<?>> stack,
+            final ThrowableProxyHelper.CallerStack stack,
             final Map<String, ThrowableProxyHelper.CacheEntry> map,
             final Throwable cause,
             final Set<Throwable> suppressedVisited,
@@ -322,6 +322,17 @@ public class ThrowableProxy implements Serializable {
         this.commonElementCount = value;
     }
 
+    /**
+     * Returns the {@link ThrowableProxyCache} entry holding the extended stack trace, if it is cached.
+     */
+    ThrowableProxyCache.Entry getCacheEntry() {
+        return this.cacheEntry;
+    }
+
+    void setCacheEntry(final ThrowableProxyCache.Entry cacheEntry) {
+        this.cacheEntry = cacheEntry;
+    }
+
     /**
      * Gets the stack trace including packaging information.
      *
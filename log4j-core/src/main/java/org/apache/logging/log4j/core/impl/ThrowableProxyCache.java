@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Bounded cache of the extended stack traces resolved by {@link ThrowableProxy}, keyed by the throwable class and its
+ * stack trace.
+ * <p>
+ * Resolving the location and version of each stack frame requires class loading and code source lookups, which
+ * dominate the cost of logging the same exception repeatedly. When enabled with the
+ * {@value #CACHE_SIZE_PROPERTY} property, the resolved {@link ExtendedStackTraceElement}s are shared by every proxy
+ * of a throwable with the same class and stack trace, together with the plain text rendering of its frames.
+ * </p>
+ * <p>
+ * The cache is direct-mapped: each stack trace has a single slot, which a later stack trace mapping to the same slot
+ * replaces. Lookups therefore neither lock nor allocate. The {@link ExtendedClassInfo#getExact() exact} flag of a
+ * cached frame reflects the call site that first logged the stack trace.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public final class ThrowableProxyCache {
+
+    /**
+     * The property holding the maximum number of cached stack traces, disabled by default.
+     */
+    public static final String CACHE_SIZE_PROPERTY = "log4j2.throwableProxyCacheSize";
+
+    private static final int MAX_CAPACITY = 1 << 16;
+
+    private static final ThrowableProxyCache INSTANCE =
+            create(PropertiesUtil.getProperties().getIntegerProperty(CACHE_SIZE_PROPERTY, 0));
+
+    private final AtomicReferenceArray<Entry> entries;
+
+    private final int mask;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    ThrowableProxyCache(final int size) {
+        int capacity = 1;
+        while (capacity < size && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    private static ThrowableProxyCache create(final int size) {
+        return size > 0 ? new ThrowableProxyCache(size) : null;
+    }
+
+    /**
+     * Returns the cache used by {@link ThrowableProxy}.
+     *
+     * @return the cache or {@code null} if it is disabled.
+     */
+    public static ThrowableProxyCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the number of slots, which bounds the number of cached stack traces.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    /**
+     * Returns the number of stack traces found in the cache.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of stack traces that had to be resolved.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Removes all cached stack traces.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+
+    static int hash(final Class<?> type, final StackTraceElement[] rootTrace, final StackTraceElement[] stackTrace) {
+        int result = type.hashCode();
+        result = 31 * result + Arrays.hashCode(stackTrace);
+        // the root trace only matters for causes, whose common frames are omitted
+        return rootTrace == null ? result : 31 * result + Arrays.hashCode(rootTrace);
+    }
+
+    Entry get(
+            final int hash,
+            final Class<?> type,
+            final StackTraceElement[] rootTrace,
+            final StackTraceElement[] stackTrace) {
+        final Entry entry = entries.get(hash & mask);
+        if (entry != null && entry.matches(hash, type, rootTrace, stackTrace)) {
+            hitCount.increment();
+            return entry;
+        }
+        missCount.increment();
+        return null;
+    }
+
+    Entry put(
+            final int hash,
+            final Class<?> type,
+            final StackTraceElement[] rootTrace,
+            final StackTraceElement[] stackTrace,
+            final int commonElementCount,
+            final ExtendedStackTraceElement[] extendedStackTrace) {
+        final Entry entry = new Entry(hash, type, rootTrace, stackTrace, commonElementCount, extendedStackTrace);
+        entries.set(hash & mask, entry);
+        return entry;
+    }
+
+    /**
+     * A resolved stack trace.
+     * <p>
+     * Consider this class private.
+     * </p>
+     */
+    static final class Entry {
+
+        private final int hash;
+
+        private final Class<?> type;
+
+        private final StackTraceElement[] rootTrace;
+
+        private final StackTraceElement[] stackTrace;
+
+        private final int commonElementCount;
+
+        private final ExtendedStackTraceElement[] extendedStackTrace;
+
+        private volatile Rendering rendering;
+
+        private Entry(
+                final int hash,
+                final Class<?> type,
+                final StackTraceElement[] rootTrace,
+                final StackTraceElement[] stackTrace,
+                final int commonElementCount,
+                final ExtendedStackTraceElement[] extendedStackTrace) {
+            this.hash = hash;
+            this.type = type;
+            this.rootTrace = rootTrace;
+            this.stackTrace = stackTrace;
+            this.commonElementCount = commonElementCount;
+            this.extendedStackTrace = extendedStackTrace;
+        }
+
+        private boolean matches(
+                final int otherHash,
+                final Class<?> otherType,
+                final StackTraceElement[] otherRootTrace,
+                final StackTraceElement[] otherStackTrace) {
+            return hash == otherHash
+                    && type == otherType
+                    && Arrays.equals(stackTrace, otherStackTrace)
+                    && Arrays.equals(rootTrace, otherRootTrace);
+        }
+
+        int getCommonElementCount() {
+            return commonElementCount;
+        }
+
+        ExtendedStackTraceElement[] getExtendedStackTrace() {
+            return extendedStackTrace;
+        }
+
+        /**
+         * Returns the plain text rendering of the frames, if it was rendered with the same prefix and separator.
+         */
+        String getRendering(final String prefix, final String lineSeparator) {
+            final Rendering current = rendering;
+            return current != null && current.prefix.equals(prefix) && current.lineSeparator.equals(lineSeparator)
+                    ? current.text
+                    : null;
+        }
+
+        void setRendering(final String prefix, final String lineSeparator, final String text) {
+            rendering = new Rendering(prefix, lineSeparator, text);
+        }
+    }
+
+    private static final class Rendering {
+
+        private final String prefix;
+
+        private final String lineSeparator;
+
+        private final String text;
+
+        private Rendering(final String prefix, final String lineSeparator, final String text) {
+            this.prefix = prefix;
+            this.lineSeparator = lineSeparator;
+            this.text = text;
+        }
+    }
+}
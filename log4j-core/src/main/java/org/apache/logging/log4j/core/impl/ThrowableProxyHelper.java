@@ -27,6 +27,7 @@ import java.util.Set;
 import org.apache.logging.log4j.core.util.Loader;
 import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.LoaderUtil;
+import org.apache.logging.log4j.util.StackLocatorUtil;
 
 /**
  * {@link ThrowableProxyHelper} provides utilities required to initialize a new {@link ThrowableProxy}
@@ -54,6 +55,68 @@ final class ThrowableProxyHelper {
         }
     }
 
+    /**
+     * The callers Class stack, captured on first use since cached stack traces do not need it.
+     * <p>
+     * Consider this class private.
+     * </p>
+     */
+    static final class CallerStack {
+        private Deque<Class<?>> stack;
+
+        Deque<Class<?>> get() {
+            if (stack == null) {
+                stack = StackLocatorUtil.getCurrentStackTrace();
+            }
+            return stack;
+        }
+    }
+
+    /**
+     * Resolve all the stack entries in this stack trace that are not common with the parent, reusing the result for
+     * the same throwable class and stack traces if the {@link ThrowableProxyCache} is enabled.
+     *
+     * @param src        Instance for which to build an extended stack trace.
+     * @param stack      The callers Class stack.
+     * @param map        The cache of CacheEntry objects.
+     * @param rootTrace  The first stack trace resolve or null.
+     * @param stackTrace The stack trace being resolved.
+     * @return The StackTracePackageElement array.
+     */
+    static ExtendedStackTraceElement[] toExtendedStackTrace(
+            final ThrowableProxy src,
+            final CallerStack stack,
+            final Map<String, CacheEntry> map,
+            final StackTraceElement[] rootTrace,
+            final StackTraceElement[] stackTrace) {
+        final ThrowableProxyCache cache = ThrowableProxyCache.getInstance();
+        if (cache == null) {
+            return toExtendedStackTrace(src, stack.get(), map, rootTrace, stackTrace);
+        }
+        return toExtendedStackTrace(src, cache, stack, map, rootTrace, stackTrace);
+    }
+
+    static ExtendedStackTraceElement[] toExtendedStackTrace(
+            final ThrowableProxy src,
+            final ThrowableProxyCache cache,
+            final CallerStack stack,
+            final Map<String, CacheEntry> map,
+            final StackTraceElement[] rootTrace,
+            final StackTraceElement[] stackTrace) {
+        final Class<?> type = src.getThrowable().getClass();
+        final int hash = ThrowableProxyCache.hash(type, rootTrace, stackTrace);
+        ThrowableProxyCache.Entry entry = cache.get(hash, type, rootTrace, stackTrace);
+        if (entry == null) {
+            final ExtendedStackTraceElement[] extStackTrace =
+                    toExtendedStackTrace(src, stack.get(), map, rootTrace, stackTrace);
+            entry = cache.put(hash, type, rootTrace, stackTrace, src.getCommonElementCount(), extStackTrace);
+        } else {
+            src.setCommonElementCount(entry.getCommonElementCount());
+        }
+        src.setCacheEntry(entry);
+        return entry.getExtendedStackTrace();
+    }
+
     /**
      * Resolve all the stack entries in this stack trace that are not common with the parent.
      *
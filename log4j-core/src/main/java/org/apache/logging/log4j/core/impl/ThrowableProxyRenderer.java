@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.core.impl;
 
 import java.util.List;
+import org.apache.logging.log4j.core.pattern.PlainTextRenderer;
 import org.apache.logging.log4j.core.pattern.TextRenderer;
 import org.apache.logging.log4j.util.Strings;
 
@@ -57,8 +58,8 @@ final class ThrowableProxyRenderer {
                 sb,
                 Strings.EMPTY,
                 cause.getCommonElementCount(),
-                cause.getThrowable().getStackTrace(),
                 cause.getExtendedStackTrace(),
+                cause.getCacheEntry(),
                 ignorePackages,
                 textRenderer,
                 suffix,
@@ -97,8 +98,8 @@ final class ThrowableProxyRenderer {
                 sb,
                 prefix,
                 throwableProxy.getCommonElementCount(),
-                throwableProxy.getStackTrace(),
                 throwableProxy.getExtendedStackTrace(),
+                throwableProxy.getCacheEntry(),
                 ignorePackages,
                 textRenderer,
                 suffix,
@@ -135,20 +136,27 @@ final class ThrowableProxyRenderer {
             final StringBuilder sb,
             final String prefix,
             final int commonCount,
-            final StackTraceElement[] causedTrace,
             final ExtendedStackTraceElement[] extStackTrace,
+            final ThrowableProxyCache.Entry cacheEntry,
             final List<String> ignorePackages,
             final TextRenderer textRenderer,
             final String suffix,
             final String lineSeparator) {
         if (ignorePackages == null || ignorePackages.isEmpty()) {
-            for (final ExtendedStackTraceElement element : extStackTrace) {
-                formatEntry(element, sb, prefix, textRenderer, suffix, lineSeparator);
+            if (cacheEntry != null
+                    && cacheEntry.getExtendedStackTrace() == extStackTrace
+                    && textRenderer instanceof PlainTextRenderer
+                    && suffix.isEmpty()) {
+                formatCachedEntries(sb, prefix, extStackTrace, cacheEntry, textRenderer, lineSeparator);
+            } else {
+                for (final ExtendedStackTraceElement element : extStackTrace) {
+                    formatEntry(element, sb, prefix, textRenderer, suffix, lineSeparator);
+                }
             }
         } else {
             int count = 0;
             for (int i = 0; i < extStackTrace.length; ++i) {
-                if (!ignoreElement(causedTrace[i], ignorePackages)) {
+                if (!ignoreElement(extStackTrace[i].getStackTraceElement(), ignorePackages)) {
                     if (count > 0) {
                         appendSuppressedCount(sb, prefix, count, textRenderer, suffix, lineSeparator);
                         count = 0;
@@ -172,6 +180,25 @@ final class ThrowableProxyRenderer {
         }
     }
 
+    private static void formatCachedEntries(
+            final StringBuilder sb,
+            final String prefix,
+            final ExtendedStackTraceElement[] extStackTrace,
+            final ThrowableProxyCache.Entry cacheEntry,
+            final TextRenderer textRenderer,
+            final String lineSeparator) {
+        final String rendering = cacheEntry.getRendering(prefix, lineSeparator);
+        if (rendering != null) {
+            sb.append(rendering);
+            return;
+        }
+        final int start = sb.length();
+        for (final ExtendedStackTraceElement element : extStackTrace) {
+            formatEntry(element, sb, prefix, textRenderer, Strings.EMPTY, lineSeparator);
+        }
+        cacheEntry.setRendering(prefix, lineSeparator, sb.substring(start));
+    }
+
     private static void renderSuffix(final String suffix, final StringBuilder sb, final TextRenderer textRenderer) {
         if (!suffix.isEmpty()) {
             textRenderer.render(" ", sb, "Suffix");
@@ -246,14 +273,12 @@ final class ThrowableProxyRenderer {
         textRenderer.render(src.getMessage(), sb, "Message");
         renderSuffix(suffix, sb, textRenderer);
         textRenderer.render(lineSeparator, sb, "Text");
-        final StackTraceElement[] causedTrace =
-                src.getThrowable() != null ? src.getThrowable().getStackTrace() : null;
         formatElements(
                 sb,
                 Strings.EMPTY,
                 0,
-                causedTrace,
                 src.getExtendedStackTrace(),
+                src.getCacheEntry(),
                 ignorePackages,
                 textRenderer,
                 suffix,
@@ -292,8 +317,8 @@ final class ThrowableProxyRenderer {
                 sb,
                 Strings.EMPTY,
                 0,
-                src.getStackTrace(),
                 src.getExtendedStackTrace(),
+                src.getCacheEntry(),
                 ignorePackages,
                 textRenderer,
                 suffix,
@@ -129,4 +129,14 @@ public class AsyncAppenderAdmin implements AsyncAppenderAdminMBean {
     public int getQueueRemainingCapacity() {
         return asyncAppender.getQueueRemainingCapacity();
     }
+
+    @Override
+    public int getShardCount() {
+        return asyncAppender.getShardCount();
+    }
+
+    @Override
+    public int[] getShardQueueSizes() {
+        return asyncAppender.getShardQueueSizes();
+    }
 }
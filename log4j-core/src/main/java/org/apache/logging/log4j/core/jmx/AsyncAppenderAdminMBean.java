@@ -128,4 +128,18 @@ public interface AsyncAppenderAdminMBean {
     int getQueueCapacity();
 
     int getQueueRemainingCapacity();
+
+    /**
+     * Returns the number of queues used by the AsyncAppender.
+     * @return the number of queues
+     * @since 2.24.0
+     */
+    int getShardCount();
+
+    /**
+     * Returns the number of events waiting in each queue of the AsyncAppender.
+     * @return the number of events waiting in each queue
+     * @since 2.24.0
+     */
+    int[] getShardQueueSizes();
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+import java.util.Objects;
+import javax.management.ObjectName;
+import org.apache.logging.log4j.core.appender.rolling.RolloverExecutor;
+
+/**
+ * Instruments the executor running the asynchronous actions of rolling file appenders.
+ *
+ * @since 2.24.0
+ */
+public class RolloverExecutorAdmin implements RolloverExecutorAdminMBean {
+
+    private final RolloverExecutor executor;
+    private final ObjectName objectName;
+
+    /**
+     * Constructs a new {@code RolloverExecutorAdmin} with the specified contextName and executor.
+     *
+     * @param contextName used in the {@code ObjectName} for this mbean
+     * @param executor the instrumented executor
+     */
+    public RolloverExecutorAdmin(final String contextName, final RolloverExecutor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+        try {
+            final String ctxName = Server.escape(contextName);
+            final String name = String.format(PATTERN, ctxName);
+            objectName = new ObjectName(name);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the {@code ObjectName} of this mbean.
+     *
+     * @return the {@code ObjectName}
+     * @see RolloverExecutorAdminMBean#PATTERN
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public int getMaxThreads() {
+        return executor.getMaxThreads();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return executor.getQueueDepth();
+    }
+
+    @Override
+    public long getCompletedActionCount() {
+        return executor.getCompletedActionCount();
+    }
+
+    @Override
+    public long getFailedActionCount() {
+        return executor.getFailedActionCount();
+    }
+
+    @Override
+    public long getTotalActionDurationMillis() {
+        return executor.getTotalActionDurationMillis();
+    }
+
+    @Override
+    public long getMaxActionDurationMillis() {
+        return executor.getMaxActionDurationMillis();
+    }
+
+    @Override
+    public long getCompressedBytes() {
+        return executor.getCompressedBytes();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+/**
+ * The MBean interface for monitoring the executor running the asynchronous actions of rolling file appenders.
+ * <p>
+ * The executor is shared by all rolling file appenders; one such MBean is registered for each logger context that has
+ * rolling file appenders.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public interface RolloverExecutorAdminMBean {
+    /**
+     * ObjectName pattern ({@value}) for the RolloverExecutorAdmin MBean of a logger context.
+     * This pattern contains one variable: the name of the context.
+     * <p>
+     * You can find the registered RolloverExecutorAdmin MBeans like this:
+     * </p>
+     * <pre>
+     * MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+     * String pattern = String.format(RolloverExecutorAdminMBean.PATTERN, &quot;*&quot;);
+     * Set&lt;ObjectName&gt; rolloverExecutorNames = mbs.queryNames(new ObjectName(pattern), null);
+     * </pre>
+     */
+    String PATTERN = Server.DOMAIN + ":type=%s,component=RolloverExecutor";
+
+    /**
+     * Returns the maximum number of threads running rollover actions.
+     *
+     * @return the maximum number of threads
+     */
+    int getMaxThreads();
+
+    /**
+     * Returns the number of threads currently running rollover actions.
+     *
+     * @return the number of active threads
+     */
+    int getActiveCount();
+
+    /**
+     * Returns the number of rollover actions waiting for a thread.
+     *
+     * @return the queue depth
+     */
+    int getQueueDepth();
+
+    /**
+     * Returns the number of rollover actions that have completed successfully.
+     *
+     * @return the number of completed actions
+     */
+    long getCompletedActionCount();
+
+    /**
+     * Returns the number of rollover actions that have failed.
+     *
+     * @return the number of failed actions
+     */
+    long getFailedActionCount();
+
+    /**
+     * Returns the total time spent running rollover actions.
+     *
+     * @return the sum of action durations in milliseconds
+     */
+    long getTotalActionDurationMillis();
+
+    /**
+     * Returns the duration of the longest rollover action.
+     *
+     * @return the maximum action duration in milliseconds
+     */
+    long getMaxActionDurationMillis();
+
+    /**
+     * Returns the number of uncompressed bytes read by successful compressions.
+     *
+     * @return the number of compressed bytes
+     */
+    long getCompressedBytes();
+}
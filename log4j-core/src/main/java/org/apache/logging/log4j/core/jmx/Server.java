@@ -32,11 +32,16 @@ import javax.management.ObjectName;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractOutputStreamAppender;
 import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.appender.SocketAppender;
+import org.apache.logging.log4j.core.appender.rolling.RollingFileManager;
+import org.apache.logging.log4j.core.appender.rolling.RolloverExecutor;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
 import org.apache.logging.log4j.core.async.AsyncLoggerContext;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.impl.Log4jContextFactory;
+import org.apache.logging.log4j.core.net.SocketChannelManager;
 import org.apache.logging.log4j.core.selector.ContextSelector;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.Log4jThreadFactory;
@@ -216,6 +221,7 @@ public final class Server {
             unregisterAsyncLoggerConfigRingBufferAdmins(CONTEXT_NAME_ALL, mbs);
             unregisterAppenders(CONTEXT_NAME_ALL, mbs);
             unregisterAsyncAppenders(CONTEXT_NAME_ALL, mbs);
+            unregisterRolloverExecutor(CONTEXT_NAME_ALL, mbs);
         }
     }
 
@@ -265,6 +271,7 @@ public final class Server {
         unregisterLoggerConfigs(contextName, mbs);
         unregisterAppenders(contextName, mbs);
         unregisterAsyncAppenders(contextName, mbs);
+        unregisterRolloverExecutor(contextName, mbs);
         unregisterAsyncLoggerRingBufferAdmins(contextName, mbs);
         unregisterAsyncLoggerConfigRingBufferAdmins(contextName, mbs);
     }
@@ -318,6 +325,12 @@ public final class Server {
         unregisterAllMatching(search, mbs);
     }
 
+    private static void unregisterRolloverExecutor(final String contextName, final MBeanServer mbs) {
+        final String pattern = RolloverExecutorAdminMBean.PATTERN;
+        final String search = String.format(pattern, escape(contextName));
+        unregisterAllMatching(search, mbs);
+    }
+
     private static void unregisterAsyncLoggerRingBufferAdmins(final String contextName, final MBeanServer mbs) {
         final String pattern1 = RingBufferAdminMBean.PATTERN_ASYNC_LOGGER;
         final String search1 = String.format(pattern1, escape(contextName));
@@ -372,18 +385,32 @@ public final class Server {
             throws InstanceAlreadyExistsException, MBeanRegistrationException, NotCompliantMBeanException {
 
         final Map<String, Appender> map = ctx.getConfiguration().getAppenders();
+        boolean rolling = false;
         for (final String name : map.keySet()) {
             final Appender appender = map.get(name);
+            rolling |= appender instanceof AbstractOutputStreamAppender
+                    && ((AbstractOutputStreamAppender<?>) appender).getManager() instanceof RollingFileManager;
 
             if (appender instanceof AsyncAppender) {
                 final AsyncAppender async = ((AsyncAppender) appender);
                 final AsyncAppenderAdmin mbean = new AsyncAppenderAdmin(ctx.getName(), async);
                 register(mbs, mbean, mbean.getObjectName());
+            } else if (appender instanceof SocketAppender
+                    && ((SocketAppender) appender).getManager() instanceof SocketChannelManager) {
+                final SocketAppender socket = (SocketAppender) appender;
+                final SocketAppenderAdmin mbean =
+                        new SocketAppenderAdmin(ctx.getName(), socket, (SocketChannelManager) socket.getManager());
+                register(mbs, mbean, mbean.getObjectName());
             } else {
                 final AppenderAdmin mbean = new AppenderAdmin(ctx.getName(), appender);
                 register(mbs, mbean, mbean.getObjectName());
             }
         }
+        if (rolling) {
+            final RolloverExecutorAdmin mbean =
+                    new RolloverExecutorAdmin(ctx.getName(), RolloverExecutor.getInstance());
+            register(mbs, mbean, mbean.getObjectName());
+        }
     }
 
     private static void register(final MBeanServer mbs, final Object mbean, final ObjectName objectName)
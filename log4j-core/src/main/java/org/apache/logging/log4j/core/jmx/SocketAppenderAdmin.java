@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+import org.apache.logging.log4j.core.appender.SocketAppender;
+import org.apache.logging.log4j.core.net.SocketChannelManager;
+
+/**
+ * Implementation of the {@code SocketAppenderAdminMBean} interface.
+ *
+ * @since 2.24.0
+ */
+public class SocketAppenderAdmin extends AppenderAdmin implements SocketAppenderAdminMBean {
+
+    private final SocketChannelManager manager;
+
+    /**
+     * Constructs a new {@code SocketAppenderAdmin} with the specified contextName
+     * and socket appender.
+     *
+     * @param contextName used in the {@code ObjectName} for this mbean
+     * @param appender the instrumented object
+     * @param manager the socket channel manager of the appender
+     */
+    public SocketAppenderAdmin(
+            final String contextName, final SocketAppender appender, final SocketChannelManager manager) {
+        super(contextName, appender);
+        this.manager = manager;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return manager.isConnected();
+    }
+
+    @Override
+    public String getOverflowPolicy() {
+        return manager.getOverflowPolicy().name();
+    }
+
+    @Override
+    public int getChannelBufferCapacity() {
+        return manager.getChannelBufferCapacity();
+    }
+
+    @Override
+    public int getChannelBufferUsed() {
+        return manager.getChannelBufferUsed();
+    }
+
+    @Override
+    public int getBufferedEventCount() {
+        return manager.getBufferedEventCount();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return manager.getDroppedEventCount();
+    }
+
+    @Override
+    public long getSpilledEventCount() {
+        return manager.getSpilledEventCount();
+    }
+
+    @Override
+    public long getSpilledBytes() {
+        return manager.getSpilledBytes();
+    }
+}
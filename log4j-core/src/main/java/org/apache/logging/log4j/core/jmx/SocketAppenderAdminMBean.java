@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+/**
+ * The MBean interface for monitoring a {@code SocketAppender} sending events through a socket channel.
+ * <p>
+ * These MBeans are registered with the {@link AppenderAdminMBean#PATTERN} of all appenders.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public interface SocketAppenderAdminMBean extends AppenderAdminMBean {
+
+    /**
+     * Returns whether the appender is currently connected.
+     *
+     * @return {@code true} if the connection is established
+     */
+    boolean isConnected();
+
+    /**
+     * Returns the policy applied to events that do not fit into the channel buffer.
+     *
+     * @return the name of the overflow policy
+     */
+    String getOverflowPolicy();
+
+    /**
+     * Returns the size of the channel buffer.
+     *
+     * @return the channel buffer capacity in bytes
+     */
+    int getChannelBufferCapacity();
+
+    /**
+     * Returns the number of bytes used in the channel buffer.
+     *
+     * @return the channel buffer occupancy in bytes
+     */
+    int getChannelBufferUsed();
+
+    /**
+     * Returns the number of events waiting in the channel buffer.
+     *
+     * @return the number of buffered events
+     */
+    int getBufferedEventCount();
+
+    /**
+     * Returns the number of events dropped since the appender started.
+     *
+     * @return the number of dropped events
+     */
+    long getDroppedEventCount();
+
+    /**
+     * Returns the number of events spilled to disk since the appender started.
+     *
+     * @return the number of spilled events
+     */
+    long getSpilledEventCount();
+
+    /**
+     * Returns the number of spilled bytes waiting to be sent.
+     *
+     * @return the spill file occupancy in bytes
+     */
+    long getSpilledBytes();
+}
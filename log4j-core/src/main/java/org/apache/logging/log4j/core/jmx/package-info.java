@@ -18,7 +18,7 @@
  * Log4j 2 JMX support.
  */
 @Export
-@Version("2.23.0")
+@Version("2.24.0")
 package org.apache.logging.log4j.core.jmx;
 
 import org.osgi.annotation.bundle.Export;
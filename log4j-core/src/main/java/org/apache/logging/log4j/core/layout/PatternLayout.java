@@ -33,11 +33,15 @@ import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
 import org.apache.logging.log4j.core.config.plugins.PluginElement;
 import org.apache.logging.log4j.core.config.plugins.PluginFactory;
 import org.apache.logging.log4j.core.impl.LocationAware;
+import org.apache.logging.log4j.core.pattern.DatePatternConverter;
 import org.apache.logging.log4j.core.pattern.FormattingInfo;
+import org.apache.logging.log4j.core.pattern.LiteralPatternConverter;
 import org.apache.logging.log4j.core.pattern.LogEventPatternConverter;
+import org.apache.logging.log4j.core.pattern.LoggerPatternConverter;
 import org.apache.logging.log4j.core.pattern.PatternFormatter;
 import org.apache.logging.log4j.core.pattern.PatternParser;
 import org.apache.logging.log4j.core.pattern.RegexReplacement;
+import org.apache.logging.log4j.core.pattern.ThreadNamePatternConverter;
 import org.apache.logging.log4j.util.PropertiesUtil;
 import org.apache.logging.log4j.util.Strings;
 
@@ -101,6 +105,7 @@ public final class PatternLayout extends AbstractStringLayout {
      *            If {@code "true"} (default) and {@link System#console()} is null, do not output ANSI escape codes
      * @param headerPattern header conversion pattern.
      * @param footerPattern footer conversion pattern.
+     * @param compiled If {@code true}, the event pattern is compiled into a specialized serializer.
      */
     private PatternLayout(
             final Configuration config,
@@ -112,7 +117,8 @@ public final class PatternLayout extends AbstractStringLayout {
             final boolean disableAnsi,
             final boolean noConsoleNoAnsi,
             final String headerPattern,
-            final String footerPattern) {
+            final String footerPattern,
+            final boolean compiled) {
         super(
                 config,
                 charset,
@@ -145,6 +151,7 @@ public final class PatternLayout extends AbstractStringLayout {
                 .setNoConsoleNoAnsi(noConsoleNoAnsi)
                 .setPattern(eventPattern)
                 .setDefaultPattern(DEFAULT_CONVERSION_PATTERN)
+                .setCompiled(compiled)
                 .build();
     }
 
@@ -415,6 +422,157 @@ public final class PatternLayout extends AbstractStringLayout {
         }
     }
 
+    /**
+     * Serializer rendering a pattern compiled into a flat program of operations.
+     * <p>
+     * Adjacent constant segments, i.e., non-variable converters such as literals and line separators, are merged into
+     * a single literal. Commonly used converters of final classes are cast to their class in dedicated {@code switch}
+     * branches, so that they are called directly and can be inlined. Any other converter falls back to a plain
+     * virtual call, as in the interpreted serializers.
+     * </p>
+     */
+    private static final class CompiledPatternSerializer implements PatternSerializer {
+
+        private static final byte OP_LITERAL = 0;
+        private static final byte OP_DATE = 1;
+        private static final byte OP_LOGGER = 2;
+        private static final byte OP_THREAD_NAME = 3;
+        private static final byte OP_CONVERTER = 4;
+
+        private final PatternFormatter[] formatters;
+
+        private final byte[] opcodes;
+
+        private final Object[] operands;
+
+        /**
+         * Formatting information of each operation, {@code null} if none needs to be applied.
+         */
+        private final FormattingInfo[] fields;
+
+        private CompiledPatternSerializer(final PatternFormatter[] formatters) {
+            this.formatters = formatters;
+            final byte[] opcodes = new byte[formatters.length];
+            final Object[] operands = new Object[formatters.length];
+            final FormattingInfo[] fields = new FormattingInfo[formatters.length];
+            final StringBuilder literal = new StringBuilder();
+            int opCount = 0;
+            for (final PatternFormatter formatter : formatters) {
+                final LogEventPatternConverter converter = formatter.getConverter();
+                final FormattingInfo field = formatter.getFormattingInfo();
+                final boolean fieldIgnored = field == null || field == FormattingInfo.getDefault();
+                final String constant = fieldIgnored ? constantOf(converter) : null;
+                if (constant != null) {
+                    literal.append(constant);
+                    continue;
+                }
+                if (literal.length() > 0) {
+                    opcodes[opCount] = OP_LITERAL;
+                    operands[opCount++] = literal.toString();
+                    literal.setLength(0);
+                }
+                opcodes[opCount] = opcodeOf(converter);
+                operands[opCount] = converter;
+                fields[opCount++] = fieldIgnored ? null : field;
+            }
+            if (literal.length() > 0) {
+                opcodes[opCount] = OP_LITERAL;
+                operands[opCount++] = literal.toString();
+            }
+            this.opcodes = Arrays.copyOf(opcodes, opCount);
+            this.operands = Arrays.copyOf(operands, opCount);
+            this.fields = Arrays.copyOf(fields, opCount);
+        }
+
+        /**
+         * @return the output of the given converter if it doesn't depend on the event, {@code null} otherwise
+         */
+        private static String constantOf(final LogEventPatternConverter converter) {
+            if (converter.isVariable()) {
+                return null;
+            }
+            // Literals containing substitution variables are resolved per event
+            if (converter instanceof LiteralPatternConverter
+                    && ((LiteralPatternConverter) converter).getLiteral().contains("${")) {
+                return null;
+            }
+            final StringBuilder output = new StringBuilder();
+            converter.format((LogEvent) null, output);
+            return output.toString();
+        }
+
+        private static byte opcodeOf(final LogEventPatternConverter converter) {
+            if (converter instanceof DatePatternConverter) {
+                return OP_DATE;
+            }
+            if (converter instanceof LoggerPatternConverter) {
+                return OP_LOGGER;
+            }
+            if (converter instanceof ThreadNamePatternConverter) {
+                return OP_THREAD_NAME;
+            }
+            return OP_CONVERTER;
+        }
+
+        @Override
+        public String toSerializable(final LogEvent event) {
+            final StringBuilder sb = getStringBuilder();
+            try {
+                return toSerializable(event, sb).toString();
+            } finally {
+                trimToMaxSize(sb);
+            }
+        }
+
+        @Override
+        public StringBuilder toSerializable(final LogEvent event, final StringBuilder buffer) {
+            final byte[] opcodes = this.opcodes;
+            final Object[] operands = this.operands;
+            final FormattingInfo[] fields = this.fields;
+            for (int i = 0; i < opcodes.length; i++) {
+                final int start = buffer.length();
+                final Object operand = operands[i];
+                switch (opcodes[i]) {
+                    case OP_LITERAL:
+                        buffer.append((String) operand);
+                        break;
+                    case OP_DATE:
+                        ((DatePatternConverter) operand).format(event, buffer);
+                        break;
+                    case OP_LOGGER:
+                        ((LoggerPatternConverter) operand).format(event, buffer);
+                        break;
+                    case OP_THREAD_NAME:
+                        ((ThreadNamePatternConverter) operand).format(event, buffer);
+                        break;
+                    default:
+                        ((LogEventPatternConverter) operand).format(event, buffer);
+                }
+                final FormattingInfo field = fields[i];
+                if (field != null) {
+                    field.format(start, buffer);
+                }
+            }
+            return buffer;
+        }
+
+        @Override
+        public boolean requiresLocation() {
+            for (PatternFormatter formatter : formatters) {
+                if (formatter.requiresLocation()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + "[formatters=" + Arrays.toString(formatters) + ", operands="
+                    + Arrays.toString(operands) + "]";
+        }
+    }
+
     private static final class PatternSerializerWithReplacement implements Serializer, LocationAware {
 
         private final PatternSerializer delegate;
@@ -466,6 +624,7 @@ public final class PatternLayout extends AbstractStringLayout {
         private boolean alwaysWriteExceptions;
         private boolean disableAnsi;
         private boolean noConsoleNoAnsi;
+        private boolean compiled;
 
         @Override
         public Serializer build() {
@@ -481,6 +640,10 @@ public final class PatternLayout extends AbstractStringLayout {
                             disableAnsi,
                             noConsoleNoAnsi);
                     final PatternFormatter[] formatters = list.toArray(PatternFormatter.EMPTY_ARRAY);
+                    if (compiled) {
+                        final PatternSerializer serializer = new CompiledPatternSerializer(formatters);
+                        return replace == null ? serializer : new PatternSerializerWithReplacement(serializer, replace);
+                    }
                     boolean hasFormattingInfo = false;
                     for (PatternFormatter formatter : formatters) {
                         final FormattingInfo info = formatter.getFormattingInfo();
@@ -539,6 +702,17 @@ public final class PatternLayout extends AbstractStringLayout {
             this.noConsoleNoAnsi = noConsoleNoAnsi;
             return this;
         }
+
+        /**
+         * @param compiled If {@code true}, the pattern is compiled into a specialized serializer merging constant
+         *                 segments and dispatching common converters without megamorphic calls.
+         *                 This has no effect when a {@link PatternSelector} is used.
+         * @since 2.24.0
+         */
+        public SerializerBuilder setCompiled(final boolean compiled) {
+            this.compiled = compiled;
+            return this;
+        }
     }
 
     private static final class PatternSelectorSerializer implements Serializer, LocationAware {
@@ -663,6 +837,9 @@ public final class PatternLayout extends AbstractStringLayout {
         @PluginBuilderAttribute
         private String footer;
 
+        @PluginBuilderAttribute
+        private boolean compiled;
+
         private Builder() {}
 
         private boolean useAnsiEscapeCodes() {
@@ -766,6 +943,17 @@ public final class PatternLayout extends AbstractStringLayout {
             return this;
         }
 
+        /**
+         * @param compiled
+         *        If {@code "true"} (default is false), compile the pattern into a specialized serializer instead of
+         *        interpreting the parsed converters one by one. Ignored when a pattern selector is used.
+         * @since 2.24.0
+         */
+        public Builder withCompiled(final boolean compiled) {
+            this.compiled = compiled;
+            return this;
+        }
+
         @Override
         public PatternLayout build() {
             // should work with a null configuration
@@ -779,7 +967,8 @@ public final class PatternLayout extends AbstractStringLayout {
                     disableAnsi,
                     noConsoleNoAnsi,
                     header,
-                    footer);
+                    footer,
+                    compiled);
         }
     }
 
@@ -19,6 +19,7 @@ package org.apache.logging.log4j.core.net;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.InetAddress;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.logging.log4j.core.Layout;
@@ -69,6 +70,32 @@ public abstract class AbstractSocketManager extends OutputStreamManager {
         this.port = port;
     }
 
+    /**
+     * Constructs a new instance using the given buffer.
+     *
+     * @param name The unique name of this connection.
+     * @param os The OutputStream to manage.
+     * @param inetAddress The Internet address.
+     * @param host The target host name.
+     * @param port The target port number.
+     * @param byteBuffer The buffer.
+     * @since 2.24.0
+     */
+    protected AbstractSocketManager(
+            final String name,
+            final OutputStream os,
+            final InetAddress inetAddress,
+            final String host,
+            final int port,
+            final Layout<? extends Serializable> layout,
+            final boolean writeHeader,
+            final ByteBuffer byteBuffer) {
+        super(null, os, name, false, layout, writeHeader, byteBuffer);
+        this.inetAddress = inetAddress;
+        this.host = host;
+        this.port = port;
+    }
+
     /**
      * Gets this AbstractSocketManager's content format. Specified by:
      * <ul>
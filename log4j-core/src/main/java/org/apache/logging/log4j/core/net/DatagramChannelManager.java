@@ -0,0 +1,416 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.net.UnknownHostException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Socket Manager for UDP connections based on a {@link DatagramChannel}.
+ * <p>
+ * Unlike {@link DatagramSocketManager}, events are written into a reusable direct buffer and sent straight from it,
+ * without intermediate copies or per-datagram allocations. Events are accumulated until the manager is flushed, so
+ * that a batch of datagrams is sent while holding the lock only once. Each event is sent in its own datagram, unless
+ * a maximum datagram size is given, in which case consecutive events are packed into datagrams of up to that size.
+ * </p>
+ * <p>
+ * The layout header and footer, if any, are sent with every datagram. Events that do not fit into the buffer are
+ * split into several datagrams.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public class DatagramChannelManager extends AbstractSocketManager {
+
+    private static final DatagramChannelManagerFactory FACTORY = new DatagramChannelManagerFactory();
+
+    private static final int MIN_EVENT_CAPACITY = 16;
+
+    /**
+     * Assumed minimal event size used to bound the number of events tracked per flush.
+     */
+    private static final int MIN_EVENT_SIZE = 64;
+
+    private final DatagramChannel channel;
+
+    private final int maxDatagramSize;
+
+    /**
+     * The number of header and footer bytes framing each datagram.
+     */
+    private final int framingLength;
+
+    /**
+     * View of the buffer used to send individual datagrams without disturbing the buffer position.
+     */
+    private final ByteBuffer payload;
+
+    /**
+     * The header, payload and footer of a datagram, {@code null} if the layout has neither header nor footer.
+     */
+    private final ByteBuffer[] datagram;
+
+    /**
+     * The end offsets of the complete events in the buffer.
+     */
+    private final int[] eventEnds;
+
+    private int eventCount;
+
+    /**
+     * The start offset of the event being written.
+     */
+    private int eventStart;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param name the unique name of the connection
+     * @param channel the channel connected to the target address
+     * @param inetAddress the Internet Protocol (IP) address
+     * @param host the host to connect to
+     * @param port the port on the host
+     * @param layout the layout
+     * @param bufferSize the buffer size
+     * @param maxDatagramSize the maximum size of datagrams packing several events, or zero to send one event per
+     *                        datagram
+     */
+    protected DatagramChannelManager(
+            final String name,
+            final DatagramChannel channel,
+            final InetAddress inetAddress,
+            final String host,
+            final int port,
+            final Layout<? extends Serializable> layout,
+            final int bufferSize,
+            final int maxDatagramSize) {
+        super(
+                name,
+                null,
+                inetAddress,
+                host,
+                port,
+                layout,
+                false,
+                ByteBuffer.allocateDirect(Math.max(bufferSize, maxDatagramSize)));
+        this.channel = channel;
+        this.maxDatagramSize = Math.max(0, maxDatagramSize);
+        this.payload = byteBuffer.duplicate();
+        final ByteBuffer header = wrap(layout.getHeader());
+        final ByteBuffer footer = wrap(layout.getFooter());
+        this.framingLength = header.capacity() + footer.capacity();
+        this.datagram = framingLength > 0 ? new ByteBuffer[] {header, payload, footer} : null;
+        this.eventEnds = new int[Math.max(MIN_EVENT_CAPACITY, byteBuffer.capacity() / MIN_EVENT_SIZE)];
+    }
+
+    private static ByteBuffer wrap(final byte[] bytes) {
+        return ByteBuffer.wrap(bytes != null ? bytes : new byte[0]).asReadOnlyBuffer();
+    }
+
+    /**
+     * Obtains a DatagramChannelManager.
+     *
+     * @param host The host to connect to.
+     * @param port The port on the host.
+     * @param layout The layout.
+     * @param bufferSize The buffer size.
+     * @param maxDatagramSize The maximum size of datagrams packing several events, or zero to send one event per
+     *                        datagram.
+     * @return A DatagramChannelManager.
+     */
+    public static DatagramChannelManager getManager(
+            final String host,
+            final int port,
+            final Layout<? extends Serializable> layout,
+            final int bufferSize,
+            final int maxDatagramSize) {
+        if (Strings.isEmpty(host)) {
+            throw new IllegalArgumentException("A host name is required");
+        }
+        if (port <= 0) {
+            throw new IllegalArgumentException("A port value is required");
+        }
+        return (DatagramChannelManager) getManager(
+                "UDPChannel:" + host + ':' + port,
+                new FactoryData(host, port, layout, bufferSize, maxDatagramSize),
+                FACTORY);
+    }
+
+    /**
+     * Gets the maximum size of datagrams packing several events.
+     *
+     * @return the maximum datagram size, or zero if every event is sent in its own datagram
+     */
+    public int getMaxDatagramSize() {
+        return maxDatagramSize;
+    }
+
+    /**
+     * Encodes the given event directly into the buffer of this manager.
+     *
+     * @param layout the layout to encode the event with
+     * @param event the event to encode
+     * @param immediateFlush if {@code true}, the buffered events are sent after encoding
+     */
+    public synchronized void encode(final Layout<?> layout, final LogEvent event, final boolean immediateFlush) {
+        layout.encode(event, this);
+        endEvent();
+        if (immediateFlush) {
+            flush();
+        }
+    }
+
+    @Override
+    protected synchronized void write(
+            final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        writeBytes(bytes, offset, length);
+        endEvent();
+        if (immediateFlush) {
+            flush();
+        }
+    }
+
+    @Override
+    public synchronized void writeBytes(final byte[] data, final int offset, final int length) {
+        int dataOffset = offset;
+        int dataLength = length;
+        while (dataLength > 0) {
+            if (!byteBuffer.hasRemaining()) {
+                drain(byteBuffer);
+            }
+            final int chunkLength = Math.min(dataLength, byteBuffer.remaining());
+            byteBuffer.put(data, dataOffset, chunkLength);
+            dataOffset += chunkLength;
+            dataLength -= chunkLength;
+        }
+    }
+
+    @Override
+    public synchronized void writeBytes(final ByteBuffer data) {
+        final int dataLimit = data.limit();
+        while (data.hasRemaining()) {
+            if (!byteBuffer.hasRemaining()) {
+                drain(byteBuffer);
+            }
+            ((Buffer) data).limit(data.position() + Math.min(data.remaining(), byteBuffer.remaining()));
+            byteBuffer.put(data);
+            ((Buffer) data).limit(dataLimit);
+        }
+    }
+
+    /**
+     * Makes room in the buffer while an event is being written.
+     * <p>
+     * The complete events are sent and the partially written event is moved to the start of the buffer. If the
+     * partially written event already fills the whole buffer, it is sent as a datagram on its own.
+     * </p>
+     */
+    @Override
+    public synchronized ByteBuffer drain(final ByteBuffer buf) {
+        if (eventStart > 0) {
+            sendEvents();
+        } else if (byteBuffer.position() > 0) {
+            try {
+                send(0, byteBuffer.position());
+            } finally {
+                ((Buffer) byteBuffer).clear();
+            }
+        }
+        return byteBuffer;
+    }
+
+    @Override
+    protected synchronized void flushBuffer(final ByteBuffer buf) {
+        sendEvents();
+    }
+
+    @Override
+    protected synchronized void flushDestination() {
+        // Datagrams are sent while flushing the buffer
+    }
+
+    /**
+     * The footer is sent with every datagram.
+     */
+    @Override
+    protected void writeFooter() {
+        // Nothing to do
+    }
+
+    @Override
+    protected synchronized boolean closeOutputStream() {
+        try {
+            flush();
+        } catch (final AppenderLoggingException ex) {
+            logError("Unable to flush channel", ex);
+        }
+        try {
+            channel.close();
+            LOGGER.debug("DatagramChannel closed");
+        } catch (final IOException ex) {
+            logError("Unable to close channel", ex);
+            return false;
+        }
+        return true;
+    }
+
+    private void endEvent() {
+        final int position = byteBuffer.position();
+        if (position > eventStart) {
+            eventEnds[eventCount++] = position;
+            eventStart = position;
+            if (eventCount == eventEnds.length) {
+                sendEvents();
+            }
+        }
+    }
+
+    /**
+     * Sends the complete events and moves the event being written, if any, to the start of the buffer.
+     */
+    private void sendEvents() {
+        try {
+            int datagramStart = 0;
+            for (int eventIndex = 0; eventIndex < eventCount; eventIndex++) {
+                final int eventEnd = eventEnds[eventIndex];
+                final boolean lastEvent = eventIndex + 1 == eventCount;
+                if (maxDatagramSize == 0
+                        || lastEvent
+                        || eventEnds[eventIndex + 1] - datagramStart + framingLength > maxDatagramSize) {
+                    send(datagramStart, eventEnd);
+                    datagramStart = eventEnd;
+                }
+            }
+        } finally {
+            ((Buffer) byteBuffer).limit(byteBuffer.position());
+            ((Buffer) byteBuffer).position(eventStart);
+            byteBuffer.compact();
+            eventStart = 0;
+            eventCount = 0;
+        }
+    }
+
+    private void send(final int start, final int end) {
+        ((Buffer) payload).limit(end);
+        ((Buffer) payload).position(start);
+        try {
+            if (datagram == null) {
+                channel.write(payload);
+            } else {
+                ((Buffer) datagram[0]).rewind();
+                ((Buffer) datagram[2]).rewind();
+                channel.write(datagram);
+            }
+        } catch (final PortUnreachableException ignored) {
+            // Nobody is listening, the datagram is dropped as with an unconnected socket
+        } catch (final IOException ex) {
+            throw new AppenderLoggingException("Error sending datagram to " + getName(), ex);
+        }
+    }
+
+    /**
+     * Gets this DatagramChannelManager's content format. Specified by:
+     * <ul>
+     * <li>Key: "protocol" Value: "udp"</li>
+     * <li>Key: "direction" Value: "out"</li>
+     * </ul>
+     *
+     * @return Map of content format keys supporting DatagramChannelManager
+     */
+    @Override
+    public Map<String, String> getContentFormat() {
+        final Map<String, String> result = new HashMap<>(super.getContentFormat());
+        result.put("protocol", "udp");
+        result.put("direction", "out");
+        return result;
+    }
+
+    /**
+     * Data for the factory.
+     */
+    private static class FactoryData {
+        private final String host;
+        private final int port;
+        private final Layout<? extends Serializable> layout;
+        private final int bufferSize;
+        private final int maxDatagramSize;
+
+        public FactoryData(
+                final String host,
+                final int port,
+                final Layout<? extends Serializable> layout,
+                final int bufferSize,
+                final int maxDatagramSize) {
+            this.host = host;
+            this.port = port;
+            this.layout = layout;
+            this.bufferSize = bufferSize;
+            this.maxDatagramSize = maxDatagramSize;
+        }
+    }
+
+    /**
+     * Factory to create the DatagramChannelManager.
+     */
+    private static class DatagramChannelManagerFactory implements ManagerFactory<DatagramChannelManager, FactoryData> {
+
+        @Override
+        public DatagramChannelManager createManager(final String name, final FactoryData data) {
+            final InetAddress inetAddress;
+            try {
+                inetAddress = InetAddress.getByName(data.host);
+            } catch (final UnknownHostException ex) {
+                LOGGER.error("Could not find address of " + data.host, ex);
+                return null;
+            }
+            DatagramChannel channel = null;
+            try {
+                channel = DatagramChannel.open();
+                // Connecting allows gathering writes and skips the per-datagram address checks
+                channel.connect(new InetSocketAddress(inetAddress, data.port));
+            } catch (final IOException ex) {
+                LOGGER.error("Could not open DatagramChannel to " + data.host + ':' + data.port, ex);
+                Closer.closeSilently(channel);
+                return null;
+            }
+            return new DatagramChannelManager(
+                    name,
+                    channel,
+                    inetAddress,
+                    data.host,
+                    data.port,
+                    data.layout,
+                    data.bufferSize,
+                    data.maxDatagramSize);
+        }
+    }
+}
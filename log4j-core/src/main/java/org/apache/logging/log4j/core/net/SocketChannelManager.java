@@ -0,0 +1,1153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Socket Manager for TCP connections based on a non-blocking {@link SocketChannel}.
+ * <p>
+ * Unlike {@link TcpSocketManager}, logging threads never write to the network: complete events are copied into a
+ * bounded off-heap buffer, which a dedicated I/O thread sends through a {@link Selector}. Connecting and reconnecting
+ * is also done by the I/O thread, so a slow or unreachable collector never holds the locks taken by logging threads.
+ * When the buffer is full, the {@link OverflowPolicy} decides whether logging threads wait for room, or which events
+ * are dropped or spilled to disk.
+ * </p>
+ * <p>
+ * The layout header, if any, is sent at the start of every connection. Data not yet written to the socket when a
+ * connection breaks is sent over the next connection, so the event being written at that time may arrive truncated.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public class SocketChannelManager extends AbstractSocketManager {
+
+    /**
+     * Decides what happens to events that do not fit into the channel buffer.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * The logging thread waits until the I/O thread has made room for the event.
+         */
+        BLOCK,
+
+        /**
+         * The oldest buffered events are dropped to make room for the event.
+         */
+        DROP_OLDEST,
+
+        /**
+         * The event is dropped.
+         */
+        DROP_NEWEST,
+
+        /**
+         * The event is appended to a spill file, as are all following events until the I/O thread has sent the
+         * content of the spill file.
+         */
+        SPILL
+    }
+
+    /**
+     * The default size of the channel buffer (256 KiB).
+     */
+    public static final int DEFAULT_CHANNEL_BUFFER_SIZE = 256 * 1024;
+
+    private static final SocketChannelManagerFactory FACTORY = new SocketChannelManagerFactory();
+
+    private static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Events are stored in the channel buffer after their length.
+     */
+    private static final int LENGTH_SIZE = 4;
+
+    private static final int MAX_OUTBOUND_SIZE = 64 * 1024;
+
+    private static final int MIN_EVENT_CAPACITY = 16;
+
+    /**
+     * Assumed minimal event size used to bound the number of events tracked per flush.
+     */
+    private static final int MIN_EVENT_SIZE = 64;
+
+    private final int connectTimeoutMillis;
+
+    private final int reconnectionDelayMillis;
+
+    private final SocketOptions socketOptions;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Path spillPath;
+
+    // Events being written by logging threads, guarded by this manager
+
+    /**
+     * The end offsets of the complete events in the byte buffer.
+     */
+    private final int[] eventEnds;
+
+    private int eventCount;
+
+    /**
+     * The start offset of the event being written.
+     */
+    private int eventStart;
+
+    /**
+     * Whether the event being written is larger than the channel buffer.
+     */
+    private boolean oversizedEvent;
+
+    // Events waiting to be sent, guarded by the lock
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notFull = lock.newCondition();
+
+    private final ByteBuffer channelBuffer;
+
+    private final ByteBuffer channelBufferWriter;
+
+    private final ByteBuffer channelBufferReader;
+
+    private int head;
+
+    private int used;
+
+    /**
+     * The number of bytes of the first event already handed to the I/O thread.
+     */
+    private int headSent;
+
+    private int bufferedEvents;
+
+    private FileChannel spill;
+
+    private Path spillFile;
+
+    private long spillStart;
+
+    private long spillEnd;
+
+    private long droppedEvents;
+
+    private long spilledEvents;
+
+    private boolean stopped;
+
+    // I/O thread state
+
+    private final Selector selector;
+
+    private final IoThread ioThread;
+
+    private volatile boolean ioWaiting;
+
+    private volatile boolean connected;
+
+    private volatile boolean closing;
+
+    private volatile boolean aborted;
+
+    private volatile long closeDeadlineNanos;
+
+    /**
+     * Constructs a new instance. The I/O thread is started by {@link #startIoThread()}, once the instance is fully
+     * constructed.
+     *
+     * @param name the unique name of the connection
+     * @param selector the selector used by the I/O thread
+     * @param inetAddress the Internet Protocol (IP) address
+     * @param host the host to connect to
+     * @param port the port on the host
+     * @param connectTimeoutMillis the connect timeout in milliseconds, or zero to wait indefinitely
+     * @param reconnectionDelayMillis the delay between connection attempts in milliseconds
+     * @param layout the layout
+     * @param bufferSize the size of the buffer events are encoded into
+     * @param socketOptions the socket options, may be {@code null}
+     * @param channelBufferSize the size of the off-heap buffer holding the events waiting to be sent
+     * @param overflowPolicy what to do with events that do not fit into the channel buffer
+     * @param spillPath the spill file, or {@code null} to use a temporary file
+     */
+    protected SocketChannelManager(
+            final String name,
+            final Selector selector,
+            final InetAddress inetAddress,
+            final String host,
+            final int port,
+            final int connectTimeoutMillis,
+            final int reconnectionDelayMillis,
+            final Layout<? extends Serializable> layout,
+            final int bufferSize,
+            final SocketOptions socketOptions,
+            final int channelBufferSize,
+            final OverflowPolicy overflowPolicy,
+            final Path spillPath) {
+        super(name, null, inetAddress, host, port, layout, false, ByteBuffer.allocate(Math.max(bufferSize, 1)));
+        this.selector = selector;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.reconnectionDelayMillis = reconnectionDelayMillis;
+        this.socketOptions = socketOptions;
+        this.overflowPolicy = overflowPolicy != null ? overflowPolicy : OverflowPolicy.BLOCK;
+        this.spillPath = spillPath;
+        this.eventEnds = new int[Math.max(MIN_EVENT_CAPACITY, byteBuffer.capacity() / MIN_EVENT_SIZE)];
+        this.channelBuffer = ByteBuffer.allocateDirect(Math.max(channelBufferSize, bufferSize + LENGTH_SIZE));
+        this.channelBufferWriter = channelBuffer.duplicate();
+        this.channelBufferReader = channelBuffer.duplicate();
+        final byte[] header = layout != null ? layout.getHeader() : null;
+        this.ioThread = new IoThread(
+                ByteBuffer.allocateDirect(Math.min(channelBuffer.capacity(), MAX_OUTBOUND_SIZE)),
+                ByteBuffer.wrap(header != null ? header : new byte[0]).asReadOnlyBuffer());
+    }
+
+    /**
+     * Starts the I/O thread that connects to the host and sends the buffered events.
+     */
+    protected void startIoThread() {
+        ioThread.start();
+    }
+
+    /**
+     * Obtains a SocketChannelManager.
+     *
+     * @param host The host to connect to.
+     * @param port The port on the host.
+     * @param connectTimeoutMillis The connect timeout in milliseconds, or zero to wait indefinitely.
+     * @param reconnectDelayMillis The delay between connection attempts in milliseconds.
+     * @param layout The layout.
+     * @param bufferSize The size of the buffer events are encoded into.
+     * @param socketOptions The socket options, may be {@code null}.
+     * @param channelBufferSize The size of the off-heap buffer holding the events waiting to be sent.
+     * @param overflowPolicy What to do with events that do not fit into the channel buffer.
+     * @param spillFile The spill file, or {@code null} to use a temporary file.
+     * @return A SocketChannelManager.
+     */
+    public static SocketChannelManager getManager(
+            final String host,
+            int port,
+            final int connectTimeoutMillis,
+            int reconnectDelayMillis,
+            final Layout<? extends Serializable> layout,
+            final int bufferSize,
+            final SocketOptions socketOptions,
+            int channelBufferSize,
+            final OverflowPolicy overflowPolicy,
+            final String spillFile) {
+        if (Strings.isEmpty(host)) {
+            throw new IllegalArgumentException("A host name is required");
+        }
+        if (port <= 0) {
+            port = TcpSocketManager.DEFAULT_PORT;
+        }
+        if (reconnectDelayMillis <= 0) {
+            reconnectDelayMillis = TcpSocketManager.DEFAULT_RECONNECTION_DELAY_MILLIS;
+        }
+        if (channelBufferSize <= 0) {
+            channelBufferSize = DEFAULT_CHANNEL_BUFFER_SIZE;
+        }
+        return (SocketChannelManager) getManager(
+                "TCPChannel:" + host + ':' + port,
+                new FactoryData(
+                        host,
+                        port,
+                        connectTimeoutMillis,
+                        reconnectDelayMillis,
+                        layout,
+                        bufferSize,
+                        socketOptions,
+                        channelBufferSize,
+                        overflowPolicy,
+                        Strings.isEmpty(spillFile) ? null : Paths.get(spillFile)),
+                FACTORY);
+    }
+
+    /**
+     * Encodes the given event directly into the buffer of this manager.
+     *
+     * @param layout the layout to encode the event with
+     * @param event the event to encode
+     * @param immediateFlush if {@code true}, the buffered events are handed to the I/O thread after encoding
+     */
+    public synchronized void encode(final Layout<?> layout, final LogEvent event, final boolean immediateFlush) {
+        layout.encode(event, this);
+        endEvent();
+        if (immediateFlush) {
+            flush();
+        }
+    }
+
+    @Override
+    protected synchronized void write(
+            final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        writeBytes(bytes, offset, length);
+        endEvent();
+        if (immediateFlush) {
+            flush();
+        }
+    }
+
+    @Override
+    public synchronized void writeBytes(final byte[] data, final int offset, final int length) {
+        int dataOffset = offset;
+        int dataLength = length;
+        while (dataLength > 0) {
+            if (!byteBuffer.hasRemaining()) {
+                drain(byteBuffer);
+            }
+            final int chunkLength = Math.min(dataLength, byteBuffer.remaining());
+            byteBuffer.put(data, dataOffset, chunkLength);
+            dataOffset += chunkLength;
+            dataLength -= chunkLength;
+        }
+    }
+
+    @Override
+    public synchronized void writeBytes(final ByteBuffer data) {
+        final int dataLimit = data.limit();
+        while (data.hasRemaining()) {
+            if (!byteBuffer.hasRemaining()) {
+                drain(byteBuffer);
+            }
+            ((Buffer) data).limit(data.position() + Math.min(data.remaining(), byteBuffer.remaining()));
+            byteBuffer.put(data);
+            ((Buffer) data).limit(dataLimit);
+        }
+    }
+
+    /**
+     * Makes room in the buffer while an event is being written.
+     * <p>
+     * The complete events are handed to the I/O thread and the partially written event is moved to the start of the
+     * buffer. If the partially written event already fills the whole buffer, the buffer grows up to the size of the
+     * channel buffer. Events larger than that are spilled with the {@link OverflowPolicy#SPILL} policy and dropped
+     * otherwise.
+     * </p>
+     */
+    @Override
+    public synchronized ByteBuffer drain(final ByteBuffer buf) {
+        if (eventStart > 0) {
+            offerEvents();
+        } else if (!oversizedEvent && byteBuffer.capacity() < maxEventSize()) {
+            final ByteBuffer larger =
+                    ByteBuffer.allocate((int) Math.min((long) byteBuffer.capacity() << 1, maxEventSize()));
+            ((Buffer) byteBuffer).flip();
+            larger.put(byteBuffer);
+            byteBuffer = larger;
+        } else {
+            oversizedEvent = true;
+            offerOversizedEvent();
+        }
+        return byteBuffer;
+    }
+
+    @Override
+    protected synchronized void flushBuffer(final ByteBuffer buf) {
+        offerEvents();
+    }
+
+    @Override
+    protected synchronized void flushDestination() {
+        // Events are sent by the I/O thread
+    }
+
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        final long timeoutMillis = timeout > 0 ? timeUnit.toMillis(timeout) : DEFAULT_CLOSE_TIMEOUT_MILLIS;
+        closeDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            // Logging threads waiting for room now wait no longer than the deadline
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return super.releaseSub(timeout, timeUnit);
+    }
+
+    /**
+     * Hands the remaining events to the I/O thread and waits until they are sent or the close timeout expires.
+     */
+    @SuppressWarnings("sync-override") // synchronization on "this" is done within the method
+    @Override
+    protected boolean closeOutputStream() {
+        if (closeDeadlineNanos == 0) {
+            closeDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEFAULT_CLOSE_TIMEOUT_MILLIS);
+        }
+        synchronized (this) {
+            try {
+                flush();
+            } catch (final AppenderLoggingException ex) {
+                logError("Unable to flush channel", ex);
+            }
+        }
+        closing = true;
+        selector.wakeup();
+        try {
+            ioThread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(closeDeadlineNanos - System.nanoTime())));
+            if (ioThread.isAlive()) {
+                aborted = true;
+                selector.wakeup();
+                ioThread.join();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            aborted = true;
+            selector.wakeup();
+        }
+        lock.lock();
+        try {
+            closeSpill();
+            return bufferedEvents == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the connect timeout.
+     *
+     * @return the connect timeout in milliseconds
+     */
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    /**
+     * Gets the delay between connection attempts.
+     *
+     * @return the reconnection delay in milliseconds
+     */
+    public int getReconnectionDelayMillis() {
+        return reconnectionDelayMillis;
+    }
+
+    /**
+     * Gets the policy applied to events that do not fit into the channel buffer.
+     *
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Tells whether the I/O thread is currently connected.
+     *
+     * @return {@code true} if connected
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Gets the size of the channel buffer.
+     *
+     * @return the channel buffer capacity in bytes
+     */
+    public int getChannelBufferCapacity() {
+        return channelBuffer.capacity();
+    }
+
+    /**
+     * Gets the number of bytes used in the channel buffer, including the length of each event.
+     *
+     * @return the channel buffer occupancy in bytes
+     */
+    public int getChannelBufferUsed() {
+        lock.lock();
+        try {
+            return used;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of events in the channel buffer.
+     *
+     * @return the number of events waiting to be sent, not counting spilled events
+     */
+    public int getBufferedEventCount() {
+        lock.lock();
+        try {
+            return bufferedEvents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of events dropped since this manager was created.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEventCount() {
+        lock.lock();
+        try {
+            return droppedEvents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of events spilled to disk since this manager was created.
+     *
+     * @return the number of spilled events
+     */
+    public long getSpilledEventCount() {
+        lock.lock();
+        try {
+            return spilledEvents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of spilled bytes waiting to be sent.
+     *
+     * @return the spill file occupancy in bytes
+     */
+    public long getSpilledBytes() {
+        lock.lock();
+        try {
+            return spillEnd - spillStart;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int maxEventSize() {
+        return channelBuffer.capacity() - LENGTH_SIZE;
+    }
+
+    private void endEvent() {
+        final int position = byteBuffer.position();
+        if (oversizedEvent) {
+            offerOversizedEvent();
+            oversizedEvent = false;
+            lock.lock();
+            try {
+                if (overflowPolicy == OverflowPolicy.SPILL) {
+                    spilledEvents++;
+                } else {
+                    droppedEvents++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        } else if (position > eventStart) {
+            eventEnds[eventCount++] = position;
+            eventStart = position;
+            if (eventCount == eventEnds.length) {
+                offerEvents();
+            }
+        }
+    }
+
+    /**
+     * Hands the complete events to the I/O thread and moves the event being written, if any, to the start of the
+     * buffer.
+     */
+    private void offerEvents() {
+        if (eventCount == 0) {
+            return;
+        }
+        final byte[] array = byteBuffer.array();
+        final int arrayOffset = byteBuffer.arrayOffset();
+        lock.lock();
+        try {
+            int start = 0;
+            for (int eventIndex = 0; eventIndex < eventCount; eventIndex++) {
+                final int end = eventEnds[eventIndex];
+                offer(array, arrayOffset + start, end - start);
+                start = end;
+            }
+        } finally {
+            lock.unlock();
+            ((Buffer) byteBuffer).limit(byteBuffer.position());
+            ((Buffer) byteBuffer).position(eventStart);
+            byteBuffer.compact();
+            eventStart = 0;
+            eventCount = 0;
+        }
+        wakeUpIoThread();
+    }
+
+    /**
+     * Spills or discards the buffered part of an event larger than the channel buffer.
+     */
+    private void offerOversizedEvent() {
+        if (overflowPolicy == OverflowPolicy.SPILL && byteBuffer.position() > 0) {
+            lock.lock();
+            try {
+                spill(byteBuffer.array(), byteBuffer.arrayOffset(), byteBuffer.position());
+            } finally {
+                lock.unlock();
+            }
+            wakeUpIoThread();
+        }
+        ((Buffer) byteBuffer).clear();
+    }
+
+    /**
+     * Appends an event to the channel buffer, applying the overflow policy if it does not fit.
+     */
+    private void offer(final byte[] array, final int offset, final int length) {
+        if (spillEnd > spillStart) {
+            // Keeps the events in order until the spill file is sent
+            if (spill(array, offset, length)) {
+                spilledEvents++;
+            }
+            return;
+        }
+        final int size = LENGTH_SIZE + length;
+        while (channelBuffer.capacity() - used < size) {
+            switch (overflowPolicy) {
+                case BLOCK:
+                    if (!awaitRoom()) {
+                        droppedEvents++;
+                        return;
+                    }
+                    break;
+                case DROP_OLDEST:
+                    if (!dropOldest()) {
+                        droppedEvents++;
+                        return;
+                    }
+                    break;
+                case SPILL:
+                    if (spill(array, offset, length)) {
+                        spilledEvents++;
+                    }
+                    return;
+                default:
+                    droppedEvents++;
+                    return;
+            }
+        }
+        final int capacity = channelBuffer.capacity();
+        final int tail = (head + used) % capacity;
+        for (int i = 0; i < LENGTH_SIZE; i++) {
+            channelBuffer.put((tail + i) % capacity, (byte) (length >>> (24 - (i << 3))));
+        }
+        final int start = (tail + LENGTH_SIZE) % capacity;
+        final int firstLength = Math.min(length, capacity - start);
+        ((Buffer) channelBufferWriter).clear();
+        ((Buffer) channelBufferWriter).position(start);
+        channelBufferWriter.put(array, offset, firstLength);
+        if (firstLength < length) {
+            ((Buffer) channelBufferWriter).position(0);
+            channelBufferWriter.put(array, offset + firstLength, length - firstLength);
+        }
+        used += size;
+        bufferedEvents++;
+    }
+
+    /**
+     * Waits until the I/O thread frees some room, or the manager is closed.
+     *
+     * @return {@code false} if the event must be dropped
+     */
+    private boolean awaitRoom() {
+        if (stopped) {
+            return false;
+        }
+        // The I/O thread might be waiting for events that were offered without waking it up
+        selector.wakeup();
+        try {
+            final long deadline = closeDeadlineNanos;
+            if (deadline == 0) {
+                notFull.await();
+                return true;
+            }
+            final long remainingNanos = deadline - System.nanoTime();
+            return remainingNanos > 0 && notFull.awaitNanos(remainingNanos) > 0;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean dropOldest() {
+        if (used == 0 || headSent > 0) {
+            return false;
+        }
+        final int size = LENGTH_SIZE + readLength();
+        head = (head + size) % channelBuffer.capacity();
+        used -= size;
+        bufferedEvents--;
+        droppedEvents++;
+        return true;
+    }
+
+    private int readLength() {
+        final int capacity = channelBuffer.capacity();
+        int length = 0;
+        for (int i = 0; i < LENGTH_SIZE; i++) {
+            length = (length << 8) | (channelBuffer.get((head + i) % capacity) & 0xFF);
+        }
+        return length;
+    }
+
+    private boolean spill(final byte[] array, final int offset, final int length) {
+        final ByteBuffer source = ByteBuffer.wrap(array, offset, length);
+        try {
+            if (spill == null) {
+                spillFile =
+                        spillPath != null ? spillPath : Files.createTempFile("log4j-" + host + '-' + port, ".spill");
+                spill = FileChannel.open(
+                        spillFile,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+            }
+            long position = spillEnd;
+            while (source.hasRemaining()) {
+                position += spill.write(source, position);
+            }
+            spillEnd = position;
+            return true;
+        } catch (final IOException ex) {
+            LOGGER.error("Unable to spill events of {} to {}", getName(), spillFile, ex);
+            droppedEvents++;
+            return false;
+        }
+    }
+
+    private void closeSpill() {
+        if (spill != null) {
+            Closer.closeSilently(spill);
+            try {
+                Files.deleteIfExists(spillFile);
+            } catch (final IOException ex) {
+                LOGGER.warn("Unable to delete spill file {}", spillFile, ex);
+            }
+            spill = null;
+            spillStart = spillEnd = 0;
+        }
+    }
+
+    private void wakeUpIoThread() {
+        if (ioWaiting) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Moves the oldest waiting events to the outbound buffer of the I/O thread.
+     */
+    private void claim(final ByteBuffer outbound) {
+        lock.lock();
+        try {
+            final int capacity = channelBuffer.capacity();
+            boolean freed = false;
+            while (used > 0 && outbound.hasRemaining()) {
+                final int length = readLength();
+                final int count = Math.min(length - headSent, outbound.remaining());
+                final int start = (head + LENGTH_SIZE + headSent) % capacity;
+                final int firstCount = Math.min(count, capacity - start);
+                ((Buffer) channelBufferReader).limit(start + firstCount);
+                ((Buffer) channelBufferReader).position(start);
+                outbound.put(channelBufferReader);
+                if (firstCount < count) {
+                    ((Buffer) channelBufferReader).limit(count - firstCount);
+                    ((Buffer) channelBufferReader).position(0);
+                    outbound.put(channelBufferReader);
+                }
+                headSent += count;
+                if (headSent < length) {
+                    break;
+                }
+                head = (head + LENGTH_SIZE + length) % capacity;
+                used -= LENGTH_SIZE + length;
+                headSent = 0;
+                bufferedEvents--;
+                freed = true;
+            }
+            if (used == 0 && outbound.hasRemaining() && spillEnd > spillStart) {
+                readSpill(outbound);
+            }
+            if (freed) {
+                notFull.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void readSpill(final ByteBuffer outbound) {
+        final int limit = outbound.limit();
+        ((Buffer) outbound).limit(outbound.position() + (int) Math.min(outbound.remaining(), spillEnd - spillStart));
+        try {
+            while (outbound.hasRemaining()) {
+                final int count = spill.read(outbound, spillStart);
+                if (count < 0) {
+                    throw new IOException("Unexpected end of spill file " + spillFile);
+                }
+                spillStart += count;
+            }
+            if (spillStart == spillEnd) {
+                spillStart = spillEnd = 0;
+                spill.truncate(0);
+            }
+        } catch (final IOException ex) {
+            LOGGER.error("Unable to read spill file {}, discarding the spilled events", spillFile, ex);
+            spillStart = spillEnd = 0;
+        } finally {
+            ((Buffer) outbound).limit(limit);
+        }
+    }
+
+    private boolean hasPendingEvents() {
+        lock.lock();
+        try {
+            return used > 0 || spillEnd > spillStart;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ioThreadStopped() {
+        lock.lock();
+        try {
+            stopped = true;
+            if (bufferedEvents > 0 || spillEnd > spillStart) {
+                LOGGER.warn(
+                        "{} dropping {} buffered events and {} spilled bytes",
+                        getName(),
+                        bufferedEvents,
+                        spillEnd - spillStart);
+            }
+            droppedEvents += bufferedEvents;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets this SocketChannelManager's content format. Specified by:
+     * <ul>
+     * <li>Key: "protocol" Value: "tcp"</li>
+     * <li>Key: "direction" Value: "out"</li>
+     * </ul>
+     *
+     * @return Map of content format keys supporting SocketChannelManager
+     */
+    @Override
+    public Map<String, String> getContentFormat() {
+        final Map<String, String> result = new HashMap<>(super.getContentFormat());
+        result.put("protocol", "tcp");
+        result.put("direction", "out");
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SocketChannelManager [host=" + host + ", port=" + port + ", connected=" + connected
+                + ", overflowPolicy=" + overflowPolicy + ", channelBufferSize=" + channelBuffer.capacity()
+                + ", connectTimeoutMillis=" + connectTimeoutMillis + ", reconnectionDelayMillis="
+                + reconnectionDelayMillis + ", socketOptions=" + socketOptions + "]";
+    }
+
+    /**
+     * Connects to the target and sends the buffered events.
+     */
+    private final class IoThread extends Log4jThread {
+
+        private final ByteBuffer outbound;
+
+        private final ByteBuffer header;
+
+        private final ByteBuffer[] writes;
+
+        private final ByteBuffer discarded = ByteBuffer.allocate(512);
+
+        private SocketChannel channel;
+
+        private SelectionKey key;
+
+        IoThread(final ByteBuffer outbound, final ByteBuffer header) {
+            super("SocketChannelManager-" + SocketChannelManager.this.getName());
+            this.outbound = outbound;
+            this.header = header;
+            this.writes = new ByteBuffer[] {header, outbound};
+            setDaemon(true);
+            ((Buffer) outbound).flip();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!aborted) {
+                    if (channel == null && closing && !outbound.hasRemaining() && !hasPendingEvents()) {
+                        break;
+                    }
+                    if (channel == null && !connect()) {
+                        if (closing) {
+                            break;
+                        }
+                        pause();
+                        continue;
+                    }
+                    if (!outbound.hasRemaining()) {
+                        ((Buffer) outbound).clear();
+                        claim(outbound);
+                        ((Buffer) outbound).flip();
+                    }
+                    if (outbound.hasRemaining() || header.hasRemaining()) {
+                        send();
+                    } else if (closing) {
+                        break;
+                    } else {
+                        awaitEvents();
+                    }
+                }
+            } finally {
+                disconnect();
+                Closer.closeSilently(selector);
+                ioThreadStopped();
+            }
+        }
+
+        private boolean connect() {
+            final List<InetSocketAddress> socketAddresses;
+            try {
+                socketAddresses = TcpSocketManager.TcpSocketManagerFactory.RESOLVER.resolveHost(host, port);
+            } catch (final UnknownHostException ex) {
+                LOGGER.debug("Could not find address of {}: {}", host, ex.getMessage());
+                return false;
+            }
+            for (final InetSocketAddress socketAddress : socketAddresses) {
+                SocketChannel newChannel = null;
+                try {
+                    newChannel = SocketChannel.open();
+                    if (socketOptions != null) {
+                        socketOptions.apply(newChannel.socket());
+                    }
+                    newChannel.configureBlocking(false);
+                    if (!newChannel.connect(socketAddress)) {
+                        finishConnect(newChannel);
+                    }
+                    if (socketOptions != null) {
+                        socketOptions.apply(newChannel.socket());
+                    }
+                    key = newChannel.register(selector, SelectionKey.OP_READ);
+                    channel = newChannel;
+                    ((Buffer) header).rewind();
+                    connected = true;
+                    LOGGER.debug("Connection to {} established for {}", socketAddress, getName());
+                    return true;
+                } catch (final IOException ex) {
+                    Closer.closeSilently(newChannel);
+                    LOGGER.debug("Unable to connect to {} for {}: {}", socketAddress, getName(), ex.getMessage());
+                }
+            }
+            return false;
+        }
+
+        private void finishConnect(final SocketChannel newChannel) throws IOException {
+            newChannel.register(selector, SelectionKey.OP_CONNECT);
+            final long start = System.nanoTime();
+            while (!newChannel.finishConnect()) {
+                if (aborted) {
+                    throw new IOException("Connection aborted");
+                }
+                long timeoutMillis = 0;
+                if (connectTimeoutMillis > 0) {
+                    timeoutMillis = connectTimeoutMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (timeoutMillis <= 0) {
+                        throw new SocketTimeoutException("Connect timed out");
+                    }
+                }
+                selector.select(timeoutMillis);
+                selector.selectedKeys().clear();
+            }
+        }
+
+        private void disconnect() {
+            if (channel != null) {
+                Closer.closeSilently(channel);
+                channel = null;
+                key = null;
+                connected = false;
+            }
+        }
+
+        private void pause() {
+            try {
+                selector.select(reconnectionDelayMillis);
+                selector.selectedKeys().clear();
+            } catch (final IOException ex) {
+                LOGGER.debug("Selector of {} failed: {}", getName(), ex.getMessage());
+            }
+        }
+
+        private void send() {
+            try {
+                channel.write(writes);
+                if (outbound.hasRemaining() || header.hasRemaining()) {
+                    // The socket buffer is full: waits until the collector catches up
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    selector.select();
+                    selector.selectedKeys().clear();
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            } catch (final IOException ex) {
+                LOGGER.debug("Connection of {} lost: {}", getName(), ex.getMessage());
+                disconnect();
+            }
+        }
+
+        private void awaitEvents() {
+            ioWaiting = true;
+            try {
+                if (hasPendingEvents() || closing) {
+                    return;
+                }
+                selector.select();
+                if (!selector.selectedKeys().isEmpty()) {
+                    selector.selectedKeys().clear();
+                    // The collector is not expected to send anything, but a closed connection is readable
+                    ((Buffer) discarded).clear();
+                    if (channel.read(discarded) < 0) {
+                        LOGGER.debug("Connection of {} closed by peer", getName());
+                        disconnect();
+                    }
+                }
+            } catch (final IOException ex) {
+                LOGGER.debug("Connection of {} lost: {}", getName(), ex.getMessage());
+                disconnect();
+            } finally {
+                ioWaiting = false;
+            }
+        }
+    }
+
+    /**
+     * Data for the factory.
+     */
+    private static class FactoryData {
+        private final String host;
+        private final int port;
+        private final int connectTimeoutMillis;
+        private final int reconnectDelayMillis;
+        private final Layout<? extends Serializable> layout;
+        private final int bufferSize;
+        private final SocketOptions socketOptions;
+        private final int channelBufferSize;
+        private final OverflowPolicy overflowPolicy;
+        private final Path spillFile;
+
+        public FactoryData(
+                final String host,
+                final int port,
+                final int connectTimeoutMillis,
+                final int reconnectDelayMillis,
+                final Layout<? extends Serializable> layout,
+                final int bufferSize,
+                final SocketOptions socketOptions,
+                final int channelBufferSize,
+                final OverflowPolicy overflowPolicy,
+                final Path spillFile) {
+            this.host = host;
+            this.port = port;
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.reconnectDelayMillis = reconnectDelayMillis;
+            this.layout = layout;
+            this.bufferSize = bufferSize;
+            this.socketOptions = socketOptions;
+            this.channelBufferSize = channelBufferSize;
+            this.overflowPolicy = overflowPolicy;
+            this.spillFile = spillFile;
+        }
+    }
+
+    /**
+     * Factory to create the SocketChannelManager.
+     */
+    private static class SocketChannelManagerFactory implements ManagerFactory<SocketChannelManager, FactoryData> {
+
+        @Override
+        public SocketChannelManager createManager(final String name, final FactoryData data) {
+            final InetAddress inetAddress;
+            try {
+                inetAddress = InetAddress.getByName(data.host);
+            } catch (final UnknownHostException ex) {
+                LOGGER.error("Could not find address of {}: {}", data.host, ex, ex);
+                return null;
+            }
+            final Selector selector;
+            try {
+                selector = Selector.open();
+            } catch (final IOException ex) {
+                LOGGER.error("Could not open selector for {}", name, ex);
+                return null;
+            }
+            final SocketChannelManager manager = new SocketChannelManager(
+                    name,
+                    selector,
+                    inetAddress,
+                    data.host,
+                    data.port,
+                    data.connectTimeoutMillis,
+                    data.reconnectDelayMillis,
+                    data.layout,
+                    data.bufferSize,
+                    data.socketOptions,
+                    data.channelBufferSize,
+                    data.overflowPolicy,
+                    data.spillFile);
+            manager.startIoThread();
+            return manager;
+        }
+    }
+}
@@ -18,16 +18,17 @@ package org.apache.logging.log4j.core.pattern;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.impl.ThrowableFormatOptions;
 import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.apache.logging.log4j.core.util.StringBuilderWriter;
+import org.apache.logging.log4j.core.util.Throwables;
 import org.apache.logging.log4j.util.Strings;
 
 /**
@@ -189,24 +190,74 @@ public class ThrowablePatternConverter extends LogEventPatternConverter {
             buffer.append(' ');
         }
         if (!options.allLines() || nonStandardLineSeparator || Strings.isNotBlank(suffix)) {
-            final StringWriter w = new StringWriter();
-            throwable.printStackTrace(new PrintWriter(w));
-
-            final String[] array = w.toString().split(Strings.LINE_SEPARATOR);
-            final int limit = options.minLines(array.length) - 1;
-            final boolean suffixNotBlank = Strings.isNotBlank(suffix);
-            for (int i = 0; i <= limit; ++i) {
-                buffer.append(array[i]);
-                if (suffixNotBlank) {
-                    buffer.append(' ');
-                    buffer.append(suffix);
+            // Stop rendering the stack trace once the requested number of lines is reached
+            Throwables.forEachStackTraceLine(
+                    throwable,
+                    new LineAppender(buffer, options.minLines(Integer.MAX_VALUE), options.getSeparator(), suffix));
+        } else {
+            throwable.printStackTrace(new PrintWriter(new StringBuilderWriter(buffer)));
+        }
+    }
+
+    /**
+     * Appends the lines of a stack trace, each followed by the suffix and separated by the configured separator.
+     */
+    private static final class LineAppender implements Predicate<CharSequence> {
+
+        private final StringBuilder buffer;
+
+        private final int maxLines;
+
+        private final String separator;
+
+        private final String suffix;
+
+        private int lineCount;
+
+        private LineAppender(
+                final StringBuilder buffer, final int maxLines, final String separator, final String suffix) {
+            this.buffer = buffer;
+            this.maxLines = maxLines;
+            this.separator = separator;
+            this.suffix = Strings.isNotBlank(suffix) ? suffix : null;
+        }
+
+        @Override
+        public boolean test(final CharSequence line) {
+            // Messages may span several lines, which count separately
+            final String lineSeparator = Strings.LINE_SEPARATOR;
+            int start = 0;
+            for (int i = 0; i <= line.length() - lineSeparator.length(); i++) {
+                if (regionMatches(line, i, lineSeparator)) {
+                    if (!appendLine(line, start, i)) {
+                        return false;
+                    }
+                    start = i + lineSeparator.length();
+                    i = start - 1;
                 }
-                if (i < limit) {
-                    buffer.append(options.getSeparator());
+            }
+            return appendLine(line, start, line.length());
+        }
+
+        private boolean appendLine(final CharSequence line, final int start, final int end) {
+            if (lineCount > 0) {
+                buffer.append(separator);
+            }
+            buffer.append(line, start, end);
+            if (suffix != null) {
+                buffer.append(' ');
+                buffer.append(suffix);
+            }
+            return ++lineCount < maxLines;
+        }
+
+        private static boolean regionMatches(final CharSequence line, final int offset, final String text) {
+            for (int i = 0; i < text.length(); i++) {
+                if (line.charAt(offset + i) != text.charAt(i)) {
+                    return false;
                 }
             }
-        } else {
-            throwable.printStackTrace(new PrintWriter(new StringBuilderWriter(buffer)));
+            return true;
         }
     }
 
@@ -0,0 +1,985 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.TypeVariable;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.AbstractConfiguration;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.PrecompiledConfiguration;
+import org.apache.logging.log4j.core.config.Scheduled;
+import org.apache.logging.log4j.core.config.arbiters.Arbiter;
+import org.apache.logging.log4j.core.config.plugins.PluginAliases;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.config.plugins.PluginLoggerContext;
+import org.apache.logging.log4j.core.config.plugins.PluginValue;
+import org.apache.logging.log4j.core.config.plugins.PluginVisitorStrategy;
+import org.apache.logging.log4j.core.config.plugins.convert.TypeConverters;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
+import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;
+import org.apache.logging.log4j.core.config.status.StatusConfiguration;
+import org.apache.logging.log4j.core.util.Builder;
+import org.apache.logging.log4j.core.util.TypeUtil;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Generates the source code of a {@link PrecompiledConfiguration} from a configuration file, so that an application
+ * can start without parsing the file and without building its plugins by reflection.
+ * <p>
+ * Usage:
+ * </p>
+ * <p>
+ * {@code java org.apache.logging.log4j.core.tools.ConfigurationCompiler <configuration file> <class name>
+ * [<source directory>]}
+ * </p>
+ * <p>
+ * The source code is written to the standard output, or below the source directory if one is given. The generated
+ * class calls the plugin builders and factory methods directly with the attribute values of the file, converted at
+ * build time. Values that contain variables are substituted and converted when the configuration starts. Elements the
+ * compiler cannot translate, such as arbiters, elements whose plugins need their configuration node, and plugins
+ * without public builder setters, are reported on the standard error and built by reflection at runtime.
+ * </p>
+ * <p>
+ * The generated class has a nested {@code Factory} class; setting the {@code log4j2.configurationFactory} property to
+ * its name makes Log4j use the precompiled configuration.
+ * </p>
+ *
+ * @since 2.24.0
+ */
+public final class ConfigurationCompiler {
+
+    private static final String INDENT = "    ";
+    private static final String CONTINUATION = INDENT + INDENT;
+    private static final String[] ROOT_ATTRIBUTES = {"name", "status", "dest", "shutdownHook", "shutdownTimeout"};
+
+    private final String packageName;
+    private final String simpleName;
+    private final PrintStream warnings;
+    private final Map<String, String> imports = new HashMap<>();
+    private final Map<String, Integer> methodNames = new LinkedHashMap<>();
+
+    private ConfigurationCompiler(final String className, final PrintStream warnings) {
+        final int dot = className.lastIndexOf('.');
+        this.packageName = dot < 0 ? null : className.substring(0, dot);
+        this.simpleName = className.substring(dot + 1);
+        this.warnings = warnings;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: java " + ConfigurationCompiler.class.getName()
+                    + " <configuration file> <class name> [<source directory>]");
+            System.exit(1);
+        }
+        final String source = compile(new File(args[0]), args[1], System.err);
+        if (args.length == 2) {
+            System.out.print(source);
+        } else {
+            final Path file = new File(args[2], args[1].replace('.', File.separatorChar) + ".java").toPath();
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Generates the source code of a precompiled configuration.
+     *
+     * @param configurationFile a configuration file in any format Log4j supports.
+     * @param className the fully qualified name of the class to generate.
+     * @param warnings receives a line for each element that is built by reflection or is ignored.
+     * @return the source code.
+     * @throws IOException if the file cannot be read.
+     */
+    public static String compile(final File configurationFile, final String className, final PrintStream warnings)
+            throws IOException {
+        final ConfigurationSource source = ConfigurationSource.fromUri(configurationFile.toURI());
+        if (source == null) {
+            throw new IOException("Cannot read " + configurationFile);
+        }
+        final Configuration configuration = ConfigurationFactory.getInstance().getConfiguration(null, source);
+        if (!(configuration instanceof AbstractConfiguration)) {
+            throw new IllegalArgumentException("Unsupported configuration " + configuration);
+        }
+        final AbstractConfiguration config = (AbstractConfiguration) configuration;
+        config.getPluginManager().collectPlugins(config.getPluginPackages());
+        config.setup();
+        return new ConfigurationCompiler(className, warnings)
+                .generate(config.getRootNode(), configurationFile.getName(), config.getPluginPackages());
+    }
+
+    private String generate(final Node root, final String fileName, final List<String> pluginPackages) {
+        importType(PrecompiledConfiguration.class);
+        final StringBuilder methods = new StringBuilder();
+        final StringBuilder elements = new StringBuilder();
+        for (final Node child : root.getChildren()) {
+            if (containsArbiter(child)) {
+                warn(child, "contains arbiters, which are evaluated when the configuration starts");
+                elements.append(CONTINUATION)
+                        .append("addElement(")
+                        .append(nodeExpression(child, CONTINUATION))
+                        .append(");\n");
+                continue;
+            }
+            final String method = methodName(child.getName());
+            final Expression expression = compileOrCreate(child, CONTINUATION);
+            elements.append(CONTINUATION)
+                    .append("addElement(")
+                    .append(literal(child.getName()))
+                    .append(", ")
+                    .append(countScheduled(child))
+                    .append(", this::")
+                    .append(method)
+                    .append(");\n");
+            methods.append('\n')
+                    .append(INDENT)
+                    .append("private Object ")
+                    .append(method)
+                    .append("() {\n")
+                    .append(CONTINUATION)
+                    .append("return ")
+                    .append(expression.code)
+                    .append(";\n")
+                    .append(INDENT)
+                    .append("}\n");
+        }
+        final String constructor = constructorBody(root, pluginPackages);
+        importType(ConfigurationFactory.class);
+        importType(ConfigurationSource.class);
+        importType(Configuration.class);
+        importType(LoggerContext.class);
+
+        final StringBuilder sb = new StringBuilder();
+        if (packageName != null) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("import java.net.URI;\n");
+        for (final String fqcn : new TreeSet<>(imports.values())) {
+            sb.append("import ").append(fqcn).append(";\n");
+        }
+        sb.append("\n/**\n * Log4j configuration precompiled from {@code ")
+                .append(fileName.replace("*/", "*&#47;"))
+                .append("}.\n * <p>\n * Generated by {@code ")
+                .append(ConfigurationCompiler.class.getName())
+                .append("},\n * do not edit. Set the {@code log4j2.configurationFactory} property to\n * {@code ")
+                .append(packageName != null ? packageName + '.' : "")
+                .append(simpleName)
+                .append("$Factory} to use it.\n * </p>\n */\n");
+        sb.append("public final class ").append(simpleName).append(" extends PrecompiledConfiguration {\n\n");
+        sb.append(INDENT).append("public ").append(simpleName).append("(final LoggerContext loggerContext) {\n");
+        sb.append(constructor);
+        sb.append(INDENT).append("}\n\n");
+        sb.append(INDENT).append("@Override\n");
+        sb.append(INDENT).append("protected void createElements() {\n");
+        sb.append(elements);
+        sb.append(INDENT).append("}\n");
+        sb.append(methods);
+        sb.append('\n');
+        sb.append(INDENT).append("/**\n");
+        sb.append(INDENT).append(" * Creates the precompiled configuration, whatever location is requested.\n");
+        sb.append(INDENT).append(" */\n");
+        sb.append(INDENT).append("public static final class Factory extends ConfigurationFactory {\n\n");
+        sb.append(CONTINUATION).append("@Override\n");
+        sb.append(CONTINUATION).append("protected String[] getSupportedTypes() {\n");
+        sb.append(CONTINUATION).append(INDENT).append("return new String[] {\"*\"};\n");
+        sb.append(CONTINUATION).append("}\n\n");
+        sb.append(CONTINUATION).append("@Override\n");
+        sb.append(CONTINUATION)
+                .append("public Configuration getConfiguration(")
+                .append("final LoggerContext loggerContext, final ConfigurationSource source) {\n");
+        sb.append(CONTINUATION)
+                .append(INDENT)
+                .append("return new ")
+                .append(simpleName)
+                .append("(loggerContext);\n");
+        sb.append(CONTINUATION).append("}\n\n");
+        sb.append(CONTINUATION).append("@Override\n");
+        sb.append(CONTINUATION)
+                .append("public Configuration getConfiguration(\n")
+                .append(CONTINUATION)
+                .append(CONTINUATION)
+                .append("final LoggerContext loggerContext, final String name, final URI configLocation) {\n");
+        sb.append(CONTINUATION)
+                .append(INDENT)
+                .append("return new ")
+                .append(simpleName)
+                .append("(loggerContext);\n");
+        sb.append(CONTINUATION).append("}\n");
+        sb.append(INDENT).append("}\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String constructorBody(final Node root, final List<String> pluginPackages) {
+        final Map<String, String> attributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        attributes.putAll(root.getAttributes());
+        final StringBuilder sb = new StringBuilder();
+        final String name = attributes.get("name");
+        sb.append(CONTINUATION)
+                .append("super(loggerContext, ")
+                .append(name != null ? stringExpression(name) : literal(simpleName))
+                .append(");\n");
+        sb.append(CONTINUATION).append("new ").append(importType(StatusConfiguration.class));
+        sb.append("()\n").append(CONTINUATION).append(CONTINUATION).append(".withStatus(getDefaultStatus())\n");
+        if (attributes.containsKey("status")) {
+            sb.append(CONTINUATION).append(CONTINUATION).append(".withStatus(");
+            sb.append(stringExpression(attributes.get("status"))).append(")\n");
+        }
+        if (attributes.containsKey("dest")) {
+            sb.append(CONTINUATION).append(CONTINUATION).append(".withDestination(");
+            sb.append(stringExpression(attributes.get("dest"))).append(")\n");
+        }
+        sb.append(CONTINUATION).append(CONTINUATION).append(".initialize();\n");
+        final String shutdownHook = attributes.get("shutdownHook");
+        if (shutdownHook != null) {
+            sb.append(CONTINUATION).append("isShutdownHookEnabled = ");
+            if (shutdownHook.contains("${")) {
+                sb.append("!\"disable\".equalsIgnoreCase(")
+                        .append(stringExpression(shutdownHook))
+                        .append(')');
+            } else {
+                sb.append(!"disable".equalsIgnoreCase(shutdownHook));
+            }
+            sb.append(";\n");
+        }
+        final String shutdownTimeout = attributes.get("shutdownTimeout");
+        if (shutdownTimeout != null) {
+            sb.append(CONTINUATION).append("shutdownTimeoutMillis = ");
+            if (shutdownTimeout.contains("${")) {
+                sb.append("Long.parseLong(")
+                        .append(stringExpression(shutdownTimeout))
+                        .append(')');
+            } else {
+                sb.append(Long.parseLong(shutdownTimeout)).append('L');
+            }
+            sb.append(";\n");
+        }
+        for (final String pluginPackage : pluginPackages) {
+            sb.append(CONTINUATION)
+                    .append("pluginPackages.add(")
+                    .append(literal(pluginPackage))
+                    .append(");\n");
+        }
+        for (final String key : attributes.keySet()) {
+            boolean known = "packages".equalsIgnoreCase(key);
+            for (final String rootAttribute : ROOT_ATTRIBUTES) {
+                known |= rootAttribute.equalsIgnoreCase(key);
+            }
+            if (!known) {
+                warn(root, "attribute " + key + " is ignored");
+            }
+        }
+        return sb.toString();
+    }
+
+    private Expression compileOrCreate(final Node node, final String indent) {
+        try {
+            return compile(node, indent);
+        } catch (final UnsupportedElementException e) {
+            warn(node, "is built by reflection: " + e.getMessage());
+            return new Expression("create(" + nodeExpression(node, indent) + ")", resultType(node.getType()), false);
+        }
+    }
+
+    private Expression compile(final Node node, final String indent) throws UnsupportedElementException {
+        final PluginType<?> type = node.getType();
+        if (type == null) {
+            throw new UnsupportedElementException("unknown plugin");
+        }
+        final Class<?> pluginClass = type.getPluginClass();
+        if (type.isDeferChildren()) {
+            throw new UnsupportedElementException("the plugin creates its nested elements itself");
+        }
+        if (Map.class.isAssignableFrom(pluginClass) || Collection.class.isAssignableFrom(pluginClass)) {
+            throw new UnsupportedElementException("the plugin is a collection");
+        }
+        if (!isAccessible(pluginClass)) {
+            throw new UnsupportedElementException(pluginClass.getName() + " is not public");
+        }
+        final Map<String, String> attributes = new LinkedHashMap<>(node.getAttributes());
+        final List<Node> children = new ArrayList<>(node.getChildren());
+        final Method builderFactory = findStaticMethod(pluginClass, PluginBuilderFactory.class);
+        final Expression expression;
+        if (builderFactory != null && Builder.class.isAssignableFrom(builderFactory.getReturnType())) {
+            expression = compileBuilder(node, builderFactory, attributes, children, indent);
+        } else {
+            final Method factory = findStaticMethod(pluginClass, PluginFactory.class);
+            if (factory == null) {
+                throw new UnsupportedElementException("no factory method");
+            }
+            expression = compileFactory(node, factory, attributes, children, indent);
+        }
+        for (final String attribute : attributes.keySet()) {
+            warn(node, "attribute " + attribute + " is ignored");
+        }
+        for (final Node child : children) {
+            warn(child, "is ignored");
+        }
+        return expression;
+    }
+
+    private Expression compileBuilder(
+            final Node node,
+            final Method builderFactory,
+            final Map<String, String> attributes,
+            final List<Node> children,
+            final String indent)
+            throws UnsupportedElementException {
+        if (!Modifier.isPublic(builderFactory.getModifiers())) {
+            throw new UnsupportedElementException("the builder factory method is not public");
+        }
+        final Object builder;
+        try {
+            builder = builderFactory.invoke(null);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            throw new UnsupportedElementException("the builder cannot be created: " + e);
+        }
+        final Class<?> builderClass = builder.getClass();
+        if (!isAccessible(builderClass)) {
+            throw new UnsupportedElementException(builderClass.getName() + " is not public");
+        }
+        final String chainIndent = indent + CONTINUATION;
+        final StringBuilder sb = new StringBuilder();
+        sb.append(importType(builderFactory.getDeclaringClass()))
+                .append('.')
+                .append(builderFactory.getName())
+                .append("()");
+        for (final Field field : TypeUtil.getAllDeclaredFields(builderClass)) {
+            final Annotation annotation = findInjectionAnnotation(field.getDeclaredAnnotations());
+            if (annotation == null) {
+                continue;
+            }
+            final Method setter = findSetter(builderClass, field);
+            final Class<?> type = setter != null ? setter.getParameterTypes()[0] : field.getType();
+            final String[] aliases = getAliases(field.getDeclaredAnnotations());
+            final Expression value =
+                    injection(node, annotation, field.getName(), type, aliases, attributes, children, chainIndent);
+            if (value == null) {
+                if (field.isAnnotationPresent(Required.class)) {
+                    warn(node, "the required " + field.getName() + " is missing");
+                }
+                continue;
+            }
+            if (setter == null) {
+                throw new UnsupportedElementException("no setter for " + field.getName());
+            }
+            sb.append('\n')
+                    .append(chainIndent)
+                    .append('.')
+                    .append(setter.getName())
+                    .append('(')
+                    .append(cast(primitiveDefault(value, field, builder, type), type))
+                    .append(')');
+        }
+        sb.append('\n').append(chainIndent).append(".build()");
+        return new Expression(sb.toString(), resultType(node.getType()), true);
+    }
+
+    private Expression compileFactory(
+            final Node node,
+            final Method factory,
+            final Map<String, String> attributes,
+            final List<Node> children,
+            final String indent)
+            throws UnsupportedElementException {
+        if (!Modifier.isPublic(factory.getModifiers())) {
+            throw new UnsupportedElementException("the factory method is not public");
+        }
+        final Class<?>[] types = factory.getParameterTypes();
+        final Annotation[][] annotations = factory.getParameterAnnotations();
+        final String argumentIndent = indent + CONTINUATION;
+        final List<String> arguments = new ArrayList<>(types.length);
+        boolean multiline = false;
+        for (int i = 0; i < types.length; i++) {
+            final Annotation annotation = findInjectionAnnotation(annotations[i]);
+            Expression value = null;
+            if (annotation != null) {
+                value = injection(
+                        node,
+                        annotation,
+                        "arg" + i,
+                        types[i],
+                        getAliases(annotations[i]),
+                        attributes,
+                        children,
+                        argumentIndent);
+            }
+            if (value == null && annotation instanceof PluginAttribute) {
+                value = defaultValue((PluginAttribute) annotation, types[i]);
+            }
+            final String argument = value != null ? cast(value, types[i]) : zero(types[i]);
+            multiline |= argument.indexOf('\n') >= 0;
+            arguments.add(argument);
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append(importType(factory.getDeclaringClass()))
+                .append('.')
+                .append(factory.getName())
+                .append('(');
+        for (int i = 0; i < arguments.size(); i++) {
+            if (multiline) {
+                sb.append('\n').append(argumentIndent);
+            } else if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(arguments.get(i));
+            if (i < arguments.size() - 1) {
+                sb.append(',');
+            }
+        }
+        sb.append(')');
+        return new Expression(sb.toString(), factory.getReturnType(), true);
+    }
+
+    /**
+     * Returns the expression injected for one builder field or factory method parameter, mirroring the plugin
+     * visitors, or {@code null} if nothing is injected.
+     */
+    private Expression injection(
+            final Node node,
+            final Annotation annotation,
+            final String memberName,
+            final Class<?> type,
+            final String[] aliases,
+            final Map<String, String> attributes,
+            final List<Node> children,
+            final String indent)
+            throws UnsupportedElementException {
+        if (annotation instanceof PluginAttribute) {
+            final String raw = removeAttribute(attributes, ((PluginAttribute) annotation).value(), aliases);
+            return raw == null ? null : attributeExpression(raw, type);
+        }
+        if (annotation instanceof PluginBuilderAttribute) {
+            final String name = ((PluginBuilderAttribute) annotation).value();
+            final String raw = removeAttribute(attributes, name.isEmpty() ? memberName : name, aliases);
+            return raw == null ? null : attributeExpression(raw, type);
+        }
+        if (annotation instanceof PluginValue) {
+            final PluginValue pluginValue = (PluginValue) annotation;
+            if (type != String.class) {
+                throw new UnsupportedElementException("the value of " + memberName + " is not a String");
+            }
+            final String raw = Strings.isNotEmpty(node.getValue())
+                    ? node.getValue()
+                    : removeAttribute(attributes, pluginValue.value());
+            if (raw == null) {
+                return null;
+            }
+            return new Expression(pluginValue.substitute() ? stringExpression(raw) : literal(raw), String.class, false);
+        }
+        if (annotation instanceof PluginElement) {
+            return elementExpression(((PluginElement) annotation).value(), type, children, indent);
+        }
+        if (annotation instanceof PluginConfiguration) {
+            return new Expression("this", PrecompiledConfiguration.class, false);
+        }
+        if (annotation instanceof PluginLoggerContext) {
+            return new Expression("getLoggerContext()", LoggerContext.class, false);
+        }
+        throw new UnsupportedElementException(
+                memberName + " is injected with @" + annotation.annotationType().getSimpleName());
+    }
+
+    private Expression elementExpression(
+            final String name, final Class<?> type, final List<Node> children, final String indent)
+            throws UnsupportedElementException {
+        final Class<?> elementType = type.isArray() ? type.getComponentType() : type;
+        final List<Node> matching = new ArrayList<>();
+        for (final Iterator<Node> it = children.iterator(); it.hasNext(); ) {
+            final Node child = it.next();
+            final PluginType<?> childType = child.getType();
+            if (childType != null
+                    && (name.equalsIgnoreCase(childType.getElementName())
+                            || elementType.isAssignableFrom(childType.getPluginClass()))) {
+                matching.add(child);
+                it.remove();
+                if (!type.isArray() || resultType(childType).isArray()) {
+                    // a single element, or an element that creates the whole array
+                    return compileOrCreate(child, indent);
+                }
+            }
+        }
+        if (!type.isArray()) {
+            return null;
+        }
+        if (!isAccessible(elementType)) {
+            throw new UnsupportedElementException(elementType.getName() + " is not public");
+        }
+        final StringBuilder sb =
+                new StringBuilder("new ").append(importType(elementType)).append("[] {");
+        for (final Node child : matching) {
+            sb.append('\n')
+                    .append(indent)
+                    .append(INDENT)
+                    .append(cast(compileOrCreate(child, indent + INDENT), elementType))
+                    .append(',');
+        }
+        if (!matching.isEmpty()) {
+            sb.setLength(sb.length() - 1);
+            sb.append('\n').append(indent);
+        }
+        sb.append('}');
+        return new Expression(sb.toString(), type, false);
+    }
+
+    private Expression attributeExpression(final String raw, final Class<?> type) throws UnsupportedElementException {
+        final Class<?> boxed = box(type);
+        if (raw.contains("${")) {
+            final String value = stringExpression(raw);
+            if (type == String.class) {
+                return new Expression(value, String.class, false);
+            }
+            if (!isAccessible(boxed)) {
+                throw new UnsupportedElementException(type.getName() + " is not public");
+            }
+            // the default value of a primitive is filled in by the caller
+            return new Expression(
+                    "convert(" + value + ", " + importType(boxed) + ".class, " + (type.isPrimitive() ? "%s" : "null")
+                            + ")",
+                    boxed,
+                    false);
+        }
+        if (type == Level.class) {
+            return new Expression(importType(Level.class) + ".toLevel(" + literal(raw) + ", null)", Level.class, false);
+        }
+        final Object converted = TypeConverters.convert(raw, type, null);
+        if (converted == null) {
+            warn(null, "cannot convert \"" + raw + "\" to " + type.getName());
+            return null;
+        }
+        final String literal = valueLiteral(converted);
+        if (literal != null) {
+            return new Expression(literal, boxed, false);
+        }
+        if (type.isArray() || !isAccessible(type)) {
+            throw new UnsupportedElementException("cannot convert \"" + raw + "\" at runtime");
+        }
+        return new Expression("convert(" + literal(raw) + ", " + importType(type) + ".class, null)", type, false);
+    }
+
+    private Expression defaultValue(final PluginAttribute annotation, final Class<?> type) {
+        final Class<?> boxed = box(type);
+        final Object value;
+        if (boxed == Integer.class) {
+            value = annotation.defaultInt();
+        } else if (boxed == Long.class) {
+            value = annotation.defaultLong();
+        } else if (boxed == Boolean.class) {
+            value = annotation.defaultBoolean();
+        } else if (boxed == Float.class) {
+            value = annotation.defaultFloat();
+        } else if (boxed == Double.class) {
+            value = annotation.defaultDouble();
+        } else if (boxed == Byte.class) {
+            value = annotation.defaultByte();
+        } else if (boxed == Character.class) {
+            value = annotation.defaultChar();
+        } else if (boxed == Short.class) {
+            value = annotation.defaultShort();
+        } else {
+            final String defaultString = Strings.trimToNull(annotation.defaultString());
+            if (defaultString == null) {
+                return null;
+            }
+            try {
+                return attributeExpression(defaultString, type);
+            } catch (final UnsupportedElementException e) {
+                return null;
+            }
+        }
+        return new Expression(valueLiteral(value), boxed, false);
+    }
+
+    /**
+     * Fills in the current value of a primitive builder field as the fallback of a conversion done at runtime.
+     */
+    private Expression primitiveDefault(
+            final Expression value, final Field field, final Object builder, final Class<?> type)
+            throws UnsupportedElementException {
+        if (!value.code.contains("%s")) {
+            return value;
+        }
+        try {
+            field.setAccessible(true);
+            final String fallback = valueLiteral(field.get(builder));
+            return new Expression(
+                    String.format(value.code, fallback != null ? fallback : zero(type)), value.type, false);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            throw new UnsupportedElementException("cannot read the default value of " + field.getName());
+        }
+    }
+
+    private String cast(final Expression value, final Class<?> type) {
+        if (!value.typed || box(type).isAssignableFrom(box(value.type)) || !isAccessible(type)) {
+            return value.code;
+        }
+        return "(" + importType(type) + ") " + value.code;
+    }
+
+    private String zero(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return "null";
+        }
+        return type == boolean.class ? "false" : "(" + type.getName() + ") 0";
+    }
+
+    private String nodeExpression(final Node node, final String indent) {
+        final StringBuilder sb = new StringBuilder("node(");
+        sb.append(literal(node.getName())).append(", ");
+        sb.append(node.getValue() == null ? "null" : literal(node.getValue()));
+        sb.append(", new String[] {");
+        boolean first = true;
+        for (final Map.Entry<String, String> entry : node.getAttributes().entrySet()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            sb.append(literal(entry.getKey())).append(", ").append(literal(entry.getValue()));
+        }
+        sb.append('}');
+        for (final Node child : node.getChildren()) {
+            sb.append(",\n").append(indent).append(INDENT).append(nodeExpression(child, indent + INDENT));
+        }
+        return sb.append(')').toString();
+    }
+
+    private String stringExpression(final String raw) {
+        return raw.contains("${") ? "substitute(" + literal(raw) + ")" : literal(raw);
+    }
+
+    private String valueLiteral(final Object value) {
+        if (value instanceof String) {
+            return literal((String) value);
+        }
+        if (value instanceof Boolean || value instanceof Integer) {
+            return value.toString();
+        }
+        if (value instanceof Long) {
+            return value + "L";
+        }
+        if (value instanceof Short) {
+            return "(short) " + value;
+        }
+        if (value instanceof Byte) {
+            return "(byte) " + value;
+        }
+        if (value instanceof Float && !((Float) value).isNaN() && !((Float) value).isInfinite()) {
+            return value + "F";
+        }
+        if (value instanceof Double && !((Double) value).isNaN() && !((Double) value).isInfinite()) {
+            return value + "D";
+        }
+        if (value instanceof Character) {
+            return "'" + escape(value.toString(), '\'') + "'";
+        }
+        if (value instanceof Enum<?> && isAccessible(((Enum<?>) value).getDeclaringClass())) {
+            return importType(((Enum<?>) value).getDeclaringClass()) + '.' + ((Enum<?>) value).name();
+        }
+        if (value instanceof Charset) {
+            return importType(Charset.class) + ".forName(" + literal(((Charset) value).name()) + ")";
+        }
+        return null;
+    }
+
+    private static String literal(final String value) {
+        return '"' + escape(value, '"') + '"';
+    }
+
+    private static String escape(final String value, final char quote) {
+        final StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == quote || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else if (c == '\r') {
+                sb.append("\\r");
+            } else if (c == '\t') {
+                sb.append("\\t");
+            } else if (c < ' ' || c > '~') {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Imports a type and returns the name under which the generated code can refer to it.
+     */
+    private String importType(final Class<?> type) {
+        if (type.isPrimitive()) {
+            return type.getName();
+        }
+        if (type.isArray()) {
+            return importType(type.getComponentType()) + "[]";
+        }
+        Class<?> topLevel = type;
+        while (topLevel.getEnclosingClass() != null) {
+            topLevel = topLevel.getEnclosingClass();
+        }
+        final String canonicalName = type.getCanonicalName();
+        final int packageLength =
+                topLevel.getName().length() - topLevel.getSimpleName().length();
+        final String nestedName = canonicalName.substring(packageLength);
+        if ("java.lang.".equals(topLevel.getName().substring(0, packageLength)) && topLevel == type) {
+            return nestedName;
+        }
+        final String simple = topLevel.getSimpleName();
+        final String imported = imports.get(simple);
+        if (imported == null && !simple.equals(simpleName) && !isJavaLangName(simple)) {
+            imports.put(simple, topLevel.getName());
+            return nestedName;
+        }
+        return topLevel.getName().equals(imported) ? nestedName : canonicalName;
+    }
+
+    private static boolean isJavaLangName(final String simple) {
+        try {
+            Class.forName("java.lang." + simple, false, ConfigurationCompiler.class.getClassLoader());
+            return true;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private String methodName(final String elementName) {
+        final StringBuilder sb = new StringBuilder("create");
+        for (final char c : elementName.toCharArray()) {
+            if (Character.isJavaIdentifierPart(c)) {
+                sb.append(sb.length() == 6 ? Character.toUpperCase(c) : c);
+            }
+        }
+        final String name = sb.toString();
+        final int count = methodNames.merge(name, 1, Integer::sum);
+        return count == 1 ? name : name + count;
+    }
+
+    private void warn(final Node node, final String message) {
+        warnings.println(node == null ? message : "Element " + node.getName() + " " + message + ".");
+    }
+
+    private static boolean containsArbiter(final Node node) {
+        final PluginType<?> type = node.getType();
+        if (type != null && Arbiter.ELEMENT_TYPE.equals(type.getElementName())) {
+            return true;
+        }
+        for (final Node child : node.getChildren()) {
+            if (containsArbiter(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int countScheduled(final Node node) {
+        int count = 0;
+        for (final Node child : node.getChildren()) {
+            final PluginType<?> type = child.getType();
+            if (type != null && type.getPluginClass().isAnnotationPresent(Scheduled.class)) {
+                count++;
+            }
+            count += countScheduled(child);
+        }
+        return count;
+    }
+
+    private static Class<?> resultType(final PluginType<?> type) {
+        if (type == null) {
+            return Object.class;
+        }
+        final Class<?> pluginClass = type.getPluginClass();
+        final Method builderFactory = findStaticMethod(pluginClass, PluginBuilderFactory.class);
+        if (builderFactory != null && Builder.class.isAssignableFrom(builderFactory.getReturnType())) {
+            return pluginClass;
+        }
+        final Method factory = findStaticMethod(pluginClass, PluginFactory.class);
+        return factory != null ? factory.getReturnType() : pluginClass;
+    }
+
+    private static Method findStaticMethod(final Class<?> pluginClass, final Class<? extends Annotation> annotation) {
+        for (final Method method : pluginClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(annotation) && Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static Method findSetter(final Class<?> builderClass, final Field field) {
+        final String suffix = Character.toUpperCase(field.getName().charAt(0))
+                + field.getName().substring(1);
+        for (final String prefix : new String[] {"set", "with"}) {
+            for (final Method method : builderClass.getMethods()) {
+                if (method.getName().equals(prefix + suffix)
+                        && method.getParameterCount() == 1
+                        && (method.getParameterTypes()[0].isAssignableFrom(field.getType())
+                                || box(method.getParameterTypes()[0]) == field.getType())
+                        && returnsBuilder(method, builderClass)
+                        && isAccessible(method.getDeclaringClass())) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether calls can be chained after the setter.
+     */
+    private static boolean returnsBuilder(final Method method, final Class<?> builderClass) {
+        return method.getGenericReturnType() instanceof TypeVariable || method.getReturnType() == builderClass;
+    }
+
+    private static Annotation findInjectionAnnotation(final Annotation[] annotations) {
+        for (final Annotation annotation : annotations) {
+            if (annotation.annotationType().isAnnotationPresent(PluginVisitorStrategy.class)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static String[] getAliases(final Annotation[] annotations) {
+        for (final Annotation annotation : annotations) {
+            if (annotation instanceof PluginAliases) {
+                return ((PluginAliases) annotation).value();
+            }
+        }
+        return new String[0];
+    }
+
+    private static String removeAttribute(
+            final Map<String, String> attributes, final String name, final String... aliases) {
+        for (final Iterator<Map.Entry<String, String>> it =
+                        attributes.entrySet().iterator();
+                it.hasNext(); ) {
+            final Map.Entry<String, String> entry = it.next();
+            boolean matches = entry.getKey().equalsIgnoreCase(name);
+            for (final String alias : aliases) {
+                matches |= entry.getKey().equalsIgnoreCase(alias);
+            }
+            if (matches) {
+                it.remove();
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAccessible(final Class<?> type) {
+        if (type.isPrimitive()) {
+            return true;
+        }
+        if (type.isArray()) {
+            return isAccessible(type.getComponentType());
+        }
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers()) || c.isAnonymousClass() || c.isLocalClass()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> box(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        switch (type.getName()) {
+            case "int":
+                return Integer.class;
+            case "long":
+                return Long.class;
+            case "boolean":
+                return Boolean.class;
+            case "short":
+                return Short.class;
+            case "byte":
+                return Byte.class;
+            case "char":
+                return Character.class;
+            case "float":
+                return Float.class;
+            case "double":
+                return Double.class;
+            default:
+                return Void.class;
+        }
+    }
+
+    /**
+     * A Java expression and its static type.
+     */
+    private static final class Expression {
+
+        private final String code;
+        private final Class<?> type;
+        /**
+         * Whether the static type is exact, and a cast may be needed to narrow it.
+         */
+        private final boolean typed;
+
+        private Expression(final String code, final Class<?> type, final boolean typed) {
+            this.code = code;
+            this.type = type;
+            this.typed = typed;
+        }
+    }
+
+    /**
+     * Thrown when an element cannot be translated to Java code.
+     */
+    private static final class UnsupportedElementException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedElementException(final String message) {
+            super(message);
+        }
+    }
+}
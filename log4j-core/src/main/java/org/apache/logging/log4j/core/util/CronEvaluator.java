@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.zone.ZoneRules;
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * Computes fire times of a {@link CronExpression} on bit masks of its fields, using {@code java.time} zone rules
+ * instead of a {@link java.util.Calendar}.
+ * <p>
+ * The evaluator searches local date-time fields and converts the result with the zone offset in effect. When the
+ * start or the result lies within a day of a zone offset transition it returns {@link #UNRESOLVED} and the caller
+ * falls back to the {@code Calendar} based computation, which keeps the historical daylight saving behavior.
+ * Expressions using {@code L}, {@code W} or {@code #} are not supported.
+ * </p>
+ */
+final class CronEvaluator {
+
+    /**
+     * Returned when the fire time must be computed by the {@code Calendar} based implementation.
+     */
+    static final long UNRESOLVED = Long.MIN_VALUE;
+
+    /**
+     * Returned when the expression never fires in the searched direction.
+     */
+    static final long NO_FIRE_TIME = Long.MAX_VALUE;
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek;
+    private final boolean byDayOfMonth;
+    private final BitSet years;
+    private final int maxYear;
+    private final long minTime;
+
+    private CronEvaluator(final CronExpression expression) {
+        seconds = toMask(expression.seconds);
+        minutes = toMask(expression.minutes);
+        hours = toMask(expression.hours);
+        daysOfMonth = toMask(expression.daysOfMonth);
+        months = toMask(expression.months);
+        daysOfWeek = toMask(expression.daysOfWeek);
+        byDayOfMonth = !expression.daysOfMonth.contains(CronExpression.NO_SPEC);
+        years = new BitSet();
+        for (final int year : expression.years) {
+            if (year != CronExpression.ALL_SPEC_INT && year != CronExpression.NO_SPEC_INT) {
+                years.set(year);
+            }
+        }
+        maxYear = CronExpression.MAX_YEAR;
+        minTime = CronExpression.MIN_DATE.getTime();
+    }
+
+    /**
+     * Creates an evaluator for the given expression.
+     *
+     * @param expression a parsed expression
+     * @return the evaluator or {@code null} if the expression uses features the evaluator does not support
+     */
+    static CronEvaluator create(final CronExpression expression) {
+        if (expression.lastdayOfMonth
+                || expression.nearestWeekday
+                || expression.lastdayOfWeek
+                || expression.nthdayOfWeek != 0) {
+            return null;
+        }
+        return new CronEvaluator(expression);
+    }
+
+    /**
+     * Returns the first fire time strictly after the given time, ignoring its milliseconds.
+     *
+     * @param afterTime the time in milliseconds since the epoch
+     * @param rules the rules of the time zone of the expression
+     * @return the fire time in milliseconds, {@link #NO_FIRE_TIME} or {@link #UNRESOLVED}
+     */
+    long getTimeAfter(final long afterTime, final ZoneRules rules) {
+        final long start = Math.floorDiv(afterTime, 1000L) + 1;
+        final int offset = getOffset(rules, start);
+        if (!isStable(rules, start, offset)) {
+            return UNRESOLVED;
+        }
+        final long localStart = start + offset;
+        final LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(localStart, SECONDS_PER_DAY));
+        final int secondOfDay = (int) Math.floorMod(localStart, SECONDS_PER_DAY);
+        int year = date.getYear();
+        int month = date.getMonthValue();
+        int day = date.getDayOfMonth();
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+        // Each field is moved to its next allowed value; an exhausted field increments the next larger one
+        // and the search restarts. Out of range values exhaust the field on the next iteration.
+        while (true) {
+            if (year > maxYear) {
+                return NO_FIRE_TIME;
+            }
+            final int nextYear = years.nextSetBit(year);
+            if (nextYear < 0 || nextYear > maxYear) {
+                return NO_FIRE_TIME;
+            }
+            if (nextYear != year) {
+                year = nextYear;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+            }
+            final int nextMonth = nextSetBit(months, month);
+            if (nextMonth < 0) {
+                year++;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextMonth != month) {
+                month = nextMonth;
+                day = 1;
+                hour = minute = second = 0;
+            }
+            final int nextDay = nextDay(year, month, day);
+            if (nextDay < 0) {
+                month++;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextDay != day) {
+                day = nextDay;
+                hour = minute = second = 0;
+            }
+            final int nextHour = nextSetBit(hours, hour);
+            if (nextHour < 0) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = second = 0;
+            }
+            final int nextMinute = nextSetBit(minutes, minute);
+            if (nextMinute < 0) {
+                hour++;
+                minute = second = 0;
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+            final int nextSecond = nextSetBit(seconds, second);
+            if (nextSecond < 0) {
+                minute++;
+                second = 0;
+                continue;
+            }
+            return toEpochMilli(rules, year, month, day, hour * 3600 + minute * 60 + nextSecond);
+        }
+    }
+
+    /**
+     * Returns the last fire time strictly before the given time, ignoring its milliseconds.
+     *
+     * @param beforeTime the time in milliseconds since the epoch
+     * @param rules the rules of the time zone of the expression
+     * @return the fire time in milliseconds, {@link #NO_FIRE_TIME} or {@link #UNRESOLVED}
+     */
+    long getTimeBefore(final long beforeTime, final ZoneRules rules) {
+        final long start = Math.floorDiv(beforeTime, 1000L) - 1;
+        final int offset = getOffset(rules, start);
+        if (!isStable(rules, start, offset)) {
+            return UNRESOLVED;
+        }
+        final long localStart = start + offset;
+        final LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(localStart, SECONDS_PER_DAY));
+        final int secondOfDay = (int) Math.floorMod(localStart, SECONDS_PER_DAY);
+        int year = date.getYear();
+        int month = date.getMonthValue();
+        int day = date.getDayOfMonth();
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+        // Mirror image of getTimeAfter: an exhausted field decrements the next larger one.
+        while (true) {
+            if (year < 0) {
+                return NO_FIRE_TIME;
+            }
+            final int previousYear = years.previousSetBit(Math.min(year, maxYear));
+            if (previousYear < 0) {
+                return NO_FIRE_TIME;
+            }
+            if (previousYear != year) {
+                year = previousYear;
+                month = 12;
+                day = 31;
+                hour = 23;
+                minute = second = 59;
+            }
+            final int previousMonth = previousSetBit(months, month);
+            if (previousMonth < 0) {
+                year--;
+                month = 12;
+                day = 31;
+                hour = 23;
+                minute = second = 59;
+                continue;
+            }
+            if (previousMonth != month) {
+                month = previousMonth;
+                day = 31;
+                hour = 23;
+                minute = second = 59;
+            }
+            final int previousDay = previousDay(year, month, day);
+            if (previousDay < 0) {
+                month--;
+                day = 31;
+                hour = 23;
+                minute = second = 59;
+                continue;
+            }
+            if (previousDay != day) {
+                day = previousDay;
+                hour = 23;
+                minute = second = 59;
+            }
+            final int previousHour = previousSetBit(hours, hour);
+            if (previousHour < 0) {
+                day--;
+                hour = 23;
+                minute = second = 59;
+                continue;
+            }
+            if (previousHour != hour) {
+                hour = previousHour;
+                minute = second = 59;
+            }
+            final int previousMinute = previousSetBit(minutes, minute);
+            if (previousMinute < 0) {
+                hour--;
+                minute = second = 59;
+                continue;
+            }
+            if (previousMinute != minute) {
+                minute = previousMinute;
+                second = 59;
+            }
+            final int previousSecond = previousSetBit(seconds, second);
+            if (previousSecond < 0) {
+                minute--;
+                second = 59;
+                continue;
+            }
+            final long time = toEpochMilli(rules, year, month, day, hour * 3600 + minute * 60 + previousSecond);
+            return time != UNRESOLVED && time < minTime ? NO_FIRE_TIME : time;
+        }
+    }
+
+    private int nextDay(final int year, final int month, final int day) {
+        if (month > 12) {
+            return -1;
+        }
+        final int length = lengthOfMonth(year, month);
+        if (byDayOfMonth) {
+            final int next = nextSetBit(daysOfMonth, day);
+            return next <= length ? next : -1;
+        }
+        int dayOfWeek = dayOfWeek(year, month, day);
+        for (int candidate = day; candidate <= length; candidate++) {
+            if ((daysOfWeek & (1L << dayOfWeek)) != 0) {
+                return candidate;
+            }
+            dayOfWeek = dayOfWeek == 7 ? 1 : dayOfWeek + 1;
+        }
+        return -1;
+    }
+
+    private int previousDay(final int year, final int month, final int day) {
+        if (month < 1) {
+            return -1;
+        }
+        final int last = Math.min(day, lengthOfMonth(year, month));
+        if (byDayOfMonth) {
+            return previousSetBit(daysOfMonth, last);
+        }
+        int dayOfWeek = last < 1 ? 0 : dayOfWeek(year, month, last);
+        for (int candidate = last; candidate >= 1; candidate--) {
+            if ((daysOfWeek & (1L << dayOfWeek)) != 0) {
+                return candidate;
+            }
+            dayOfWeek = dayOfWeek == 1 ? 7 : dayOfWeek - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Converts local date-time fields to epoch milliseconds, unless the local time is close to an offset transition.
+     */
+    private static long toEpochMilli(
+            final ZoneRules rules, final int year, final int month, final int day, final int secondOfDay) {
+        final long local = toEpochDay(year, month, day) * SECONDS_PER_DAY + secondOfDay;
+        final int estimate = getOffset(rules, local);
+        final int offset = getOffset(rules, local - estimate);
+        final long epochSecond = local - offset;
+        if (!isStable(rules, epochSecond, offset)) {
+            return UNRESOLVED;
+        }
+        return epochSecond * 1000L;
+    }
+
+    /**
+     * Checks that the offset does not change within a day of the given instant, so the local time around it is
+     * neither skipped nor repeated.
+     */
+    private static boolean isStable(final ZoneRules rules, final long epochSecond, final int offset) {
+        return rules.isFixedOffset()
+                || (getOffset(rules, epochSecond - SECONDS_PER_DAY) == offset
+                        && getOffset(rules, epochSecond) == offset
+                        && getOffset(rules, epochSecond + SECONDS_PER_DAY) == offset);
+    }
+
+    private static int getOffset(final ZoneRules rules, final long epochSecond) {
+        return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    private static long toMask(final Set<Integer> values) {
+        long mask = 0;
+        for (final int value : values) {
+            if (value >= 0 && value < Long.SIZE) {
+                mask |= 1L << value;
+            }
+        }
+        return mask;
+    }
+
+    private static int nextSetBit(final long mask, final int fromIndex) {
+        if (fromIndex >= Long.SIZE) {
+            return -1;
+        }
+        final long bits = mask & (-1L << fromIndex);
+        return bits == 0 ? -1 : Long.numberOfTrailingZeros(bits);
+    }
+
+    private static int previousSetBit(final long mask, final int fromIndex) {
+        if (fromIndex < 0) {
+            return -1;
+        }
+        final long bits = fromIndex >= Long.SIZE - 1 ? mask : mask & ((1L << (fromIndex + 1)) - 1);
+        return bits == 0 ? -1 : Long.SIZE - 1 - Long.numberOfLeadingZeros(bits);
+    }
+
+    /**
+     * Returns the day of week with {@code 1} for Sunday, as used by {@link java.util.Calendar} and cron expressions.
+     */
+    private static int dayOfWeek(final int year, final int month, final int day) {
+        // 1970-01-01 was a Thursday
+        return (int) Math.floorMod(toEpochDay(year, month, day) + 4, 7) + 1;
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isLeapYear(final int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    /**
+     * Same algorithm as {@link LocalDate#toEpochDay()}, without creating the date.
+     */
+    private static long toEpochDay(final int year, final int month, final int day) {
+        final long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        // days from 0000-01-01 to 1970-01-01
+        return total - 719528;
+    }
+}
@@ -24,6 +24,7 @@ package org.apache.logging.log4j.core.util;
 import static org.apache.logging.log4j.util.Strings.toRootUpperCase;
 
 import java.text.ParseException;
+import java.time.zone.ZoneRules;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -252,6 +253,8 @@ public final class CronExpression {
     protected transient boolean nearestWeekday = false;
     protected transient int lastdayOffset = 0;
     protected transient boolean expressionParsed = false;
+    private transient CronEvaluator evaluator;
+    private transient volatile ZoneRules zoneRules;
 
     public static final int MAX_YEAR = Calendar.getInstance().get(Calendar.YEAR) + 100;
     public static final Calendar MIN_CAL = Calendar.getInstance();
@@ -374,6 +377,16 @@ public final class CronExpression {
      */
     public void setTimeZone(final TimeZone timeZone) {
         this.timeZone = timeZone;
+        this.zoneRules = null;
+    }
+
+    private ZoneRules getZoneRules() {
+        ZoneRules rules = zoneRules;
+        if (rules == null) {
+            rules = getTimeZone().toZoneId().getRules();
+            zoneRules = rules;
+        }
+        return rules;
     }
 
     /**
@@ -497,6 +510,7 @@ public final class CronExpression {
                             0);
                 }
             }
+            evaluator = CronEvaluator.create(this);
         } catch (final ParseException pe) {
             throw pe;
         } catch (final Exception e) {
@@ -1156,7 +1170,17 @@ public final class CronExpression {
     //
     ////////////////////////////////////////////////////////////////////////////
 
-    public Date getTimeAfter(Date afterTime) {
+    public Date getTimeAfter(final Date afterTime) {
+        if (evaluator != null) {
+            final long fireTime = evaluator.getTimeAfter(afterTime.getTime(), getZoneRules());
+            if (fireTime != CronEvaluator.UNRESOLVED) {
+                return fireTime == CronEvaluator.NO_FIRE_TIME ? null : new Date(fireTime);
+            }
+        }
+        return getTimeAfterWithCalendar(afterTime);
+    }
+
+    Date getTimeAfterWithCalendar(Date afterTime) {
 
         // Computation is based on Gregorian year only.
         final Calendar cl = new java.util.GregorianCalendar(getTimeZone());
@@ -1568,26 +1592,33 @@ public final class CronExpression {
     }
 
     protected Date getTimeBefore(final Date targetDate) {
-        final Calendar cl = Calendar.getInstance(getTimeZone());
-
+        if (evaluator != null) {
+            final long fireTime = evaluator.getTimeBefore(targetDate.getTime(), getZoneRules());
+            if (fireTime != CronEvaluator.UNRESOLVED) {
+                return fireTime == CronEvaluator.NO_FIRE_TIME ? null : new Date(fireTime);
+            }
+        }
         // CronTrigger does not deal with milliseconds, so truncate target
-        cl.setTime(targetDate);
-        cl.set(Calendar.MILLISECOND, 0);
-        final Date targetDateNoMs = cl.getTime();
-
-        // to match this
-        Date start = targetDateNoMs;
-        final long minIncrement = findMinIncrement();
-        Date prevFireTime;
-        do {
-            final Date prevCheckDate = new Date(start.getTime() - minIncrement);
-            prevFireTime = getTimeAfter(prevCheckDate);
-            if (prevFireTime == null || prevFireTime.before(MIN_DATE)) {
+        final long target = targetDate.getTime() - Math.floorMod(targetDate.getTime(), 1000L);
+        final long minTime = MIN_DATE.getTime();
+        // Widen the searched window until it contains a fire time, then step forward to the last one before the
+        // target. Doubling the window bounds the number of steps for sparse expressions.
+        long window = findMinIncrement();
+        while (true) {
+            final long from = Math.max(target - window, minTime - 1000);
+            Date prevFireTime = getTimeAfter(new Date(from));
+            if (prevFireTime != null && prevFireTime.getTime() < target) {
+                Date nextFireTime;
+                while ((nextFireTime = getTimeAfter(prevFireTime)) != null && nextFireTime.getTime() < target) {
+                    prevFireTime = nextFireTime;
+                }
+                return prevFireTime;
+            }
+            if (from > target - window) {
                 return null;
             }
-            start = prevCheckDate;
-        } while (prevFireTime.compareTo(targetDateNoMs) >= 0);
-        return prevFireTime;
+            window *= 2;
+        }
     }
 
     public Date getPrevFireTime(final Date targetDate) {
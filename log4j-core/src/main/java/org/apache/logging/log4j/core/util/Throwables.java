@@ -24,13 +24,33 @@ import java.io.PrintWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.apache.logging.log4j.util.Constants;
 
 /**
  * Helps with Throwable objects.
  */
 public final class Throwables {
 
+    private static final String CAUSE_CAPTION = "Caused by: ";
+
+    private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+
+    private static final ClassValue<Boolean> STANDARD_STACK_TRACE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("printStackTrace", PrintWriter.class).getDeclaringClass() == Throwable.class;
+            } catch (final NoSuchMethodException | SecurityException e) {
+                return false;
+            }
+        }
+    };
+
     private Throwables() {}
 
     /**
@@ -98,6 +118,118 @@ public final class Throwables {
         return lines;
     }
 
+    /**
+     * Passes the lines of the stack trace printed by {@link Throwable#printStackTrace()}, without line separators, to
+     * the given consumer until it returns {@code false}.
+     * <p>
+     * Only the stack trace elements of consumed lines are converted to text, so stopping after a few lines is cheap
+     * even for deep stack traces. The line is a reused buffer that must not be retained by the consumer. Throwables
+     * overriding {@link Throwable#printStackTrace(PrintWriter)} are printed in full before being split into lines.
+     * </p>
+     *
+     * @param throwable the Throwable
+     * @param consumer receives each line and returns whether to continue
+     * @since 2.24.0
+     */
+    @SuppressFBWarnings(
+            value = "INFORMATION_EXPOSURE_THROUGH_AN_ERROR_MESSAGE",
+            justification = "Log4j prints stacktraces only to logs, which should be private.")
+    public static void forEachStackTraceLine(final Throwable throwable, final Predicate<CharSequence> consumer) {
+        if (!STANDARD_STACK_TRACE.get(throwable.getClass())) {
+            for (final String line : toStringList(throwable)) {
+                if (!consumer.test(line)) {
+                    return;
+                }
+            }
+            return;
+        }
+        final Set<Throwable> dejaVu = Collections.newSetFromMap(new IdentityHashMap<>());
+        dejaVu.add(throwable);
+        final StringBuilder line = new StringBuilder(128);
+        line.append(throwable);
+        if (!consumer.test(line)) {
+            return;
+        }
+        final StackTraceElement[] trace = throwable.getStackTrace();
+        for (final StackTraceElement element : trace) {
+            line.setLength(0);
+            line.append("\tat ").append(element);
+            if (!consumer.test(line)) {
+                return;
+            }
+        }
+        forEachEnclosedStackTraceLine(throwable, trace, "", dejaVu, line, consumer);
+    }
+
+    /**
+     * Prints the suppressed throwables and the cause of the given throwable like {@link Throwable#printStackTrace()}.
+     *
+     * @return whether the consumer accepted all lines
+     */
+    private static boolean forEachEnclosedStackTraceLine(
+            final Throwable throwable,
+            final StackTraceElement[] trace,
+            final String prefix,
+            final Set<Throwable> dejaVu,
+            final StringBuilder line,
+            final Predicate<CharSequence> consumer) {
+        for (final Throwable suppressed : throwable.getSuppressed()) {
+            if (!forEachStackTraceLine(suppressed, trace, SUPPRESSED_CAPTION, prefix + "\t", dejaVu, line, consumer)) {
+                return false;
+            }
+        }
+        final Throwable cause = throwable.getCause();
+        return cause == null || forEachStackTraceLine(cause, trace, CAUSE_CAPTION, prefix, dejaVu, line, consumer);
+    }
+
+    private static boolean forEachStackTraceLine(
+            final Throwable throwable,
+            final StackTraceElement[] enclosingTrace,
+            final String caption,
+            final String prefix,
+            final Set<Throwable> dejaVu,
+            final StringBuilder line,
+            final Predicate<CharSequence> consumer) {
+        line.setLength(0);
+        if (!dejaVu.add(throwable)) {
+            if (Constants.JAVA_MAJOR_VERSION > 8) {
+                line.append(prefix).append(caption).append("[CIRCULAR REFERENCE: ");
+            } else {
+                line.append("\t[CIRCULAR REFERENCE:");
+            }
+            line.append(throwable).append(']');
+            return consumer.test(line);
+        }
+        line.append(prefix).append(caption).append(throwable);
+        if (!consumer.test(line)) {
+            return false;
+        }
+        // Omit the frames in common with the enclosing trace
+        final StackTraceElement[] trace = throwable.getStackTrace();
+        int m = trace.length - 1;
+        int n = enclosingTrace.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+            m--;
+            n--;
+        }
+        for (int i = 0; i <= m; i++) {
+            line.setLength(0);
+            line.append(prefix).append("\tat ").append(trace[i]);
+            if (!consumer.test(line)) {
+                return false;
+            }
+        }
+        final int framesInCommon = trace.length - 1 - m;
+        if (framesInCommon != 0) {
+            line.setLength(0);
+            line.append(prefix).append("\t... ").append(framesInCommon).append(" more");
+            if (!consumer.test(line)) {
+                return false;
+            }
+        }
+        return forEachEnclosedStackTraceLine(throwable, trace, prefix, dejaVu, line, consumer);
+    }
+
     /**
      * Rethrows a {@link Throwable}.
      *
@@ -37,6 +37,7 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
@@ -640,6 +641,52 @@ class JsonTemplateLayoutTest {
                 new String(toByteArrayOutputBytes, 0, toByteArrayOutputBytes.length, layout.getCharset());
 
         // Get encode() output.
+        final String encodeOutput = encode(layout, logEvent);
+
+        // Compare outputs.
+        assertThat(toSerializableOutput).isEqualTo(toByteArrayOutput);
+        assertThat(toByteArrayOutput).isEqualTo(encodeOutput);
+    }
+
+    @Test
+    void test_UTF8_encode_output() {
+
+        // Create the layout.
+        final JsonTemplateLayout layout = JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setCharset(StandardCharsets.UTF_8)
+                .setEventTemplate("{\"message\": {\"$resolver\": \"message\"}}")
+                .build();
+
+        // Create a message mixing ASCII, multi-byte characters, and malformed surrogates.
+        // Make it long enough to exceed the encoder buffer.
+        final StringBuilder messageBuilder = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            if (i % 7 == 0) {
+                messageBuilder.append("\u00e9");
+            } else if (i % 11 == 0) {
+                messageBuilder.append("\ud83d\ude00");
+            } else if (i % 13 == 0) {
+                messageBuilder.append("\u4e2d");
+            } else {
+                messageBuilder.append((char) ('a' + i % 26));
+            }
+        }
+        messageBuilder.append("\ud800 \udc00 \ud800");
+        final LogEvent logEvent = Log4jLogEvent.newBuilder()
+                .setMessage(new SimpleMessage(messageBuilder.toString()))
+                .build();
+
+        // Compare encode() output with the one of toSerializable().
+        // Round-trip the latter through String#getBytes() to replace malformed surrogates the same way.
+        final String toSerializableOutput = layout.toSerializable(logEvent);
+        final String expectedOutput =
+                new String(toSerializableOutput.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        final String encodeOutput = encode(layout, logEvent);
+        assertThat(encodeOutput).isEqualTo(expectedOutput);
+    }
+
+    private static String encode(final JsonTemplateLayout layout, final LogEvent logEvent) {
         final ByteBuffer byteBuffer = ByteBuffer.allocate(512 * 1024);
         final ByteBufferDestination byteBufferDestination = new ByteBufferDestination() {
 
@@ -664,11 +711,7 @@ class JsonTemplateLayoutTest {
             }
         };
         layout.encode(logEvent, byteBufferDestination);
-        final String encodeOutput = new String(byteBuffer.array(), 0, byteBuffer.position(), layout.getCharset());
-
-        // Compare outputs.
-        assertThat(toSerializableOutput).isEqualTo(toByteArrayOutput);
-        assertThat(toByteArrayOutput).isEqualTo(encodeOutput);
+        return new String(byteBuffer.array(), 0, byteBuffer.position(), layout.getCharset());
     }
 
     @Test
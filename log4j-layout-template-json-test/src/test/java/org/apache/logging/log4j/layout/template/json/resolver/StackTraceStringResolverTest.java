@@ -595,6 +595,78 @@ class StackTraceStringResolverTest {
         }
     }
 
+    ////////////////////////////////////////////////////////////////////////////
+    // tests with `cacheSize` //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////
+
+    @Nested
+    class WithCache extends AbstractTestCases {
+
+        WithCache() {
+            super(false);
+        }
+
+        @Override
+        void assertSerializedException(final Throwable exception, final String regex) {
+
+            // Create the event template.
+            final String eventTemplate = writeJson(asMap(
+                    "output",
+                    asMap(
+                            "$resolver", "exception",
+                            "field", "stackTrace",
+                            "stackTrace", asMap("stringified", asMap("cacheSize", 16)))));
+
+            // Create the layout.
+            final JsonTemplateLayout layout = JsonTemplateLayout.newBuilder()
+                    .setConfiguration(CONFIGURATION)
+                    .setEventTemplate(eventTemplate)
+                    .build();
+
+            // Create the log event.
+            final LogEvent logEvent =
+                    Log4jLogEvent.newBuilder().setThrown(exception).build();
+
+            // Check the serialized event, rendered and then cached.
+            for (int i = 0; i < 2; i++) {
+                usingSerializedLogEventAccessor(layout, logEvent, accessor -> assertThat(accessor.getString("output"))
+                        .matches(regex));
+            }
+        }
+
+        @Test
+        void equal_exceptions_should_hit_the_cache() {
+            final StackTraceStringCache cache = new StackTraceStringCache(10);
+            assertThat(cache.getCapacity()).isEqualTo(16);
+
+            // Create exceptions with the same class, message and stack trace.
+            final Throwable[] exceptions = new Throwable[2];
+            for (int i = 0; i < exceptions.length; i++) {
+                exceptions[i] = new IllegalStateException("message", exception1());
+            }
+            final StackTraceStringCache.Key key = StackTraceStringCache.createKey(exceptions[0]);
+            assertThat(cache.get(key)).isNull();
+            cache.put(key, "rendered");
+            assertThat(cache.get(StackTraceStringCache.createKey(exceptions[1])))
+                    .isEqualTo("rendered");
+            assertThat(cache.getHitCount()).isEqualTo(1);
+            assertThat(cache.getMissCount()).isEqualTo(1);
+
+            // Check that a different message misses.
+            final Throwable otherMessage = new IllegalStateException("other message", exceptions[0].getCause());
+            otherMessage.setStackTrace(exceptions[0].getStackTrace());
+            assertThat(cache.get(StackTraceStringCache.createKey(otherMessage))).isNull();
+            assertThat(cache.getMissCount()).isEqualTo(2);
+        }
+
+        @Test
+        void exceptions_with_suppressed_should_not_be_cached() {
+            final Throwable exception = exception1();
+            exception.addSuppressed(exception2());
+            assertThat(StackTraceStringCache.createKey(exception)).isNull();
+        }
+    }
+
     @Test
     void nonAscii_utf8_method_name_should_get_serialized() {
 
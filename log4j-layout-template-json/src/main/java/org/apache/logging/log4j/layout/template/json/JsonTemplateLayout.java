@@ -21,6 +21,7 @@ import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -178,11 +179,119 @@ public class JsonTemplateLayout implements StringLayout, LocationAware {
     private static Supplier<Context> createContextSupplier(final Charset charset, final JsonWriter jsonWriter) {
         return () -> {
             final JsonWriter clonedJsonWriter = jsonWriter.clone();
-            final Encoder<StringBuilder> encoder = new StringBuilderEncoder(charset);
+            final Encoder<StringBuilder> encoder = StandardCharsets.UTF_8.equals(charset)
+                    ? new Utf8StringBuilderEncoder()
+                    : new StringBuilderEncoder(charset);
             return new Context(clonedJsonWriter, encoder);
         };
     }
 
+    /**
+     * {@link StringBuilder} encoder dedicated to UTF-8.
+     * <p>
+     * Transcodes characters straight into a byte array, skipping both the intermediate {@link CharBuffer} copy and the
+     * {@link CharsetEncoder} state machine employed by {@link StringBuilderEncoder}.
+     * Runs of ASCII characters, which dominate JSON output, are copied in a tight loop.
+     * Malformed surrogates are replaced with {@code ?}, matching {@link String#getBytes(Charset)}.
+     * </p>
+     * <p>
+     * Similar to {@link TextEncoderHelper}, the destination lock is only acquired if the output doesn't fit into a
+     * single buffer, so that the chunks of a single event don't get interleaved with others.
+     * </p>
+     */
+    private static final class Utf8StringBuilderEncoder implements Encoder<StringBuilder> {
+
+        /**
+         * The maximum number of bytes a single code point can be encoded into.
+         */
+        private static final int MAX_BYTE_COUNT_PER_CODE_POINT = 4;
+
+        private final byte[] buffer;
+
+        private int bufferPosition;
+
+        private Utf8StringBuilderEncoder() {
+            this.buffer = new byte[Math.max(MAX_BYTE_COUNT_PER_CODE_POINT, Constants.ENCODER_BYTE_BUFFER_SIZE)];
+        }
+
+        @Override
+        public void encode(final StringBuilder source, final ByteBufferDestination destination) {
+            bufferPosition = 0;
+            try {
+                final int sourceLength = source.length();
+                int sourceIndex = encodeChunk(source, 0, sourceLength);
+                if (sourceIndex < sourceLength) {
+                    synchronized (destination) {
+                        do {
+                            flush(destination);
+                            sourceIndex = encodeChunk(source, sourceIndex, sourceLength);
+                        } while (sourceIndex < sourceLength);
+                        flush(destination);
+                    }
+                } else {
+                    flush(destination);
+                }
+            } catch (final Exception error) {
+                StringBuilderEncoder.fallbackEncode(StandardCharsets.UTF_8, source, destination, error);
+            }
+        }
+
+        /**
+         * Encodes characters starting from {@code sourceIndex} until either the source is exhausted or the buffer
+         * cannot accommodate another code point.
+         *
+         * @return the index of the first character that is not encoded yet
+         */
+        private int encodeChunk(final StringBuilder source, int sourceIndex, final int sourceLength) {
+            final byte[] buffer = this.buffer;
+            final int bufferLimit = buffer.length - MAX_BYTE_COUNT_PER_CODE_POINT;
+            int bufferPosition = this.bufferPosition;
+            while (sourceIndex < sourceLength && bufferPosition <= bufferLimit) {
+
+                // Fast path for ASCII runs
+                final int asciiLimit = Math.min(sourceLength, sourceIndex + buffer.length - bufferPosition);
+                char c;
+                while (sourceIndex < asciiLimit && (c = source.charAt(sourceIndex)) < 0x80) {
+                    buffer[bufferPosition++] = (byte) c;
+                    sourceIndex++;
+                }
+                if (sourceIndex >= asciiLimit || bufferPosition > bufferLimit) {
+                    continue;
+                }
+
+                // Slow path for multi-byte sequences
+                c = source.charAt(sourceIndex++);
+                if (c < 0x800) {
+                    buffer[bufferPosition++] = (byte) (0xC0 | (c >> 6));
+                    buffer[bufferPosition++] = (byte) (0x80 | (c & 0x3F));
+                } else if (!Character.isSurrogate(c)) {
+                    buffer[bufferPosition++] = (byte) (0xE0 | (c >> 12));
+                    buffer[bufferPosition++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[bufferPosition++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c)
+                        && sourceIndex < sourceLength
+                        && Character.isLowSurrogate(source.charAt(sourceIndex))) {
+                    final int codePoint = Character.toCodePoint(c, source.charAt(sourceIndex++));
+                    buffer[bufferPosition++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[bufferPosition++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[bufferPosition++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[bufferPosition++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    buffer[bufferPosition++] = '?';
+                }
+            }
+            this.bufferPosition = bufferPosition;
+            return sourceIndex;
+        }
+
+        private void flush(final ByteBufferDestination destination) {
+            if (bufferPosition > 0) {
+                destination.writeBytes(buffer, 0, bufferPosition);
+                bufferPosition = 0;
+            }
+        }
+    }
+
     /**
      * {@link org.apache.logging.log4j.core.layout.StringBuilderEncoder} clone replacing thread-local allocations with instance fields.
      */
@@ -47,7 +47,7 @@ import org.apache.logging.log4j.status.StatusLogger;
  *                       , [ elementTemplate ]
  *                       )
  *
- * stringified         = "stringified" -> ( boolean | truncation )
+ * stringified         = "stringified" -> ( boolean | ( [ truncation ] , [ cacheSize ] ) )
  * truncation          = "truncation" -> (
  *                         [ suffix ]
  *                       , [ pointMatcherStrings ]
@@ -56,6 +56,7 @@ import org.apache.logging.log4j.status.StatusLogger;
  * suffix              = "suffix" -> string
  * pointMatcherStrings = "pointMatcherStrings" -> string[]
  * pointMatcherRegexes = "pointMatcherRegexes" -> string[]
+ * cacheSize           = "cacheSize" -> number
  *
  * elementTemplate     = "elementTemplate" -> object
  * </pre>
@@ -78,6 +79,11 @@ import org.apache.logging.log4j.status.StatusLogger;
  * <tt>Suppressed:</tt> label blocks. That is, matchers are executed against
  * each label in isolation.
  * <p>
+ * A positive <tt>cacheSize</tt> enables a cache of that many stringified
+ * stack traces, which skips rendering a throwable whose cause chain has the
+ * same classes, messages and stack traces as a cached one. Throwables with
+ * suppressed exceptions are not cached. By default, <tt>cacheSize</tt> is 0.
+ * <p>
  * <tt>elementTemplate</tt> is an object describing the template to be used
  * while resolving the {@link StackTraceElement} array. If <tt>stringified</tt>
  * is set to <tt>true</tt>, <tt>elementTemplate</tt> will be discarded. By
@@ -275,10 +281,11 @@ public class ExceptionResolver implements EventResolver {
         final String truncationSuffix = readTruncationSuffix(context, config);
         final List<String> truncationPointMatcherStrings = readTruncationPointMatcherStrings(config);
         final List<String> truncationPointMatcherRegexes = readTruncationPointMatcherRegexes(config);
+        final int cacheSize = readCacheSize(config);
 
         // Create the resolver.
         final StackTraceStringResolver resolver = new StackTraceStringResolver(
-                context, truncationSuffix, truncationPointMatcherStrings, truncationPointMatcherRegexes);
+                context, truncationSuffix, truncationPointMatcherStrings, truncationPointMatcherRegexes, cacheSize);
 
         // Create the null-protected resolver.
         return (final LogEvent logEvent, final JsonWriter jsonWriter) -> {
@@ -297,6 +304,17 @@ public class ExceptionResolver implements EventResolver {
         return suffix != null ? suffix : context.getTruncatedStringSuffix();
     }
 
+    private static int readCacheSize(final TemplateResolverConfig config) {
+        final Integer cacheSize = config.getInteger(new String[] {"stackTrace", "stringified", "cacheSize"});
+        if (cacheSize == null) {
+            return 0;
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("was expecting a non-negative cacheSize: " + config);
+        }
+        return cacheSize;
+    }
+
     private static List<String> readTruncationPointMatcherStrings(final TemplateResolverConfig config) {
         List<String> strings = config.getList(
                 new String[] {"stackTrace", "stringified", "truncation", "pointMatcherStrings"}, String.class);
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.resolver;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of stringified stack traces used by {@link StackTraceStringResolver}.
+ * <p>
+ * Entries are keyed by the class, {@link Throwable#toString()} and stack trace of each throwable in the cause chain,
+ * that is, everything {@link Throwable#printStackTrace()} renders. Chains with suppressed exceptions or more than
+ * {@value #MAX_CHAIN_LENGTH} throwables are not cached. The cache is direct-mapped: each key has a single slot, which a
+ * later key mapping to the same slot replaces.
+ * </p>
+ */
+final class StackTraceStringCache {
+
+    static final int MAX_CHAIN_LENGTH = 16;
+
+    private static final int MAX_CAPACITY = 1 << 16;
+
+    private final AtomicReferenceArray<Entry> entries;
+
+    private final int mask;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    StackTraceStringCache(final int size) {
+        int capacity = 1;
+        while (capacity < size && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    int getCapacity() {
+        return entries.length();
+    }
+
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Creates the key of the given throwable.
+     *
+     * @return the key, or {@code null} if the throwable cannot be cached
+     */
+    static Key createKey(final Throwable throwable) {
+        int length = 0;
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (length == MAX_CHAIN_LENGTH || current.getSuppressed().length > 0) {
+                return null;
+            }
+            length++;
+        }
+        final Class<?>[] types = new Class<?>[length];
+        final String[] descriptions = new String[length];
+        final StackTraceElement[][] stackTraces = new StackTraceElement[length][];
+        int hash = 1;
+        Throwable current = throwable;
+        for (int i = 0; i < length; i++) {
+            types[i] = current.getClass();
+            descriptions[i] = current.toString();
+            stackTraces[i] = current.getStackTrace();
+            hash = 31 * hash + types[i].hashCode();
+            hash = 31 * hash + descriptions[i].hashCode();
+            hash = 31 * hash + Arrays.hashCode(stackTraces[i]);
+            current = current.getCause();
+        }
+        return new Key(hash, types, descriptions, stackTraces);
+    }
+
+    String get(final Key key) {
+        final Entry entry = entries.get(key.hash & mask);
+        if (entry != null && entry.key.equals(key)) {
+            hitCount.increment();
+            return entry.value;
+        }
+        missCount.increment();
+        return null;
+    }
+
+    void put(final Key key, final String value) {
+        entries.set(key.hash & mask, new Entry(key, value));
+    }
+
+    static final class Key {
+
+        private final int hash;
+
+        private final Class<?>[] types;
+
+        private final String[] descriptions;
+
+        private final StackTraceElement[][] stackTraces;
+
+        private Key(
+                final int hash,
+                final Class<?>[] types,
+                final String[] descriptions,
+                final StackTraceElement[][] stackTraces) {
+            this.hash = hash;
+            this.types = types;
+            this.descriptions = descriptions;
+            this.stackTraces = stackTraces;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) object;
+            return hash == other.hash
+                    && Arrays.equals(types, other.types)
+                    && Arrays.equals(descriptions, other.descriptions)
+                    && Arrays.deepEquals(stackTraces, other.stackTraces);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+
+        private final String value;
+
+        private Entry(final Key key, final String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import org.apache.logging.log4j.core.util.Throwables;
 import org.apache.logging.log4j.layout.template.json.util.CharSequencePointer;
 import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
 import org.apache.logging.log4j.layout.template.json.util.Recycler;
@@ -47,11 +48,22 @@ final class StackTraceStringResolver implements StackTraceResolver {
 
     private final List<Pattern> groupedTruncationPointMatcherRegexes;
 
+    private final StackTraceStringCache cache;
+
     StackTraceStringResolver(
             final EventResolverContext context,
             final String truncationSuffix,
             final List<String> truncationPointMatcherStrings,
             final List<String> truncationPointMatcherRegexes) {
+        this(context, truncationSuffix, truncationPointMatcherStrings, truncationPointMatcherRegexes, 0);
+    }
+
+    StackTraceStringResolver(
+            final EventResolverContext context,
+            final String truncationSuffix,
+            final List<String> truncationPointMatcherStrings,
+            final List<String> truncationPointMatcherRegexes,
+            final int cacheSize) {
         final Supplier<TruncatingBufferedPrintWriter> writerSupplier =
                 () -> TruncatingBufferedPrintWriter.ofCapacity(context.getMaxStringByteCount());
         final RecyclerFactory recyclerFactory = context.getRecyclerFactory();
@@ -62,6 +74,11 @@ final class StackTraceStringResolver implements StackTraceResolver {
         this.truncationSuffix = truncationSuffix;
         this.truncationPointMatcherStrings = truncationPointMatcherStrings;
         this.groupedTruncationPointMatcherRegexes = groupTruncationPointMatcherRegexes(truncationPointMatcherRegexes);
+        this.cache = cacheSize > 0 ? new StackTraceStringCache(cacheSize) : null;
+    }
+
+    StackTraceStringCache getCache() {
+        return cache;
     }
 
     private static List<Pattern> groupTruncationPointMatcherRegexes(final List<String> regexes) {
@@ -77,10 +94,29 @@ final class StackTraceStringResolver implements StackTraceResolver {
 
     @Override
     public void resolve(final Throwable throwable, final JsonWriter jsonWriter) {
+        final StackTraceStringCache.Key key = cache != null ? StackTraceStringCache.createKey(throwable) : null;
+        if (key != null) {
+            final String stackTrace = cache.get(key);
+            if (stackTrace != null) {
+                jsonWriter.writeString(stackTrace);
+                return;
+            }
+        }
         final TruncatingBufferedPrintWriter srcWriter = srcWriterRecycler.acquire();
         try {
-            throwable.printStackTrace(srcWriter);
-            truncate(srcWriter, jsonWriter::writeString);
+            // Stop rendering the stack trace once it exceeds the maximum string length
+            Throwables.forEachStackTraceLine(throwable, line -> {
+                srcWriter.append(line).append(System.lineSeparator());
+                return !srcWriter.truncated();
+            });
+            if (key == null) {
+                truncate(srcWriter, jsonWriter::writeString);
+            } else {
+                truncate(srcWriter, effectiveWriter -> {
+                    cache.put(key, effectiveWriter.toString());
+                    jsonWriter.writeString(effectiveWriter);
+                });
+            }
         } finally {
             srcWriterRecycler.release(srcWriter);
         }
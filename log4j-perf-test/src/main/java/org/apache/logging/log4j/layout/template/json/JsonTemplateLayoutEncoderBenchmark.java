@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.layout.template.json.util.ThreadLocalRecyclerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the cost of encoding {@link JsonTemplateLayout} output to bytes for ECS and GELF templates.
+ * <p>
+ * {@code UTF-8} takes the dedicated direct-to-bytes encoder, whereas {@code US-ASCII} takes the generic
+ * {@link java.nio.charset.CharsetEncoder}-based one.
+ * Since the log events employed are pure ASCII, both charsets produce identical bytes.
+ * </p>
+ * <p>
+ * You can run this test as follows:
+ * <pre>{@code
+ * java \
+ *     -jar log4j-perf/target/benchmarks.jar \
+ *     -f 2 \
+ *     -wi 3 -w 20s \
+ *     -i 5 -r 30s \
+ *     -prof gc \
+ *     ".*JsonTemplateLayoutEncoderBenchmark.*"
+ * }</pre>
+ * </p>
+ */
+@State(Scope.Thread)
+public class JsonTemplateLayoutEncoderBenchmark {
+
+    private static final Configuration CONFIGURATION = new DefaultConfiguration();
+
+    private static final int LOG_EVENT_COUNT = 1_000;
+
+    @Param({"UTF-8", "US-ASCII"})
+    public String charsetName;
+
+    @Param({"EcsLayout.json", "GelfLayout.json"})
+    public String eventTemplate;
+
+    private JsonTemplateLayout layout;
+
+    private ByteBufferDestination destination;
+
+    private List<LogEvent> fullLogEvents;
+
+    private List<LogEvent> liteLogEvents;
+
+    private int logEventIndex;
+
+    @Setup
+    public void setUp() {
+        layout = JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setCharset(Charset.forName(charsetName))
+                .setEventTemplateUri("classpath:" + eventTemplate)
+                .setRecyclerFactory(ThreadLocalRecyclerFactory.getInstance())
+                .build();
+        destination = new BlackHoleByteBufferDestination(1024 * 512);
+        fullLogEvents = LogEventFixture.createFullLogEvents(LOG_EVENT_COUNT);
+        liteLogEvents = LogEventFixture.createLiteLogEvents(LOG_EVENT_COUNT);
+    }
+
+    @Benchmark
+    public int full() {
+        return encode(fullLogEvents);
+    }
+
+    @Benchmark
+    public int lite() {
+        return encode(liteLogEvents);
+    }
+
+    private int encode(final List<LogEvent> logEvents) {
+        final LogEvent logEvent = logEvents.get(logEventIndex);
+        logEventIndex = (logEventIndex + 1) % LOG_EVENT_COUNT;
+        final ByteBuffer byteBuffer = destination.getByteBuffer();
+        layout.encode(logEvent, destination);
+        return byteBuffer.position();
+    }
+}
@@ -49,6 +49,13 @@ import org.openjdk.jmh.annotations.TearDown;
 @State(Scope.Thread)
 public class AsyncLoggersLocationBenchmark {
 
+    // Location baked in at the call site, as a build-time instrumentation would do
+    private static final StackTraceElement LOCATION = new StackTraceElement(
+            AsyncLoggersLocationBenchmark.class.getName(),
+            "throughputExplicitLocation",
+            "AsyncLoggersLocationBenchmark.java",
+            98);
+
     Logger logger;
 
     @Setup(Level.Trial)
@@ -76,4 +83,18 @@ public class AsyncLoggersLocationBenchmark {
     public void throughputSimple() {
         logger.info(BenchmarkMessageParams.TEST);
     }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughputFluent() {
+        logger.atInfo().withLocation().log(BenchmarkMessageParams.TEST);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughputExplicitLocation() {
+        logger.atInfo().withLocation(LOCATION).log(BenchmarkMessageParams.TEST);
+    }
 }
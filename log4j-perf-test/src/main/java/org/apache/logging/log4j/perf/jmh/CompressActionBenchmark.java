@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.CommonsCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ParallelGzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ZipCompressAction;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the rollover compression actions on a generated log file.
+ * <p>
+ * Besides the number of compressed files per second, the benchmark reports the throughput in {@code megabytes} of
+ * uncompressed data per second, and the process CPU time spent per second as {@code cpuSeconds}, i.e. the number of
+ * busy cores.
+ * </p>
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*CompressActionBenchmark.*" -f 1 -wi 3 -i 5
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CompressActionBenchmark {
+
+    public enum CompressAction {
+        GZ {
+            @Override
+            Action create(final File source, final File destination) {
+                return new GzCompressAction(source, destination, false, Deflater.DEFAULT_COMPRESSION);
+            }
+        },
+        GZ_PARALLEL_2 {
+            @Override
+            Action create(final File source, final File destination) {
+                return new ParallelGzCompressAction(source, destination, false, Deflater.DEFAULT_COMPRESSION, 2);
+            }
+        },
+        GZ_PARALLEL_4 {
+            @Override
+            Action create(final File source, final File destination) {
+                return new ParallelGzCompressAction(source, destination, false, Deflater.DEFAULT_COMPRESSION, 4);
+            }
+        },
+        ZIP {
+            @Override
+            Action create(final File source, final File destination) {
+                return new ZipCompressAction(source, destination, false, Deflater.DEFAULT_COMPRESSION);
+            }
+        },
+        LZ4 {
+            @Override
+            Action create(final File source, final File destination) {
+                return new CommonsCompressAction("lz4-framed", source, destination, false);
+            }
+        };
+
+        abstract Action create(File source, File destination);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Metrics {
+
+        public double megabytes;
+
+        public double cpuSeconds;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+            cpuSeconds = 0;
+        }
+    }
+
+    @Param({"GZ", "GZ_PARALLEL_2", "GZ_PARALLEL_4", "ZIP", "LZ4"})
+    public CompressAction action;
+
+    @Param({"64"})
+    public int sizeMiB;
+
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private Path directory;
+
+    private File source;
+
+    private File destination;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("CompressActionBenchmark");
+        source = directory.resolve("app.log").toFile();
+        destination = directory.resolve("app.log.compressed").toFile();
+        final Random random = new Random(42);
+        final long size = (long) sizeMiB << 20;
+        try (final Writer writer = Files.newBufferedWriter(source.toPath(), StandardCharsets.UTF_8)) {
+            for (long written = 0; written < size; ) {
+                final String line = "2024-05-04 12:34:56,789 INFO  [worker-" + random.nextInt(16)
+                        + "] com.example.service.OrderService - Processed order " + random.nextLong() + " in "
+                        + random.nextInt(1000) + " ms\n";
+                writer.write(line);
+                written += line.length();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(destination.toPath());
+        Files.deleteIfExists(source.toPath());
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public boolean compress(final Metrics metrics) throws IOException {
+        final long cpuTime = os.getProcessCpuTime();
+        final boolean compressed = action.create(source, destination).execute();
+        metrics.cpuSeconds += (os.getProcessCpuTime() - cpuTime) / 1e9;
+        metrics.megabytes += source.length() / 1e6;
+        return compressed;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.config.ConfigurationScheduler;
+import org.apache.logging.log4j.core.util.CronExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures scheduling cron tasks on a {@link ConfigurationScheduler}, as done by many {@code CronTriggeringPolicy}
+ * instances, and the fire time computations of {@link CronExpression}.
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*ConfigurationSchedulerBenchmark.*" -f 1 -wi 3 -i 5
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfigurationSchedulerBenchmark {
+
+    private static final int TASKS = 10_000;
+
+    private static final Runnable TASK = () -> {};
+
+    @Param({"0 0 0 * * ?", "0 0 0 1 * ?", "0 */5 * * * ?"})
+    public String schedule;
+
+    private CronExpression cronExpression;
+
+    private ConfigurationScheduler scheduler;
+
+    private Date date;
+
+    @Setup
+    public void setUp() throws ParseException {
+        cronExpression = new CronExpression(schedule);
+        date = new Date();
+    }
+
+    @Setup(Level.Invocation)
+    public void startScheduler() {
+        scheduler = new ConfigurationScheduler();
+        scheduler.incrementScheduledItems();
+        scheduler.start();
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopScheduler() {
+        scheduler.stop(1, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public int scheduleWithCron() {
+        final ScheduledFuture<?>[] futures = new ScheduledFuture<?>[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            futures[i] = scheduler.scheduleWithCron(cronExpression, TASK);
+        }
+        for (final ScheduledFuture<?> future : futures) {
+            future.cancel(false);
+        }
+        return futures.length;
+    }
+
+    @Benchmark
+    public Date getNextValidTimeAfter() {
+        return cronExpression.getNextValidTimeAfter(date);
+    }
+
+    @Benchmark
+    public Date getPrevFireTime() {
+        return cronExpression.getPrevFireTime(date);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.SocketAppender;
+import org.apache.logging.log4j.core.config.NullConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.net.Protocol;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares sending events over UDP on the loopback interface with the {@code DatagramSocket} and the
+ * {@code DatagramChannel} based socket managers.
+ * <p>
+ * Every {@code batchSize}-th event is marked as end of batch, which flushes the channel based manager. The
+ * {@code maxDatagramSize} parameter is only used by the channel based manager, zero sending one event per datagram.
+ * </p>
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*DatagramAppenderBenchmark.*" -f 1 -wi 5 -i 10 -prof gc
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DatagramAppenderBenchmark {
+
+    private static final String MESSAGE =
+            "This is rather long and chatty log message with quite some interesting information and a bit of fun in it";
+
+    @Param({"false", "true"})
+    public boolean datagramChannel;
+
+    @Param({"1", "32"})
+    public int batchSize;
+
+    @Param({"0", "1400"})
+    public int maxDatagramSize;
+
+    private DatagramSocket receiver;
+
+    private Thread receiverThread;
+
+    private SocketAppender appender;
+
+    private LogEvent event;
+
+    private LogEvent endOfBatchEvent;
+
+    private int eventIndex;
+
+    @Setup
+    public void setUp() throws IOException {
+        receiver = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        receiver.setReceiveBufferSize(4 * 1024 * 1024);
+        receiverThread = new Thread(this::receive, "DatagramAppenderBenchmark-receiver");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+        appender = SocketAppender.newBuilder()
+                .setName("DatagramAppenderBenchmark")
+                .setConfiguration(new NullConfiguration())
+                .setProtocol(Protocol.UDP)
+                .setHost(InetAddress.getLoopbackAddress().getHostAddress())
+                .setPort(receiver.getLocalPort())
+                .setImmediateFlush(false)
+                .setDatagramChannel(datagramChannel)
+                .setMaxDatagramSize(maxDatagramSize)
+                .setLayout(PatternLayout.newBuilder()
+                        .withPattern("%d %p %c - %m%n")
+                        .build())
+                .build();
+        appender.start();
+        event = createEvent(false);
+        endOfBatchEvent = createEvent(true);
+    }
+
+    private static LogEvent createEvent(final boolean endOfBatch) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName("com.mycom.myproject.mypackage.MyClass")
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(MESSAGE))
+                .setTimeMillis(12345678)
+                .setEndOfBatch(endOfBatch)
+                .build();
+    }
+
+    private void receive() {
+        final byte[] bytes = new byte[65536];
+        final DatagramPacket packet = new DatagramPacket(bytes, bytes.length);
+        try {
+            while (!receiver.isClosed()) {
+                receiver.receive(packet);
+            }
+        } catch (final IOException ignored) {
+            // Socket closed
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        appender.stop();
+        receiver.close();
+        receiverThread.join();
+    }
+
+    @Benchmark
+    public void append() {
+        final int index = ++eventIndex;
+        appender.append(index % batchSize == 0 ? endOfBatchEvent : event);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Renders a throwable with a deep stack trace using a limited number of lines or characters.
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*DeepThrowableRenderingBenchmark.*" -f 1 -wi 5 -i 5
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeepThrowableRenderingBenchmark {
+
+    private static final int STACK_DEPTH = 500;
+
+    private static final LogEvent EVENT = Log4jLogEvent.newBuilder()
+            .setLoggerName(DeepThrowableRenderingBenchmark.class.getName())
+            .setMessage(new SimpleMessage("Test message"))
+            .setThrown(createThrowable(STACK_DEPTH))
+            .build();
+
+    private static Throwable createThrowable(final int depth) {
+        return depth == 0 ? new IllegalStateException("Test Throwable") : createThrowable(depth - 1);
+    }
+
+    @State(Scope.Benchmark)
+    public static class PatternState {
+
+        @Param({"5", "50", "full"})
+        public String lines;
+
+        PatternLayout layout;
+
+        @Setup
+        public void setup() {
+            layout = PatternLayout.newBuilder()
+                    .withPattern("%m%ex{" + lines + "}%n")
+                    .build();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class JsonState {
+
+        @Param({"512", "16384"})
+        public int maxStringLength;
+
+        JsonTemplateLayout layout;
+
+        @Setup
+        public void setup() {
+            layout = JsonTemplateLayout.newBuilder()
+                    .setConfiguration(new DefaultConfiguration())
+                    .setEventTemplate("{\"message\": {\"$resolver\": \"message\", \"stringified\": true}, "
+                            + "\"exception\": {\"$resolver\": \"exception\", \"field\": \"stackTrace\", "
+                            + "\"stackTrace\": {\"stringified\": true}}}")
+                    .setMaxStringLength(maxStringLength)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public String patternLayout(final PatternState state) {
+        return state.layout.toSerializable(EVENT);
+    }
+
+    @Benchmark
+    public String jsonTemplateLayout(final JsonState state) {
+        return state.layout.toSerializable(EVENT);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.appender.rolling.action.DeleteAction;
+import org.apache.logging.log4j.core.appender.rolling.action.IfAccumulatedFileCount;
+import org.apache.logging.log4j.core.appender.rolling.action.IfAccumulatedFileSize;
+import org.apache.logging.log4j.core.appender.rolling.action.IfFileName;
+import org.apache.logging.log4j.core.appender.rolling.action.IfLastModified;
+import org.apache.logging.log4j.core.appender.rolling.action.PathCondition;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures a {@code Delete} rollover action on a directory holding many archived files.
+ * <p>
+ * Each invocation archives one more file, as a rollover does, and then runs the action. With the count and size
+ * conditions the oldest archive is deleted, with the age condition no file is old enough to be deleted.
+ * </p>
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*DeleteActionBenchmark.*" -f 1 -wi 3 -i 5
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DeleteActionBenchmark {
+
+    private static final int FILE_SIZE = 100;
+
+    public enum Condition {
+        COUNT {
+            @Override
+            PathCondition create(final int files) {
+                return IfAccumulatedFileCount.createFileCountCondition(files);
+            }
+        },
+        SIZE {
+            @Override
+            PathCondition create(final int files) {
+                return IfAccumulatedFileSize.createFileSizeCondition(String.valueOf((long) files * FILE_SIZE));
+            }
+        },
+        AGE {
+            @Override
+            PathCondition create(final int files) {
+                return IfLastModified.newBuilder().setAge(Duration.ofDays(30)).build();
+            }
+        };
+
+        abstract PathCondition create(int files);
+    }
+
+    @Param({"100000"})
+    public int files;
+
+    @Param({"COUNT", "SIZE", "AGE"})
+    public Condition condition;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private Path directory;
+
+    private DeleteAction action;
+
+    private long lastModified;
+
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("DeleteActionBenchmark");
+        lastModified = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+        for (index = 0; index < files; index++) {
+            archive();
+        }
+        final PathCondition[] conditions = {
+            IfFileName.createNameCondition("app-*.log.gz", null, condition.create(files))
+        };
+        action = DeleteAction.createDeleteAction(
+                directory.toString(), false, 1, false, indexed, null, conditions, null, new DefaultConfiguration());
+        // Seed the index
+        action.execute();
+    }
+
+    private void archive() throws IOException {
+        final Path file = directory.resolve("app-" + index + ".log.gz");
+        Files.write(file, new byte[FILE_SIZE]);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified++));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (final Path file : stream) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Setup(Level.Invocation)
+    public void rollover() throws IOException {
+        archive();
+        index++;
+    }
+
+    @Benchmark
+    public boolean delete() throws IOException {
+        return action.execute();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.FileAppender;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the contention of many synchronous threads writing to a single {@link FileAppender} with and without
+ * concurrent writes enabled on its manager.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf-test/target/benchmarks.jar ".*FileAppenderConcurrentWritesBenchmark.*"
+@Fork(1)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FileAppenderConcurrentWritesBenchmark {
+
+    private static final String FILE_NAME = "target/FileAppenderConcurrentWritesBenchmark.log";
+
+    @State(Scope.Benchmark)
+    public static class AppenderState {
+
+        @Param({"false", "true"})
+        boolean concurrentWrites;
+
+        @Param({"false", "true"})
+        boolean immediateFlush;
+
+        FileAppender appender;
+
+        @Setup
+        public void setUp() {
+            new File(FILE_NAME).delete();
+            appender = FileAppender.newBuilder()
+                    .setName("File")
+                    .withFileName(FILE_NAME)
+                    .setLayout(PatternLayout.newBuilder()
+                            .withPattern("%d %p [%t] %c{1} - %m%n")
+                            .build())
+                    .setImmediateFlush(immediateFlush)
+                    .setConcurrentWrites(concurrentWrites)
+                    .build();
+            appender.start();
+        }
+
+        @TearDown
+        public void tearDown() {
+            appender.stop();
+            new File(FILE_NAME).delete();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class EventState {
+
+        LogEvent event;
+
+        @Setup
+        public void setUp() {
+            event = Log4jLogEvent.newBuilder()
+                    .setLoggerName(FileAppenderConcurrentWritesBenchmark.class.getName())
+                    .setLevel(Level.INFO)
+                    .setThreadName(Thread.currentThread().getName())
+                    .setMessage(new SimpleMessage("This is a message of moderate length, like most log messages"))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void threads01(final AppenderState appenderState, final EventState eventState) {
+        appenderState.appender.append(eventState.event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void threads04(final AppenderState appenderState, final EventState eventState) {
+        appenderState.appender.append(eventState.event);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void threads16(final AppenderState appenderState, final EventState eventState) {
+        appenderState.appender.append(eventState.event);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void threads32(final AppenderState appenderState, final EventState eventState) {
+        appenderState.appender.append(eventState.event);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void threads64(final AppenderState appenderState, final EventState eventState) {
+        appenderState.appender.append(eventState.event);
+    }
+}
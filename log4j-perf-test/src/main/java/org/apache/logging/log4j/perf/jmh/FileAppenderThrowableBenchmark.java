@@ -27,6 +27,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.async.AsyncLoggerContext;
 import org.apache.logging.log4j.core.async.AsyncLoggerContextSelector;
+import org.apache.logging.log4j.core.impl.ThrowableProxyCache;
 import org.apache.logging.log4j.core.util.Constants;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -197,6 +198,10 @@ public class FileAppenderThrowableBenchmark {
         log4jRandomFile.delete();
         final File log4j2File = new File("target/simple-exception.log");
         log4j2File.delete();
+        final File log4j2JsonFile = new File("target/json-exception.log");
+        log4j2JsonFile.delete();
+        final File log4j2CachedJsonFile = new File("target/cached-json-exception.log");
+        log4j2CachedJsonFile.delete();
         final File julFile = new File("target/testJulLog.log");
         julFile.delete();
     }
@@ -219,6 +224,25 @@ public class FileAppenderThrowableBenchmark {
                 logger.error(message, throwable);
             }
         },
+        LOG4J2_EXTENDED_THROWABLE_CACHED() {
+            Logger logger;
+
+            @Override
+            void setUp() throws Exception {
+                System.setProperty(ThrowableProxyCache.CACHE_SIZE_PROPERTY, "1024");
+                logger = LogManager.getLogger("RAFExtendedException");
+            }
+
+            @Override
+            void tearDown() throws Exception {
+                System.clearProperty(ThrowableProxyCache.CACHE_SIZE_PROPERTY);
+            }
+
+            @Override
+            void log(final String message, final Throwable throwable) {
+                logger.error(message, throwable);
+            }
+        },
         LOG4J2_EXTENDED_THROWABLE_ASYNC() {
             Logger logger;
 
@@ -309,6 +333,38 @@ public class FileAppenderThrowableBenchmark {
                 logger.error(message, throwable);
             }
         },
+        LOG4J2_JSON_THROWABLE() {
+            Logger logger;
+
+            @Override
+            void setUp() throws Exception {
+                logger = LogManager.getLogger("RAFJsonException");
+            }
+
+            @Override
+            void tearDown() throws Exception {}
+
+            @Override
+            void log(final String message, final Throwable throwable) {
+                logger.error(message, throwable);
+            }
+        },
+        LOG4J2_JSON_THROWABLE_CACHED() {
+            Logger logger;
+
+            @Override
+            void setUp() throws Exception {
+                logger = LogManager.getLogger("RAFCachedJsonException");
+            }
+
+            @Override
+            void tearDown() throws Exception {}
+
+            @Override
+            void log(final String message, final Throwable throwable) {
+                logger.error(message, throwable);
+            }
+        },
         LOG4J1() {
             org.apache.log4j.Logger logger;
 
@@ -43,6 +43,12 @@ import org.slf4j.LoggerFactory;
 @State(Scope.Thread)
 public class FileAppenderWithLocationBenchmark {
     public static final String MESSAGE = "This is a debug message";
+    // Location baked in at the call site, as a build-time instrumentation would do
+    private static final StackTraceElement LOCATION = new StackTraceElement(
+            FileAppenderWithLocationBenchmark.class.getName(),
+            "log4j2FluentFileWithExplicitLocation",
+            "FileAppenderWithLocationBenchmark.java",
+            118);
     private FileHandler julFileHandler;
 
     Logger log4j2Logger;
@@ -105,6 +111,13 @@ public class FileAppenderWithLocationBenchmark {
         log4j2Logger.atDebug().withLocation().log(MESSAGE);
     }
 
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Benchmark
+    public void log4j2FluentFileWithExplicitLocation() {
+        log4j2Logger.atDebug().withLocation(LOCATION).log(MESSAGE);
+    }
+
     @BenchmarkMode(Mode.Throughput)
     @OutputTimeUnit(TimeUnit.SECONDS)
     @Benchmark
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.HttpAppender;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares sending one HTTP request per event with sending batches of events, against a local
+ * {@code com.sun.net.httpserver} server that reads and discards the request bodies.
+ * <p>
+ * A {@code batchSize} of zero sends one request per event. The {@code compress} parameter is only used when
+ * batching.
+ * </p>
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*HttpAppenderBenchmark.*" -f 1 -wi 5 -i 10
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HttpAppenderBenchmark {
+
+    private static final String MESSAGE =
+            "This is rather long and chatty log message with quite some interesting information and a bit of fun in it";
+
+    @Param({"0", "100", "1000"})
+    public int batchSize;
+
+    @Param({"false", "true"})
+    public boolean compress;
+
+    @Param({"1", "4"})
+    public int maxConcurrentRequests;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private HttpAppender appender;
+
+    private LogEvent event;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            final byte[] buffer = new byte[8192];
+            try (final InputStream in = exchange.getRequestBody()) {
+                while (in.read(buffer) >= 0) {
+                    // Discards the body
+                }
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.start();
+        appender = HttpAppender.newBuilder()
+                .setName("HttpAppenderBenchmark")
+                .setConfiguration(new DefaultConfiguration())
+                .setUrl(new URL("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+                        + server.getAddress().getPort() + "/logs"))
+                .setBatchSize(batchSize)
+                .setCompress(compress)
+                .setMaxConcurrentRequests(maxConcurrentRequests)
+                .setLayout(PatternLayout.newBuilder()
+                        .withPattern("{\"time\":%d{UNIX_MILLIS},\"level\":\"%p\",\"message\":\"%enc{%m}{JSON}\"}%n")
+                        .build())
+                .build();
+        appender.start();
+        event = Log4jLogEvent.newBuilder()
+                .setLoggerName("com.mycom.myproject.mypackage.MyClass")
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(MESSAGE))
+                .setTimeMillis(12345678)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public void append() {
+        appender.append(event);
+    }
+}
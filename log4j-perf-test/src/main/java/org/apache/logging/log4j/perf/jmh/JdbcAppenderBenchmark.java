@@ -22,18 +22,25 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.db.jdbc.ColumnConfig;
+import org.apache.logging.log4j.core.appender.db.jdbc.FactoryMethodConnectionSource;
 import org.apache.logging.log4j.core.appender.db.jdbc.JdbcAppender;
 import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.apache.logging.log4j.status.StatusLogger;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -47,6 +54,9 @@ import org.openjdk.jmh.infra.Blackhole;
 //
 // java -jar log4j-perf/target/benchmarks.jar ".*JdbcAppenderBenchmark.*" -f 1 -wi 5 -i 5
 //
+// Rows per second inserted into H2 for increasing batch sizes, with and without a background flush:
+// java -jar log4j-perf/target/benchmarks.jar ".*JdbcAppenderBenchmark.testThroughputH2Batch" -f 1 -wi 5 -i 5
+//
 // Usage help:
 // java -jar log4j-perf/target/benchmarks.jar -help
 //
@@ -103,6 +113,13 @@ public class JdbcAppenderBenchmark {
         loggerH2.warn("Test message", exception);
     }
 
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Benchmark
+    public void testThroughputH2Batch(final BatchState state) {
+        state.appender.append(state.event);
+    }
+
     @BenchmarkMode(Mode.Throughput)
     @OutputTimeUnit(TimeUnit.SECONDS)
     @Benchmark
@@ -168,6 +185,81 @@ public class JdbcAppenderBenchmark {
         }
     }
 
+    /**
+     * A programmatically configured H2 appender, one per combination of buffer size and flush interval.
+     */
+    @State(Scope.Benchmark)
+    public static class BatchState {
+
+        @Param({"1", "10", "100", "1000"})
+        public int bufferSize;
+
+        @Param({"0", "100"})
+        public long flushIntervalMillis;
+
+        JdbcAppender appender;
+        LogEvent event;
+        private Connection connection;
+
+        @Setup
+        public void setup() throws Exception {
+            // keeps the in-memory database alive between appender connections
+            connection = getConnectionH2();
+            try (final Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE TABLE IF NOT EXISTS batchLogEntry ( "
+                        + "id INTEGER GENERATED ALWAYS AS IDENTITY, eventDate DATETIME, level NVARCHAR(10), "
+                        + "logger NVARCHAR(255), message VARCHAR(1024) )");
+            }
+            final DefaultConfiguration configuration = new DefaultConfiguration();
+            appender = JdbcAppender.newBuilder()
+                    .setName("H2BatchAppender")
+                    .setConfiguration(configuration)
+                    .setIgnoreExceptions(false)
+                    .setConnectionSource(FactoryMethodConnectionSource.createConnectionSource(
+                            JdbcAppenderBenchmark.class.getName(), "getConnectionH2"))
+                    .setTableName("batchLogEntry")
+                    .setBufferSize(bufferSize)
+                    .setFlushIntervalMillis(flushIntervalMillis)
+                    .setColumnConfigs(
+                            column(configuration, "eventDate", null)
+                                    .setEventTimestamp(true)
+                                    .build(),
+                            column(configuration, "level", "%level").build(),
+                            column(configuration, "logger", "%logger").build(),
+                            column(configuration, "message", "%message")
+                                    .setUnicode(false)
+                                    .build())
+                    .build();
+            appender.start();
+            event = Log4jLogEvent.newBuilder()
+                    .setLoggerName("H2BatchLogger")
+                    .setLevel(Level.INFO)
+                    .setMessage(new SimpleMessage("Test message"))
+                    .build();
+        }
+
+        @TearDown
+        public void tearDown() throws SQLException {
+            try {
+                appender.stop();
+            } finally {
+                try (final Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("DELETE FROM batchLogEntry");
+                } finally {
+                    Closer.closeSilently(connection);
+                }
+            }
+        }
+
+        private static ColumnConfig.Builder column(
+                final DefaultConfiguration configuration, final String name, final String pattern) {
+            return ColumnConfig.newBuilder()
+                    .setConfiguration(configuration)
+                    .setName(name)
+                    .setPattern(pattern);
+        }
+    }
+
     private void createTable(final Connection connection, final String createSQL) throws SQLException {
         try (final Statement statement = connection.createStatement()) {
             statement.executeUpdate(createSQL);
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.mom.kafka.KafkaAppender;
+import org.apache.logging.log4j.core.appender.mom.kafka.KafkaManager;
+import org.apache.logging.log4j.core.appender.mom.kafka.KafkaProducerFactory;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the send modes of the Kafka appender against a {@link MockProducer}, whose records are acknowledged by a
+ * background thread every {@code ackIntervalMicros}, simulating the round trip to the brokers.
+ * <p>
+ * The {@code SYNC} mode waits for the acknowledgement of each record, {@code ASYNC} never waits and
+ * {@code PIPELINED} waits only when {@code maxInFlight} records are not yet acknowledged.
+ * </p>
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*KafkaAppenderBenchmark.*" -f 1 -wi 5 -i 10
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KafkaAppenderBenchmark {
+
+    public enum SendMode {
+        SYNC,
+        ASYNC,
+        PIPELINED
+    }
+
+    private static final String MESSAGE =
+            "This is rather long and chatty log message with quite some interesting information and a bit of fun in it";
+
+    @Param({"SYNC", "ASYNC", "PIPELINED"})
+    public SendMode sendMode;
+
+    @Param({"1000"})
+    public int maxInFlight;
+
+    @Param({"100", "1000"})
+    public int ackIntervalMicros;
+
+    private MockProducer<byte[], byte[]> producer;
+
+    private ScheduledExecutorService broker;
+
+    private KafkaProducerFactory originalFactory;
+
+    private KafkaAppender appender;
+
+    private LogEvent event;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        producer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        broker = Executors.newSingleThreadScheduledExecutor();
+        broker.scheduleAtFixedRate(this::acknowledge, ackIntervalMicros, ackIntervalMicros, TimeUnit.MICROSECONDS);
+        originalFactory = setProducerFactory(config -> producer);
+        appender = KafkaAppender.newBuilder()
+                .setName("KafkaAppenderBenchmark")
+                .setConfiguration(new DefaultConfiguration())
+                .setPropertyArray(new Property[0])
+                .setTopic("logs")
+                .setSyncSend(sendMode == SendMode.SYNC)
+                .setMaxInFlight(sendMode == SendMode.PIPELINED ? maxInFlight : 0)
+                .setOverflowPolicy(KafkaManager.OverflowPolicy.BLOCK)
+                .setLayout(PatternLayout.newBuilder()
+                        .withPattern("%d{UNIX_MILLIS} %p %c %m%n")
+                        .build())
+                .build();
+        appender.start();
+        event = Log4jLogEvent.newBuilder()
+                .setLoggerName("com.mycom.myproject.mypackage.MyClass")
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(MESSAGE))
+                .setTimeMillis(12345678)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws ReflectiveOperationException {
+        broker.shutdownNow();
+        acknowledge();
+        appender.stop();
+        setProducerFactory(originalFactory);
+    }
+
+    /**
+     * Acknowledges all records sent so far and forgets them.
+     */
+    private void acknowledge() {
+        synchronized (producer) {
+            while (producer.completeNext()) {
+                // Runs the callbacks of the acknowledged records
+            }
+            producer.clear();
+        }
+    }
+
+    /**
+     * The producer factory of {@link KafkaManager} is only meant to be replaced by tests.
+     */
+    private static KafkaProducerFactory setProducerFactory(final KafkaProducerFactory factory)
+            throws ReflectiveOperationException {
+        final Field field = KafkaManager.class.getDeclaredField("producerFactory");
+        field.setAccessible(true);
+        final KafkaProducerFactory previous = (KafkaProducerFactory) field.get(null);
+        field.set(null, factory);
+        return previous;
+    }
+
+    @Benchmark
+    public void append() {
+        appender.append(event);
+    }
+}
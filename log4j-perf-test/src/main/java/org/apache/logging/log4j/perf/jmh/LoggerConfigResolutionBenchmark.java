@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.util.NameUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures how fast logger names are resolved to their {@link LoggerConfig}, for the deep package names of a large
+ * application, and how long it takes to update all Loggers of a context after a reconfiguration.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf-test/target/benchmarks.jar ".*LoggerConfigResolutionBenchmark.*" -prof gc
+@Fork(1)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class LoggerConfigResolutionBenchmark {
+
+    private static final String[] VENDORS = {"com.acme", "org.example", "io.vendor.platform", "net.partner"};
+    private static final String[] LAYERS = {"api", "service.impl", "persistence.jdbc", "web.controller", "internal"};
+
+    @Param({"40000"})
+    int loggers;
+
+    private DefaultConfiguration configuration;
+    private LoggerContext context;
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        configuration = new DefaultConfiguration();
+        names = new String[loggers];
+        for (int i = 0; i < loggers; i++) {
+            final String vendor = VENDORS[i % VENDORS.length];
+            final String module = "module" + (i / 400);
+            final String layer = LAYERS[(i / 7) % LAYERS.length];
+            final String pkg = vendor + ".product" + (i % 13) + '.' + module + '.' + layer;
+            names[i] = pkg + ".sub" + (i % 11) + ".SomeFairlyLongClassName" + i;
+            // configure a level for roughly one package in twenty, as a large configuration would
+            if (i % 20 == 0 && configuration.getLogger(pkg) == null) {
+                configuration.addLogger(pkg, new LoggerConfig(pkg, Level.DEBUG, true));
+            }
+        }
+        configuration.addLogger(VENDORS[0], new LoggerConfig(VENDORS[0], Level.WARN, true));
+        configuration.start();
+        context = new LoggerContext("LoggerConfigResolutionBenchmark");
+        context.setConfiguration(configuration);
+        for (final String name : names) {
+            context.getLogger(name);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void getLoggerConfig(final Blackhole bh) {
+        for (final String name : names) {
+            bh.consume(configuration.getLoggerConfig(name));
+        }
+    }
+
+    /**
+     * The lookup {@code AbstractConfiguration.getLoggerConfig} used to perform: one substring and one map lookup for
+     * each level of the name.
+     */
+    @Benchmark
+    public void substringWalk(final Blackhole bh) {
+        final Map<String, LoggerConfig> loggerConfigs = configuration.getLoggers();
+        final LoggerConfig root = configuration.getRootLogger();
+        for (final String name : names) {
+            bh.consume(walk(loggerConfigs, root, name));
+        }
+    }
+
+    @Benchmark
+    public void updateLoggers() {
+        context.updateLoggers();
+    }
+
+    private static LoggerConfig walk(
+            final Map<String, LoggerConfig> loggerConfigs, final LoggerConfig root, final String loggerName) {
+        LoggerConfig loggerConfig = loggerConfigs.get(loggerName);
+        if (loggerConfig != null) {
+            return loggerConfig;
+        }
+        String substr = loggerName;
+        while ((substr = NameUtil.getSubName(substr)) != null) {
+            loggerConfig = loggerConfigs.get(substr);
+            if (loggerConfig != null) {
+                return loggerConfig;
+            }
+        }
+        return root;
+    }
+}
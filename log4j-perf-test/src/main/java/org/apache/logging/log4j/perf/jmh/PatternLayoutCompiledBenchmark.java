@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.AbstractStringLayout.Serializer2;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares interpreted and compiled {@link PatternLayout} rendering for common patterns.
+ * <p>
+ * The {@code mixed} benchmark rotates through all patterns, which makes converter call sites megamorphic as in
+ * applications using several layouts.
+ * </p>
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*PatternLayoutCompiledBenchmark.*" -f 1 -wi 5 -i 10
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PatternLayoutCompiledBenchmark {
+
+    private static final String[] PATTERNS = {
+        PatternLayout.SIMPLE_CONVERSION_PATTERN,
+        "%d{ISO8601} %-5level [%t] %logger{36} - %msg%n",
+        "%d{HH:mm:ss.SSS} [%t] %-5level %c{1.} %X{transactionId} - %m%n",
+        "%5p [%t] %c{1} - %m%n"
+    };
+
+    private static final LogEvent EVENT = Log4jLogEvent.newBuilder()
+            .setLoggerName("com.mycom.myproject.mypackage.MyClass")
+            .setLoggerFqcn("com.mycom.myproject.mypackage.MyClass")
+            .setLevel(Level.DEBUG)
+            .setMessage(new SimpleMessage("AB!(%087936DZYXQWEIOP$#^~-=/><nb"))
+            .setThreadName("main")
+            .setTimeMillis(12345678)
+            .build();
+
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    private final StringBuilder buffer = new StringBuilder(256);
+
+    private Serializer2[] serializers;
+
+    private int serializerIndex;
+
+    @Setup
+    public void setUp() {
+        final DefaultConfiguration configuration = new DefaultConfiguration();
+        serializers = new Serializer2[PATTERNS.length];
+        for (int i = 0; i < PATTERNS.length; i++) {
+            serializers[i] = (Serializer2) PatternLayout.newBuilder()
+                    .withConfiguration(configuration)
+                    .withPattern(PATTERNS[i])
+                    .withCompiled(compiled)
+                    .build()
+                    .getEventSerializer();
+        }
+    }
+
+    private int serialize(final Serializer2 serializer) {
+        buffer.setLength(0);
+        return serializer.toSerializable(EVENT, buffer).length();
+    }
+
+    @Benchmark
+    public int simple() {
+        return serialize(serializers[0]);
+    }
+
+    @Benchmark
+    public int iso8601() {
+        return serialize(serializers[1]);
+    }
+
+    @Benchmark
+    public int mdc() {
+        return serialize(serializers[2]);
+    }
+
+    @Benchmark
+    public int noDate() {
+        return serialize(serializers[3]);
+    }
+
+    @Benchmark
+    public int mixed() {
+        final int index = serializerIndex;
+        serializerIndex = (index + 1) % serializers.length;
+        return serialize(serializers[index]);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginCache;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginIndex;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginProcessor;
+import org.apache.logging.log4j.core.config.plugins.util.PluginRegistry;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to load the plugin descriptors of a class path with many plugin jars, from the
+ * {@code Log4j2Plugins.dat} cache files or from the {@code Log4j2Plugins.idx} indexes, and to load the classes of
+ * a few plugins, as a small configuration does, or of all of them.
+ */
+// TO RUN THIS TEST:
+// java -jar target/benchmarks.jar '.*PluginRegistryBenchmark.*'
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class PluginRegistryBenchmark {
+
+    private static final String CATEGORY = "benchmark";
+    private static final int PLUGINS_PER_JAR = 20;
+    private static final int USED_PLUGINS = 5;
+    private static final long BUNDLE_ID = -1;
+
+    @Param({"1", "10", "50"})
+    public int jars;
+
+    @Param({"cache", "index"})
+    public String format;
+
+    private Path directory;
+    private URL[] urls;
+    private URLClassLoader classLoader;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("PluginRegistryBenchmark");
+        final Path sources = Files.createDirectories(directory.resolve("sources"));
+        final Path classes = Files.createDirectories(directory.resolve("classes"));
+        final List<String> arguments = new ArrayList<>();
+        arguments.add("-d");
+        arguments.add(classes.toString());
+        for (int jar = 0; jar < jars; jar++) {
+            for (int plugin = 0; plugin < PLUGINS_PER_JAR; plugin++) {
+                final Path file = sources.resolve(className(jar, plugin).replace('.', '/') + ".java");
+                Files.createDirectories(file.getParent());
+                final String source = "package org.example.plugins" + jar + "; public class Plugin" + plugin + " {}";
+                Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+                arguments.add(file.toString());
+            }
+        }
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Cannot compile the plugins");
+        }
+        urls = new URL[jars];
+        for (int jar = 0; jar < jars; jar++) {
+            final Path file = directory.resolve("plugins" + jar + ".jar");
+            writeJar(file, classes, jar);
+            urls[jar] = file.toUri().toURL();
+        }
+    }
+
+    private void writeJar(final Path file, final Path classes, final int jar) throws IOException {
+        final PluginCache cache = new PluginCache();
+        final Map<String, PluginEntry> category = cache.getCategory(CATEGORY);
+        try (final JarOutputStream out = new JarOutputStream(Files.newOutputStream(file))) {
+            for (int plugin = 0; plugin < PLUGINS_PER_JAR; plugin++) {
+                final String className = className(jar, plugin);
+                final String classFile = className.replace('.', '/') + ".class";
+                out.putNextEntry(new JarEntry(classFile));
+                out.write(Files.readAllBytes(classes.resolve(classFile)));
+                final PluginEntry entry = new PluginEntry();
+                entry.setKey("plugin" + jar + '-' + plugin);
+                entry.setClassName(className);
+                entry.setName("Plugin" + jar + '-' + plugin);
+                entry.setCategory(CATEGORY);
+                category.put(entry.getKey(), entry);
+            }
+            out.putNextEntry(new JarEntry(PluginProcessor.PLUGIN_CACHE_FILE));
+            write(out, cache, false);
+            if ("index".equals(format)) {
+                out.putNextEntry(new JarEntry(PluginProcessor.PLUGIN_INDEX_FILE));
+                write(out, cache, true);
+            }
+        }
+    }
+
+    private static void write(final OutputStream out, final PluginCache cache, final boolean index) throws IOException {
+        // writeCache closes its stream
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (index) {
+            PluginIndex.write(cache, bytes);
+        } else {
+            cache.writeCache(bytes);
+        }
+        bytes.writeTo(out);
+    }
+
+    private static String className(final int jar, final int plugin) {
+        return "org.example.plugins" + jar + ".Plugin" + plugin;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (final Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeClassLoader() throws IOException {
+        PluginRegistry.getInstance().clearBundlePlugins(BUNDLE_ID);
+        classLoader.close();
+    }
+
+    private List<PluginType<?>> loadPlugins() {
+        classLoader = new URLClassLoader(urls, PluginRegistryBenchmark.class.getClassLoader());
+        return PluginRegistry.getInstance()
+                .loadFromBundle(BUNDLE_ID, classLoader)
+                .get(CATEGORY);
+    }
+
+    @Benchmark
+    public int loadFewPluginClasses() {
+        final List<PluginType<?>> plugins = loadPlugins();
+        int hashCode = 0;
+        for (int i = 0; i < USED_PLUGINS; i++) {
+            hashCode += plugins.get(i).getPluginClass().hashCode();
+        }
+        return hashCode;
+    }
+
+    @Benchmark
+    public int loadAllPluginClasses() {
+        int hashCode = 0;
+        for (final PluginType<?> plugin : loadPlugins()) {
+            hashCode += plugin.getPluginClass().hashCode();
+        }
+        return hashCode;
+    }
+}
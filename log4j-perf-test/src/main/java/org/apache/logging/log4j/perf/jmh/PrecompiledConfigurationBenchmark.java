@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+import org.apache.logging.log4j.core.tools.ConfigurationCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to the first log event of a new {@link LoggerContext}, when its configuration is parsed from an XML
+ * file and when it was precompiled with {@link ConfigurationCompiler}.
+ * <p>
+ * Like {@link ConfiguratorInitializeBenchmark}, each measurement starts a single logger context.
+ * </p>
+ */
+// TO RUN THIS TEST:
+// java -jar target/benchmarks.jar '.*PrecompiledConfigurationBenchmark.*'
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+public class PrecompiledConfigurationBenchmark {
+
+    private static final String CLASS_NAME = "org.apache.logging.log4j.perf.generated.BenchmarkConfiguration";
+
+    @Param({"1", "50"})
+    public int appenders;
+
+    private Path directory;
+    private Path configFile;
+    private URLClassLoader classLoader;
+    private Constructor<? extends Configuration> precompiled;
+    private LoggerContext context;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("PrecompiledConfigurationBenchmark");
+        configFile = directory.resolve("log4j2.xml");
+        writeConfiguration();
+
+        final Path sourceFile = directory.resolve(CLASS_NAME.replace('.', '/') + ".java");
+        Files.createDirectories(sourceFile.getParent());
+        final String source = ConfigurationCompiler.compile(configFile.toFile(), CLASS_NAME, System.err);
+        Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final int status = compiler.run(
+                null,
+                null,
+                new PrintStream(System.err, true, "UTF-8"),
+                "-classpath",
+                System.getProperty("java.class.path"),
+                "-d",
+                directory.toString(),
+                sourceFile.toString());
+        if (status != 0) {
+            throw new IllegalStateException("Cannot compile " + sourceFile);
+        }
+        classLoader = new URLClassLoader(
+                new URL[] {directory.toUri().toURL()}, PrecompiledConfigurationBenchmark.class.getClassLoader());
+        precompiled = classLoader
+                .loadClass(CLASS_NAME)
+                .asSubclass(Configuration.class)
+                .getConstructor(LoggerContext.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        classLoader.close();
+        try (final Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopContext() {
+        context.stop();
+    }
+
+    private void writeConfiguration() throws IOException {
+        final StringBuilder sb = new StringBuilder("<Configuration name='PrecompiledConfiguration' status='off'>");
+        sb.append("<Properties><Property name='pattern'>%d %-5level [%t] %c{1.} - %m%n</Property></Properties>");
+        sb.append("<Appenders>");
+        for (int i = 0; i < appenders; i++) {
+            sb.append("<File name='File").append(i).append("' fileName='");
+            sb.append(directory.resolve("file" + i + ".log")).append("' bufferedIO='true'>");
+            sb.append("<PatternLayout pattern='${pattern}'/>");
+            sb.append("<ThresholdFilter level='INFO'/>");
+            sb.append("</File>");
+        }
+        sb.append("</Appenders><Loggers>");
+        for (int i = 0; i < appenders; i++) {
+            sb.append("<Logger name='org.example.component").append(i).append("' level='INFO' additivity='false'>");
+            sb.append("<AppenderRef ref='File").append(i).append("'/></Logger>");
+        }
+        sb.append("<Root level='ERROR'/></Loggers></Configuration>");
+        Files.write(configFile, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private LoggerContext logFirstEvent(final Configuration configuration) {
+        context.start(configuration);
+        context.getLogger("org.example.component0").info("first event");
+        return context;
+    }
+
+    @Benchmark
+    public LoggerContext xmlConfiguration() throws IOException {
+        context = new LoggerContext("PrecompiledConfigurationBenchmark");
+        final ConfigurationSource source = ConfigurationSource.fromUri(configFile.toUri());
+        return logFirstEvent(new XmlConfiguration(context, source));
+    }
+
+    @Benchmark
+    public LoggerContext precompiledConfiguration() throws ReflectiveOperationException {
+        context = new LoggerContext("PrecompiledConfigurationBenchmark");
+        return logFirstEvent(precompiled.newInstance(context));
+    }
+}
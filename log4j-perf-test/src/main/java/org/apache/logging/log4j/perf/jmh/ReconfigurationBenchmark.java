@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to reconfigure a {@link LoggerContext} with many file appenders when only the level of a
+ * logger changed, with and without incremental reconfiguration.
+ */
+// TO RUN THIS TEST:
+// java -jar target/benchmarks.jar '.*ReconfigurationBenchmark.*'
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReconfigurationBenchmark {
+
+    @Param({"300"})
+    public int appenders;
+
+    @Param({"false", "true"})
+    public boolean incremental;
+
+    private Path directory;
+    private Path configFile;
+    private LoggerContext context;
+    private boolean debug;
+
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("log4j2.incrementalReconfiguration", Boolean.toString(incremental));
+        directory = Files.createTempDirectory("ReconfigurationBenchmark");
+        configFile = directory.resolve("log4j2.xml");
+        writeConfiguration("INFO");
+        context = new LoggerContext("ReconfigurationBenchmark");
+        context.setConfigLocation(configFile.toUri());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        try (final Stream<Path> files = Files.list(directory)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+        System.clearProperty("log4j2.incrementalReconfiguration");
+    }
+
+    private void writeConfiguration(final String level) throws IOException {
+        final StringBuilder sb = new StringBuilder("<Configuration name='ReconfigurationBenchmark' status='off'>");
+        sb.append("<Appenders>");
+        for (int i = 0; i < appenders; i++) {
+            sb.append("<File name='File").append(i).append("' fileName='");
+            sb.append(directory.resolve("file" + i + ".log")).append("'>");
+            sb.append("<PatternLayout pattern='%d %-5level [%t] %c{1.} - %m%n'/>");
+            sb.append("</File>");
+        }
+        sb.append("</Appenders><Loggers>");
+        for (int i = 0; i < appenders; i++) {
+            sb.append("<Logger name='org.example.component")
+                    .append(i)
+                    .append("' level='")
+                    .append(level);
+            sb.append("' additivity='false'><AppenderRef ref='File").append(i).append("'/></Logger>");
+        }
+        sb.append("<Root level='ERROR'/></Loggers></Configuration>");
+        Files.write(configFile, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public LoggerContext reconfigureLoggerLevel() throws IOException {
+        debug = !debug;
+        writeConfiguration(debug ? "DEBUG" : "INFO");
+        context.reconfigure();
+        return context;
+    }
+}
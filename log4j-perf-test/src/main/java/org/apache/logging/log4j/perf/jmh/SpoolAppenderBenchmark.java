@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.SocketAppender;
+import org.apache.logging.log4j.core.appender.Spool;
+import org.apache.logging.log4j.core.config.NullConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.net.Protocol;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the throughput of a TCP {@code SocketAppender}, with and without a disk spool, while the server it sends
+ * to is repeatedly stopped and restarted.
+ * <p>
+ * The stand-in server runs on the loopback interface and reads and discards everything it receives. Every
+ * {@code uptimeMillis} it closes its sockets, stays down for {@code downtimeMillis} and starts again on the same
+ * port.
+ * </p>
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*SpoolAppenderBenchmark.*" -f 1 -wi 5 -i 10 -r 5s
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpoolAppenderBenchmark {
+
+    private static final String MESSAGE =
+            "This is rather long and chatty log message with quite some interesting information and a bit of fun in it";
+
+    @Param({"false", "true"})
+    public boolean spool;
+
+    @Param({"1000"})
+    public long uptimeMillis;
+
+    @Param({"500"})
+    public long downtimeMillis;
+
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+
+    private volatile ServerSocket server;
+
+    private Thread serverThread;
+
+    private Path spoolDirectory;
+
+    private SocketAppender appender;
+
+    private LogEvent event;
+
+    @Setup
+    public void setUp() throws IOException {
+        running = true;
+        server = bind(0);
+        serverThread = new Thread(this::serve, "SpoolAppenderBenchmark-server");
+        serverThread.setDaemon(true);
+        serverThread.start();
+        spoolDirectory = Files.createTempDirectory("SpoolAppenderBenchmark");
+        appender = SocketAppender.newBuilder()
+                .setName("SpoolAppenderBenchmark")
+                .setConfiguration(new NullConfiguration())
+                .setProtocol(Protocol.TCP)
+                .setHost(InetAddress.getLoopbackAddress().getHostAddress())
+                .setPort(server.getLocalPort())
+                .setReconnectDelayMillis(100)
+                .setImmediateFlush(false)
+                .setSpool(
+                        spool
+                                ? Spool.newBuilder()
+                                        .setDirectory(spoolDirectory.toString())
+                                        .setRetryDelayMillis(100)
+                                        .build()
+                                : null)
+                .setLayout(PatternLayout.newBuilder()
+                        .withPattern("%d %p %c - %m%n")
+                        .build())
+                .build();
+        appender.start();
+        event = Log4jLogEvent.newBuilder()
+                .setLoggerName("com.mycom.myproject.mypackage.MyClass")
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(MESSAGE))
+                .setTimeMillis(12345678)
+                .build();
+    }
+
+    private static ServerSocket bind(final int port) throws IOException {
+        final ServerSocket socket = new ServerSocket();
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        return socket;
+    }
+
+    /**
+     * Accepts connections until the server is stopped, then restarts it after the down time.
+     */
+    private void serve() {
+        final int port = server.getLocalPort();
+        while (running) {
+            final long stopTime = System.currentTimeMillis() + uptimeMillis;
+            final Thread stopper = new Thread(() -> {
+                sleep(uptimeMillis);
+                stopServer();
+            });
+            stopper.setDaemon(true);
+            stopper.start();
+            try {
+                while (System.currentTimeMillis() < stopTime) {
+                    final Socket client = server.accept();
+                    clients.add(client);
+                    final Thread reader = new Thread(() -> drain(client));
+                    reader.setDaemon(true);
+                    reader.start();
+                }
+            } catch (final IOException ignored) {
+                // Server stopped
+            }
+            stopServer();
+            sleep(downtimeMillis);
+            try {
+                if (running) {
+                    server = bind(port);
+                }
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private void stopServer() {
+        closeQuietly(server);
+        for (final Socket client : clients) {
+            closeQuietly(client);
+        }
+        clients.clear();
+    }
+
+    private static void drain(final Socket client) {
+        final byte[] buffer = new byte[65536];
+        try (final InputStream in = client.getInputStream()) {
+            while (in.read(buffer) >= 0) {
+                // Discards the events
+            }
+        } catch (final IOException ignored) {
+            // Socket closed
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(final AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (final Exception ignored) {
+            // Already closed
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        appender.stop();
+        running = false;
+        stopServer();
+        serverThread.join();
+        try (final Stream<Path> files = Files.list(spoolDirectory)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(spoolDirectory);
+    }
+
+    @Benchmark
+    public void append() {
+        try {
+            appender.append(event);
+        } catch (final AppenderLoggingException ignored) {
+            // Without a spool, the event is lost while the server is down
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.ThreadContextBenchmarkAccess;
+import org.apache.logging.log4j.core.LifeCycle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Spawns one task per simulated request, each of which logs one message with a thread context entry, on virtual
+ * threads or on a pool of platform threads.
+ * <p>
+ * Virtual threads require Java 21 or later; the {@code virtual} executor fails the trial on older runtimes. Use the
+ * {@code -prof gc} option to compare allocation rates.
+ * </p>
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*VirtualThreadContextBenchmark.*" -prof gc
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+@Fork(1)
+public class VirtualThreadContextBenchmark {
+
+    @Param({"CopyOnWrite", "GarbageFree"})
+    public String threadContextMap;
+
+    @Param({"virtual", "platform"})
+    public String executor;
+
+    @Param({"1000000"})
+    public int tasks;
+
+    private Logger logger;
+    private ExecutorService executorService;
+
+    @Setup(Level.Trial)
+    public void up() throws Exception {
+        System.setProperty("log4j2.threadContextMap", threadContextMap);
+        System.setProperty("log4j.configurationFile", "VirtualThreadContextBenchmark.xml");
+        ThreadContextBenchmarkAccess.init();
+        logger = LogManager.getLogger(getClass());
+    }
+
+    @TearDown(Level.Trial)
+    public void down() {
+        ((LifeCycle) LogManager.getContext(false)).stop();
+        System.clearProperty("log4j2.threadContextMap");
+    }
+
+    @Setup(Level.Iteration)
+    public void createExecutor() throws Exception {
+        executorService = "virtual".equals(executor)
+                ? (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null)
+                : Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Iteration)
+    public void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public void logWithThreadContext() throws InterruptedException {
+        for (int i = 0; i < tasks; i++) {
+            final String requestId = Integer.toString(i);
+            executorService.execute(() -> {
+                ThreadContext.put("requestId", requestId);
+                logger.info("Handling request");
+                ThreadContext.remove("requestId");
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}